@@ -0,0 +1,183 @@
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Load client of {@code read-benchmark.sh}, run as a single-file program
+ * ({@code java scripts/ReadLoad.java ...}).
+ *
+ * <ul>
+ * <li>{@code latency <base-url> <token> <concurrency> <warmup-s> <duration-s> <max-post-id> <path>}
+ * sends the request in a closed loop from each thread and prints
+ * {@code requests,errors,throughput_rps,p50_ms,p99_ms}. {@code {post}} in the
+ * path is replaced by a random post ID.</li>
+ * <li>{@code hold <host> <port> <token> <path> <connections>} opens the
+ * connections, sends the request on each, reads the first bytes of every
+ * response, then keeps the connections open without reading until its
+ * standard input is closed. Prints {@code held <connections>} once they are
+ * all waiting.</li>
+ * </ul>
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public class ReadLoad {
+
+    public static void main(String[] args) throws Exception {
+        switch (args[0]) {
+            case "latency" -> latency(args[1], args[2], Integer.parseInt(args[3]), Integer.parseInt(args[4]),
+                    Integer.parseInt(args[5]), Integer.parseInt(args[6]), args[7]);
+            case "hold" -> hold(args[1], Integer.parseInt(args[2]), args[3], args[4], Integer.parseInt(args[5]));
+            default -> throw new IllegalArgumentException("Unknown mode: " + args[0]);
+        }
+    }
+
+    private static void latency(String baseUrl, String token, int concurrency, int warmupSeconds,
+            int durationSeconds, int maxPostId, String path) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long measureFrom = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        long measureTo = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(client, baseUrl, token, path, maxPostId, measureFrom, measureTo);
+            workers.add(worker);
+            worker.start();
+        }
+        long requests = 0;
+        long errors = 0;
+        for (Worker worker : workers) {
+            worker.join();
+            requests += worker.count;
+            errors += worker.errors;
+        }
+        long[] latencies = new long[(int) requests];
+        int offset = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%d,%d,%.0f,%.2f,%.2f%n", requests, errors, requests / (double) durationSeconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.99));
+    }
+
+    private static double percentile(long[] sorted, double rank) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(rank * sorted.length) - 1)] / 1_000_000.0;
+    }
+
+    private static void hold(String host, int port, String token, String path, int connections) throws Exception {
+        String request = "GET " + path + " HTTP/1.1\r\nHost: " + host + ":" + port + "\r\n"
+                + "Authorization: Bearer " + token + "\r\n"
+                + "Accept: application/x-ndjson, application/json\r\n\r\n";
+        List<Socket> sockets = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            Socket socket = new Socket();
+            // Small buffers so the server blocks, or pauses, right away
+            socket.setReceiveBufferSize(4096);
+            socket.connect(new InetSocketAddress(host, port), 5000);
+            socket.setSoTimeout(60_000);
+            OutputStream out = socket.getOutputStream();
+            out.write(request.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            sockets.add(socket);
+        }
+        byte[] first = new byte[64];
+        for (Socket socket : sockets) {
+            InputStream in = socket.getInputStream();
+            if (in.read(first) < 0) {
+                throw new IllegalStateException("Connection closed before the response");
+            }
+        }
+        System.out.println("held " + sockets.size());
+        System.out.flush();
+        while (System.in.read() >= 0) {
+            // Wait for the caller to close our standard input
+        }
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    /**
+     * Closed-loop client thread recording the latencies of the requests sent
+     * within the measurement window.
+     */
+    private static final class Worker extends Thread {
+
+        private final HttpClient client;
+        private final String baseUrl;
+        private final String token;
+        private final String path;
+        private final int maxPostId;
+        private final long measureFrom;
+        private final long measureTo;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        Worker(HttpClient client, String baseUrl, String token, String path, int maxPostId, long measureFrom,
+                long measureTo) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.token = token;
+            this.path = path;
+            this.maxPostId = maxPostId;
+            this.measureFrom = measureFrom;
+            this.measureTo = measureTo;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            boolean done = false;
+            while (!done) {
+                String uri = baseUrl + path.replace("{post}",
+                        Integer.toString(1 + ThreadLocalRandom.current().nextInt(maxPostId)));
+                HttpRequest request = HttpRequest.newBuilder(URI.create(uri))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Accept", "application/json")
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+                long start = System.nanoTime();
+                boolean failed;
+                try {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    failed = response.statusCode() != 200 && response.statusCode() != 404;
+                } catch (Exception e) {
+                    failed = true;
+                }
+                long end = System.nanoTime();
+                if (end >= measureTo) {
+                    done = true;
+                } else if (start >= measureFrom) {
+                    if (failed) {
+                        errors++;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = end - start;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+#!/usr/bin/env bash
+#
+# Read benchmark: the read endpoints of the main API (Spring MVC, JPA, one
+# thread per request) against the read API (WebFlux, R2DBC), on the same
+# synthetic H2 file database.
+#
+# For each stack: throughput, p50 and p99 of the feed, post, comments and
+# topics endpoints under a closed-loop load, then the heap and the threads
+# held by open connections whose client stopped reading the post list
+# (connections held per MB of heap).
+#
+# Usage: scripts/read-benchmark.sh
+# Requires both jars: mvn -DskipTests package in back/ and in back-reactive/
+# Writes target/read-benchmark.csv and prints a Markdown summary.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+USERS="${USERS:-20000}"
+TOPICS="${TOPICS:-50}"
+POSTS="${POSTS:-20000}"
+COMMENTS="${COMMENTS:-100000}"
+CONCURRENCY="${CONCURRENCY:-64}"
+WARMUP_SECONDS="${WARMUP_SECONDS:-10}"
+DURATION_SECONDS="${DURATION_SECONDS:-20}"
+HELD_CONNECTIONS="${HELD_CONNECTIONS:-50}"
+HEAP="${HEAP:-2g}"
+MVC_PORT="${MVC_PORT:-18080}"
+REACTIVE_PORT="${REACTIVE_PORT:-18081}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-300}"
+
+MVC_JAR="$(ls ../back/target/mdd-api-*.jar 2> /dev/null | grep -v -e javadoc -e sources | head -n 1 || true)"
+REACTIVE_JAR="$(ls target/mdd-api-reactive-*.jar 2> /dev/null | head -n 1 || true)"
+CSV="target/read-benchmark.csv"
+WORK="$(mktemp -d)"
+DB="$WORK/mdd"
+H2_URL="jdbc:h2:file:$DB;MODE=MySQL;DATABASE_TO_LOWER=TRUE"
+
+if [[ -z "$MVC_JAR" || -z "$REACTIVE_JAR" ]]; then
+    echo "Build both jars first: mvn -DskipTests package in back/ and in back-reactive/" >&2
+    exit 1
+fi
+
+PID=""
+cleanup() {
+    if [[ -n "$PID" ]]; then
+        kill "$PID" 2> /dev/null || true
+    fi
+    rm -rf "$WORK"
+}
+trap cleanup EXIT
+
+# Starts a jar with the given arguments and waits until it answers on its
+# health endpoint. Sets PID.
+start() {
+    local port=$1 jar=$2 start code
+    shift 2
+    start=$(date +%s)
+    java -Xmx"$HEAP" -jar "$jar" --server.port="$port" "$@" > "$WORK/app.log" 2>&1 &
+    PID=$!
+    while true; do
+        code=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$port/actuator/health" || true)
+        if [[ "$code" != "000" ]]; then
+            break
+        fi
+        if ! kill -0 "$PID" 2> /dev/null || (( $(date +%s) - start > TIMEOUT_SECONDS )); then
+            echo "Application did not start:" >&2
+            tail -n 40 "$WORK/app.log" >&2
+            exit 1
+        fi
+        sleep 0.5
+    done
+}
+
+# Waits until the application logs the given pattern
+wait_for_log() {
+    local pattern=$1 start
+    start=$(date +%s)
+    until grep -q "$pattern" "$WORK/app.log"; do
+        if ! kill -0 "$PID" 2> /dev/null || (( $(date +%s) - start > TIMEOUT_SECONDS )); then
+            echo "Application did not log '$pattern':" >&2
+            tail -n 40 "$WORK/app.log" >&2
+            exit 1
+        fi
+        sleep 0.5
+    done
+}
+
+stop() {
+    kill "$PID"
+    wait "$PID" 2> /dev/null || true
+    PID=""
+}
+
+# Heap used after a full collection, in KB, summed over the generations or
+# regions listed by the collector in use
+heap_used_kb() {
+    jcmd "$PID" GC.run > /dev/null
+    sleep 1
+    jcmd "$PID" GC.heap_info | awk '/Metaspace/ { exit } match($0, /total [0-9]+K, used [0-9]+K/) {
+        split(substr($0, RSTART, RLENGTH), parts, "used ")
+        used += parts[2] + 0
+    } END { print used }'
+}
+
+live_threads() {
+    awk '/^Threads:/ { print $2 }' "/proc/$PID/status"
+}
+
+# Runs the latency load on each endpoint and the held connections test
+# against the application listening on the given port.
+measure() {
+    local stack=$1 port=$2 endpoint path result baseline_kb baseline_threads held_kb held_threads hold_pid
+    declare -A paths=(
+        [feed]="/api/posts/feed?limit=20"
+        [post]="/api/posts/{post}"
+        [comments]="/api/comments/post/{post}"
+        [topics]="/api/topics"
+    )
+    for endpoint in feed post comments topics; do
+        path=${paths[$endpoint]}
+        result=$(java scripts/ReadLoad.java latency "http://localhost:$port" "$TOKEN" "$CONCURRENCY" \
+            "$WARMUP_SECONDS" "$DURATION_SECONDS" "$POSTS" "$path")
+        echo "$stack,$endpoint,$result" >> "$CSV"
+        IFS=, read -r requests errors throughput p50 p99 <<< "$result"
+        echo "| $stack | $endpoint | $throughput | $p50 | $p99 | $errors |" >> "$WORK/latency.md"
+    done
+
+    baseline_kb=$(heap_used_kb)
+    baseline_threads=$(live_threads)
+    mkfifo "$WORK/hold.in"
+    java scripts/ReadLoad.java hold localhost "$port" "$TOKEN" /api/posts "$HELD_CONNECTIONS" \
+        < "$WORK/hold.in" > "$WORK/hold.out" 2>&1 &
+    hold_pid=$!
+    exec 3> "$WORK/hold.in"
+    until grep -q '^held' "$WORK/hold.out"; do
+        if ! kill -0 "$hold_pid" 2> /dev/null; then
+            echo "Held connections test failed:" >&2
+            cat "$WORK/hold.out" >&2
+            exit 1
+        fi
+        sleep 0.5
+    done
+    sleep 2
+    held_kb=$(heap_used_kb)
+    held_threads=$(live_threads)
+    exec 3>&-
+    wait "$hold_pid" 2> /dev/null || true
+    rm -f "$WORK/hold.in" "$WORK/hold.out"
+
+    awk -v stack="$stack" -v n="$HELD_CONNECTIONS" -v base="$baseline_kb" -v held="$held_kb" \
+        -v t0="$baseline_threads" -v t1="$held_threads" 'BEGIN {
+            delta = held - base
+            per_mb = delta > 0 ? sprintf("%.1f", n * 1024 / delta) : "n/a"
+            printf "| %s | %d | %.1f | %.1f | %s | %d | %d |\n", stack, n, base / 1024, held / 1024, per_mb, t0, t1
+        }' >> "$WORK/held.md"
+    echo "$stack,held,$HELD_CONNECTIONS,$baseline_kb,$held_kb,$baseline_threads,$held_threads" >> "$CSV"
+}
+
+echo "Generating the dataset ($USERS users, $TOPICS topics, $POSTS posts, $COMMENTS comments)" >&2
+start "$MVC_PORT" "$MVC_JAR" --spring.profiles.active=bench,datagen --spring.datasource.url="$H2_URL" \
+    --datagen.users="$USERS" --datagen.topics="$TOPICS" --datagen.posts="$POSTS" --datagen.comments="$COMMENTS"
+wait_for_log "Synthetic dataset generated"
+curl -s -o /dev/null -X POST "http://localhost:$MVC_PORT/api/auth/register" -H 'Content-Type: application/json' \
+    -d '{"email":"bench@test.com","username":"bench","password":"Bench!1234"}'
+TOKEN=$(curl -s -X POST "http://localhost:$MVC_PORT/api/auth/login" -H 'Content-Type: application/json' \
+    -d '{"username":"bench@test.com","password":"Bench!1234"}' | grep -o '"token":"[^"]*"' | cut -d '"' -f 4)
+for topic in 1 2 3 4 5; do
+    curl -s -o /dev/null -X POST -H "Authorization: Bearer $TOKEN" \
+        "http://localhost:$MVC_PORT/api/topics/$topic/subscribe"
+done
+stop
+
+echo "stack,endpoint,requests,errors,throughput_rps,p50_ms,p99_ms" > "$CSV"
+: > "$WORK/latency.md"
+: > "$WORK/held.md"
+
+echo "Measuring the MVC stack" >&2
+start "$MVC_PORT" "$MVC_JAR" --spring.profiles.active=bench --spring.datasource.url="$H2_URL" \
+    --spring.jpa.hibernate.ddl-auto=none
+# The main API loads its in-memory indexes in the background once started
+wait_for_log "Subscription index loaded"
+wait_for_log "Search index rebuilt"
+measure mvc "$MVC_PORT"
+stop
+
+echo "Measuring the reactive stack" >&2
+MDD_BENCH_DB="$DB" start "$REACTIVE_PORT" "$REACTIVE_JAR" --spring.profiles.active=bench
+measure reactive "$REACTIVE_PORT"
+stop
+
+echo "| Stack | Endpoint | Throughput (req/s) | p50 (ms) | p99 (ms) | Errors |"
+echo "|-------|----------|-------------------:|---------:|---------:|-------:|"
+cat "$WORK/latency.md"
+echo
+echo "| Stack | Held connections | Heap before (MB) | Heap held (MB) | Connections per MB | Threads before | Threads held |"
+echo "|-------|-----------------:|-----------------:|---------------:|-------------------:|---------------:|-------------:|"
+cat "$WORK/held.md"
@@ -0,0 +1,37 @@
+package com.openclassrooms.mddapi.reactive.Configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class for the read API.
+ * This class loads the read API settings from the application configuration
+ * with the 'read-api' prefix.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "read-api")
+@Data
+public class ReadApiProperties {
+
+    /**
+     * Maximum number of posts a feed page may request.
+     */
+    private int maxFeedPageSize = 100;
+
+    /**
+     * Rows read from the database per keyset page while a list is streamed.
+     * The next page is only read once the client took the previous one, so a
+     * slow client holds one page in the heap instead of the whole list.
+     */
+    private int streamPageSize = 256;
+
+    /**
+     * Origin of the front end allowed by CORS.
+     */
+    private String allowedOrigin = "http://localhost:4200";
+}
@@ -0,0 +1,10 @@
+/**
+ * Configuration package of the read API.
+ * This package contains the security chain validating the JWTs issued by the
+ * main API, the CORS settings and the read API properties.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.reactive.Configuration;
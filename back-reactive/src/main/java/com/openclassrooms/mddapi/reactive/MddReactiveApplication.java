@@ -0,0 +1,15 @@
+package com.openclassrooms.mddapi.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication
+@EnableScheduling
+public class MddReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(MddReactiveApplication.class, args);
+	}
+
+}
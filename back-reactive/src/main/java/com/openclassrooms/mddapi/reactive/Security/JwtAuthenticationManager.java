@@ -0,0 +1,94 @@
+package com.openclassrooms.mddapi.reactive.Security;
+
+import com.openclassrooms.mddapi.reactive.repository.UserReadRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Validates the JWTs issued by the main API.
+ * The signature and expiry are checked in memory, then the deny-list. The
+ * user ID comes from the "uid" claim; tokens issued before it was added are
+ * resolved by their subject with a query.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class JwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+    /**
+     * Name of the user ID claim, as written by the main API.
+     */
+    static final String USER_ID_CLAIM = "uid";
+
+    /**
+     * Name of the issue time claim in epoch milliseconds, as written by the
+     * main API.
+     */
+    static final String ISSUED_AT_MILLIS_CLAIM = "iatms";
+
+    private final JwtParser parser;
+    private final TokenDenyListReader denyList;
+    private final UserReadRepository userRepository;
+
+    /**
+     * Constructs a JwtAuthenticationManager with required dependencies.
+     *
+     * @param jwtProperties  JWT configuration
+     * @param denyList       Revoked tokens
+     * @param userRepository Repository resolving the users of older tokens
+     */
+    public JwtAuthenticationManager(JwtProperties jwtProperties, TokenDenyListReader denyList,
+            UserReadRepository userRepository) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes()))
+                .build();
+        this.denyList = denyList;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws((String) authentication.getCredentials()).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Mono.error(new BadCredentialsException("Jeton invalide", e));
+        }
+        String subject = claims.getSubject();
+        if (denyList.isRevoked(claims.getId(), subject, issuedAtMillis(claims))) {
+            return Mono.error(new BadCredentialsException("Jeton révoqué"));
+        }
+
+        Integer userId = claims.get(USER_ID_CLAIM, Integer.class);
+        Mono<Integer> resolvedId = userId != null ? Mono.just(userId) : userRepository.findIdByEmail(subject);
+        return resolvedId
+                .switchIfEmpty(Mono.error(new BadCredentialsException("L'utilisateur n'existe pas")))
+                .map(id -> new UsernamePasswordAuthenticationToken(new JwtPrincipal(id, subject), null,
+                        AuthorityUtils.NO_AUTHORITIES));
+    }
+
+    /**
+     * Returns the issue time of a token in epoch milliseconds, from the
+     * "iatms" claim; tokens issued before it was added are taken as issued at
+     * the end of their "iat" second.
+     */
+    private static long issuedAtMillis(Claims claims) {
+        Object millis = claims.get(ISSUED_AT_MILLIS_CLAIM);
+        if (millis instanceof Number number) {
+            return number.longValue();
+        }
+        return claims.getIssuedAt() == null ? 0 : claims.getIssuedAt().getTime() + 999;
+    }
+}
@@ -0,0 +1,13 @@
+package com.openclassrooms.mddapi.reactive.Security;
+
+/**
+ * Authenticated user of a request.
+ *
+ * @param userId The user ID
+ * @param email  The email, subject of the token
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public record JwtPrincipal(Integer userId, String email) {
+}
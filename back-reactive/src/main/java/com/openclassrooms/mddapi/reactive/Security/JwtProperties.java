@@ -0,0 +1,36 @@
+package com.openclassrooms.mddapi.reactive.Security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class for the JWT validation.
+ * This class loads the JWT settings from the application configuration with
+ * the 'jwt' prefix, shared with the main API.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "jwt")
+@Data
+public class JwtProperties {
+
+    /**
+     * Secret key the main API signs the tokens with.
+     */
+    private String secret;
+
+    /**
+     * Deny-list file written by the main API, empty to accept every valid
+     * token.
+     */
+    private String denyListFile;
+
+    /**
+     * Interval between two checks of the deny-list file, in milliseconds.
+     */
+    private long denyListRefreshMs = 2000;
+}
@@ -0,0 +1,131 @@
+package com.openclassrooms.mddapi.reactive.Security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only copy of the deny-list of revoked JWTs kept by the main API.
+ * The file the main API appends its revocations to is read again whenever it
+ * changes, and the revocations it holds replace the previous ones at once;
+ * a token revoked on the main API is refused here within
+ * {@link JwtProperties#getDenyListRefreshMs()}.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class TokenDenyListReader {
+
+    private static final String TOKEN_ENTRY = "J";
+    private static final String SUBJECT_ENTRY = "M";
+    private static final String SUBJECT_SECONDS_ENTRY = "S";
+
+    private final JwtProperties jwtProperties;
+    private volatile Revocations revocations = new Revocations(Set.of(), Map.of());
+    private FileTime lastModified;
+    private long lastSize = -1;
+
+    /**
+     * Constructs an empty deny-list.
+     *
+     * @param jwtProperties JWT configuration
+     */
+    public TokenDenyListReader(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+    }
+
+    /**
+     * Reads the file, if any.
+     */
+    @PostConstruct
+    public void open() {
+        refresh();
+        log.info("JWT deny-list read with {} tokens and {} subjects", revocations.tokens().size(),
+                revocations.subjects().size());
+    }
+
+    /**
+     * Reads the file again if it changed since the last read.
+     */
+    @Scheduled(fixedDelayString = "${jwt.deny-list-refresh-ms:2000}")
+    public void refresh() {
+        if (jwtProperties.getDenyListFile() == null || jwtProperties.getDenyListFile().isBlank()) {
+            return;
+        }
+        Path file = Path.of(jwtProperties.getDenyListFile());
+        try {
+            if (!Files.exists(file)) {
+                return;
+            }
+            FileTime modified = Files.getLastModifiedTime(file);
+            long size = Files.size(file);
+            if (modified.equals(lastModified) && size == lastSize) {
+                return;
+            }
+            revocations = read(file);
+            lastModified = modified;
+            lastSize = size;
+        } catch (IOException e) {
+            log.warn("Could not read the JWT deny-list {}, keeping the previous revocations", file, e);
+        }
+    }
+
+    /**
+     * Checks whether a token has been revoked.
+     *
+     * @param tokenId        The "jti" claim, may be null
+     * @param subject        The subject of the token
+     * @param issuedAtMillis The issue time of the token, in epoch milliseconds
+     * @return true if the token must be refused
+     */
+    public boolean isRevoked(String tokenId, String subject, long issuedAtMillis) {
+        Revocations current = revocations;
+        if (tokenId != null && current.tokens().contains(tokenId)) {
+            return true;
+        }
+        Long revokedUpTo = current.subjects().get(subject);
+        return revokedUpTo != null && issuedAtMillis <= revokedUpTo;
+    }
+
+    private static Revocations read(Path file) throws IOException {
+        long now = System.currentTimeMillis() / 1000;
+        Set<String> tokens = new HashSet<>();
+        Map<String, Long> subjects = new HashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String[] fields = line.split(" ");
+            if (fields.length != 4 || Long.parseLong(fields[3]) <= now) {
+                continue;
+            }
+            if (TOKEN_ENTRY.equals(fields[0])) {
+                tokens.add(fields[1]);
+            } else if (SUBJECT_ENTRY.equals(fields[0])) {
+                subjects.merge(fields[1], Long.parseLong(fields[2]), Math::max);
+            } else if (SUBJECT_SECONDS_ENTRY.equals(fields[0])) {
+                // Written before the revocation times had a millisecond precision
+                subjects.merge(fields[1], Long.parseLong(fields[2]) * 1000 + 999, Math::max);
+            }
+        }
+        return new Revocations(tokens, subjects);
+    }
+
+    /**
+     * Revoked token IDs, and the issue time in epoch milliseconds up to which
+     * the tokens of each subject are revoked.
+     */
+    private record Revocations(Set<String> tokens, Map<String, Long> subjects) {
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * Security package of the read API.
+ * This package contains the validation of the JWTs issued by the main API and
+ * a read-only copy of its deny-list of revoked tokens.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.reactive.Security;
@@ -0,0 +1,54 @@
+package com.openclassrooms.mddapi.reactive.controllers;
+
+import com.openclassrooms.mddapi.reactive.dto.CommentDto;
+import com.openclassrooms.mddapi.reactive.exceptions.NotFoundException;
+import com.openclassrooms.mddapi.reactive.repository.CommentReadRepository;
+import com.openclassrooms.mddapi.reactive.repository.PostReadRepository;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read endpoints of the comments.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/comments")
+public class CommentReadController {
+
+    private final CommentReadRepository commentRepository;
+    private final PostReadRepository postRepository;
+
+    /**
+     * Constructs a CommentReadController with required dependencies.
+     *
+     * @param commentRepository Repository of the comments
+     * @param postRepository    Repository of the posts
+     */
+    public CommentReadController(CommentReadRepository commentRepository, PostReadRepository postRepository) {
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+    }
+
+    /**
+     * Streams the comments of a post, newest first.
+     *
+     * @param postId The post ID
+     * @return The comments, or a 404 response if the post does not exist
+     */
+    @GetMapping(path = "/post/{postId}",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<CommentDto> getPostComments(@PathVariable Integer postId) {
+        return postRepository.existsById(postId)
+                .flatMapMany(exists -> exists
+                        ? commentRepository.findByPostId(postId)
+                        : Mono.error(new NotFoundException("Article non trouvé")));
+    }
+}
@@ -0,0 +1,96 @@
+package com.openclassrooms.mddapi.reactive.controllers;
+
+import com.openclassrooms.mddapi.reactive.Configuration.ReadApiProperties;
+import com.openclassrooms.mddapi.reactive.Security.JwtPrincipal;
+import com.openclassrooms.mddapi.reactive.dto.PostDto;
+import com.openclassrooms.mddapi.reactive.dto.PostSummaryDto;
+import com.openclassrooms.mddapi.reactive.exceptions.NotFoundException;
+import com.openclassrooms.mddapi.reactive.repository.PostReadRepository;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Read endpoints of the posts.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/posts")
+public class PostReadController {
+
+    private final PostReadRepository postRepository;
+    private final ReadApiProperties properties;
+
+    /**
+     * Constructs a PostReadController with required dependencies.
+     *
+     * @param postRepository Repository of the posts
+     * @param properties     Read API configuration
+     */
+    public PostReadController(PostReadRepository postRepository, ReadApiProperties properties) {
+        this.postRepository = postRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Streams the summaries of all posts, newest first. The posts are read in
+     * keyset pages, each one once the client has taken the previous one.
+     *
+     * @return The post summaries
+     */
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<PostSummaryDto> getAllPosts() {
+        int size = properties.getStreamPageSize();
+        return postRepository.findFirstSummaries(size).collectList()
+                .expand(page -> {
+                    if (page.size() < size) {
+                        return Mono.empty();
+                    }
+                    PostSummaryDto last = page.get(page.size() - 1);
+                    return postRepository.findSummariesAfter(last.getPublishedAt(), last.getId(), size).collectList();
+                })
+                .flatMapIterable(Function.identity(), 1);
+    }
+
+    /**
+     * Retrieves a page of the feed of the current user: the newest posts of
+     * the topics they are subscribed to. Read from the database, while the
+     * main API serves it from its in-memory timelines.
+     *
+     * @param principal The current user
+     * @param beforeId  ID of the last post of the previous page, null for the
+     *                  first page
+     * @param limit     Maximum number of posts, capped by configuration
+     * @return The post summaries, in decreasing ID order
+     */
+    @GetMapping(path = "/feed", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<PostSummaryDto> getFeed(@AuthenticationPrincipal JwtPrincipal principal,
+            @RequestParam(required = false) Integer beforeId,
+            @RequestParam(defaultValue = "20") int limit) {
+        int size = Math.min(Math.max(limit, 1), properties.getMaxFeedPageSize());
+        return postRepository.findFeed(principal.userId(), beforeId == null ? Integer.MAX_VALUE : beforeId, size);
+    }
+
+    /**
+     * Retrieves a post with its content.
+     *
+     * @param id The post ID
+     * @return The post, or a 404 response if it does not exist
+     */
+    @GetMapping("/{id}")
+    public Mono<PostDto> getPostById(@PathVariable Integer id) {
+        return postRepository.findDetailById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Article non trouvé avec l'ID : " + id)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.openclassrooms.mddapi.reactive.controllers;
+
+import com.openclassrooms.mddapi.reactive.Security.JwtPrincipal;
+import com.openclassrooms.mddapi.reactive.dto.TopicResponse;
+import com.openclassrooms.mddapi.reactive.repository.TopicReadRepository;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Read endpoints of the topics.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/topics")
+public class TopicReadController {
+
+    private final TopicReadRepository topicRepository;
+
+    /**
+     * Constructs a TopicReadController with required dependencies.
+     *
+     * @param topicRepository Repository of the topics
+     */
+    public TopicReadController(TopicReadRepository topicRepository) {
+        this.topicRepository = topicRepository;
+    }
+
+    /**
+     * Streams all topics, newest first, with their subscriber counts and
+     * whether the current user is subscribed.
+     *
+     * @param principal The current user
+     * @return The topics
+     */
+    @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<TopicResponse> getAllTopics(@AuthenticationPrincipal JwtPrincipal principal) {
+        return topicRepository.findAllWithCounts(principal.userId()).map(TopicResponse::of);
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Controllers package of the read API.
+ * This package contains the read endpoints of the main API, on the same
+ * paths. Lists are streamed: as a JSON array by default, or one JSON
+ * document per line with {@code Accept: application/x-ndjson}, each flushed
+ * as soon as it is read.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.reactive.controllers;
@@ -0,0 +1,26 @@
+package com.openclassrooms.mddapi.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a comment, with the name of its author.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentDto {
+    private Integer id;
+    private Integer postId;
+    private Integer userId;
+    private String username;
+    private String content;
+    private LocalDateTime commentedAt;
+}
@@ -0,0 +1,28 @@
+package com.openclassrooms.mddapi.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a single post, with its content.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostDto {
+    private Integer id;
+    private Integer userId;
+    private String username;
+    private Integer topicId;
+    private String topicTitle;
+    private String title;
+    private String content;
+    private LocalDateTime publishedAt;
+}
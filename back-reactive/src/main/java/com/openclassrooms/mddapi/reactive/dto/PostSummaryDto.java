@@ -0,0 +1,30 @@
+package com.openclassrooms.mddapi.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a post in a list.
+ * Carries the excerpt instead of the full content, which is only sent by the
+ * single post endpoint.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostSummaryDto {
+    private Integer id;
+    private Integer userId;
+    private String username;
+    private Integer topicId;
+    private String topicTitle;
+    private String title;
+    private String excerpt;
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,48 @@
+package com.openclassrooms.mddapi.reactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response Data Transfer Object for a topic, with its subscriber count and
+ * whether the current user is subscribed.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@NoArgsConstructor
+public class TopicResponse {
+    private Integer id;
+    private String title;
+    private String content;
+    private LocalDateTime createdAt;
+    private int subscriberCount;
+
+    @JsonProperty("isSubscribed")
+    private boolean subscribed;
+
+    private String message = "";
+    private boolean success = true;
+
+    /**
+     * Builds the response of a row read with its counts.
+     *
+     * @param row The topic row
+     * @return The response
+     */
+    public static TopicResponse of(TopicRow row) {
+        TopicResponse response = new TopicResponse();
+        response.setId(row.getId());
+        response.setTitle(row.getTitle());
+        response.setContent(row.getContent());
+        response.setCreatedAt(row.getCreatedAt());
+        response.setSubscriberCount(row.getSubscriberCount().intValue());
+        response.setSubscribed(row.getSubscribed().intValue() > 0);
+        return response;
+    }
+}
@@ -0,0 +1,26 @@
+package com.openclassrooms.mddapi.reactive.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A topic read with its subscriber count and the number of subscriptions of
+ * the current user to it, 0 or 1. Counts are read as numbers since their SQL
+ * type depends on the database.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@NoArgsConstructor
+public class TopicRow {
+    private Integer id;
+    private String title;
+    private String content;
+    private LocalDateTime createdAt;
+    private Number subscriberCount;
+    private Number subscribed;
+}
@@ -0,0 +1,11 @@
+/**
+ * Data Transfer Objects package of the read API.
+ * This package contains the responses of the read endpoints, with the same
+ * JSON shape as those of the main API, read directly by the repository
+ * queries.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.reactive.dto;
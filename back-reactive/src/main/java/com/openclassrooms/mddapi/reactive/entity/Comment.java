@@ -0,0 +1,25 @@
+package com.openclassrooms.mddapi.reactive.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the comments table.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@Table("comments")
+public class Comment {
+    @Id
+    private Integer id;
+    private Integer postId;
+    private Integer userId;
+    private String content;
+    private LocalDateTime commentedAt;
+}
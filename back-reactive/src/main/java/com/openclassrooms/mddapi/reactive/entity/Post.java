@@ -0,0 +1,27 @@
+package com.openclassrooms.mddapi.reactive.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the posts table.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@Table("posts")
+public class Post {
+    @Id
+    private Integer id;
+    private Integer userId;
+    private Integer topicId;
+    private String title;
+    private String content;
+    private String excerpt;
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,24 @@
+package com.openclassrooms.mddapi.reactive.entity;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the topics table.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@Table("topics")
+public class Topic {
+    @Id
+    private Integer id;
+    private String title;
+    private String content;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,11 @@
+/**
+ * Entity package of the read API.
+ * This package contains the tables of the main API the repositories are
+ * declared for. Relations are not mapped: the read queries join the tables
+ * themselves and return data transfer objects.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.reactive.entity;
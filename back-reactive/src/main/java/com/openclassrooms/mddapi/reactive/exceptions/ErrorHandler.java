@@ -0,0 +1,35 @@
+package com.openclassrooms.mddapi.reactive.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Translates the exceptions of the read endpoints into error responses.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@RestControllerAdvice
+public class ErrorHandler {
+
+    /**
+     * Handles NotFoundException.
+     *
+     * @param e the NotFoundException that was thrown
+     * @return a 404 response with the message of the exception
+     */
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleNotFound(NotFoundException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpStatus.NOT_FOUND.value());
+        body.put("message", e.getMessage());
+        body.put("error", "l'article n'existe pas");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    }
+}
@@ -0,0 +1,17 @@
+package com.openclassrooms.mddapi.reactive.exceptions;
+
+/**
+ * Exception signalling a missing post. Like the domain exceptions of the main
+ * API, it captures no stack trace.
+ */
+public class NotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new NotFoundException with the specified detail message.
+     *
+     * @param message the detail message describing the missing resource
+     */
+    public NotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
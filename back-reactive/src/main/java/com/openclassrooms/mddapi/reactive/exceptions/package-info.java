@@ -0,0 +1,10 @@
+/**
+ * Exceptions package of the read API.
+ * This package contains the exceptions of the read endpoints and their
+ * translation into error responses with the JSON shape of the main API.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.reactive.exceptions;
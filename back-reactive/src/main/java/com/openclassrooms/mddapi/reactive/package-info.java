@@ -0,0 +1,12 @@
+/**
+ * Root package of the non-blocking read API of MDD.
+ * This application serves the read endpoints of the main API (posts, feed,
+ * comments and topics) on WebFlux and R2DBC, against the same database and
+ * with the same JWTs, so that long-poll and streaming clients hold a
+ * connection without holding a thread.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.reactive;
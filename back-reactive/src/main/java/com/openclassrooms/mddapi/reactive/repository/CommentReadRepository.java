@@ -0,0 +1,28 @@
+package com.openclassrooms.mddapi.reactive.repository;
+
+import com.openclassrooms.mddapi.reactive.dto.CommentDto;
+import com.openclassrooms.mddapi.reactive.entity.Comment;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+
+/**
+ * Read-only repository of the comments.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface CommentReadRepository extends Repository<Comment, Integer> {
+
+    /**
+     * Retrieves the comments of a post with their authors, newest first.
+     *
+     * @param postId The post ID
+     * @return The comments
+     */
+    @Query("select c.id, c.post_id, c.user_id, u.username, c.content, c.commented_at from comments c "
+            + "join users u on u.id = c.user_id where c.post_id = :postId order by c.commented_at desc")
+    Flux<CommentDto> findByPostId(@Param("postId") Integer postId);
+}
@@ -0,0 +1,90 @@
+package com.openclassrooms.mddapi.reactive.repository;
+
+import com.openclassrooms.mddapi.reactive.dto.PostDto;
+import com.openclassrooms.mddapi.reactive.dto.PostSummaryDto;
+import com.openclassrooms.mddapi.reactive.entity.Post;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only repository of the posts.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface PostReadRepository extends Repository<Post, Integer> {
+
+    /**
+     * Retrieves the summaries of the newest posts, without reading the content
+     * column. The page is cut from the posts alone, along their publication
+     * index, before the authors and topics are joined.
+     *
+     * @param limit Maximum number of posts
+     * @return The post summaries, newest first
+     */
+    @Query("select p.id, p.user_id, u.username, p.topic_id, t.title as topic_title, p.title, p.excerpt, "
+            + "p.published_at from (select id, user_id, topic_id, title, excerpt, published_at from posts "
+            + "order by published_at desc, id desc limit :limit) p "
+            + "join users u on u.id = p.user_id join topics t on t.id = p.topic_id "
+            + "order by p.published_at desc, p.id desc")
+    Flux<PostSummaryDto> findFirstSummaries(@Param("limit") int limit);
+
+    /**
+     * Retrieves the summaries of the posts following a given one in the
+     * newest first order, to read the whole list in keyset pages.
+     *
+     * @param publishedAt The publication date of the last post read
+     * @param id          The ID of the last post read
+     * @param limit       Maximum number of posts
+     * @return The post summaries, newest first
+     */
+    @Query("select p.id, p.user_id, u.username, p.topic_id, t.title as topic_title, p.title, p.excerpt, "
+            + "p.published_at from (select id, user_id, topic_id, title, excerpt, published_at from posts "
+            + "where published_at <= :publishedAt and (published_at < :publishedAt or id < :id) "
+            + "order by published_at desc, id desc limit :limit) p "
+            + "join users u on u.id = p.user_id join topics t on t.id = p.topic_id "
+            + "order by p.published_at desc, p.id desc")
+    Flux<PostSummaryDto> findSummariesAfter(@Param("publishedAt") LocalDateTime publishedAt, @Param("id") Integer id,
+            @Param("limit") int limit);
+
+    /**
+     * Retrieves a page of the feed of a user: the newest posts of the topics
+     * they are subscribed to.
+     *
+     * @param userId   The user
+     * @param beforeId Only posts with a lower ID are returned
+     * @param limit    Maximum number of posts
+     * @return The post summaries, in decreasing ID order
+     */
+    @Query("select p.id, p.user_id, u.username, p.topic_id, t.title as topic_title, p.title, p.excerpt, "
+            + "p.published_at from posts p join users u on u.id = p.user_id join topics t on t.id = p.topic_id "
+            + "where p.topic_id in (select topic_id from subscriptions where user_id = :userId) "
+            + "and p.id < :beforeId order by p.id desc limit :limit")
+    Flux<PostSummaryDto> findFeed(@Param("userId") Integer userId, @Param("beforeId") Integer beforeId,
+            @Param("limit") int limit);
+
+    /**
+     * Retrieves a post with its author and topic.
+     *
+     * @param id The post ID
+     * @return The post, empty if it does not exist
+     */
+    @Query("select p.id, p.user_id, u.username, p.topic_id, t.title as topic_title, p.title, p.content, "
+            + "p.published_at from posts p join users u on u.id = p.user_id join topics t on t.id = p.topic_id "
+            + "where p.id = :id")
+    Mono<PostDto> findDetailById(@Param("id") Integer id);
+
+    /**
+     * Checks whether a post exists.
+     *
+     * @param id The post ID
+     * @return true if it exists
+     */
+    Mono<Boolean> existsById(Integer id);
+}
@@ -0,0 +1,31 @@
+package com.openclassrooms.mddapi.reactive.repository;
+
+import com.openclassrooms.mddapi.reactive.dto.TopicRow;
+import com.openclassrooms.mddapi.reactive.entity.Topic;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+
+/**
+ * Read-only repository of the topics.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface TopicReadRepository extends Repository<Topic, Integer> {
+
+    /**
+     * Retrieves all topics, newest first, with their subscriber counts and
+     * whether a user is subscribed, in a single query.
+     *
+     * @param userId The current user
+     * @return The topics
+     */
+    @Query("select t.id, t.title, t.content, t.created_at, count(s.user_id) as subscriber_count, "
+            + "coalesce(sum(case when s.user_id = :userId then 1 else 0 end), 0) as subscribed "
+            + "from topics t left join subscriptions s on s.topic_id = t.id "
+            + "group by t.id, t.title, t.content, t.created_at order by t.created_at desc")
+    Flux<TopicRow> findAllWithCounts(@Param("userId") Integer userId);
+}
@@ -0,0 +1,26 @@
+package com.openclassrooms.mddapi.reactive.repository;
+
+import com.openclassrooms.mddapi.reactive.entity.User;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only repository of the users.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface UserReadRepository extends Repository<User, Integer> {
+
+    /**
+     * Retrieves the ID of a user by email.
+     *
+     * @param email The email
+     * @return The user ID, empty if no user has this email
+     */
+    @Query("select id from users where email = :email")
+    Mono<Integer> findIdByEmail(@Param("email") String email);
+}
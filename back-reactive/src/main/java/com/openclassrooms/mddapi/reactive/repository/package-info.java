@@ -0,0 +1,11 @@
+/**
+ * Repository package of the read API.
+ * This package contains the R2DBC repositories, read-only: each query joins
+ * the tables it needs and is read as a stream of data transfer objects, as
+ * fast as the client consumes it.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.reactive.repository;
@@ -0,0 +1,173 @@
+package com.openclassrooms.mddapi.reactive;
+
+import com.openclassrooms.mddapi.reactive.Security.TokenDenyListReader;
+import com.openclassrooms.mddapi.reactive.dto.PostSummaryDto;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Checks the read endpoints against a small dataset: authentication, JSON
+ * shapes shared with the main API, and the streaming of the lists.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class ReadApiTests {
+
+	@Autowired
+	private WebTestClient client;
+
+	@Autowired
+	private TokenDenyListReader denyList;
+
+	@Value("${jwt.secret}")
+	private String secret;
+
+	@Value("${jwt.deny-list-file}")
+	private String denyListFile;
+
+	@Test
+	void requestsWithoutAValidTokenAreRejected() {
+		client.get().uri("/api/topics").exchange().expectStatus().isUnauthorized();
+		client.get().uri("/api/topics").headers(headers -> headers.setBearerAuth("not-a-token"))
+				.exchange().expectStatus().isUnauthorized();
+	}
+
+	@Test
+	void revokedTokensAreRejected() throws IOException {
+		String tokenId = UUID.randomUUID().toString();
+		String token = token("bob@test.com", 2, tokenId);
+		get(token, "/api/topics").expectStatus().isOk();
+
+		Path file = Path.of(denyListFile);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, "J " + tokenId + " 0 " + (System.currentTimeMillis() / 1000 + 3600) + "\n");
+		denyList.refresh();
+
+		get(token, "/api/topics").expectStatus().isUnauthorized();
+		Files.delete(file);
+		denyList.refresh();
+	}
+
+	@Test
+	void topicsCarryCountsAndTheSubscriptionFlag() {
+		get(token("alice@test.com", 1, null), "/api/topics").expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(3)
+				.jsonPath("$[0].title").isEqualTo("Spring")
+				.jsonPath("$[0].subscriberCount").isEqualTo(0)
+				.jsonPath("$[0].isSubscribed").isEqualTo(false)
+				.jsonPath("$[2].title").isEqualTo("Java")
+				.jsonPath("$[2].subscriberCount").isEqualTo(2)
+				.jsonPath("$[2].isSubscribed").isEqualTo(true);
+	}
+
+	@Test
+	void tokensWithoutUserIdAreResolvedByEmail() {
+		get(token("bob@test.com", null, null), "/api/posts/feed").expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(2)
+				.jsonPath("$[0].id").isEqualTo(4)
+				.jsonPath("$[1].id").isEqualTo(1);
+		get(token("nobody@test.com", null, null), "/api/posts/feed").expectStatus().isUnauthorized();
+	}
+
+	@Test
+	void feedPagesAreCappedAndChainedByPostId() {
+		String token = token("alice@test.com", 1, null);
+		get(token, "/api/posts/feed?limit=10").expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(2)
+				.jsonPath("$[0].id").isEqualTo(4)
+				.jsonPath("$[0].topicTitle").isEqualTo("Java")
+				.jsonPath("$[1].id").isEqualTo(2);
+		get(token, "/api/posts/feed?beforeId=2").expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(1)
+				.jsonPath("$[0].id").isEqualTo(1)
+				.jsonPath("$[0].username").isEqualTo("bob");
+	}
+
+	@Test
+	void postsAreReadByIdWithTheirContent() {
+		String token = token("alice@test.com", 1, null);
+		get(token, "/api/posts/3").expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.content").isEqualTo("Spring WebFlux et R2DBC")
+				.jsonPath("$.username").isEqualTo("alice")
+				.jsonPath("$.topicTitle").isEqualTo("Spring");
+		get(token, "/api/posts/99").expectStatus().isNotFound()
+				.expectBody()
+				.jsonPath("$.status").isEqualTo(404)
+				.jsonPath("$.message").isEqualTo("Article non trouvé avec l'ID : 99");
+	}
+
+	@Test
+	void commentsAreListedNewestFirst() {
+		String token = token("alice@test.com", 1, null);
+		get(token, "/api/comments/post/1").expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(2)
+				.jsonPath("$[0].content").isEqualTo("Second commentaire")
+				.jsonPath("$[0].username").isEqualTo("bob")
+				.jsonPath("$[1].postId").isEqualTo(1);
+		get(token, "/api/comments/post/99").expectStatus().isNotFound();
+	}
+
+	@Test
+	void postsAreStreamedAsTheClientRequestsThem() {
+		Flux<PostSummaryDto> posts = client.get().uri("/api/posts")
+				.headers(headers -> headers.setBearerAuth(token("alice@test.com", 1, null)))
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+				.returnResult(PostSummaryDto.class)
+				.getResponseBody();
+
+		StepVerifier.create(posts, 1)
+				.expectNextMatches(post -> post.getId() == 4 && post.getExcerpt().equals("Les threads"))
+				.thenRequest(3)
+				.expectNextMatches(post -> post.getId() == 3)
+				.expectNextMatches(post -> post.getId() == 2)
+				.expectNextMatches(post -> post.getId() == 1)
+				.verifyComplete();
+	}
+
+	private WebTestClient.ResponseSpec get(String token, String uri) {
+		return client.get().uri(uri).headers(headers -> headers.setBearerAuth(token)).exchange();
+	}
+
+	private String token(String email, Integer userId, String tokenId) {
+		Map<String, Object> claims = new HashMap<>();
+		if (userId != null) {
+			claims.put("uid", userId);
+		}
+		long now = System.currentTimeMillis();
+		return Jwts.builder()
+				.setClaims(claims)
+				.setSubject(email)
+				.setId(tokenId == null ? UUID.randomUUID().toString() : tokenId)
+				.setIssuedAt(new Date(now))
+				.setExpiration(new Date(now + 60_000))
+				.signWith(Keys.hmacShaKeyFor(secret.getBytes()), SignatureAlgorithm.HS256)
+				.compact();
+	}
+}
@@ -0,0 +1,20 @@
+INSERT INTO users (id, email, username, password) VALUES
+    (1, 'alice@test.com', 'alice', 'x'),
+    (2, 'bob@test.com', 'bob', 'x');
+
+INSERT INTO topics (id, title, content, created_at) VALUES
+    (1, 'Java', 'Le langage Java', '2024-01-01 10:00:00'),
+    (2, 'Angular', 'Le framework Angular', '2024-01-02 10:00:00'),
+    (3, 'Spring', 'Le framework Spring', '2024-01-03 10:00:00');
+
+INSERT INTO subscriptions (user_id, topic_id) VALUES (1, 1), (1, 2), (2, 1);
+
+INSERT INTO posts (id, user_id, topic_id, title, content, excerpt, published_at) VALUES
+    (1, 2, 1, 'Records', 'Les records de Java 17', 'Les records', '2024-02-01 10:00:00'),
+    (2, 2, 2, 'Signals', 'Les signals d''Angular', 'Les signals', '2024-02-02 10:00:00'),
+    (3, 1, 3, 'WebFlux', 'Spring WebFlux et R2DBC', 'Spring WebFlux', '2024-02-03 10:00:00'),
+    (4, 1, 1, 'Virtual threads', 'Les threads virtuels', 'Les threads', '2024-02-04 10:00:00');
+
+INSERT INTO comments (id, post_id, user_id, content, commented_at) VALUES
+    (1, 1, 1, 'Premier commentaire', '2024-02-05 10:00:00'),
+    (2, 1, 2, 'Second commentaire', '2024-02-06 10:00:00');
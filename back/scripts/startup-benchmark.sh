@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: time from the JVM launch to the first answered HTTP request.
+#
+# Compares the plain JVM start with the Spring AOT start, with and without the
+# AppCDS archive, on the bench profile (embedded H2, no external service).
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+# Requires the fast-startup build: mvn -Pfast-startup -DskipTests package
+# Writes target/startup-benchmark.csv and prints a Markdown summary.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+JAR="$(ls target/mdd-api-*.jar | grep -v -e javadoc -e sources | head -n 1)"
+ARCHIVE="target/mdd-api.jsa"
+CSV="target/startup-benchmark.csv"
+
+if [[ ! -d target/lib || ! -f "$ARCHIVE" ]]; then
+    echo "Build the fast-startup profile first: mvn -Pfast-startup -DskipTests package" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Starts the application with the given JVM options and prints the number of
+# milliseconds until it answers its first request.
+measure() {
+    local start pid code elapsed
+    start=$(now_ms)
+    java "$@" -jar "$JAR" --spring.profiles.active=bench --server.port="$PORT" > target/startup-run.log 2>&1 &
+    pid=$!
+    while true; do
+        code=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/actuator/health" || true)
+        if [[ "$code" != "000" ]]; then
+            break
+        fi
+        if ! kill -0 "$pid" 2> /dev/null || (( $(now_ms) - start > TIMEOUT_SECONDS * 1000 )); then
+            echo "Application did not start, see target/startup-run.log" >&2
+            kill "$pid" 2> /dev/null || true
+            exit 1
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed"
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : int((values[NR / 2] + values[NR / 2 + 1]) / 2) }'
+}
+
+declare -A MODES=(
+    [jvm]=""
+    [aot]="-Dspring.aot.enabled=true"
+    [aot-cds]="-Dspring.aot.enabled=true -XX:SharedArchiveFile=$ARCHIVE -Xlog:cds=off"
+)
+
+echo "mode,run,time_to_first_request_ms" > "$CSV"
+echo "| Mode | Median time to first request (ms) | Runs |"
+echo "|------|----------------------------------:|-----:|"
+for mode in jvm aot aot-cds; do
+    # shellcheck disable=SC2086
+    measure ${MODES[$mode]} > /dev/null # warm the file system cache
+    times=()
+    for run in $(seq 1 "$RUNS"); do
+        # shellcheck disable=SC2086
+        elapsed=$(measure ${MODES[$mode]})
+        times+=("$elapsed")
+        echo "$mode,$run,$elapsed" >> "$CSV"
+    done
+    echo "| $mode | $(printf '%s\n' "${times[@]}" | median) | $RUNS |"
+done
@@ -0,0 +1,95 @@
+package com.openclassrooms.mddapi.Configuration;
+
+import com.openclassrooms.mddapi.datasource.ReadYourWritesTracker;
+import com.openclassrooms.mddapi.datasource.ReplicaRoutingDataSource;
+import com.openclassrooms.mddapi.datasource.RoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class replacing the single datasource by a primary/replica
+ * routing datasource, when 'datasource.routing.enabled' is set.
+ * Each database gets its own Hikari pool, configured by the
+ * 'spring.datasource.hikari' settings and exporting its metrics under its
+ * pool name ("primary", "replica-0", ...).
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Provides the users who wrote recently.
+     *
+     * @param properties Routing configuration
+     * @return The read-your-writes tracker
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(RoutingProperties properties) {
+        return new ReadYourWritesTracker(properties.getStickySeconds());
+    }
+
+    /**
+     * Provides the application datasource, routing between the primary and
+     * the replicas.
+     *
+     * @param dataSourceProperties  The primary's connection settings
+     * @param properties            Routing configuration
+     * @param tracker               The users who wrote recently
+     * @param environment           Environment holding the pool settings
+     * @param meterRegistryProvider Registry receiving the pool metrics, if any
+     * @return The routing datasource
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, RoutingProperties properties,
+            ReadYourWritesTracker tracker, Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        DataSource primary = pool("primary", dataSourceProperties.getUrl(), dataSourceProperties.getUsername(),
+                dataSourceProperties.getPassword(), dataSourceProperties, environment, meterRegistry);
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (RoutingProperties.Replica replica : properties.getReplicas()) {
+            replicas.add(pool("replica-" + replicas.size(), replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.getUsername(),
+                    replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.getPassword(),
+                    dataSourceProperties, environment, meterRegistry));
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, tracker);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    private static HikariDataSource pool(String name, String url, String username, String password,
+            DataSourceProperties dataSourceProperties, Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        if (meterRegistry != null) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return pool;
+    }
+}
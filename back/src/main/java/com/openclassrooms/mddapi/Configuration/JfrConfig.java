@@ -0,0 +1,82 @@
+package com.openclassrooms.mddapi.Configuration;
+
+import com.openclassrooms.mddapi.mapper.PostMapper;
+import com.openclassrooms.mddapi.monitoring.jfr.InstrumentedCallInterceptor;
+import com.openclassrooms.mddapi.monitoring.jfr.JfrRequestFilter;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Configuration class installing the custom JFR events around the HTTP
+ * requests, the repository calls and the mapper invocations.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+public class JfrConfig {
+
+    /**
+     * Registers the filter emitting the request events, before every other
+     * filter.
+     *
+     * @return The filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<JfrRequestFilter> jfrRequestFilter() {
+        FilterRegistrationBean<JfrRequestFilter> registration = new FilterRegistrationBean<>(
+                new JfrRequestFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Adds the event interceptor to the proxy of every repository, through
+     * the repository factories before they create it.
+     *
+     * @return The post-processor
+     */
+    @Bean
+    public static BeanPostProcessor jfrRepositoryPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(0,
+                                    InstrumentedCallInterceptor.forRepository(
+                                            information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Wraps the generated mappers in a proxy emitting the mapper events.
+     *
+     * @return The post-processor
+     */
+    @Bean
+    public static BeanPostProcessor jfrMapperPostProcessor() {
+        String mapperPackage = PostMapper.class.getPackageName();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                Class<?> beanClass = bean.getClass();
+                if (!beanClass.getPackageName().equals(mapperPackage) || beanClass.getInterfaces().length == 0) {
+                    return bean;
+                }
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.addAdvice(InstrumentedCallInterceptor.forMapper(beanClass.getInterfaces()[0]));
+                return proxyFactory.getProxy(beanClass.getClassLoader());
+            }
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.openclassrooms.mddapi.Configuration;
+
+import com.openclassrooms.mddapi.monitoring.ConnectionLeakDetector;
+import com.openclassrooms.mddapi.monitoring.LeakTrackingDataSource;
+import com.openclassrooms.mddapi.monitoring.SlowQueryDataSource;
+import com.openclassrooms.mddapi.monitoring.SlowQueryRecorder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration class wrapping the application datasource for connection
+ * leak detection and for the slow query log, unless their thresholds are 0.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+public class MonitoringConfig {
+
+    /**
+     * Wraps the datasource bean in a {@link SlowQueryDataSource}, then in a
+     * {@link LeakTrackingDataSource}, before the entity manager factory uses
+     * it.
+     *
+     * @param detectorProvider The connection leak detector, resolved when the
+     *                         datasource is created
+     * @param recorderProvider The slow query recorder, resolved when the
+     *                         datasource is created
+     * @return The post-processor
+     */
+    @Bean
+    public static BeanPostProcessor monitoringDataSourcePostProcessor(
+            ObjectProvider<ConnectionLeakDetector> detectorProvider,
+            ObjectProvider<SlowQueryRecorder> recorderProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof LeakTrackingDataSource)
+                        && !(bean instanceof SlowQueryDataSource)) {
+                    SlowQueryRecorder recorder = recorderProvider.getObject();
+                    if (recorder.isEnabled()) {
+                        dataSource = new SlowQueryDataSource(dataSource, recorder);
+                    }
+                    ConnectionLeakDetector detector = detectorProvider.getObject();
+                    if (detector.isEnabled()) {
+                        dataSource = new LeakTrackingDataSource(dataSource, detector);
+                    }
+                    return dataSource;
+                }
+                return bean;
+            }
+        };
+    }
+}
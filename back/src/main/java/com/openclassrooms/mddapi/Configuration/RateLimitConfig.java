@@ -0,0 +1,42 @@
+package com.openclassrooms.mddapi.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.mddapi.Security.AuthRateLimiter;
+import com.openclassrooms.mddapi.Security.RateLimitFilter;
+import com.openclassrooms.mddapi.Security.RateLimitProperties;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class registering the authentication rate limiting filter.
+ * The filter is mapped to the authentication endpoints only and runs right
+ * after the Spring Security chain, so that rejected responses still carry the
+ * CORS headers.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * Registers the rate limiting filter on /api/auth/*.
+     *
+     * @param authRateLimiter The authentication rate limiter
+     * @param properties      Rate limiting configuration
+     * @param objectMapper    JSON mapper of the application
+     * @return The filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(AuthRateLimiter authRateLimiter,
+            RateLimitProperties properties, ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(authRateLimiter, properties, objectMapper));
+        registration.addUrlPatterns("/api/auth/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,21 @@
+package com.openclassrooms.mddapi.Configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling background processing.
+ * Activates Spring's scheduled tasks and asynchronous method execution used by
+ * the in-process background jobs (index flushing and merging, cache
+ * maintenance, etc.).
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
@@ -2,12 +2,25 @@ package com.openclassrooms.mddapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class MddApiApplication {
 
+	/**
+	 * Number of startup steps kept for the actuator startup endpoint.
+	 */
+	private static final int STARTUP_STEPS = 10_000;
+
 	public static void main(String[] args) {
-		SpringApplication.run(MddApiApplication.class, args);
+		SpringApplication application = new SpringApplication(MddApiApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		ConfigurableApplicationContext context = application.run(args);
+		// Training start of the fast-startup build: the class-data sharing archive is written on exit
+		if (Boolean.getBoolean("mdd.exit-after-startup")) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
@@ -0,0 +1,164 @@
+package com.openclassrooms.mddapi.Security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Rate limits of the authentication endpoints, per client IP and per account
+ * identifier.
+ * Each failed login costs a BCrypt verification; limiting both scopes keeps
+ * a single client from burning CPU with bad passwords, and many clients from
+ * hammering one account. The availability checks are limited per client IP
+ * in a scope of their own, so that a form checking identifiers as they are
+ * typed never uses up the budget of the login or register that follows.
+ *
+ * Rejections are counted in the {@code auth.rate.limit.rejections} metric,
+ * tagged by scope; the most rejected keys are listed by the
+ * {@code ratelimit} actuator endpoint.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class AuthRateLimiter {
+
+    private final RateLimiter ipLimiter;
+    private final RateLimiter accountLimiter;
+    private final RateLimiter availabilityLimiter;
+    private final Counter ipRejections;
+    private final Counter accountRejections;
+    private final Counter availabilityRejections;
+
+    /**
+     * Constructs the limiters and registers their metrics.
+     *
+     * @param properties    Rate limiting configuration
+     * @param meterRegistry Registry of application metrics
+     */
+    public AuthRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        long now = System.nanoTime();
+        this.ipLimiter = new RateLimiter(properties.getIpBurst(), properties.getIpPerMinute(),
+                properties.getMaxKeys(), now);
+        this.accountLimiter = new RateLimiter(properties.getAccountBurst(), properties.getAccountPerMinute(),
+                properties.getMaxKeys(), now);
+        this.availabilityLimiter = new RateLimiter(properties.getAvailabilityBurst(),
+                properties.getAvailabilityPerMinute(), properties.getMaxKeys(), now);
+        this.ipRejections = Counter.builder("auth.rate.limit.rejections")
+                .description("Authentication requests rejected by the rate limiter")
+                .tag("scope", "ip")
+                .register(meterRegistry);
+        this.accountRejections = Counter.builder("auth.rate.limit.rejections")
+                .description("Authentication requests rejected by the rate limiter")
+                .tag("scope", "account")
+                .register(meterRegistry);
+        this.availabilityRejections = Counter.builder("auth.rate.limit.rejections")
+                .description("Authentication requests rejected by the rate limiter")
+                .tag("scope", "availability")
+                .register(meterRegistry);
+        Gauge.builder("auth.rate.limit.keys", ipLimiter, RateLimiter::size)
+                .description("Rate limiter buckets held in memory")
+                .tag("scope", "ip")
+                .register(meterRegistry);
+        Gauge.builder("auth.rate.limit.keys", accountLimiter, RateLimiter::size)
+                .description("Rate limiter buckets held in memory")
+                .tag("scope", "account")
+                .register(meterRegistry);
+        Gauge.builder("auth.rate.limit.keys", availabilityLimiter, RateLimiter::size)
+                .description("Rate limiter buckets held in memory")
+                .tag("scope", "availability")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token for a client IP.
+     *
+     * @param ip The client IP
+     * @return 0 if accepted, otherwise the nanoseconds to wait
+     */
+    public long tryConsumeIp(String ip) {
+        long wait = ipLimiter.tryConsume(ip, System.nanoTime());
+        if (wait > 0) {
+            ipRejections.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Takes a token for an account identifier (email or username).
+     *
+     * @param account The identifier sent by the client
+     * @return 0 if accepted, otherwise the nanoseconds to wait
+     */
+    public long tryConsumeAccount(String account) {
+        long wait = accountLimiter.tryConsume(account.strip().toLowerCase(Locale.ROOT), System.nanoTime());
+        if (wait > 0) {
+            accountRejections.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Takes a token for an availability check of a client IP.
+     *
+     * @param ip The client IP
+     * @return 0 if accepted, otherwise the nanoseconds to wait
+     */
+    public long tryConsumeAvailability(String ip) {
+        long wait = availabilityLimiter.tryConsume(ip, System.nanoTime());
+        if (wait > 0) {
+            availabilityRejections.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Drops the buckets that are full again.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        int dropped = ipLimiter.sweep(now) + accountLimiter.sweep(now) + availabilityLimiter.sweep(now);
+        if (dropped > 0) {
+            log.debug("Dropped {} idle rate limit buckets", dropped);
+        }
+    }
+
+    /**
+     * Returns the client IPs with the most rejected requests.
+     *
+     * @param limit Maximum number of entries
+     * @return Entries ordered by decreasing rejection count
+     */
+    public List<RateLimiter.KeyRejections> topRejectedIps(int limit) {
+        return ipLimiter.topRejected(limit);
+    }
+
+    /**
+     * Returns the accounts with the most rejected requests.
+     *
+     * @param limit Maximum number of entries
+     * @return Entries ordered by decreasing rejection count
+     */
+    public List<RateLimiter.KeyRejections> topRejectedAccounts(int limit) {
+        return accountLimiter.topRejected(limit);
+    }
+
+    /**
+     * Returns the client IPs with the most rejected availability checks.
+     *
+     * @param limit Maximum number of entries
+     * @return Entries ordered by decreasing rejection count
+     */
+    public List<RateLimiter.KeyRejections> topRejectedAvailabilityIps(int limit) {
+        return availabilityLimiter.topRejected(limit);
+    }
+}
@@ -0,0 +1,21 @@
+package com.openclassrooms.mddapi.Security;
+
+/**
+ * Lookup of passwords known to have leaked in a data breach.
+ * When a bean of this type is present, {@link PasswordValidator} rejects the
+ * passwords it reports.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface BreachedPasswordChecker {
+
+    /**
+     * Checks whether a password appears in a breach.
+     *
+     * @param password The candidate password
+     * @return true if the password is known to be breached
+     */
+    boolean isBreached(String password);
+}
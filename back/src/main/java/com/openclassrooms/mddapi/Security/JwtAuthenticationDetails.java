@@ -0,0 +1,56 @@
+package com.openclassrooms.mddapi.Security;
+
+import com.openclassrooms.mddapi.entity.User;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+/**
+ * Details of a request authenticated by its JWT, adding the ID of the user
+ * read from the token claims to the web details.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public class JwtAuthenticationDetails extends WebAuthenticationDetails {
+
+    private final Integer userId;
+
+    /**
+     * Records the details of a request.
+     *
+     * @param request The HTTP request
+     * @param userId  The user ID claim of the token, null for tokens issued
+     *                before it was added
+     */
+    public JwtAuthenticationDetails(HttpServletRequest request, Integer userId) {
+        super(request);
+        this.userId = userId;
+    }
+
+    /**
+     * @return The user ID claim of the token, null if absent
+     */
+    public Integer getUserId() {
+        return userId;
+    }
+
+    /**
+     * Returns the ID of the authenticated user: the token claim, or else the
+     * ID of the user loaded by the authentication filter.
+     *
+     * @return The user ID, null if the request is not authenticated
+     */
+    public static Integer currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        if (authentication.getDetails() instanceof JwtAuthenticationDetails details && details.userId != null) {
+            return details.userId;
+        }
+        return authentication.getPrincipal() instanceof User user ? user.getId() : null;
+    }
+}
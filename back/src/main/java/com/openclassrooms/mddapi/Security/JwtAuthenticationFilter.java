@@ -1,5 +1,7 @@
 package com.openclassrooms.mddapi.Security;
 
+import com.openclassrooms.mddapi.monitoring.jfr.JwtAuthenticationEvent;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,7 +12,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
@@ -23,6 +24,8 @@ import java.io.IOException;
  * <ul>
  * <li>Extracting JWT tokens from the Authorization header</li>
  * <li>Validating tokens using JwtService</li>
+ * <li>Rejecting revoked tokens using TokenDenyList, before any database
+ * access</li>
  * <li>Setting up Spring Security authentication context</li>
  * <li>Managing the authentication flow</li>
  * </ul>
@@ -39,16 +42,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenDenyList tokenDenyList;
 
     /**
      * Processes each HTTP request to validate JWT tokens and set up authentication.
      * The filter:
      * <ol>
      * <li>Extracts the JWT token from the Authorization header</li>
-     * <li>Validates the token using JwtService</li>
-     * <li>Loads user details if the token is valid</li>
+     * <li>Parses the token once using JwtService</li>
+     * <li>Skips revoked tokens</li>
+     * <li>Loads user details and validates the token against them</li>
      * <li>Sets up Spring Security authentication context</li>
      * </ol>
+     * The authentication is timed by a {@link JwtAuthenticationEvent}.
      *
      * @param request     the HTTP request to process
      * @param response    the HTTP response
@@ -69,20 +75,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         final String jwt = authHeader.substring(7);
-        final String userEmail = jwtService.extractUsername(jwt);
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        String outcome = "invalid";
+        try {
+            outcome = authenticate(request, jwt);
+        } finally {
+            event.finish(request, outcome);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Authenticates the request from its token, unless the token is revoked
+     * or the request is already authenticated.
+     *
+     * @param request The HTTP request
+     * @param jwt     The token
+     * @return The outcome reported in the JFR event
+     */
+    private String authenticate(HttpServletRequest request, String jwt) {
+        final Claims claims = jwtService.extractAllClaims(jwt);
+        final String userEmail = claims.getSubject();
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        if (userEmail == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+            return "skipped";
+        }
+        if (tokenDenyList.isRevoked(claims.getId(), userEmail, JwtService.issuedAtMillis(claims))) {
+            return "revoked";
+        }
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+        if (!jwtService.isTokenValid(claims, userDetails)) {
+            return "invalid";
         }
-        filterChain.doFilter(request, response);
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities());
+        authToken.setDetails(
+                new JwtAuthenticationDetails(request, claims.get(JwtService.USER_ID_CLAIM, Integer.class)));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        return "authenticated";
     }
 }
\ No newline at end of file
@@ -16,6 +16,7 @@ import lombok.Data;
  * <ul>
  * <li>Secret key for token signing and verification</li>
  * <li>Token expiration time</li>
+ * <li>Location of the revoked tokens file</li>
  * </ul>
  *
  * @author Herry Khoalinh
@@ -33,4 +34,7 @@ public class JwtProperties {
 
     @Schema(description = "Token expiration time in milliseconds", example = "86400000")
     private long expiration;
+
+    @Schema(description = "File persisting the revoked tokens across restarts", example = "data/jwt-deny-list.log")
+    private String denyListFile = "data/jwt-deny-list.log";
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.openclassrooms.mddapi.Security;
 
+import com.openclassrooms.mddapi.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Service;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -21,6 +23,7 @@ import java.util.function.Function;
  * <li>Token generation with custom claims</li>
  * <li>Token validation and expiration checking</li>
  * <li>Username extraction from tokens</li>
+ * <li>Unique token identifier ("jti") allowing revocation</li>
  * <li>Secure token signing using HS256 algorithm</li>
  * </ul>
  *
@@ -33,6 +36,19 @@ import java.util.function.Function;
 @Tag(name = "JWT Service", description = "Handles JWT token operations")
 public class JwtService {
 
+    /**
+     * Claim carrying the ID of the user, letting the services query by ID
+     * without looking the user up by email.
+     */
+    public static final String USER_ID_CLAIM = "uid";
+
+    /**
+     * Claim carrying the issue time in epoch milliseconds: "iat" has a
+     * one-second precision, too coarse to tell a token issued right after a
+     * revocation from the revoked ones.
+     */
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iatms";
+
     private final JwtProperties jwtProperties;
 
     /**
@@ -40,6 +56,7 @@ public class JwtService {
      * The token includes:
      * <ul>
      * <li>User's username as subject</li>
+     * <li>User's ID, for an application user</li>
      * <li>Current timestamp as issued at</li>
      * <li>Expiration time based on configured duration</li>
      * </ul>
@@ -48,7 +65,11 @@ public class JwtService {
      * @return The generated JWT token
      */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user && user.getId() != null) {
+            claims.put(USER_ID_CLAIM, user.getId());
+        }
+        return generateToken(claims, userDetails);
     }
 
     /**
@@ -57,7 +78,8 @@ public class JwtService {
      * <ul>
      * <li>All provided extra claims</li>
      * <li>User's username as subject</li>
-     * <li>Current timestamp as issued at</li>
+     * <li>A random unique identifier</li>
+     * <li>Current timestamp as issued at, in seconds and in milliseconds</li>
      * <li>Expiration time based on configured duration</li>
      * </ul>
      *
@@ -66,11 +88,14 @@ public class JwtService {
      * @return The generated JWT token
      */
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtProperties.getExpiration()))
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date(now))
+                .claim(ISSUED_AT_MILLIS_CLAIM, now)
+                .setExpiration(new Date(now + jwtProperties.getExpiration()))
                 .signWith(Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes()),
                         SignatureAlgorithm.HS256)
                 .compact();
@@ -96,8 +121,20 @@ public class JwtService {
      * @return true if the token is valid and not expired, false otherwise
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    /**
+     * Validates the claims of an already parsed JWT token against user details.
+     * Checks both the subject and expiration.
+     *
+     * @param claims      The claims of the token, see {@link #extractAllClaims}
+     * @param userDetails The user details to validate against
+     * @return true if the token is valid and not expired, false otherwise
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return userDetails.getUsername().equals(claims.getSubject())
+                && !claims.getExpiration().before(new Date());
     }
 
     /**
@@ -139,12 +176,30 @@ public class JwtService {
      *
      * @param token The JWT token to extract claims from
      * @return The claims contained in the token
+     * @throws JwtException if the token is malformed, expired or its signature
+     *                      does not match
      */
-    private Claims extractAllClaims(String token) {
+    public Claims extractAllClaims(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes()))
                 .build()
                 .parseClaimsJws(token)
                 .getBody();
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the issue time of a token in epoch milliseconds. Tokens issued
+     * before the millisecond claim existed are taken as issued at the end of
+     * their "iat" second.
+     *
+     * @param claims The token's claims
+     * @return The issue time in epoch milliseconds
+     */
+    public static long issuedAtMillis(Claims claims) {
+        Object millis = claims.get(ISSUED_AT_MILLIS_CLAIM);
+        if (millis instanceof Number number) {
+            return number.longValue();
+        }
+        return claims.getIssuedAt().getTime() + 999;
+    }
+}
@@ -0,0 +1,44 @@
+package com.openclassrooms.mddapi.Security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class for the password policy.
+ * This class loads password rules from the application configuration with the
+ * 'password' prefix.
+ *
+ * The properties include:
+ * <ul>
+ * <li>Minimum password length</li>
+ * <li>Characters accepted as special characters</li>
+ * <li>Optional list of breached passwords to reject</li>
+ * </ul>
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "password")
+@Data
+public class PasswordProperties {
+
+    /**
+     * Minimum number of characters.
+     */
+    private int minLength = 8;
+
+    /**
+     * Characters counted as special characters.
+     */
+    private String specialCharacters = "!@#$%^&*()_+-=[]{};':\"\\|,.<>/?";
+
+    /**
+     * File of breached password SHA-1 hashes, one hexadecimal hash per line,
+     * optionally followed by ':' and a count. Breached passwords are not
+     * checked when unset.
+     */
+    private String breachedPasswordsFile;
+}
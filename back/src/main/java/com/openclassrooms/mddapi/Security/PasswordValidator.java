@@ -1,60 +1,126 @@
 package com.openclassrooms.mddapi.Security;
 
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
 /**
- * Utility class for password validation in the application.
- * Provides static methods to validate password strength and security
- * requirements.
+ * Component for password validation in the application.
+ * Validates password strength and security requirements in a single pass over
+ * the characters, without compiling patterns or allocating memory.
  * This class ensures that all passwords in the system meet minimum security
  * standards
  * to protect user accounts and sensitive information.
  *
+ * The rules are configured through {@link PasswordProperties}; when a
+ * {@link BreachedPasswordChecker} is available, breached passwords are
+ * rejected as well.
+ *
  * @author Herry Khoalinh
  * @version 1.0
  * @since 1.0
  */
+@Component
 public class PasswordValidator {
 
+    static final String MISSING_DIGIT = "Le mot de passe doit contenir au moins un chiffre";
+    static final String MISSING_LOWERCASE = "Le mot de passe doit contenir au moins une lettre minuscule";
+    static final String MISSING_UPPERCASE = "Le mot de passe doit contenir au moins une lettre majuscule";
+    static final String MISSING_SPECIAL = "Le mot de passe doit contenir au moins un caractère spécial";
+    static final String BREACHED = "Ce mot de passe figure dans une fuite de données, veuillez en choisir un autre";
+
+    private final int minLength;
+    private final String tooShort;
+    private final boolean[] specialCharacters;
+    private final BreachedPasswordChecker breachedPasswordChecker;
+
+    /**
+     * Constructs a PasswordValidator.
+     *
+     * @param properties              Password policy configuration
+     * @param breachedPasswordChecker Optional lookup of breached passwords
+     */
+    public PasswordValidator(PasswordProperties properties,
+            Optional<BreachedPasswordChecker> breachedPasswordChecker) {
+        this.minLength = properties.getMinLength();
+        this.tooShort = "Le mot de passe doit contenir au moins " + minLength + " caractères";
+        String specials = properties.getSpecialCharacters();
+        int size = specials.chars().max().orElse(-1) + 1;
+        this.specialCharacters = new boolean[size];
+        specials.chars().forEach(c -> specialCharacters[c] = true);
+        this.breachedPasswordChecker = breachedPasswordChecker.orElse(null);
+    }
+
     /**
      * Validates that the password meets security requirements.
      * Performs comprehensive checks to ensure password strength:
      * <ul>
-     * <li>Minimum length of 8 characters</li>
+     * <li>Minimum length (8 characters by default)</li>
      * <li>At least one digit (0-9)</li>
      * <li>At least one lowercase letter (a-z)</li>
      * <li>At least one uppercase letter (A-Z)</li>
-     * <li>At least one special character (!@#$%^*()_+-=[]{};':"\|,.>/?)
+     * <li>At least one special character (by default
+     * !@#$%^&amp;*()_+-=[]{};':"\|,.&lt;&gt;/?)</li>
+     * <li>Not part of a known breach, when a checker is configured</li>
      * </ul>
-     * 
+     * When several rules fail, the first one in this order is reported.
+     *
      * @param password The password string to validate
      * @return A descriptive error message if the password is invalid, null if the
      *         password is valid
      * @throws IllegalArgumentException if the password parameter is null
      */
-    public static String validate(String password) {
+    public String validate(String password) {
         if (password == null) {
             throw new IllegalArgumentException("Password cannot be null");
         }
 
-        if (password.length() < 8) {
-            return "Le mot de passe doit contenir au moins 8 caractères";
+        int length = password.length();
+        if (length < minLength) {
+            return tooShort;
         }
 
-        if (!password.matches(".*\\d.*")) {
-            return "Le mot de passe doit contenir au moins un chiffre";
+        boolean digit = false;
+        boolean lowercase = false;
+        boolean uppercase = false;
+        boolean special = false;
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (c >= 'a' && c <= 'z') {
+                lowercase = true;
+            } else if (c >= 'A' && c <= 'Z') {
+                uppercase = true;
+            } else if (c < specialCharacters.length && specialCharacters[c]) {
+                special = true;
+            } else if (isLineTerminator(c)) {
+                // The former ".*x.*" patterns never matched across a line
+                // terminator, so such passwords were reported as missing a digit
+                return MISSING_DIGIT;
+            }
         }
 
-        if (!password.matches(".*[a-z].*")) {
-            return "Le mot de passe doit contenir au moins une lettre minuscule";
+        if (!digit) {
+            return MISSING_DIGIT;
         }
-
-        if (!password.matches(".*[A-Z].*")) {
-            return "Le mot de passe doit contenir au moins une lettre majuscule";
+        if (!lowercase) {
+            return MISSING_LOWERCASE;
         }
-
-        if (!password.matches(".*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>\\/?].*")) {
-            return "Le mot de passe doit contenir au moins un caractère spécial";
+        if (!uppercase) {
+            return MISSING_UPPERCASE;
+        }
+        if (!special) {
+            return MISSING_SPECIAL;
+        }
+        if (breachedPasswordChecker != null && breachedPasswordChecker.isBreached(password)) {
+            return BREACHED;
         }
 
         return null; // Password is valid
     }
-}
\ No newline at end of file
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
@@ -0,0 +1,50 @@
+package com.openclassrooms.mddapi.Security;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint listing the client IPs and accounts with the most
+ * requests rejected by the authentication rate limiter.
+ * The listing contains account identifiers, so the endpoint is not exposed
+ * over HTTP unless configured.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Endpoint(id = "ratelimit")
+public class RateLimitEndpoint {
+
+    private static final int TOP = 20;
+
+    private final AuthRateLimiter authRateLimiter;
+
+    /**
+     * Constructs the endpoint.
+     *
+     * @param authRateLimiter The authentication rate limiter
+     */
+    public RateLimitEndpoint(AuthRateLimiter authRateLimiter) {
+        this.authRateLimiter = authRateLimiter;
+    }
+
+    /**
+     * Lists the most rejected keys of each scope.
+     *
+     * @return Top rejected IPs and accounts
+     */
+    @ReadOperation
+    public Map<String, Object> topRejected() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("ip", authRateLimiter.topRejectedIps(TOP));
+        report.put("account", authRateLimiter.topRejectedAccounts(TOP));
+        report.put("availability", authRateLimiter.topRejectedAvailabilityIps(TOP));
+        return report;
+    }
+}
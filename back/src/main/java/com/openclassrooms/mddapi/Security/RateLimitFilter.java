@@ -0,0 +1,132 @@
+package com.openclassrooms.mddapi.Security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Servlet filter applying the authentication rate limits before the requests
+ * reach {@code AuthController}.
+ * Every POST to the authentication endpoints takes a token from the client
+ * IP's bucket. Every availability check takes one from the client IP's
+ * availability bucket, sized for checks made while typing and kept apart so
+ * that they never use up the login and register budget: the endpoint is
+ * public and would otherwise let anyone enumerate the registered identifiers.
+ * Login requests also take one from the bucket of the account identifier
+ * found in the body. A rejected request gets a 429 response with
+ * a Retry-After header, without any password check.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_LOGIN_BODY_BYTES = 8 * 1024;
+
+    private final AuthRateLimiter authRateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs the filter.
+     *
+     * @param authRateLimiter The authentication rate limiter
+     * @param properties      Rate limiting configuration
+     * @param objectMapper    JSON mapper, used to read login bodies and write
+     *                        error responses
+     */
+    public RateLimitFilter(AuthRateLimiter authRateLimiter, RateLimitProperties properties,
+            ObjectMapper objectMapper) {
+        this.authRateLimiter = authRateLimiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        return !"POST".equalsIgnoreCase(request.getMethod()) && !isAvailabilityCheck(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        long wait = isAvailabilityCheck(request)
+                ? authRateLimiter.tryConsumeAvailability(clientIp(request))
+                : authRateLimiter.tryConsumeIp(clientIp(request));
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+
+        HttpServletRequest forwarded = request;
+        if (request.getRequestURI().endsWith("/login")) {
+            CachedBodyHttpServletRequest cached = new CachedBodyHttpServletRequest(request, MAX_LOGIN_BODY_BYTES);
+            String account = accountOf(cached.getBody());
+            if (account != null) {
+                wait = authRateLimiter.tryConsumeAccount(account);
+                if (wait > 0) {
+                    reject(response, wait);
+                    return;
+                }
+            }
+            forwarded = cached;
+        }
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private static boolean isAvailabilityCheck(HttpServletRequest request) {
+        return "GET".equalsIgnoreCase(request.getMethod()) && request.getRequestURI().endsWith("/availability");
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).strip();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * Reads the account identifier of a login body, null if the body is not
+     * a JSON object with a textual "username".
+     */
+    private String accountOf(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() && !username.asText().isBlank() ? username.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long seconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("message", "Trop de tentatives, veuillez réessayer dans " + seconds + " secondes");
+        body.put("error", "Trop de requêtes");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,76 @@
+package com.openclassrooms.mddapi.Security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class for the authentication rate limiter.
+ * This class loads rate limiting settings from the application configuration
+ * with the 'rate-limit' prefix.
+ *
+ * The properties include:
+ * <ul>
+ * <li>Burst size and refill rate per client IP</li>
+ * <li>Burst size and refill rate per account identifier</li>
+ * <li>Burst size and refill rate of the availability checks per client IP</li>
+ * <li>Bounds on the number of tracked keys</li>
+ * </ul>
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Data
+public class RateLimitProperties {
+
+    /**
+     * Whether authentication requests are rate limited.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Requests a client IP may send in a burst.
+     */
+    private int ipBurst = 20;
+
+    /**
+     * Requests per minute a client IP regains.
+     */
+    private int ipPerMinute = 10;
+
+    /**
+     * Login attempts an account may receive in a burst.
+     */
+    private int accountBurst = 5;
+
+    /**
+     * Login attempts per minute an account regains.
+     */
+    private int accountPerMinute = 2;
+
+    /**
+     * Availability checks a client IP may send in a burst, enough for a form
+     * checking the identifiers while they are typed.
+     */
+    private int availabilityBurst = 60;
+
+    /**
+     * Availability checks per minute a client IP regains.
+     */
+    private int availabilityPerMinute = 60;
+
+    /**
+     * Maximum number of buckets kept per scope; beyond it, new keys share a
+     * single overflow bucket until idle buckets are swept.
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * Whether the client IP is read from the first X-Forwarded-For entry, when
+     * the application runs behind a trusted reverse proxy.
+     */
+    private boolean trustForwardedFor = false;
+}
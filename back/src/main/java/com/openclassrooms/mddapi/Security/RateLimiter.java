@@ -0,0 +1,112 @@
+package com.openclassrooms.mddapi.Security;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Set of token buckets for one scope (client IP or account), keyed by string.
+ * Memory is bounded: idle buckets are swept periodically, and when the
+ * maximum number of keys is reached, new keys share one overflow bucket so
+ * that a flood of distinct keys cannot exhaust memory.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public final class RateLimiter {
+
+    /**
+     * Rejection statistics of one key.
+     *
+     * @param key        The limited key
+     * @param rejections Number of rejected requests since the bucket was created
+     */
+    public record KeyRejections(String key, long rejections) {
+    }
+
+    private static final String OVERFLOW_KEY = "*overflow*";
+
+    private final int burst;
+    private final int perMinute;
+    private final int maxKeys;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+
+    /**
+     * Constructs an empty limiter.
+     *
+     * @param burst     Requests accepted in a burst per key
+     * @param perMinute Requests regained per minute per key
+     * @param maxKeys   Maximum number of tracked keys
+     * @param nowNanos  Current time, from {@link System#nanoTime()}
+     */
+    public RateLimiter(int burst, int perMinute, int maxKeys, long nowNanos) {
+        this.burst = burst;
+        this.perMinute = perMinute;
+        this.maxKeys = maxKeys;
+        this.overflow = new TokenBucket(burst, perMinute, nowNanos);
+    }
+
+    /**
+     * Takes one token from the bucket of a key.
+     *
+     * @param key      The limited key
+     * @param nowNanos Current time, from {@link System#nanoTime()}
+     * @return 0 if the request is accepted, otherwise the number of nanoseconds
+     *         to wait
+     */
+    public long tryConsume(String key, long nowNanos) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.size() < maxKeys
+                    ? buckets.computeIfAbsent(key, k -> new TokenBucket(burst, perMinute, nowNanos))
+                    : overflow;
+        }
+        return bucket.tryConsume(nowNanos);
+    }
+
+    /**
+     * Drops the buckets that are full again. They would behave exactly like
+     * new buckets, so no limit is lost.
+     *
+     * @param nowNanos Current time, from {@link System#nanoTime()}
+     * @return Number of buckets dropped
+     */
+    public int sweep(long nowNanos) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(nowNanos));
+        return before - buckets.size();
+    }
+
+    /**
+     * Returns the number of tracked keys.
+     *
+     * @return Number of buckets
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Returns the keys with the most rejected requests.
+     *
+     * @param limit Maximum number of keys
+     * @return Keys ordered by decreasing rejection count
+     */
+    public List<KeyRejections> topRejected(int limit) {
+        List<KeyRejections> all = new ArrayList<>();
+        buckets.forEach((key, bucket) -> {
+            if (bucket.rejections() > 0) {
+                all.add(new KeyRejections(key, bucket.rejections()));
+            }
+        });
+        if (overflow.rejections() > 0) {
+            all.add(new KeyRejections(OVERFLOW_KEY, overflow.rejections()));
+        }
+        all.sort(Comparator.comparingLong(KeyRejections::rejections).reversed());
+        return all.size() > limit ? all.subList(0, limit) : all;
+    }
+}
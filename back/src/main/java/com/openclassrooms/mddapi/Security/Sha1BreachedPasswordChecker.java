@@ -0,0 +1,78 @@
+package com.openclassrooms.mddapi.Security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Breached password lookup backed by a local list of SHA-1 hashes, such as
+ * the "Pwned Passwords" downloads.
+ * Only the first 64 bits of each hash are kept, in a sorted array searched by
+ * dichotomy: 8 bytes per entry, and false positives are negligible for this
+ * purpose.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "password", name = "breached-passwords-file")
+public class Sha1BreachedPasswordChecker implements BreachedPasswordChecker {
+
+    private final long[] prefixes;
+
+    /**
+     * Loads the hash list.
+     *
+     * @param properties Password policy configuration
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public Sha1BreachedPasswordChecker(PasswordProperties properties) {
+        Path file = Path.of(properties.getBreachedPasswordsFile());
+        long[] loaded = new long[1 << 16];
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.length() < 16) {
+                    continue;
+                }
+                if (count == loaded.length) {
+                    loaded = Arrays.copyOf(loaded, count * 2);
+                }
+                loaded[count++] = Long.parseUnsignedLong(line.substring(0, 16), 16);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read breached passwords from " + file, e);
+        }
+        prefixes = Arrays.copyOf(loaded, count);
+        Arrays.sort(prefixes);
+        log.info("Loaded {} breached password hashes", count);
+    }
+
+    @Override
+    public boolean isBreached(String password) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+        long prefix = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            prefix = (prefix << 8) | (digest[i] & 0xFF);
+        }
+        return Arrays.binarySearch(prefixes, prefix) >= 0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.openclassrooms.mddapi.Security;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket, implemented with the generic cell rate algorithm.
+ * The whole state is one "theoretical arrival time" updated by
+ * compare-and-set: each accepted request pushes it one emission interval
+ * further, and a request is rejected when it would run more than a burst
+ * ahead of the current time.
+ *
+ * A bucket whose theoretical arrival time has passed is full, which makes it
+ * indistinguishable from a new one: it can be dropped without losing state.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * Constructs a full bucket.
+     *
+     * @param burst     Number of requests accepted in a burst
+     * @param perMinute Number of requests regained per minute
+     * @param nowNanos  Current time, from {@link System#nanoTime()}
+     */
+    public TokenBucket(int burst, int perMinute, long nowNanos) {
+        this.emissionIntervalNanos = 60_000_000_000L / Math.max(1, perMinute);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param nowNanos Current time, from {@link System#nanoTime()}
+     * @return 0 if the request is accepted, otherwise the number of nanoseconds
+     *         to wait before a token is available
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long base = current - nowNanos > 0 ? current : nowNanos;
+            long next = base + emissionIntervalNanos;
+            long wait = next - nowNanos - burstToleranceNanos - emissionIntervalNanos;
+            if (wait > 0) {
+                rejections.increment();
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Indicates whether the bucket is full again, so that it can be dropped.
+     *
+     * @param nowNanos Current time, from {@link System#nanoTime()}
+     * @return true if the bucket has no pending debt
+     */
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() - nowNanos <= 0;
+    }
+
+    /**
+     * Returns the number of requests this bucket rejected.
+     *
+     * @return Rejection count
+     */
+    public long rejections() {
+        return rejections.sum();
+    }
+}
@@ -0,0 +1,256 @@
+package com.openclassrooms.mddapi.Security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory deny-list of revoked JWTs.
+ * Two kinds of revocation are kept:
+ * <ul>
+ * <li>Single tokens, by their "jti" claim (logout)</li>
+ * <li>All tokens of a subject issued up to a point in time, to the
+ * millisecond (logout everywhere, forced revocation)</li>
+ * </ul>
+ * Lookups are hash map reads, with no allocation and no database access.
+ *
+ * Entries are grouped in one-minute buckets by the expiry of the revoked
+ * tokens; a periodic sweep drops the buckets whose tokens have expired
+ * anyway. Every revocation is appended to a file which is replayed at
+ * startup and compacted by the sweep.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class TokenDenyList {
+
+    private static final long BUCKET_SECONDS = 60;
+    private static final String TOKEN_ENTRY = "J";
+    private static final String SUBJECT_ENTRY = "M";
+    /**
+     * Subject entries written before revocation times had a millisecond
+     * precision, with a time in epoch seconds.
+     */
+    private static final String SUBJECT_SECONDS_ENTRY = "S";
+
+    private final JwtProperties jwtProperties;
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<String, Long> revokedSubjects = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Set<String>> tokenBuckets = new ConcurrentSkipListMap<>();
+    private final NavigableMap<Long, Set<String>> subjectBuckets = new ConcurrentSkipListMap<>();
+    private final Object fileLock = new Object();
+
+    private Path file;
+    private BufferedWriter writer;
+
+    /**
+     * Constructs an empty deny-list.
+     *
+     * @param jwtProperties JWT configuration
+     */
+    public TokenDenyList(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+    }
+
+    /**
+     * Replays the persisted revocations that have not expired, then rewrites
+     * the file with them only.
+     *
+     * @throws IOException if the file cannot be read or written
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        file = Path.of(jwtProperties.getDenyListFile());
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        long now = nowSec();
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] fields = line.split(" ");
+                if (fields.length != 4 || Long.parseLong(fields[3]) <= now) {
+                    continue;
+                }
+                if (TOKEN_ENTRY.equals(fields[0])) {
+                    addToken(fields[1], Long.parseLong(fields[3]));
+                } else if (SUBJECT_ENTRY.equals(fields[0])) {
+                    addSubject(fields[1], Long.parseLong(fields[2]), Long.parseLong(fields[3]));
+                } else if (SUBJECT_SECONDS_ENTRY.equals(fields[0])) {
+                    addSubject(fields[1], Long.parseLong(fields[2]) * 1000 + 999, Long.parseLong(fields[3]));
+                }
+            }
+        }
+        compact();
+        log.info("JWT deny-list loaded with {} tokens and {} subjects", revokedTokens.size(),
+                revokedSubjects.size());
+    }
+
+    /**
+     * Revokes a single token.
+     *
+     * @param tokenId   The token's "jti" claim
+     * @param expiresAt The token's expiry in epoch seconds
+     */
+    public void revokeToken(String tokenId, long expiresAt) {
+        if (expiresAt <= nowSec()) {
+            return;
+        }
+        synchronized (fileLock) {
+            addToken(tokenId, expiresAt);
+            append(TOKEN_ENTRY + " " + tokenId + " 0 " + expiresAt);
+        }
+    }
+
+    /**
+     * Revokes every token of a subject issued up to now.
+     *
+     * @param subject The tokens' subject
+     */
+    public void revokeSubject(String subject) {
+        long nowMillis = System.currentTimeMillis();
+        // Every token issued so far expires within one token lifetime
+        long expiresAt = nowMillis / 1000 + jwtProperties.getExpiration() / 1000 + 1;
+        synchronized (fileLock) {
+            addSubject(subject, nowMillis, expiresAt);
+            append(SUBJECT_ENTRY + " " + subject + " " + nowMillis + " " + expiresAt);
+        }
+    }
+
+    /**
+     * Checks whether a token is revoked.
+     *
+     * @param tokenId        The token's "jti" claim, may be null for tokens
+     *                       issued before revocation existed
+     * @param subject        The token's subject
+     * @param issuedAtMillis The token's issue time in epoch milliseconds
+     * @return true if the token must be rejected
+     */
+    public boolean isRevoked(String tokenId, String subject, long issuedAtMillis) {
+        if (tokenId != null && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        Long revokedUpTo = revokedSubjects.get(subject);
+        return revokedUpTo != null && issuedAtMillis <= revokedUpTo;
+    }
+
+    /**
+     * Drops the revocations of tokens that have expired and compacts the file.
+     */
+    @Scheduled(fixedDelayString = "${jwt.deny-list-sweep-interval-ms:300000}")
+    public void sweep() {
+        long now = nowSec();
+        synchronized (fileLock) {
+            int dropped = drop(tokenBuckets.headMap(now / BUCKET_SECONDS, false), revokedTokens)
+                    + drop(subjectBuckets.headMap(now / BUCKET_SECONDS, false), revokedSubjects);
+            if (dropped > 0) {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to compact the JWT deny-list", e);
+                }
+                log.debug("Dropped {} expired JWT revocations", dropped);
+            }
+        }
+    }
+
+    private void addToken(String tokenId, long expiresAt) {
+        revokedTokens.put(tokenId, expiresAt);
+        tokenBuckets.computeIfAbsent(bucketOf(expiresAt), b -> ConcurrentHashMap.newKeySet()).add(tokenId);
+    }
+
+    private void addSubject(String subject, long revokedUpTo, long expiresAt) {
+        Long previous = revokedSubjects.put(subject, revokedUpTo);
+        if (previous != null) {
+            subjectBuckets.values().forEach(bucket -> bucket.remove(subject));
+        }
+        subjectBuckets.computeIfAbsent(bucketOf(expiresAt), b -> ConcurrentHashMap.newKeySet()).add(subject);
+    }
+
+    private static int drop(NavigableMap<Long, Set<String>> expired, Map<String, Long> entries) {
+        int dropped = 0;
+        for (Set<String> bucket : expired.values()) {
+            for (String key : bucket) {
+                entries.remove(key);
+                dropped++;
+            }
+        }
+        expired.clear();
+        return dropped;
+    }
+
+    /**
+     * Rewrites the file with the live entries and reopens it for appending.
+     */
+    private void compact() throws IOException {
+        synchronized (fileLock) {
+            if (writer != null) {
+                writer.close();
+            }
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<Long, Set<String>> bucket : tokenBuckets.entrySet()) {
+                    for (String tokenId : bucket.getValue()) {
+                        Long expiresAt = revokedTokens.get(tokenId);
+                        if (expiresAt != null) {
+                            out.write(TOKEN_ENTRY + " " + tokenId + " 0 " + expiresAt);
+                            out.newLine();
+                        }
+                    }
+                }
+                for (Map.Entry<Long, Set<String>> bucket : subjectBuckets.entrySet()) {
+                    long expiresAt = (bucket.getKey() + 1) * BUCKET_SECONDS;
+                    for (String subject : bucket.getValue()) {
+                        Long revokedUpTo = revokedSubjects.get(subject);
+                        if (revokedUpTo != null) {
+                            out.write(SUBJECT_ENTRY + " " + subject + " " + revokedUpTo + " " + expiresAt);
+                            out.newLine();
+                        }
+                    }
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        }
+    }
+
+    private void append(String line) {
+        try {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to persist a JWT revocation", e);
+        }
+    }
+
+    /**
+     * Bucket holding an expiry: buckets are swept once their whole minute has
+     * passed, so an entry is never dropped before its token expires.
+     */
+    private static long bucketOf(long expiresAt) {
+        return expiresAt / BUCKET_SECONDS;
+    }
+
+    private static long nowSec() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
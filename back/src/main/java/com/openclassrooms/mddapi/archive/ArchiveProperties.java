@@ -0,0 +1,73 @@
+package com.openclassrooms.mddapi.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Configuration properties class for the archive of the old posts.
+ * This class loads archive settings from the application configuration with
+ * the 'archive' prefix.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "archive")
+@Data
+public class ArchiveProperties {
+
+    /**
+     * Whether the old posts are archived. Posts published before the cutoff
+     * no longer accept comments while enabled.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding the archive segment files.
+     */
+    private String directory = "data/archive";
+
+    /**
+     * Number of whole months, besides the current one, whose posts stay in the
+     * database.
+     */
+    private int hotMonths = 12;
+
+    /**
+     * Schedule of the job, as a cron expression (daily at 3:30 by default).
+     */
+    private String cron = "0 30 3 * * *";
+
+    /**
+     * Number of posts read, or deleted, per transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Whether the posts and comments tables are partitioned by month
+     * (partitioning.sql, MySQL only). The job then creates the partitions of
+     * the coming months and drops the partitions it emptied.
+     */
+    private boolean partitioned = false;
+
+    /**
+     * Number of monthly partitions kept ahead of the current month.
+     */
+    private int partitionsAhead = 3;
+
+    /**
+     * Returns the archive cutoff: the first day of the oldest hot month.
+     * Posts published before it are archived.
+     *
+     * @param today The current date
+     * @return The cutoff
+     */
+    public LocalDateTime cutoff(LocalDate today) {
+        return today.withDayOfMonth(1).minusMonths(hotMonths).atStartOfDay();
+    }
+}
@@ -0,0 +1,398 @@
+package com.openclassrooms.mddapi.archive;
+
+import com.openclassrooms.mddapi.dto.common.CommentDto;
+import com.openclassrooms.mddapi.dto.common.PostDto;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable archive file holding posts with their comments.
+ * Every post is a record compressed on its own, so that a single post is read
+ * with one positional read and one inflate; the offset index at the end of
+ * the file maps the post IDs, in increasing order, to their records. A
+ * segment is written to a temporary file and moved into place once complete,
+ * and never changes afterwards. The file and the directory are both synced
+ * before the segment is returned, so that the move survives a power loss.
+ *
+ * File layout: magic and version, the records (uncompressed length, then the
+ * deflated post and comments), the index (post ID, offset and length of each
+ * record), then the index offset, the record count and the magic again.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+final class ArchiveSegment implements Closeable {
+
+    private static final int MAGIC = 0x4D444441;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int INDEX_ENTRY_SIZE = 16;
+    private static final int TRAILER_SIZE = 16;
+    private static final long NO_DATE = Long.MIN_VALUE;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int[] postIds;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final long size;
+
+    private ArchiveSegment(Path file, FileChannel channel, int[] postIds, long[] offsets, int[] lengths, long size) {
+        this.file = file;
+        this.channel = channel;
+        this.postIds = postIds;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.size = size;
+    }
+
+    /**
+     * Opens a segment previously written by a {@link Writer}, loading its
+     * offset index.
+     *
+     * @param file Segment file
+     * @return The open segment
+     * @throws IOException if the file cannot be read or is not a segment
+     */
+    static ArchiveSegment open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE + TRAILER_SIZE) {
+                throw new IOException("Not an archive segment: " + file);
+            }
+            ByteBuffer header = read(channel, 0, HEADER_SIZE);
+            ByteBuffer trailer = read(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+            long indexOffset = trailer.getLong();
+            int count = trailer.getInt();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || trailer.getInt() != MAGIC
+                    || indexOffset + (long) count * INDEX_ENTRY_SIZE != size - TRAILER_SIZE) {
+                throw new IOException("Not an archive segment: " + file);
+            }
+            ByteBuffer index = read(channel, indexOffset, count * INDEX_ENTRY_SIZE);
+            int[] postIds = new int[count];
+            long[] offsets = new long[count];
+            int[] lengths = new int[count];
+            for (int i = 0; i < count; i++) {
+                postIds[i] = index.getInt();
+                offsets[i] = index.getLong();
+                lengths[i] = index.getInt();
+            }
+            return new ArchiveSegment(file, channel, postIds, offsets, lengths, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int postCount() {
+        return postIds.length;
+    }
+
+    long sizeInBytes() {
+        return size;
+    }
+
+    boolean contains(int postId) {
+        return postIds.length > 0 && postId >= postIds[0] && postId <= postIds[postIds.length - 1]
+                && Arrays.binarySearch(postIds, postId) >= 0;
+    }
+
+    /**
+     * Reads an archived post with its comments.
+     *
+     * @param postId The post ID
+     * @return The archived post, null if it is not in this segment
+     * @throws IOException if the record cannot be read or is corrupted
+     */
+    ArchivedPost read(int postId) throws IOException {
+        if (!contains(postId)) {
+            return null;
+        }
+        int i = Arrays.binarySearch(postIds, postId);
+        ByteBuffer record = read(channel, offsets[i], lengths[i]);
+        byte[] raw = new byte[record.getInt()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(record);
+            int inflated = 0;
+            while (inflated < raw.length) {
+                int n = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IOException("Truncated record of post " + postId + " in " + file);
+                }
+                inflated += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted record of post " + postId + " in " + file, e);
+        } finally {
+            inflater.end();
+        }
+        return decode(new DataInputStream(new ByteArrayInputStream(raw)));
+    }
+
+    /**
+     * Reads every record, to check a segment recovered after a crash.
+     *
+     * @throws IOException if a record cannot be read or is corrupted
+     */
+    void verify() throws IOException {
+        for (int postId : postIds) {
+            read(postId);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Moves a complete segment file to its final name and syncs the
+     * directory.
+     *
+     * @param from The complete file
+     * @param to   The final name
+     * @throws IOException if the file cannot be moved
+     */
+    static void moveDurably(Path from, Path to) throws IOException {
+        Files.move(from, to, StandardCopyOption.ATOMIC_MOVE);
+        try (FileChannel directory = FileChannel.open(to.getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive segment");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void encode(ArchivedPost archived, DataOutputStream out) throws IOException {
+        PostDto post = archived.post();
+        out.writeInt(post.getId());
+        out.writeInt(post.getUserId());
+        writeString(out, post.getUsername());
+        out.writeInt(post.getTopicId());
+        writeString(out, post.getTopicTitle());
+        writeString(out, post.getTitle());
+        writeString(out, post.getContent());
+        writeDate(out, post.getPublishedAt());
+        out.writeInt(archived.comments().size());
+        for (CommentDto comment : archived.comments()) {
+            out.writeInt(comment.getId());
+            out.writeInt(comment.getUserId());
+            writeString(out, comment.getUsername());
+            writeString(out, comment.getContent());
+            writeDate(out, comment.getCommentedAt());
+        }
+    }
+
+    private static ArchivedPost decode(DataInputStream in) throws IOException {
+        PostDto post = new PostDto();
+        post.setId(in.readInt());
+        post.setUserId(in.readInt());
+        post.setUsername(readString(in));
+        post.setTopicId(in.readInt());
+        post.setTopicTitle(readString(in));
+        post.setTitle(readString(in));
+        post.setContent(readString(in));
+        post.setPublishedAt(readDate(in));
+        int commentCount = in.readInt();
+        List<CommentDto> comments = new ArrayList<>(commentCount);
+        for (int i = 0; i < commentCount; i++) {
+            CommentDto comment = new CommentDto();
+            comment.setId(in.readInt());
+            comment.setPostId(post.getId());
+            comment.setUserId(in.readInt());
+            comment.setUsername(readString(in));
+            comment.setContent(readString(in));
+            comment.setCommentedAt(readDate(in));
+            comments.add(comment);
+        }
+        return new ArchivedPost(post, comments);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeLong(NO_DATE);
+            return;
+        }
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readDate(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        return seconds == NO_DATE ? null : LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Writer of a new segment. Records are appended to a temporary file; the
+     * segment only appears under its final name once {@link #finish()} wrote
+     * the index and synced the file. Closing an unfinished writer deletes the
+     * temporary file.
+     */
+    static final class Writer implements Closeable {
+
+        private final Path file;
+        private final Path temporary;
+        private final FileOutputStream fileOut;
+        private final DataOutputStream out;
+        private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        private final ByteArrayOutputStream record = new ByteArrayOutputStream(4096);
+        private byte[] compressed = new byte[4096];
+        private int[] postIds = new int[256];
+        private long[] offsets = new long[256];
+        private int[] lengths = new int[256];
+        private int count;
+        private long position;
+        private boolean finished;
+
+        /**
+         * Starts a new segment.
+         *
+         * @param file Final name of the segment, which must not exist
+         * @throws IOException if the temporary file cannot be created
+         */
+        Writer(Path file) throws IOException {
+            this.file = file;
+            this.temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            this.fileOut = new FileOutputStream(temporary.toFile());
+            this.out = new DataOutputStream(new BufferedOutputStream(fileOut, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            position = HEADER_SIZE;
+        }
+
+        /**
+         * Appends a post with its comments.
+         *
+         * @param archived The post to archive
+         * @throws IOException if the record cannot be written
+         */
+        void append(ArchivedPost archived) throws IOException {
+            record.reset();
+            encode(archived, new DataOutputStream(record));
+            byte[] raw = record.toByteArray();
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            out.writeInt(raw.length);
+            out.write(compressed, 0, length);
+
+            if (count == postIds.length) {
+                postIds = Arrays.copyOf(postIds, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+                lengths = Arrays.copyOf(lengths, count * 2);
+            }
+            postIds[count] = archived.post().getId();
+            offsets[count] = position;
+            lengths[count] = Integer.BYTES + length;
+            count++;
+            position += Integer.BYTES + length;
+        }
+
+        int count() {
+            return count;
+        }
+
+        /**
+         * Writes the index, syncs the file, moves it to its final name and
+         * syncs the directory.
+         *
+         * @return The segment, open for reading
+         * @throws IOException if the segment cannot be completed
+         */
+        ArchiveSegment finish() throws IOException {
+            int[] order = IntStream.range(0, count).boxed()
+                    .sorted(Comparator.comparingInt(i -> postIds[i]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            long indexOffset = position;
+            for (int i : order) {
+                out.writeInt(postIds[i]);
+                out.writeLong(offsets[i]);
+                out.writeInt(lengths[i]);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(count);
+            out.writeInt(MAGIC);
+            out.flush();
+            fileOut.getChannel().force(true);
+            out.close();
+            moveDurably(temporary, file);
+            finished = true;
+            return open(file);
+        }
+
+        @Override
+        public void close() throws IOException {
+            deflater.end();
+            if (!finished) {
+                out.close();
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+}
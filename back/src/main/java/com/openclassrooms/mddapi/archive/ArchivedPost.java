@@ -0,0 +1,19 @@
+package com.openclassrooms.mddapi.archive;
+
+import com.openclassrooms.mddapi.dto.common.CommentDto;
+import com.openclassrooms.mddapi.dto.common.PostDto;
+
+import java.util.List;
+
+/**
+ * Post read from the archive, as it was when it left the database.
+ *
+ * @param post     The post
+ * @param comments Its comments, most recent first
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public record ArchivedPost(PostDto post, List<CommentDto> comments) {
+}
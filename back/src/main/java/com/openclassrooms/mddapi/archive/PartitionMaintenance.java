@@ -0,0 +1,159 @@
+package com.openclassrooms.mddapi.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Maintenance of the monthly partitions of the posts and comments tables,
+ * created by partitioning.sql (MySQL only).
+ * Each partition holds the rows of one month, ranged with RANGE COLUMNS on
+ * the publication or comment date, and the last one, p_future, the rows
+ * after the newest month.
+ * The maintenance splits p_future so that the coming months have their own
+ * partition, and drops the partitions before the archive cutoff once the
+ * archiver emptied them, which frees their space at once.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class PartitionMaintenance {
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final DateTimeFormatter BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ArchiveProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a PartitionMaintenance.
+     *
+     * @param properties   Archive configuration
+     * @param jdbcTemplate Template running the partition statements
+     */
+    @Autowired
+    public PartitionMaintenance(ArchiveProperties properties, JdbcTemplate jdbcTemplate) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Maintains the partitions of the posts and comments tables.
+     *
+     * @param cutoff The archive cutoff; partitions whose rows all come before
+     *               it are dropped when empty
+     */
+    public void maintain(LocalDateTime cutoff) {
+        maintain("posts", "published_at", cutoff);
+        maintain("comments", "commented_at", cutoff);
+    }
+
+    private void maintain(String table, String column, LocalDateTime cutoff) {
+        List<Partition> partitions = jdbcTemplate.query(
+                "select partition_name, partition_description from information_schema.partitions "
+                        + "where table_schema = database() and table_name = ? and partition_name is not null "
+                        + "order by partition_ordinal_position",
+                (rs, rowNum) -> new Partition(rs.getString(1), rs.getString(2)),
+                table);
+        if (partitions.isEmpty()) {
+            log.warn("Table {} is not partitioned, run partitioning.sql first", table);
+            return;
+        }
+        createAhead(table, partitions);
+        dropArchived(table, column, partitions, cutoff);
+    }
+
+    /**
+     * Splits p_future into monthly partitions up to the configured number of
+     * months ahead of the current one.
+     */
+    private void createAhead(String table, List<Partition> partitions) {
+        Partition last = partitions.get(partitions.size() - 1);
+        if (!FUTURE_PARTITION.equals(last.name())) {
+            log.warn("Table {} has no {} partition, no partition created", table, FUTURE_PARTITION);
+            return;
+        }
+        YearMonth next = partitions.size() > 1
+                ? YearMonth.from(upperBound(partitions.get(partitions.size() - 2).description()))
+                : YearMonth.now();
+        YearMonth until = YearMonth.now().plusMonths(properties.getPartitionsAhead());
+        if (next.isAfter(until)) {
+            return;
+        }
+        jdbcTemplate.execute(reorganizeStatement(table, next, until));
+        log.info("Created the monthly partitions of {} from {} to {}", table, next, until);
+    }
+
+    /**
+     * Drops the partitions whose rows all come before the cutoff, provided
+     * the archiver emptied them.
+     */
+    private void dropArchived(String table, String column, List<Partition> partitions, LocalDateTime cutoff) {
+        for (Partition partition : partitions) {
+            if (FUTURE_PARTITION.equals(partition.name()) || upperBound(partition.description()).isAfter(cutoff)) {
+                break;
+            }
+            Boolean empty = jdbcTemplate.queryForObject(
+                    "select not exists (select 1 from " + table + " partition (" + partition.name() + "))",
+                    Boolean.class);
+            if (Boolean.TRUE.equals(empty)) {
+                jdbcTemplate.execute("alter table " + table + " drop partition " + partition.name());
+                log.info("Dropped the archived partition {} of {}", partition.name(), table);
+            } else {
+                log.warn("Partition {} of {} is before the cutoff but still holds rows of {}", partition.name(),
+                        table, column);
+            }
+        }
+    }
+
+    /**
+     * Builds the statement splitting p_future into monthly partitions.
+     *
+     * @param table The table
+     * @param from  The first month to create
+     * @param until The last month to create
+     * @return The statement
+     */
+    static String reorganizeStatement(String table, YearMonth from, YearMonth until) {
+        StringBuilder reorganize = new StringBuilder("alter table ").append(table)
+                .append(" reorganize partition ").append(FUTURE_PARTITION).append(" into (");
+        for (YearMonth month = from; !month.isAfter(until); month = month.plusMonths(1)) {
+            reorganize.append("partition ").append(PARTITION_NAME.format(month.atDay(1)))
+                    .append(" values less than ('").append(BOUND.format(month.plusMonths(1).atDay(1).atStartOfDay()))
+                    .append("'), ");
+        }
+        return reorganize.append("partition ").append(FUTURE_PARTITION).append(" values less than (maxvalue))")
+                .toString();
+    }
+
+    /**
+     * Reads the upper bound of a partition, as listed by MySQL for a RANGE
+     * COLUMNS partition on a date.
+     *
+     * @param description The quoted bound, such as '2024-02-01 00:00:00'
+     * @return The bound, exclusive
+     */
+    static LocalDateTime upperBound(String description) {
+        String bound = description.replace("'", "").trim();
+        return LocalDateTime.parse(bound.length() > 19 ? bound.substring(0, 19) : bound, BOUND);
+    }
+
+    /**
+     * A partition and its upper bound, as listed by MySQL.
+     *
+     * @param name        The partition name
+     * @param description The upper bound, quoted, or MAXVALUE
+     */
+    private record Partition(String name, String description) {
+    }
+}
@@ -0,0 +1,200 @@
+package com.openclassrooms.mddapi.archive;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Store of the archived posts.
+ * Holds the offset index of every segment file in memory and reads an
+ * archived post with a positional read of its record. Segments are named
+ * after the month of their posts and a sequence number; a month archived in
+ * several runs has several segments, searched newest first.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class PostArchive {
+
+    private static final String SEGMENT_PREFIX = "posts-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final ArchiveProperties properties;
+
+    private Path directory;
+    private volatile List<ArchiveSegment> segments = List.of();
+
+    /**
+     * Constructs a PostArchive.
+     *
+     * @param properties    Archive configuration
+     * @param meterRegistry Registry of the archive gauges
+     */
+    public PostArchive(ArchiveProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        Gauge.builder("archive.posts", this, PostArchive::postCount)
+                .description("Posts held in the archive segments")
+                .register(meterRegistry);
+        Gauge.builder("archive.size", this, PostArchive::sizeInBytes)
+                .description("Size of the archive segment files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens the segment files. A temporary file is the leftover of a run
+     * interrupted before or while its segment was moved into place: when it
+     * holds a complete segment, whose posts may already be deleted from the
+     * database, it is moved into place; otherwise its posts are still in the
+     * database and it is deleted.
+     *
+     * @throws IOException if the archive directory cannot be read
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        directory = Files.createDirectories(Path.of(properties.getDirectory()));
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX + TEMPORARY_SUFFIX)) {
+                    recover(file, file.resolveSibling(name.substring(0, name.length() - TEMPORARY_SUFFIX.length())));
+                }
+            }
+        }
+        List<ArchiveSegment> opened = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    opened.add(ArchiveSegment.open(file));
+                }
+            }
+        }
+        segments = List.copyOf(opened);
+        log.info("Post archive opened with {} segments and {} posts", opened.size(), postCount());
+    }
+
+    private void recover(Path temporary, Path file) throws IOException {
+        if (!Files.exists(file)) {
+            try (ArchiveSegment segment = ArchiveSegment.open(temporary)) {
+                segment.verify();
+            } catch (IOException | RuntimeException e) {
+                log.info("Deleting the incomplete archive segment {}: {}", temporary, e.getMessage());
+                Files.delete(temporary);
+                return;
+            }
+            ArchiveSegment.moveDurably(temporary, file);
+            log.warn("Recovered the complete archive segment {} left under its temporary name", file);
+        } else {
+            Files.delete(temporary);
+        }
+    }
+
+    /**
+     * Closes the segment files when the application stops.
+     */
+    @PreDestroy
+    public void close() {
+        for (ArchiveSegment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Cannot close archive segment {}", segment.file(), e);
+            }
+        }
+    }
+
+    /**
+     * Reads an archived post with its comments.
+     *
+     * @param postId The post ID
+     * @return The archived post, empty if it is not archived
+     * @throws UncheckedIOException if the segment holding the post cannot be
+     *                              read
+     */
+    public Optional<ArchivedPost> find(int postId) {
+        for (ArchiveSegment segment : segments) {
+            if (segment.contains(postId)) {
+                try {
+                    return Optional.of(segment.read(postId));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Indicates whether a post is archived, from the in-memory index only.
+     *
+     * @param postId The post ID
+     * @return true if the post is archived
+     */
+    public boolean contains(int postId) {
+        for (ArchiveSegment segment : segments) {
+            if (segment.contains(postId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Starts a new segment for posts published in a given month.
+     *
+     * @param month The month of the posts
+     * @return The writer of the segment, to pass to {@link #publish} once
+     *         complete
+     * @throws IOException if the segment cannot be created
+     */
+    ArchiveSegment.Writer newSegment(YearMonth month) throws IOException {
+        String prefix = SEGMENT_PREFIX + month + "-";
+        long existing = segments.stream()
+                .filter(segment -> segment.file().getFileName().toString().startsWith(prefix))
+                .count();
+        return new ArchiveSegment.Writer(directory.resolve(String.format("%s%04d%s", prefix, existing + 1,
+                SEGMENT_SUFFIX)));
+    }
+
+    /**
+     * Completes a segment and makes its posts readable.
+     *
+     * @param writer The writer of the segment
+     * @throws IOException if the segment cannot be completed
+     */
+    synchronized void publish(ArchiveSegment.Writer writer) throws IOException {
+        ArchiveSegment segment = writer.finish();
+        List<ArchiveSegment> updated = new ArrayList<>(segments.size() + 1);
+        updated.add(segment);
+        updated.addAll(segments);
+        updated.sort(Comparator.comparing(ArchiveSegment::file).reversed());
+        segments = List.copyOf(updated);
+    }
+
+    int postCount() {
+        return segments.stream().mapToInt(ArchiveSegment::postCount).sum();
+    }
+
+    long sizeInBytes() {
+        return segments.stream().mapToLong(ArchiveSegment::sizeInBytes).sum();
+    }
+}
@@ -0,0 +1,224 @@
+package com.openclassrooms.mddapi.archive;
+
+import com.openclassrooms.mddapi.dto.common.CommentDto;
+import com.openclassrooms.mddapi.entity.Comment;
+import com.openclassrooms.mddapi.entity.Post;
+import com.openclassrooms.mddapi.mapper.CommentMapper;
+import com.openclassrooms.mddapi.mapper.PostMapper;
+import com.openclassrooms.mddapi.repository.CommentRepository;
+import com.openclassrooms.mddapi.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Scheduled job moving the posts published before the archive cutoff, with
+ * their comments, from the database to the {@link PostArchive}.
+ * The old posts are handled month by month, oldest first: the posts of a
+ * month are read in keyset batches along the publication index and appended
+ * to a new segment, which is published before any row is deleted. The posts
+ * and their comments are then deleted in batches. A run interrupted between
+ * the two steps leaves posts both archived and in the database; the next run
+ * skips them when writing its segment and deletes them.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class PostArchiver {
+
+    private final ArchiveProperties properties;
+    private final PostArchive postArchive;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final PostMapper postMapper;
+    private final CommentMapper commentMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitionMaintenance partitionMaintenance;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructs a PostArchiver with required dependencies.
+     *
+     * @param properties           Archive configuration
+     * @param postArchive          Store of the archived posts
+     * @param postRepository       Repository for post data access operations
+     * @param commentRepository    Repository for comment data access operations
+     * @param postMapper           Mapper for converting Post entities to DTOs
+     * @param commentMapper        Mapper for converting Comment entities to DTOs
+     * @param transactionTemplate  Template of the per-batch transactions
+     * @param partitionMaintenance Maintenance of the monthly partitions
+     */
+    @Autowired
+    public PostArchiver(
+            ArchiveProperties properties,
+            PostArchive postArchive,
+            PostRepository postRepository,
+            CommentRepository commentRepository,
+            PostMapper postMapper,
+            CommentMapper commentMapper,
+            TransactionTemplate transactionTemplate,
+            PartitionMaintenance partitionMaintenance) {
+        this.properties = properties;
+        this.postArchive = postArchive;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.postMapper = postMapper;
+        this.commentMapper = commentMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.partitionMaintenance = partitionMaintenance;
+    }
+
+    /**
+     * Runs the job on its schedule.
+     */
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}")
+    public void runScheduled() {
+        if (properties.isEnabled()) {
+            run();
+        }
+    }
+
+    /**
+     * Archives the posts published before the cutoff, then maintains the
+     * monthly partitions when the tables are partitioned. Does nothing while
+     * another run is in progress.
+     *
+     * @return The number of posts archived by this run
+     * @throws UncheckedIOException if a segment cannot be written; no row of
+     *                              its month is deleted and the month is
+     *                              archived again next time
+     */
+    public int run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Archive run already in progress");
+            return 0;
+        }
+        try {
+            long started = System.nanoTime();
+            LocalDateTime cutoff = properties.cutoff(LocalDate.now());
+            int archived = 0;
+            LocalDateTime oldest = postRepository.findOldestPublishedAtBefore(cutoff);
+            if (oldest != null) {
+                for (YearMonth month = YearMonth.from(oldest); month.atDay(1).atStartOfDay().isBefore(cutoff);
+                        month = month.plusMonths(1)) {
+                    archived += archiveMonth(month, cutoff);
+                }
+            }
+            if (properties.isPartitioned()) {
+                partitionMaintenance.maintain(cutoff);
+            }
+            log.info("Archive run completed in {} ms: {} posts published before {} archived, {} posts in {} bytes "
+                    + "of segments", (System.nanoTime() - started) / 1_000_000, archived, cutoff,
+                    postArchive.postCount(), postArchive.sizeInBytes());
+            return archived;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Archives the posts of a month, then deletes them from the database.
+     */
+    private int archiveMonth(YearMonth month, LocalDateTime cutoff) {
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        if (to.isAfter(cutoff)) {
+            to = cutoff;
+        }
+        List<Integer> postIds = new ArrayList<>();
+        int archived;
+        try (ArchiveSegment.Writer writer = postArchive.newSegment(month)) {
+            LocalDateTime afterPublishedAt = from;
+            int afterId = 0;
+            List<Post> batch;
+            do {
+                LocalDateTime batchFrom = afterPublishedAt;
+                int batchAfterId = afterId;
+                LocalDateTime batchTo = to;
+                batch = transactionTemplate.execute(status -> {
+                    List<Post> posts = postRepository.findPublishedBatchAfter(batchFrom, batchAfterId, batchTo,
+                            Pageable.ofSize(properties.getBatchSize()));
+                    append(writer, posts);
+                    return posts;
+                });
+                for (Post post : batch) {
+                    postIds.add(post.getId());
+                    afterPublishedAt = post.getPublishedAt();
+                    afterId = post.getId();
+                }
+            } while (batch.size() == properties.getBatchSize());
+
+            archived = writer.count();
+            if (archived > 0) {
+                postArchive.publish(writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int comments = 0;
+        for (int i = 0; i < postIds.size(); i += properties.getBatchSize()) {
+            List<Integer> ids = postIds.subList(i, Math.min(i + properties.getBatchSize(), postIds.size()));
+            Integer deleted = transactionTemplate.execute(status -> {
+                int deletedComments = commentRepository.deleteByPostIdIn(ids);
+                postRepository.deleteByIdIn(ids);
+                return deletedComments;
+            });
+            comments += deleted == null ? 0 : deleted;
+        }
+        if (!postIds.isEmpty()) {
+            log.info("Archived {} posts of {} and deleted {} posts and {} comments", archived, month,
+                    postIds.size(), comments);
+        }
+        return archived;
+    }
+
+    /**
+     * Appends a batch of posts with their comments, read with a single query,
+     * to the segment. Posts already archived by an interrupted run are
+     * skipped.
+     */
+    private void append(ArchiveSegment.Writer writer, List<Post> posts) {
+        List<Integer> ids = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            if (!postArchive.contains(post.getId())) {
+                ids.add(post.getId());
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<CommentDto>> commentsByPost = new HashMap<>();
+        for (Comment comment : commentRepository.findWithUserAndPostByPostIdIn(ids)) {
+            commentsByPost.computeIfAbsent(comment.getPost().getId(), postId -> new ArrayList<>())
+                    .add(commentMapper.toDto(comment));
+        }
+        try {
+            for (Post post : posts) {
+                if (!postArchive.contains(post.getId())) {
+                    writer.append(new ArchivedPost(postMapper.toDto(post),
+                            commentsByPost.getOrDefault(post.getId(), List.of())));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Archive package containing the cold storage of the old posts.
+ * This package contains the scheduled job moving the posts older than the
+ * hot period, with their comments, from the database to immutable compressed
+ * segment files, the store reading them back by post ID, and the maintenance
+ * of the monthly partitions of the posts and comments tables.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.archive;
@@ -3,9 +3,12 @@ package com.openclassrooms.mddapi.controllers;
 import com.openclassrooms.mddapi.dto.request.LoginRequest;
 import com.openclassrooms.mddapi.dto.request.RegisterRequest;
 import com.openclassrooms.mddapi.dto.request.UpdateProfileRequest;
+import com.openclassrooms.mddapi.dto.response.AvailabilityResponse;
 import com.openclassrooms.mddapi.dto.response.LoginResponse;
+import com.openclassrooms.mddapi.dto.response.LogoutResponse;
 import com.openclassrooms.mddapi.dto.response.RegisterResponse;
 import com.openclassrooms.mddapi.dto.response.UpdateProfileResponse;
+import com.openclassrooms.mddapi.services.AvailabilityService;
 import com.openclassrooms.mddapi.services.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,6 +16,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -30,6 +34,7 @@ import org.springframework.web.bind.annotation.*;
  * <li>User registration with validation</li>
  * <li>Profile update management</li>
  * <li>Token refresh functionality</li>
+ * <li>Logout with token revocation</li>
  * </ul>
  * 
  * Security:
@@ -57,14 +62,21 @@ public class AuthController {
         private final UserService userService;
 
         /**
-         * Constructs an AuthController with the required service.
+         * Service for checking whether emails and usernames are taken.
+         */
+        private final AvailabilityService availabilityService;
+
+        /**
+         * Constructs an AuthController with the required services.
          * 
-         * @param userService Service for user operations, including authentication and
-         *                    profile management
+         * @param userService         Service for user operations, including
+         *                            authentication and profile management
+         * @param availabilityService Service for identifier availability checks
          */
         @Autowired
-        public AuthController(UserService userService) {
+        public AuthController(UserService userService, AvailabilityService availabilityService) {
                 this.userService = userService;
+                this.availabilityService = availabilityService;
         }
 
         /**
@@ -204,4 +216,79 @@ public class AuthController {
                                 ? ResponseEntity.ok(response)
                                 : ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
         }
-}
\ No newline at end of file
+
+        /**
+         * Handles logout requests.
+         * Revokes the JWT token of the request, which is rejected from then on.
+         *
+         * @param authorization The "Authorization" header carrying the token
+         * @return ResponseEntity containing:
+         *         <ul>
+         *         <li>LogoutResponse confirming the logout (200 OK)</li>
+         *         <li>Error response when no valid token was given (401
+         *         Unauthorized)</li>
+         *         </ul>
+         */
+        @Operation(summary = "User logout", description = "Revoke the current JWT token. Other sessions of the user stay open.", security = @SecurityRequirement(name = "Bearer Authentication"))
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Successfully logged out", content = @Content(schema = @Schema(implementation = LogoutResponse.class))),
+                        @ApiResponse(responseCode = "401", description = "Not authenticated - Valid JWT token required", content = @Content(schema = @Schema(implementation = LogoutResponse.class)))
+        })
+        @PostMapping("/logout")
+        public ResponseEntity<LogoutResponse> logout(
+                        @Parameter(hidden = true) @RequestHeader(value = "Authorization", required = false) String authorization) {
+                LogoutResponse response = userService.logout(authorization);
+                return response.isSuccess()
+                                ? ResponseEntity.ok(response)
+                                : ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+
+        /**
+         * Handles logout requests for every session of the user.
+         * Revokes all the JWT tokens issued to the user so far, for instance after
+         * a device was lost or an account compromised.
+         *
+         * @param authorization The "Authorization" header carrying the token
+         * @return ResponseEntity containing:
+         *         <ul>
+         *         <li>LogoutResponse confirming the logout (200 OK)</li>
+         *         <li>Error response when no valid token was given (401
+         *         Unauthorized)</li>
+         *         </ul>
+         */
+        @Operation(summary = "User logout from all sessions", description = "Revoke every JWT token issued to the current user so far.", security = @SecurityRequirement(name = "Bearer Authentication"))
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Successfully logged out everywhere", content = @Content(schema = @Schema(implementation = LogoutResponse.class))),
+                        @ApiResponse(responseCode = "401", description = "Not authenticated - Valid JWT token required", content = @Content(schema = @Schema(implementation = LogoutResponse.class)))
+        })
+        @PostMapping("/logout-all")
+        public ResponseEntity<LogoutResponse> logoutAll(
+                        @Parameter(hidden = true) @RequestHeader(value = "Authorization", required = false) String authorization) {
+                LogoutResponse response = userService.logoutAll(authorization);
+                return response.isSuccess()
+                                ? ResponseEntity.ok(response)
+                                : ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+
+        /**
+         * Checks whether an email and/or a username are still available.
+         * Meant for live checks while a registration or profile form is typed;
+         * most free identifiers are answered from memory without a database
+         * query.
+         *
+         * @param email    Email to check, optional
+         * @param username Username to check, optional
+         * @return ResponseEntity containing the availability of each identifier
+         *         given (200 OK)
+         */
+        @Operation(summary = "Check email/username availability", description = "Tells whether the given email and/or username are free. Identifiers not given are reported as null.")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Availability checked", content = @Content(schema = @Schema(implementation = AvailabilityResponse.class)))
+        })
+        @GetMapping("/availability")
+        public ResponseEntity<AvailabilityResponse> checkAvailability(
+                        @Parameter(description = "Email to check") @RequestParam(required = false) String email,
+                        @Parameter(description = "Username to check") @RequestParam(required = false) String username) {
+                return ResponseEntity.ok(availabilityService.checkAvailability(email, username));
+        }
+}
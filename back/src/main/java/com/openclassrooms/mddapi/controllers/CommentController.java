@@ -4,6 +4,7 @@ import com.openclassrooms.mddapi.dto.common.CommentDto;
 import com.openclassrooms.mddapi.dto.request.CommentRequest;
 import com.openclassrooms.mddapi.services.CommentService;
 import com.openclassrooms.mddapi.exceptions.PostNotFoundException;
+import com.openclassrooms.mddapi.exceptions.UserNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,7 +15,6 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
@@ -81,7 +81,7 @@ public class CommentController {
      *         <li>Error response for unauthorized access (401 Unauthorized)</li>
      *         <li>Error response for not found resources (404 Not Found)</li>
      *         </ul>
-     * @throws UsernameNotFoundException if the authenticated user cannot be found
+     * @throws UserNotFoundException if the authenticated user cannot be found
      * @throws PostNotFoundException     if the referenced post does not exist
      */
     @Operation(summary = "Create a new comment", description = "Creates a new comment with the provided content under the specified post. "
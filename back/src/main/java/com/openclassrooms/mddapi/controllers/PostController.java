@@ -1,10 +1,14 @@
 package com.openclassrooms.mddapi.controllers;
 
 import com.openclassrooms.mddapi.dto.common.PostDto;
+import com.openclassrooms.mddapi.dto.common.PostSummaryDto;
+import com.openclassrooms.mddapi.dto.request.PostBatchRequest;
+import com.openclassrooms.mddapi.dto.response.PostBatchResponse;
 import com.openclassrooms.mddapi.dto.request.PostRequest;
 import com.openclassrooms.mddapi.services.PostService;
 import com.openclassrooms.mddapi.exceptions.PostNotFoundException;
 import com.openclassrooms.mddapi.exceptions.TopicNotFoundException;
+import com.openclassrooms.mddapi.exceptions.UserNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,7 +19,6 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import jakarta.validation.Valid;
@@ -83,7 +86,7 @@ public class PostController {
      *         <li>Error response for unauthorized access (401 Unauthorized)</li>
      *         <li>Error response for not found resources (404 Not Found)</li>
      *         </ul>
-     * @throws UsernameNotFoundException if the authenticated user cannot be found
+     * @throws UserNotFoundException if the authenticated user cannot be found
      * @throws TopicNotFoundException    if the referenced topic does not exist
      */
     @Operation(summary = "Create a new post", description = "Creates a new post with the provided title and content under the specified topic. "
@@ -115,23 +118,106 @@ public class PostController {
      *
      * @return ResponseEntity containing:
      *         <ul>
-     *         <li>List of PostDto objects (200 OK)</li>
+     *         <li>List of PostSummaryDto objects (200 OK)</li>
      *         <li>Error response for unauthorized access (401 Unauthorized)</li>
      *         </ul>
      */
     @Operation(summary = "Get all posts", description = "Retrieves all posts ordered by publication date (most recent first). "
             +
-            "Posts include user information, topic details, and publication timestamp.")
+            "Posts include user information, topic details, publication timestamp and an excerpt of the content.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved posts", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostDto.class))),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved posts", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostSummaryDto.class))),
             @ApiResponse(responseCode = "401", description = "Not authenticated - Valid JWT token required", content = @Content)
     })
     @GetMapping
-    public ResponseEntity<List<PostDto>> getAllPosts() {
-        List<PostDto> posts = postService.getAllPosts();
+    public ResponseEntity<List<PostSummaryDto>> getAllPosts() {
+        List<PostSummaryDto> posts = postService.getAllPosts();
         return ResponseEntity.ok(posts);
     }
 
+    /**
+     * Retrieves several posts by identifier.
+     * Meant for pages built from cached identifiers, such as bookmarks,
+     * notifications or search results.
+     *
+     * @param ids Identifiers of the posts, comma separated
+     * @return ResponseEntity containing:
+     *         <ul>
+     *         <li>PostBatchResponse with the posts in the requested order and the
+     *         missing identifiers (200 OK)</li>
+     *         <li>Error response for an empty or too long list (400 Bad
+     *         Request)</li>
+     *         <li>Error response for unauthorized access (401 Unauthorized)</li>
+     *         </ul>
+     */
+    @Operation(summary = "Get posts by IDs", description = "Retrieves up to " + PostBatchRequest.MAX_IDS
+            + " posts in the requested order. Unknown IDs are listed in missingIds instead of failing the request.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the posts", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "No ID or too many IDs", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Not authenticated - Valid JWT token required", content = @Content)
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<PostBatchResponse> getPostsByIds(
+            @Parameter(description = "Comma separated IDs of the posts", required = true) @RequestParam List<Integer> ids) {
+        return ResponseEntity.ok(postService.getPostsByIds(ids));
+    }
+
+    /**
+     * Retrieves several posts by identifier, for lists too long for a query
+     * string.
+     *
+     * @param request The identifiers of the posts
+     * @return ResponseEntity containing:
+     *         <ul>
+     *         <li>PostBatchResponse with the posts in the requested order and the
+     *         missing identifiers (200 OK)</li>
+     *         <li>Error response for an empty or too long list (400 Bad
+     *         Request)</li>
+     *         <li>Error response for unauthorized access (401 Unauthorized)</li>
+     *         </ul>
+     */
+    @Operation(summary = "Get posts by IDs (POST)", description = "Same as GET /api/posts?ids=..., with the IDs in the request body.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the posts", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostBatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "No ID or too many IDs", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Not authenticated - Valid JWT token required", content = @Content)
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<PostBatchResponse> getPostsByIdsBatch(
+            @Parameter(description = "IDs of the posts", required = true) @Valid @RequestBody PostBatchRequest request) {
+        return ResponseEntity.ok(postService.getPostsByIds(request.getIds()));
+    }
+
+    /**
+     * Retrieves the current user's feed.
+     * Returns the newest posts of the topics the user is subscribed to, most
+     * recent first.
+     *
+     * @param beforeId ID of the last post of the previous page, omitted for the
+     *                 first page
+     * @param limit    Maximum number of posts
+     * @return ResponseEntity containing:
+     *         <ul>
+     *         <li>List of PostSummaryDto objects (200 OK)</li>
+     *         <li>Error response for unauthorized access (401 Unauthorized)</li>
+     *         </ul>
+     * @throws UserNotFoundException if the authenticated user cannot be found
+     */
+    @Operation(summary = "Get the subscription feed", description = "Retrieves the newest posts of the topics the authenticated user is subscribed to. "
+            +
+            "Pass the ID of the last received post as beforeId to get the next page.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the feed", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostSummaryDto.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated - Valid JWT token required", content = @Content)
+    })
+    @GetMapping("/feed")
+    public ResponseEntity<List<PostSummaryDto>> getFeed(
+            @Parameter(description = "ID of the last post of the previous page") @RequestParam(required = false) Integer beforeId,
+            @Parameter(description = "Maximum number of posts") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(postService.getFeed(beforeId, limit));
+    }
+
     /**
      * Retrieves a specific post by its ID.
      * 
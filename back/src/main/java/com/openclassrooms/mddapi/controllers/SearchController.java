@@ -0,0 +1,74 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.openclassrooms.mddapi.dto.common.SearchHitDto;
+import com.openclassrooms.mddapi.services.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for full-text search over posts and comments.
+ * Queries are answered from the in-process index, without touching the
+ * database.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/search")
+@Tag(name = "Search", description = "Full-text search APIs")
+public class SearchController {
+
+    /**
+     * Service for handling search operations.
+     */
+    private final SearchService searchService;
+
+    /**
+     * Constructs a SearchController with the required service.
+     *
+     * @param searchService Service for full-text search
+     */
+    @Autowired
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * Searches posts and comments.
+     * Results are ranked by BM25 relevance boosted by recency.
+     *
+     * @param q     The query text
+     * @param limit Maximum number of results
+     * @return ResponseEntity containing:
+     *         <ul>
+     *         <li>List of SearchHitDto ordered by relevance (200 OK)</li>
+     *         <li>Error response for unauthorized access (401 Unauthorized)</li>
+     *         </ul>
+     */
+    @Operation(summary = "Search posts and comments", description = "Returns the top matching posts and comments, ranked by relevance and recency.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully searched", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SearchHitDto.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated - Valid JWT token required", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<List<SearchHitDto>> search(
+            @Parameter(description = "Query text", required = true) @RequestParam String q,
+            @Parameter(description = "Maximum number of results") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.search(q, limit));
+    }
+}
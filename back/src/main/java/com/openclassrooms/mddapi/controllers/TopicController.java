@@ -1,5 +1,6 @@
 package com.openclassrooms.mddapi.controllers;
 
+import com.openclassrooms.mddapi.dto.common.PostSummaryDto;
 import com.openclassrooms.mddapi.dto.response.TopicResponse;
 import com.openclassrooms.mddapi.services.TopicService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,8 +12,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -194,4 +198,37 @@ public class TopicController {
     public ResponseEntity<List<TopicResponse>> getSubscribedTopics() {
         return ResponseEntity.ok(topicService.getSubscribedTopics());
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves a page of the posts of a topic, most recent first.
+     *
+     * @param topicId           The topic ID
+     * @param beforePublishedAt Publication date of the last post of the
+     *                          previous page, omitted for the first page
+     * @param beforeId          ID of the last post of the previous page,
+     *                          omitted for the first page
+     * @param limit             Maximum number of posts
+     * @return ResponseEntity containing:
+     *         <ul>
+     *         <li>List of PostSummaryDto objects (200 OK)</li>
+     *         <li>Error response if topic not found (404 Not Found)</li>
+     *         <li>Error response for unauthorized access (401 Unauthorized)</li>
+     *         </ul>
+     */
+    @Operation(summary = "Get the posts of a topic", description = "Retrieves the posts of a topic, most recent first. "
+            +
+            "Pass the publishedAt and id of the last received post as beforePublishedAt and beforeId to get the next page.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the posts", content = @Content(schema = @Schema(implementation = PostSummaryDto.class))),
+            @ApiResponse(responseCode = "404", description = "Topic not found", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Not authenticated - Valid JWT token required", content = @Content)
+    })
+    @GetMapping("/{topicId}/posts")
+    public ResponseEntity<List<PostSummaryDto>> getTopicPosts(
+            @Parameter(description = "ID of the topic", required = true) @PathVariable Integer topicId,
+            @Parameter(description = "Publication date of the last post of the previous page") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforePublishedAt,
+            @Parameter(description = "ID of the last post of the previous page") @RequestParam(required = false) Integer beforeId,
+            @Parameter(description = "Maximum number of posts") @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(topicService.getTopicPosts(topicId, beforePublishedAt, beforeId, limit));
+    }
+}
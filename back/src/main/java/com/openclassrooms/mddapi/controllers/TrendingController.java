@@ -0,0 +1,92 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.openclassrooms.mddapi.dto.common.TrendingItemDto;
+import com.openclassrooms.mddapi.services.TrendingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for trending topics and posts.
+ * Rankings reflect the weighted activity (new posts, new comments, post views)
+ * of the recent sliding window and are answered from memory.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@RestController
+@RequestMapping("/api/trending")
+@Tag(name = "Trending", description = "Trending topics and posts APIs")
+public class TrendingController {
+
+    /**
+     * Service for handling trending operations.
+     */
+    private final TrendingService trendingService;
+
+    /**
+     * Constructs a TrendingController with the required service.
+     *
+     * @param trendingService Service for trending rankings
+     */
+    @Autowired
+    public TrendingController(TrendingService trendingService) {
+        this.trendingService = trendingService;
+    }
+
+    /**
+     * Retrieves the trending topics.
+     *
+     * @param limit Maximum number of topics
+     * @return ResponseEntity containing:
+     *         <ul>
+     *         <li>List of TrendingItemDto ordered by activity (200 OK)</li>
+     *         <li>Error response for unauthorized access (401 Unauthorized)</li>
+     *         </ul>
+     */
+    @Operation(summary = "Get trending topics", description = "Returns the topics with the most recent activity.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved trending topics", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TrendingItemDto.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated - Valid JWT token required", content = @Content)
+    })
+    @GetMapping("/topics")
+    public ResponseEntity<List<TrendingItemDto>> getTrendingTopics(
+            @Parameter(description = "Maximum number of topics") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingService.getTrendingTopics(limit));
+    }
+
+    /**
+     * Retrieves the trending posts.
+     *
+     * @param limit Maximum number of posts
+     * @return ResponseEntity containing:
+     *         <ul>
+     *         <li>List of TrendingItemDto ordered by activity (200 OK)</li>
+     *         <li>Error response for unauthorized access (401 Unauthorized)</li>
+     *         </ul>
+     */
+    @Operation(summary = "Get trending posts", description = "Returns the posts with the most recent activity.", security = @SecurityRequirement(name = "Bearer Authentication"))
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved trending posts", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TrendingItemDto.class))),
+            @ApiResponse(responseCode = "401", description = "Not authenticated - Valid JWT token required", content = @Content)
+    })
+    @GetMapping("/posts")
+    public ResponseEntity<List<TrendingItemDto>> getTrendingPosts(
+            @Parameter(description = "Maximum number of posts") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingService.getTrendingPosts(limit));
+    }
+}
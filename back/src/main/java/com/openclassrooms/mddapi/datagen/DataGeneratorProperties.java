@@ -0,0 +1,94 @@
+package com.openclassrooms.mddapi.datagen;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Configuration properties class for the synthetic dataset generator.
+ * This class loads generator settings from the application configuration with
+ * the 'datagen' prefix.
+ *
+ * The properties include:
+ * <ul>
+ * <li>Seed used to make every generated dataset reproducible</li>
+ * <li>Volumes of users, topics, posts and comments</li>
+ * <li>Skew of topic popularity (Zipf exponent)</li>
+ * <li>Output mode (JDBC batches or bulk load files)</li>
+ * </ul>
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Profile("datagen")
+@ConfigurationProperties(prefix = "datagen")
+@Data
+public class DataGeneratorProperties {
+
+    /**
+     * Seed of the pseudo-random generator. The same seed, volumes and end time
+     * always produce the same dataset.
+     */
+    private long seed = 42L;
+
+    /**
+     * Number of users to generate.
+     */
+    private int users = 100_000;
+
+    /**
+     * Number of topics to generate.
+     */
+    private int topics = 200;
+
+    /**
+     * Number of posts to generate.
+     */
+    private int posts = 500_000;
+
+    /**
+     * Number of comments to generate.
+     */
+    private int comments = 2_000_000;
+
+    /**
+     * Upper bound of topic subscriptions per user.
+     */
+    private int maxSubscriptionsPerUser = 20;
+
+    /**
+     * Exponent of the Zipf distribution used for topic and post popularity.
+     */
+    private double zipfExponent = 1.1;
+
+    /**
+     * Number of days covered by generated timestamps.
+     */
+    private int historyDays = 365;
+
+    /**
+     * Most recent generated timestamp. Defaults to today at midnight.
+     */
+    private LocalDateTime endTime;
+
+    /**
+     * Number of rows per multi-row INSERT statement.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Clear-text password shared by all generated users.
+     */
+    private String password = "Password!1";
+
+    /**
+     * When set, rows are written to LOAD DATA files in this directory instead
+     * of being inserted through JDBC.
+     */
+    private String outputDir;
+}
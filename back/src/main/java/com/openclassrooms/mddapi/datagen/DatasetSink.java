@@ -0,0 +1,48 @@
+package com.openclassrooms.mddapi.datagen;
+
+import java.io.IOException;
+
+/**
+ * Destination of generated rows.
+ * Tables are written one after the other: each table is opened with
+ * {@link #begin(String, String...)}, receives its rows through
+ * {@link #row(Object...)} and is completed with {@link #end()}.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface DatasetSink extends AutoCloseable {
+
+    /**
+     * Starts writing a table.
+     *
+     * @param table   The table name
+     * @param columns The column names, in the order of the row values
+     * @throws IOException if the destination cannot be opened
+     */
+    void begin(String table, String... columns) throws IOException;
+
+    /**
+     * Writes one row of the current table.
+     *
+     * @param values The column values, in the order given to begin
+     * @throws IOException if the row cannot be written
+     */
+    void row(Object... values) throws IOException;
+
+    /**
+     * Flushes the pending rows of the current table.
+     *
+     * @throws IOException if the rows cannot be written
+     */
+    void end() throws IOException;
+
+    /**
+     * Releases the resources held by the sink.
+     *
+     * @throws IOException if the sink cannot be closed properly
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,101 @@
+package com.openclassrooms.mddapi.datagen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Dataset sink writing one tab-separated file per table plus a
+ * {@code load.sql} script of {@code LOAD DATA} statements.
+ * The files use the MySQL default field format (tab separated, backslash
+ * escaped, {@code \N} for null), so they can be loaded without any option.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public class LoadDataFileSink implements DatasetSink {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Path directory;
+    private final BufferedWriter script;
+    private final StringBuilder line = new StringBuilder(512);
+
+    private BufferedWriter current;
+
+    /**
+     * Constructs a LoadDataFileSink.
+     *
+     * @param directory Directory receiving the data files and the load script
+     * @throws IOException if the directory or the script cannot be created
+     */
+    public LoadDataFileSink(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.script = Files.newBufferedWriter(directory.resolve("load.sql"), StandardCharsets.UTF_8);
+        script.write("SET foreign_key_checks = 0;\n");
+    }
+
+    @Override
+    public void begin(String table, String... columns) throws IOException {
+        Path file = directory.resolve(table + ".tsv");
+        current = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        script.write("LOAD DATA LOCAL INFILE '" + file.toAbsolutePath() + "' INTO TABLE " + table
+                + " CHARACTER SET utf8mb4 (" + String.join(", ", columns) + ");\n");
+    }
+
+    @Override
+    public void row(Object... values) throws IOException {
+        line.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append('\t');
+            }
+            appendField(values[i]);
+        }
+        line.append('\n');
+        current.append(line);
+    }
+
+    @Override
+    public void end() throws IOException {
+        current.close();
+        current = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        script.write("SET foreign_key_checks = 1;\n");
+        script.close();
+    }
+
+    /**
+     * Appends a value using the escaping rules of LOAD DATA.
+     *
+     * @param value The value to append
+     */
+    private void appendField(Object value) {
+        if (value == null) {
+            line.append("\\N");
+            return;
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            line.append(TIMESTAMP_FORMAT.format(dateTime));
+            return;
+        }
+        String text = value.toString();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> line.append("\\\\");
+                case '\t' -> line.append("\\t");
+                case '\n' -> line.append("\\n");
+                default -> line.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.openclassrooms.mddapi.datagen;
+
+import com.openclassrooms.mddapi.entity.Post;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Command line runner that fills the database with a synthetic dataset.
+ * Only active under the {@code datagen} profile. Combined with the
+ * {@code bench} profile it loads the embedded H2 database used for
+ * benchmarks; alone it targets the configured MySQL database.
+ *
+ * Generated data:
+ * <ul>
+ * <li>Users sharing a single pre-hashed password</li>
+ * <li>Topics whose popularity follows a Zipf distribution</li>
+ * <li>Subscriptions skewed towards popular topics</li>
+ * <li>Posts spread over the configured history, skewed by topic</li>
+ * <li>Comments skewed towards popular posts</li>
+ * </ul>
+ *
+ * Identifiers continue after the current maximum of each table, so the
+ * generator can run on top of the data.sql seed.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String[] WORDS = {
+            "java", "spring", "angular", "docker", "kotlin", "python", "cloud", "api", "rest", "jwt",
+            "database", "index", "query", "cache", "thread", "stream", "lambda", "module", "build", "test",
+            "deploy", "pipeline", "latency", "memory", "garbage", "collector", "compiler", "runtime", "service",
+            "client", "server", "request", "response", "security", "token", "session", "bean", "context",
+            "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "sed", "tempor" };
+
+    private static final long PRIME_STRIDE = 1_000_003L;
+
+    private final DataGeneratorProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * Generates the configured dataset.
+     *
+     * @param args Command line arguments (unused)
+     * @throws IOException if the bulk load files cannot be written
+     */
+    @Override
+    public void run(String... args) throws IOException {
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        LocalDateTime end = properties.getEndTime() != null
+                ? properties.getEndTime()
+                : LocalDate.now().atStartOfDay();
+        long historySeconds = properties.getHistoryDays() * 86_400L;
+        LocalDateTime start = end.minusSeconds(historySeconds);
+
+        int firstUserId = nextId("users");
+        int firstTopicId = nextId("topics");
+        int firstPostId = nextId("posts");
+        int firstCommentId = nextId("comments");
+
+        long started = System.nanoTime();
+        try (DatasetSink sink = createSink()) {
+            writeUsers(sink, random, firstUserId, start, historySeconds);
+            writeTopics(sink, random, firstTopicId, start, historySeconds);
+            writeSubscriptions(sink, random, firstUserId, firstTopicId);
+            int[] postOffsets = writePosts(sink, random, firstPostId, firstUserId, firstTopicId, start,
+                    historySeconds);
+            writeComments(sink, random, firstCommentId, firstPostId, firstUserId, start, historySeconds,
+                    postOffsets);
+        }
+
+        if (properties.getOutputDir() == null) {
+            restartIdentity("users", firstUserId + properties.getUsers());
+            restartIdentity("topics", firstTopicId + properties.getTopics());
+            restartIdentity("posts", firstPostId + properties.getPosts());
+            restartIdentity("comments", firstCommentId + properties.getComments());
+        }
+
+        log.info("Synthetic dataset generated in {} ms (seed={}, users={}, topics={}, posts={}, comments={})",
+                (System.nanoTime() - started) / 1_000_000, properties.getSeed(), properties.getUsers(),
+                properties.getTopics(), properties.getPosts(), properties.getComments());
+    }
+
+    private DatasetSink createSink() throws IOException {
+        if (properties.getOutputDir() != null) {
+            return new LoadDataFileSink(Path.of(properties.getOutputDir()));
+        }
+        return new JdbcBatchSink(jdbcTemplate, properties.getBatchSize());
+    }
+
+    private void writeUsers(DatasetSink sink, SplittableRandom random, int firstId, LocalDateTime start,
+            long historySeconds) throws IOException {
+        String hash = passwordEncoder.encode(properties.getPassword());
+        sink.begin("users", "id", "email", "username", "password", "created_at");
+        for (int i = 0; i < properties.getUsers(); i++) {
+            int id = firstId + i;
+            sink.row(id, "user" + id + "@mdd.test", "user" + id, hash,
+                    start.plusSeconds(random.nextLong(historySeconds)));
+        }
+        sink.end();
+        log.info("Generated {} users", properties.getUsers());
+    }
+
+    private void writeTopics(DatasetSink sink, SplittableRandom random, int firstId, LocalDateTime start,
+            long historySeconds) throws IOException {
+        sink.begin("topics", "id", "title", "content", "created_at");
+        for (int i = 0; i < properties.getTopics(); i++) {
+            int id = firstId + i;
+            sink.row(id, "Topic " + id, sentence(random, 8, 20),
+                    start.plusSeconds(random.nextLong(historySeconds)));
+        }
+        sink.end();
+        log.info("Generated {} topics", properties.getTopics());
+    }
+
+    private void writeSubscriptions(DatasetSink sink, SplittableRandom random, int firstUserId,
+            int firstTopicId) throws IOException {
+        ZipfSampler topicSampler = new ZipfSampler(properties.getTopics(), properties.getZipfExponent());
+        int maxPerUser = Math.min(properties.getMaxSubscriptionsPerUser(), properties.getTopics());
+        int[] chosen = new int[maxPerUser];
+        long total = 0;
+
+        sink.begin("subscriptions", "user_id", "topic_id");
+        for (int i = 0; i < properties.getUsers(); i++) {
+            int count = random.nextInt(maxPerUser + 1);
+            int size = 0;
+            // Bounded attempts: with a strong skew the tail topics are rarely drawn
+            for (int attempt = 0; size < count && attempt < count * 10; attempt++) {
+                int topicId = firstTopicId + topicSampler.sample(random) - 1;
+                if (!contains(chosen, size, topicId)) {
+                    chosen[size++] = topicId;
+                    sink.row(firstUserId + i, topicId);
+                }
+            }
+            total += size;
+        }
+        sink.end();
+        log.info("Generated {} subscriptions", total);
+    }
+
+    private int[] writePosts(DatasetSink sink, SplittableRandom random, int firstId, int firstUserId,
+            int firstTopicId, LocalDateTime start, long historySeconds) throws IOException {
+        ZipfSampler topicSampler = new ZipfSampler(properties.getTopics(), properties.getZipfExponent());
+        int[] offsets = new int[properties.getPosts()];
+
+        sink.begin("posts", "id", "user_id", "topic_id", "title", "content", "excerpt", "published_at");
+        for (int i = 0; i < properties.getPosts(); i++) {
+            offsets[i] = (int) random.nextLong(historySeconds);
+            String content = sentence(random, 40, 400);
+            sink.row(firstId + i,
+                    firstUserId + random.nextInt(properties.getUsers()),
+                    firstTopicId + topicSampler.sample(random) - 1,
+                    capitalize(sentence(random, 4, 10)),
+                    content,
+                    Post.excerptOf(content),
+                    start.plusSeconds(offsets[i]));
+        }
+        sink.end();
+        log.info("Generated {} posts", properties.getPosts());
+        return offsets;
+    }
+
+    private void writeComments(DatasetSink sink, SplittableRandom random, int firstId, int firstPostId,
+            int firstUserId, LocalDateTime start, long historySeconds, int[] postOffsets) throws IOException {
+        int postCount = properties.getPosts();
+        if (postCount == 0) {
+            return;
+        }
+        ZipfSampler postSampler = new ZipfSampler(postCount, properties.getZipfExponent());
+        long stride = PRIME_STRIDE;
+        while (gcd(stride, postCount) != 1) {
+            stride += 2;
+        }
+
+        sink.begin("comments", "id", "post_id", "user_id", "content", "commented_at");
+        for (int i = 0; i < properties.getComments(); i++) {
+            // Scatter popular ranks over the id space so hot posts are not all the oldest
+            int postIndex = (int) (((postSampler.sample(random) - 1) * stride) % postCount);
+            long remaining = Math.max(1, historySeconds - postOffsets[postIndex]);
+            sink.row(firstId + i,
+                    firstPostId + postIndex,
+                    firstUserId + random.nextInt(properties.getUsers()),
+                    sentence(random, 5, 60),
+                    start.plusSeconds(postOffsets[postIndex] + random.nextLong(remaining)));
+        }
+        sink.end();
+        log.info("Generated {} comments", properties.getComments());
+    }
+
+    /**
+     * Returns the first free identifier of a table.
+     *
+     * @param table The table name
+     * @return The current maximum identifier plus one
+     */
+    private int nextId(String table) {
+        Integer max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Integer.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    /**
+     * Moves the identity counter of a table past the generated identifiers.
+     * MySQL does it by itself when explicit ids are inserted, H2 does not.
+     *
+     * @param table  The table name
+     * @param nextId The next identifier the application should get
+     */
+    private void restartIdentity(String table, int nextId) {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(product)) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId);
+        }
+    }
+
+    private String sentence(SplittableRandom random, int minWords, int maxWords) {
+        int words = minWords + random.nextInt(maxWords - minWords + 1);
+        StringBuilder text = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private static boolean contains(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+package com.openclassrooms.mddapi.datagen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Sampler for a Zipf distribution over the ranks 1..n.
+ * Uses the rejection-inversion method (Hörmann and Derflinger), which needs
+ * constant memory and constant expected time per sample whatever the number
+ * of elements, so it can skew choices among millions of posts.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public class ZipfSampler {
+
+    private final int numberOfElements;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralNumberOfElements;
+    private final double s;
+
+    /**
+     * Creates a sampler for the given number of elements and exponent.
+     *
+     * @param numberOfElements Number of ranks, must be strictly positive
+     * @param exponent         Skew of the distribution, must be strictly
+     *                         positive
+     * @throws IllegalArgumentException if a parameter is out of range
+     */
+    public ZipfSampler(int numberOfElements, double exponent) {
+        if (numberOfElements <= 0 || exponent <= 0) {
+            throw new IllegalArgumentException("Zipf parameters must be strictly positive");
+        }
+        this.numberOfElements = numberOfElements;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1d;
+        this.hIntegralNumberOfElements = hIntegral(numberOfElements + 0.5);
+        this.s = 2d - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * Draws a rank, rank 1 being the most frequent.
+     *
+     * @param random The random source
+     * @return A rank between 1 and the number of elements
+     */
+    public int sample(SplittableRandom random) {
+        while (true) {
+            double u = hIntegralNumberOfElements
+                    + random.nextDouble() * (hIntegralX1 - hIntegralNumberOfElements);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > numberOfElements) {
+                k = numberOfElements;
+            }
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1d - exponent) * logX) * logX;
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = x * (1d - exponent);
+        if (t < -1d) {
+            t = -1d;
+        }
+        return Math.exp(helper1(t) * x);
+    }
+
+    private static double helper1(double x) {
+        return Math.abs(x) > 1e-8
+                ? Math.log1p(x) / x
+                : 1 - x * (0.5 - x * (1d / 3 - 0.25 * x));
+    }
+
+    private static double helper2(double x) {
+        return Math.abs(x) > 1e-8
+                ? Math.expm1(x) / x
+                : 1 + x * 0.5 * (1 + x * (1d / 3) * (1 + 0.25 * x));
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Datagen package for synthetic load and benchmark datasets.
+ * This package contains the components that fill the database with
+ * reproducible, production-sized volumes of users, topics, subscriptions,
+ * posts and comments. It is only active under the {@code datagen} Spring
+ * profile and is never loaded by the regular application.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.datagen;
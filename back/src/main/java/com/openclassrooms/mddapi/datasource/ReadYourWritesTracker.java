@@ -0,0 +1,64 @@
+package com.openclassrooms.mddapi.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently, so that their following reads are
+ * served by the primary until the replicas have caught up.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public class ReadYourWritesTracker {
+
+    private final long stickyMillis;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a tracker.
+     *
+     * @param stickySeconds Seconds during which reads stay on the primary after
+     *                      a write
+     */
+    public ReadYourWritesTracker(int stickySeconds) {
+        this.stickyMillis = stickySeconds * 1000L;
+    }
+
+    /**
+     * Records a write by a user.
+     *
+     * @param user The user's name, ignored when null
+     */
+    public void recordWrite(String user) {
+        if (user != null) {
+            stickyUntil.put(user, System.currentTimeMillis() + stickyMillis);
+        }
+    }
+
+    /**
+     * Tells whether a user's reads must stay on the primary.
+     *
+     * @param user The user's name, may be null
+     * @return true if the user wrote within the window
+     */
+    public boolean isSticky(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(user);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    /**
+     * Forgets the users whose window is over.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until <= now);
+    }
+}
@@ -0,0 +1,83 @@
+package com.openclassrooms.mddapi.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource routing each connection to the primary or to a replica.
+ * Read-only transactions go to the replicas in turn, unless the current user
+ * wrote within the read-your-writes window; everything else goes to the
+ * primary, and read-write transactions of an authenticated user open that
+ * window.
+ *
+ * The transaction attributes are only known once the transaction has begun,
+ * so this datasource must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * which picks the target connection at the first statement.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final String[] replicaKeys;
+    private final ReadYourWritesTracker tracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * Constructs a routing datasource; {@link #afterPropertiesSet()} must be
+     * called before use.
+     *
+     * @param primary  The datasource receiving writes
+     * @param replicas The datasources receiving read-only transactions
+     * @param tracker  The users who wrote recently
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+        this.replicaKeys = new String[replicas.size()];
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            replicaKeys[i] = "replica-" + i;
+            targets.put(replicaKeys[i], replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            tracker.recordWrite(user);
+            return PRIMARY;
+        }
+        if (replicaKeys.length == 0 || tracker.isSticky(user)) {
+            return PRIMARY;
+        }
+        return replicaKeys[Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.length)];
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
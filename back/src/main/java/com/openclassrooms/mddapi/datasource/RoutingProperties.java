@@ -0,0 +1,70 @@
+package com.openclassrooms.mddapi.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties class for the primary/replica routing.
+ * This class loads routing settings from the application configuration with
+ * the 'datasource.routing' prefix. The primary is the regular
+ * 'spring.datasource' connection; pools of every database share the
+ * 'spring.datasource.hikari' settings.
+ *
+ * The properties include:
+ * <ul>
+ * <li>Whether routing is enabled</li>
+ * <li>Connection settings of each replica</li>
+ * <li>Read-your-writes window after a write</li>
+ * </ul>
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "datasource.routing")
+@Data
+public class RoutingProperties {
+
+    /**
+     * Whether read-only transactions are routed to the replicas.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Replicas serving read-only transactions, used in turn.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * Seconds during which a user's reads stay on the primary after they
+     * wrote, to cover the replication lag.
+     */
+    private int stickySeconds = 5;
+
+    /**
+     * Connection settings of a replica.
+     */
+    @Data
+    public static class Replica {
+
+        /**
+         * JDBC URL of the replica.
+         */
+        private String url;
+
+        /**
+         * Login of the replica, defaults to the primary's.
+         */
+        private String username;
+
+        /**
+         * Password of the replica, defaults to the primary's.
+         */
+        private String password;
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * Datasource package containing the primary/replica routing.
+ * This package contains the routing datasource that sends read-only
+ * transactions to the replicas and everything else to the primary, and the
+ * tracking that keeps a user's reads on the primary right after they wrote.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.datasource;
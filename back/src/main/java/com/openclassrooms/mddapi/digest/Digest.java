@@ -0,0 +1,28 @@
+package com.openclassrooms.mddapi.digest;
+
+import java.util.List;
+
+/**
+ * Digest of a user: the new posts of each of their subscribed topics that
+ * received some.
+ *
+ * @param userId   The user ID
+ * @param email    The user's email
+ * @param username The user's username
+ * @param topics   The topics with new posts, most active first
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public record Digest(int userId, String email, String username, List<TopicDigest> topics) {
+
+    /**
+     * Returns the number of new posts over all the topics.
+     *
+     * @return The number of new posts
+     */
+    public int newPosts() {
+        return topics.stream().mapToInt(TopicDigest::newPosts).sum();
+    }
+}
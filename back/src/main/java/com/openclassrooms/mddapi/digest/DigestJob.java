@@ -0,0 +1,296 @@
+package com.openclassrooms.mddapi.digest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.mddapi.dto.common.PostSummaryDto;
+import com.openclassrooms.mddapi.entity.DigestRun;
+import com.openclassrooms.mddapi.repository.DigestRunRepository;
+import com.openclassrooms.mddapi.repository.PostRepository;
+import com.openclassrooms.mddapi.repository.TopicRepository;
+import com.openclassrooms.mddapi.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Scheduled job writing a digest of the new posts of their subscribed topics
+ * to every user.
+ * A run covers the posts published since the previous run, up to its start
+ * minus a grace delay: the period is fixed on the publication dates, not on
+ * the post identifiers, since a post given a lower identifier may commit
+ * after one given a higher identifier, and the delay lets the transactions
+ * open when the run starts commit before their posts are looked for. The new
+ * posts of each
+ * topic are collected once for the whole run and shared by its subscribers;
+ * the users are then read in keyset chunks along with their subscriptions,
+ * and each chunk is written to the {@link DigestSink} in the transaction that
+ * saves the progress of the run. A run interrupted by a restart resumes after
+ * its last completed chunk.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class DigestJob {
+
+    private static final int POST_BATCH_SIZE = 1000;
+
+    private final DigestProperties properties;
+    private final DigestRunRepository digestRunRepository;
+    private final UserRepository userRepository;
+    private final TopicRepository topicRepository;
+    private final PostRepository postRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructs a DigestJob with required dependencies.
+     *
+     * @param properties          Digest configuration
+     * @param digestRunRepository Repository storing the runs and their progress
+     * @param userRepository      Repository for user data access operations
+     * @param topicRepository     Repository for topic data access operations
+     * @param postRepository      Repository for post data access operations
+     * @param transactionTemplate Template of the per-chunk transactions
+     * @param jdbcTemplate        Template used by the mailbox sink
+     * @param objectMapper        Mapper used by the file sink
+     */
+    @Autowired
+    public DigestJob(
+            DigestProperties properties,
+            DigestRunRepository digestRunRepository,
+            UserRepository userRepository,
+            TopicRepository topicRepository,
+            PostRepository postRepository,
+            TransactionTemplate transactionTemplate,
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.digestRunRepository = digestRunRepository;
+        this.userRepository = userRepository;
+        this.topicRepository = topicRepository;
+        this.postRepository = postRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Runs the job on its schedule.
+     */
+    @Scheduled(cron = "${digest.cron:0 0 7 * * *}")
+    public void runScheduled() {
+        if (properties.isEnabled()) {
+            run();
+        }
+    }
+
+    /**
+     * Resumes a run interrupted by the previous shutdown. Runs in the
+     * background once the application is ready.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (properties.isEnabled()
+                && digestRunRepository.findFirstByStatusOrderByIdDesc(DigestRun.Status.RUNNING).isPresent()) {
+            run();
+        }
+    }
+
+    /**
+     * Resumes the unfinished run, or starts a new one when posts were
+     * published since the last completed run. Does nothing while another run
+     * is in progress.
+     *
+     * @throws UncheckedIOException if the digests cannot be written; the run
+     *                              resumes after its last completed chunk next
+     *                              time
+     */
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Digest run already in progress");
+            return;
+        }
+        try {
+            DigestRun run = digestRunRepository.findFirstByStatusOrderByIdDesc(DigestRun.Status.RUNNING)
+                    .orElseGet(this::startRun);
+            if (run != null) {
+                process(run);
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Creates a run covering the posts published since the last completed
+     * one.
+     *
+     * @return The new run, or null if no post was published since
+     */
+    private DigestRun startRun() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime upTo = now.minusSeconds(properties.getGraceSeconds());
+        LocalDateTime after = digestRunRepository.findFirstByStatusOrderByIdDesc(DigestRun.Status.COMPLETED)
+                .map(DigestRun::getPublishedUpTo)
+                .orElseGet(() -> now.minusHours(properties.getFirstWindowHours()));
+        if (!upTo.isAfter(after) || !postRepository.existsByPublishedAtGreaterThanAndPublishedAtLessThanEqual(after,
+                upTo)) {
+            log.info("No new post since the last digest");
+            return null;
+        }
+
+        DigestRun run = new DigestRun();
+        run.setStatus(DigestRun.Status.RUNNING);
+        run.setPublishedAfter(after);
+        run.setPublishedUpTo(upTo);
+        run.setLastUserId(0);
+        run.setUsersProcessed(0);
+        run.setDigestsWritten(0);
+        run.setStartedAt(Instant.now());
+        return digestRunRepository.save(run);
+    }
+
+    private void process(DigestRun run) {
+        long started = System.nanoTime();
+        Map<Integer, TopicDigest> topics = collectTopics(run);
+        DigestSink sink = createSink();
+        log.info("Digest run {} {} for posts published after {} up to {} in {} topics", run.getId(),
+                run.getLastUserId() == 0 ? "started" : "resumed after user " + run.getLastUserId(),
+                run.getPublishedAfter(), run.getPublishedUpTo(), topics.size());
+
+        List<UserRepository.Recipient> chunk;
+        do {
+            long chunkStarted = System.nanoTime();
+            chunk = userRepository.findRecipientsAfter(run.getLastUserId(),
+                    Pageable.ofSize(properties.getChunkSize()));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            int users = chunk.size();
+            int lastUserId = chunk.get(users - 1).getId();
+            List<Digest> digests = buildDigests(chunk, lastUserId, topics);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    sink.write(run, digests);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                run.setLastUserId(lastUserId);
+                run.setUsersProcessed(run.getUsersProcessed() + users);
+                run.setDigestsWritten(run.getDigestsWritten() + digests.size());
+                digestRunRepository.save(run);
+            });
+
+            long elapsedNanos = Math.max(System.nanoTime() - chunkStarted, 1);
+            log.info("Digest run {}: {} users up to {}, {} digests in {} ms ({} users/s)", run.getId(),
+                    users, lastUserId, digests.size(), elapsedNanos / 1_000_000,
+                    users * 1_000_000_000L / elapsedNanos);
+        } while (chunk.size() == properties.getChunkSize());
+
+        run.setStatus(DigestRun.Status.COMPLETED);
+        run.setCompletedAt(Instant.now());
+        digestRunRepository.save(run);
+        log.info("Digest run {} completed in {} ms: {} users, {} digests", run.getId(),
+                (System.nanoTime() - started) / 1_000_000, run.getUsersProcessed(), run.getDigestsWritten());
+    }
+
+    /**
+     * Reads the posts of the run once and groups them by topic, keeping the
+     * count and the most recent ones.
+     */
+    private Map<Integer, TopicDigest> collectTopics(DigestRun run) {
+        int limit = properties.getMaxPostsPerTopic();
+        Map<Integer, ArrayDeque<PostSummaryDto>> latest = new HashMap<>();
+        Map<Integer, Integer> counts = new HashMap<>();
+        Map<Integer, String> titles = new HashMap<>();
+        LocalDateTime afterPublishedAt = run.getPublishedAfter();
+        int afterId = Integer.MAX_VALUE;
+        List<PostSummaryDto> batch;
+        do {
+            batch = postRepository.findSummariesPublishedAfter(afterPublishedAt, afterId, run.getPublishedUpTo(),
+                    Pageable.ofSize(POST_BATCH_SIZE));
+            for (PostSummaryDto post : batch) {
+                ArrayDeque<PostSummaryDto> posts = latest.computeIfAbsent(post.getTopicId(),
+                        topicId -> new ArrayDeque<>(limit + 1));
+                // Posts come in publication order: keep the last ones, newest first
+                posts.addFirst(post);
+                if (posts.size() > limit) {
+                    posts.removeLast();
+                }
+                counts.merge(post.getTopicId(), 1, Integer::sum);
+                titles.putIfAbsent(post.getTopicId(), post.getTopicTitle());
+                afterPublishedAt = post.getPublishedAt();
+                afterId = post.getId();
+            }
+        } while (batch.size() == POST_BATCH_SIZE);
+
+        Map<Integer, TopicDigest> topics = new HashMap<>();
+        latest.forEach((topicId, posts) -> topics.put(topicId,
+                new TopicDigest(topicId, titles.get(topicId), counts.get(topicId), List.copyOf(posts))));
+        return topics;
+    }
+
+    /**
+     * Builds the digests of a chunk of users from their subscriptions, read
+     * with a single query.
+     */
+    private List<Digest> buildDigests(List<UserRepository.Recipient> chunk, int lastUserId,
+            Map<Integer, TopicDigest> topics) {
+        Map<Integer, List<TopicDigest>> topicsByUser = new HashMap<>();
+        for (TopicRepository.Subscription subscription : topicRepository
+                .findSubscriptionsOfUsers(chunk.get(0).getId(), lastUserId)) {
+            TopicDigest topic = topics.get(subscription.getTopicId());
+            if (topic != null) {
+                topicsByUser.computeIfAbsent(subscription.getUserId(), userId -> new ArrayList<>()).add(topic);
+            }
+        }
+
+        List<Digest> digests = new ArrayList<>(topicsByUser.size());
+        for (UserRepository.Recipient recipient : chunk) {
+            List<TopicDigest> userTopics = topicsByUser.get(recipient.getId());
+            if (userTopics != null) {
+                userTopics.sort(Comparator.comparingInt(TopicDigest::newPosts).reversed());
+                digests.add(new Digest(recipient.getId(), recipient.getEmail(), recipient.getUsername(),
+                        userTopics));
+            }
+        }
+        return digests;
+    }
+
+    private DigestSink createSink() {
+        if (properties.getOutputDir() == null) {
+            return new MailboxDigestSink(jdbcTemplate);
+        }
+        try {
+            return new FileDigestSink(Path.of(properties.getOutputDir()), objectMapper);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.openclassrooms.mddapi.digest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class for the subscriber digest job.
+ * This class loads digest settings from the application configuration with
+ * the 'digest' prefix.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "digest")
+@Data
+public class DigestProperties {
+
+    /**
+     * Whether the digests are generated.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Schedule of the job, as a cron expression (daily at 7:00 by default,
+     * "0 0 * * * *" for hourly digests).
+     */
+    private String cron = "0 0 7 * * *";
+
+    /**
+     * Number of users processed per chunk; progress is saved after each
+     * chunk.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Maximum number of posts listed per topic in a digest; the other new
+     * posts are only counted.
+     */
+    private int maxPostsPerTopic = 5;
+
+    /**
+     * Period covered by the very first run, in hours.
+     */
+    private int firstWindowHours = 24;
+
+    /**
+     * Delay, in seconds, before a post is included in a run. A post is dated
+     * when it is written but becomes visible when its transaction commits: a
+     * run only covers the posts published before its start minus this delay,
+     * which must exceed the longest post creation transaction.
+     */
+    private int graceSeconds = 300;
+
+    /**
+     * Directory receiving one JSON lines file per run. When not set, the
+     * digests are written to the outgoing mailbox table.
+     */
+    private String outputDir;
+}
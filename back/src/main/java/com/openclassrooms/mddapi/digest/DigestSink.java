@@ -0,0 +1,28 @@
+package com.openclassrooms.mddapi.digest;
+
+import com.openclassrooms.mddapi.entity.DigestRun;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of the digests.
+ * Each chunk of users is written in the transaction that saves the progress
+ * of the run, so a sink writing to the database delivers every digest
+ * exactly once; other sinks may receive the last chunk again after a crash.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface DigestSink {
+
+    /**
+     * Writes the digests of a chunk of users.
+     *
+     * @param run     The current run
+     * @param digests The digests, possibly empty
+     * @throws IOException if the digests cannot be written
+     */
+    void write(DigestRun run, List<Digest> digests) throws IOException;
+}
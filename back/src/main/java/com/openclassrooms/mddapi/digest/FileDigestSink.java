@@ -0,0 +1,53 @@
+package com.openclassrooms.mddapi.digest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.mddapi.entity.DigestRun;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Digest sink appending one JSON document per line to a file per run, named
+ * {@code digest-<run id>.jsonl}. A resumed run appends to the same file.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public class FileDigestSink implements DigestSink {
+
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a FileDigestSink.
+     *
+     * @param directory    Directory receiving the files
+     * @param objectMapper Mapper serializing the digests
+     * @throws IOException if the directory cannot be created
+     */
+    public FileDigestSink(Path directory, ObjectMapper objectMapper) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void write(DigestRun run, List<Digest> digests) throws IOException {
+        if (digests.isEmpty()) {
+            return;
+        }
+        Path file = directory.resolve("digest-" + run.getId() + ".jsonl");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Digest digest : digests) {
+                writer.write(objectMapper.writeValueAsString(digest));
+                writer.newLine();
+            }
+        }
+    }
+}
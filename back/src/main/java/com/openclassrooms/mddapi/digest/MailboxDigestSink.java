@@ -0,0 +1,72 @@
+package com.openclassrooms.mddapi.digest;
+
+import com.openclassrooms.mddapi.dto.common.PostSummaryDto;
+import com.openclassrooms.mddapi.entity.DigestRun;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Digest sink inserting the digests, rendered as plain text messages, into
+ * the {@code digest_mailbox} table with a single batch per chunk.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public class MailboxDigestSink implements DigestSink {
+
+    private static final String INSERT_SQL = "INSERT INTO digest_mailbox "
+            + "(run_id, user_id, recipient, subject, body, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs a MailboxDigestSink.
+     *
+     * @param jdbcTemplate Template used to execute the INSERT statements
+     */
+    public MailboxDigestSink(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void write(DigestRun run, List<Digest> digests) {
+        if (digests.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(digests.size());
+        for (Digest digest : digests) {
+            rows.add(new Object[] { run.getId(), digest.userId(), digest.email(), subject(digest), body(digest),
+                    now });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    private static String subject(Digest digest) {
+        int newPosts = digest.newPosts();
+        return "Votre résumé MDD : " + newPosts + (newPosts > 1 ? " nouveaux articles" : " nouvel article");
+    }
+
+    private static String body(Digest digest) {
+        StringBuilder body = new StringBuilder(512);
+        body.append("Bonjour ").append(digest.username()).append(",\n\n")
+                .append("Voici les nouveaux articles des thèmes auxquels vous êtes abonné :\n");
+        for (TopicDigest topic : digest.topics()) {
+            body.append('\n').append(topic.topicTitle()).append(" (").append(topic.newPosts()).append(")\n");
+            for (PostSummaryDto post : topic.latestPosts()) {
+                body.append("  - ").append(post.getTitle()).append(", par ").append(post.getUsername())
+                        .append('\n');
+            }
+            int others = topic.newPosts() - topic.latestPosts().size();
+            if (others > 0) {
+                body.append("  et ").append(others).append(others > 1 ? " autres\n" : " autre\n");
+            }
+        }
+        return body.toString();
+    }
+}
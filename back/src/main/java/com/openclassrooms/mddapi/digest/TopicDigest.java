@@ -0,0 +1,21 @@
+package com.openclassrooms.mddapi.digest;
+
+import com.openclassrooms.mddapi.dto.common.PostSummaryDto;
+
+import java.util.List;
+
+/**
+ * New posts of a topic within the range of a digest run, shared by all the
+ * subscribers of the topic.
+ *
+ * @param topicId     The topic ID
+ * @param topicTitle  The topic title
+ * @param newPosts    Number of new posts in the topic
+ * @param latestPosts The most recent of them, newest first
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public record TopicDigest(int topicId, String topicTitle, int newPosts, List<PostSummaryDto> latestPosts) {
+}
@@ -0,0 +1,11 @@
+/**
+ * Digest package containing the scheduled subscriber digest job.
+ * This package contains the job collecting, for every user, the posts
+ * published in their subscribed topics since the previous digest, and the
+ * sinks receiving the digests (outgoing mailbox table or local files).
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.digest;
@@ -0,0 +1,46 @@
+package com.openclassrooms.mddapi.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a full-text search result.
+ * Identifies the matching post or comment; clients load the full entity with
+ * the regular post endpoints.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchHitDto {
+    /**
+     * Kind of the matching entity: POST or COMMENT.
+     */
+    private String type;
+
+    /**
+     * Identifier of the matching post or comment.
+     */
+    private Integer id;
+
+    /**
+     * Identifier of the post the match belongs to.
+     */
+    private Integer postId;
+
+    /**
+     * Relevance score, higher is better.
+     */
+    private double score;
+
+    /**
+     * Creation date of the matching entity.
+     */
+    private LocalDateTime createdAt;
+}
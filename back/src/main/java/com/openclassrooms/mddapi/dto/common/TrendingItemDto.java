@@ -0,0 +1,32 @@
+package com.openclassrooms.mddapi.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a trending topic or post.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TrendingItemDto {
+    /**
+     * Identifier of the topic or post.
+     */
+    private Integer id;
+
+    /**
+     * Title of the topic or post.
+     */
+    private String title;
+
+    /**
+     * Estimated weighted activity (views, comments, posts) within the window.
+     */
+    private long score;
+}
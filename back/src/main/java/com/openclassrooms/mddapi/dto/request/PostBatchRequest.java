@@ -0,0 +1,32 @@
+package com.openclassrooms.mddapi.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for loading several posts at once.
+ * Used by clients rebuilding a page from cached post identifiers, such as
+ * bookmarks, notifications or search results.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+public class PostBatchRequest {
+
+    /**
+     * Maximum number of identifiers per request.
+     */
+    public static final int MAX_IDS = 100;
+
+    /**
+     * Identifiers of the posts to load, in the order they are wanted.
+     */
+    @NotEmpty(message = "Post IDs are required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " post IDs are allowed")
+    private List<Integer> ids;
+}
@@ -0,0 +1,30 @@
+package com.openclassrooms.mddapi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for identifier availability checks.
+ * Tells a registration or profile form whether the typed email and username
+ * are still free.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailabilityResponse {
+
+    /**
+     * Whether the email is free, null if no email was checked.
+     */
+    private Boolean emailAvailable;
+
+    /**
+     * Whether the username is free, null if no username was checked.
+     */
+    private Boolean usernameAvailable;
+}
@@ -0,0 +1,29 @@
+package com.openclassrooms.mddapi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for logout operation responses.
+ * Tells whether the token, or all the tokens of the user, were revoked.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LogoutResponse {
+
+    /**
+     * Message describing the result of the logout.
+     */
+    private String message;
+
+    /**
+     * Whether the logout was successful.
+     */
+    private boolean success;
+}
@@ -0,0 +1,33 @@
+package com.openclassrooms.mddapi.dto.response;
+
+import com.openclassrooms.mddapi.dto.common.PostDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for posts loaded by identifier.
+ * The posts found come in the requested order; identifiers without a post are
+ * listed apart instead of failing the whole request.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostBatchResponse {
+
+    /**
+     * The posts found, in the requested order.
+     */
+    private List<PostDto> posts;
+
+    /**
+     * The requested identifiers that match no post.
+     */
+    private List<Integer> missingIds;
+}
@@ -1,5 +1,6 @@
 package com.openclassrooms.mddapi.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import java.time.LocalDateTime;
 
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
  * <li>Complete topic information</li>
  * <li>Operation status tracking</li>
  * <li>Subscriber count tracking</li>
+ * <li>Subscription status of the current user</li>
  * <li>Timestamp management</li>
  * </ul>
  * 
@@ -53,6 +55,12 @@ public class TopicResponse {
      */
     private int subscriberCount;
 
+    /**
+     * Indicates whether the current user is subscribed to this topic.
+     */
+    @JsonProperty("isSubscribed")
+    private boolean subscribed;
+
     /**
      * A message providing feedback about the operation performed.
      */
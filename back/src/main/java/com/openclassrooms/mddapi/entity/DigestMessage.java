@@ -0,0 +1,43 @@
+package com.openclassrooms.mddapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Entity representing a digest waiting in the outgoing mailbox.
+ * Stands in for the email sent to a subscriber; a mail relay would read and
+ * delete these rows.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Entity
+@Data
+@Table(name = "digest_mailbox", uniqueConstraints = @UniqueConstraint(name = "uk_digest_mailbox_run_user",
+        columnNames = { "run_id", "user_id" }))
+public class DigestMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
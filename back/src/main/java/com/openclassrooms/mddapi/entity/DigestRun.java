@@ -0,0 +1,60 @@
+package com.openclassrooms.mddapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a run of the subscriber digest job.
+ * A run covers the posts published in a fixed period, and records the last
+ * user it has processed so that an interrupted run resumes after it.
+ * The end of a completed run is the start of the next one.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Entity
+@Data
+@Table(name = "digest_runs")
+public class DigestRun {
+
+    /**
+     * State of a run.
+     */
+    public enum Status {
+        RUNNING,
+        COMPLETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "published_after", nullable = false)
+    private LocalDateTime publishedAfter;
+
+    @Column(name = "published_up_to", nullable = false)
+    private LocalDateTime publishedUpTo;
+
+    @Column(name = "last_user_id", nullable = false)
+    private Integer lastUserId;
+
+    @Column(name = "users_processed", nullable = false)
+    private Integer usersProcessed;
+
+    @Column(name = "digests_written", nullable = false)
+    private Integer digestsWritten;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+}
@@ -0,0 +1,29 @@
+package com.openclassrooms.mddapi.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing the position of an outbox consumer.
+ * Stores the identifier of the last outbox event a consumer has processed, so
+ * that it resumes after it on the next start.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_consumers")
+public class OutboxConsumerOffset {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private Long position;
+}
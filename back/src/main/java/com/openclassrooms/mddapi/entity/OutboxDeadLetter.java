@@ -0,0 +1,57 @@
+package com.openclassrooms.mddapi.entity;
+
+import com.openclassrooms.mddapi.events.EventType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Entity representing an outbox event a consumer kept failing on.
+ * The event is copied with the name of the consumer and the last error, so
+ * that it can be inspected and handed to the consumer again once fixed,
+ * after the outbox row itself was removed.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Entity
+@Data
+@Table(name = "outbox_dead_letters")
+public class OutboxDeadLetter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String consumer;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private EventType type;
+
+    @Column(name = "entity_id", nullable = false)
+    private Integer entityId;
+
+    @Column(name = "post_id")
+    private Integer postId;
+
+    @Column(name = "topic_id")
+    private Integer topicId;
+
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "failed_at", nullable = false)
+    private Instant failedAt;
+}
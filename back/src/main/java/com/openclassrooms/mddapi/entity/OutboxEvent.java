@@ -0,0 +1,45 @@
+package com.openclassrooms.mddapi.entity;
+
+import com.openclassrooms.mddapi.events.EventType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Entity representing an event of the transactional outbox.
+ * An event is written in the same transaction as the change it describes, so
+ * that it exists if and only if the change was committed. The relay then
+ * hands the events to the in-process consumers in identifier order.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Entity
+@Data
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private EventType type;
+
+    @Column(name = "entity_id", nullable = false)
+    private Integer entityId;
+
+    @Column(name = "post_id")
+    private Integer postId;
+
+    @Column(name = "topic_id")
+    private Integer topicId;
+
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,32 @@
+package com.openclassrooms.mddapi.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity representing an outbox identifier the relay went past before its
+ * row was visible.
+ * The identifier belongs either to a rolled back transaction or to a slow one
+ * that has not committed yet; the relay keeps looking for its row, and
+ * relays it if it shows up, until the gap expires.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_gaps")
+public class OutboxGap {
+    @Id
+    private Long id;
+
+    @Column(name = "skipped_at", nullable = false)
+    private Instant skippedAt;
+}
@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
  * Features:
  * <ul>
  * <li>Post content management</li>
+ * <li>Short excerpt of the content, kept up to date on write, for lists</li>
  * <li>Association with topics and users</li>
  * <li>Timestamp tracking</li>
  * </ul>
@@ -22,8 +23,16 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Data
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_topic_published", columnList = "topic_id, published_at, id"),
+        @Index(name = "idx_posts_published", columnList = "published_at, id") })
 public class Post {
+
+    /**
+     * Maximum length of the excerpt, ellipsis included.
+     */
+    public static final int EXCERPT_LENGTH = 200;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
@@ -42,6 +51,41 @@ public class Post {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    @Column(length = EXCERPT_LENGTH)
+    private String excerpt;
+
     @Column(name = "published_at")
     private LocalDateTime publishedAt;
+
+    /**
+     * Derives the excerpt from the content before every insert and update.
+     */
+    @PrePersist
+    @PreUpdate
+    void updateExcerpt() {
+        excerpt = excerptOf(content);
+    }
+
+    /**
+     * Builds the excerpt of a content: the content itself when it is short
+     * enough, otherwise its beginning cut at a word boundary and followed by an
+     * ellipsis.
+     *
+     * @param content The post content
+     * @return The excerpt, at most {@link #EXCERPT_LENGTH} characters long
+     */
+    public static String excerptOf(String content) {
+        if (content == null || content.length() <= EXCERPT_LENGTH) {
+            return content;
+        }
+        int end = EXCERPT_LENGTH - 1;
+        int space = content.lastIndexOf(' ', end);
+        if (space > EXCERPT_LENGTH / 2) {
+            end = space;
+        }
+        if (Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--;
+        }
+        return content.substring(0, end).stripTrailing() + "\u2026";
+    }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -63,6 +64,7 @@ public class Topic {
      * The relationship is managed through a join table named 'subscriptions'.
      */
     @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(name = "subscriptions", joinColumns = @JoinColumn(name = "topic_id"), inverseJoinColumns = @JoinColumn(name = "user_id"))
     private Set<User> subscribers = new HashSet<>();
 
@@ -34,7 +34,10 @@ import java.util.Set;
  * @since 1.0
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_users_email", columnNames = "email"),
+        @UniqueConstraint(name = "uk_users_username", columnNames = "username")
+})
 @Getter
 @Setter
 @ToString(exclude = "subscribedTopics")
@@ -46,11 +49,9 @@ public class User implements UserDetails {
     @Schema(description = "Unique identifier of the user", example = "1")
     private Integer id;
 
-    @Column(unique = true)
     @Schema(description = "User's email address", example = "user@example.com")
     private String email;
 
-    @Column(unique = true)
     @Schema(description = "User's username", example = "johndoe")
     private String username;
 
@@ -0,0 +1,25 @@
+package com.openclassrooms.mddapi.events;
+
+import java.time.Instant;
+
+/**
+ * Event delivered to the consumers of the {@link RingBufferEventBus}.
+ * Carries the identifiers the consumers need, so that most of them do not
+ * have to read the database.
+ *
+ * @param id         Identifier of the outbox event, increasing with the commit
+ *                   order of the writes
+ * @param type       Type of the event
+ * @param entityId   Identifier of the created or subscribed entity
+ * @param postId     Post concerned, for post and comment events
+ * @param topicId    Topic concerned
+ * @param userId     User who caused the event
+ * @param occurredAt Time of the change
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public record DomainEvent(long id, EventType type, int entityId, Integer postId, Integer topicId,
+        Integer userId, Instant occurredAt) {
+}
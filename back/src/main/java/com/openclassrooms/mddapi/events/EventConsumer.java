@@ -0,0 +1,31 @@
+package com.openclassrooms.mddapi.events;
+
+import java.util.List;
+
+/**
+ * Consumer of the events published on the {@link RingBufferEventBus}.
+ * Each consumer reads the events on its own thread, in order and in batches.
+ * Delivery is at least once: after a failure or a restart, events may be
+ * delivered again, so handling an event twice must be harmless.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public interface EventConsumer {
+
+    /**
+     * Returns the name of the consumer, under which its position is stored.
+     *
+     * @return A stable name
+     */
+    String name();
+
+    /**
+     * Handles a batch of events. The batch is acknowledged when the method
+     * returns, and delivered again when it throws.
+     *
+     * @param events Events in publication order, never empty
+     */
+    void accept(List<DomainEvent> events);
+}
@@ -0,0 +1,30 @@
+package com.openclassrooms.mddapi.events;
+
+/**
+ * Types of the events recorded in the outbox.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public enum EventType {
+    /**
+     * A post was created; the entity is the post.
+     */
+    POST_CREATED,
+
+    /**
+     * A comment was created; the entity is the comment.
+     */
+    COMMENT_CREATED,
+
+    /**
+     * A user subscribed to a topic; the entity is the topic.
+     */
+    TOPIC_SUBSCRIBED,
+
+    /**
+     * A user unsubscribed from a topic; the entity is the topic.
+     */
+    TOPIC_UNSUBSCRIBED
+}
@@ -0,0 +1,72 @@
+package com.openclassrooms.mddapi.events;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class for the outbox relay and the event bus.
+ * This class loads outbox settings from the application configuration with
+ * the 'outbox' prefix.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "outbox")
+@Data
+public class OutboxProperties {
+
+    /**
+     * Number of slots of the ring buffer, rounded up to a power of two.
+     */
+    private int ringSize = 4096;
+
+    /**
+     * Maximum number of outbox rows read by the relay per query.
+     */
+    private int relayBatchSize = 500;
+
+    /**
+     * Maximum number of events handed to a consumer at once.
+     */
+    private int consumerBatchSize = 256;
+
+    /**
+     * Pause of the relay when the outbox has nothing new, in milliseconds. The
+     * relay is also woken up by every commit writing an event.
+     */
+    private long pollIntervalMs = 1000;
+
+    /**
+     * Time the relay waits for a missing identifier before going past it, in
+     * milliseconds. Identifiers are taken at insert time, so a transaction
+     * still running leaves a gap that must not be skipped too early, while a
+     * rolled back one leaves a gap that is never filled.
+     */
+    private long gapTimeoutMs = 5000;
+
+    /**
+     * Time the relay keeps looking for a skipped identifier, in milliseconds.
+     * A row committed later is still relayed, out of order; past this delay,
+     * longer than any transaction, the identifier is given up and logged.
+     */
+    private long gapExpiryMs = 3_600_000;
+
+    /**
+     * Attempts of a failing batch before its events are handled one by one.
+     */
+    private int maxAttempts = 5;
+
+    /**
+     * Pause after a failed attempt, in milliseconds.
+     */
+    private long retryBackoffMs = 1000;
+
+    /**
+     * Interval between the removals of the events every consumer has handled,
+     * in milliseconds.
+     */
+    private long cleanupIntervalMs = 60_000;
+}
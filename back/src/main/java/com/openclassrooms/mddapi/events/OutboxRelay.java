@@ -0,0 +1,378 @@
+package com.openclassrooms.mddapi.events;
+
+import com.openclassrooms.mddapi.entity.OutboxConsumerOffset;
+import com.openclassrooms.mddapi.entity.OutboxDeadLetter;
+import com.openclassrooms.mddapi.entity.OutboxEvent;
+import com.openclassrooms.mddapi.entity.OutboxGap;
+import com.openclassrooms.mddapi.repository.OutboxConsumerOffsetRepository;
+import com.openclassrooms.mddapi.repository.OutboxDeadLetterRepository;
+import com.openclassrooms.mddapi.repository.OutboxEventRepository;
+import com.openclassrooms.mddapi.repository.OutboxGapRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Component relaying the committed outbox events to the
+ * {@link RingBufferEventBus}.
+ * A single thread reads the outbox in identifier order after the last relayed
+ * event and publishes what it finds. It is woken up after each commit that
+ * wrote an event and otherwise polls the table.
+ *
+ * Identifiers are allocated when a row is inserted, not when it is
+ * committed, so a row may become visible after a higher one. The relay stops
+ * at such a gap and only goes past it after {@link OutboxProperties#getGapTimeoutMs()},
+ * when the missing row most likely belongs to a rolled back transaction. The
+ * skipped identifiers are stored in the outbox_gaps table and looked up on
+ * every poll: a row committed late is then relayed out of order, and its
+ * gap removed once every consumer is done with it. A gap is given up after
+ * {@link OutboxProperties#getGapExpiryMs()}.
+ *
+ * On start, every consumer resumes after its stored position; a consumer
+ * without one starts after the current end of the outbox. Events a consumer
+ * kept failing on are copied to the outbox_dead_letters table. Events handled
+ * by every consumer are removed periodically.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements SmartLifecycle {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxConsumerOffsetRepository offsetRepository;
+    private final OutboxGapRepository gapRepository;
+    private final OutboxDeadLetterRepository deadLetterRepository;
+    private final List<EventConsumer> consumers;
+    private final OutboxProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Skipped identifiers whose row has not been relayed yet, with the time
+     * they were skipped.
+     */
+    private final ConcurrentSkipListMap<Long, Instant> gaps = new ConcurrentSkipListMap<>();
+
+    /**
+     * Late events published on the bus, by identifier, with their sequence on
+     * the bus. Their gap is removed once every consumer is done with them.
+     */
+    private final Map<Long, Long> lateSequences = new HashMap<>();
+
+    private volatile RingBufferEventBus bus;
+    private volatile Thread thread;
+    private volatile boolean running;
+    private long relayedId;
+    private long gapSinceMs;
+
+    /**
+     * Constructs an OutboxRelay with required dependencies.
+     *
+     * @param outboxEventRepository Repository for outbox data access operations
+     * @param offsetRepository      Repository storing the consumer positions
+     * @param gapRepository         Repository storing the skipped identifiers
+     * @param deadLetterRepository  Repository storing the failed events
+     * @param consumers             The consumers of the events
+     * @param properties            Outbox configuration
+     * @param meterRegistry         Registry of application metrics
+     */
+    @Autowired
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            OutboxConsumerOffsetRepository offsetRepository,
+            OutboxGapRepository gapRepository,
+            OutboxDeadLetterRepository deadLetterRepository,
+            List<EventConsumer> consumers,
+            OutboxProperties properties,
+            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.offsetRepository = offsetRepository;
+        this.gapRepository = gapRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.consumers = consumers;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (EventConsumer consumer : consumers) {
+            Gauge.builder("outbox.consumer.lag", this, relay -> relay.lag(consumer.name()))
+                    .description("Events published on the bus and not yet handled by the consumer")
+                    .tag("consumer", consumer.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("outbox.gaps", gaps, Map::size)
+                .description("Skipped outbox identifiers still looked for")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the consumer positions and the gaps, then starts the bus and the
+     * relay thread.
+     */
+    @Override
+    public void start() {
+        gapRepository.findAll().forEach(gap -> gaps.put(gap.getId(), gap.getSkippedAt()));
+        Map<String, Long> positions = new HashMap<>();
+        offsetRepository.findAll().forEach(offset -> positions.put(offset.getName(), offset.getPosition()));
+        Long maxId = outboxEventRepository.findMaxId();
+        for (EventConsumer consumer : consumers) {
+            if (!positions.containsKey(consumer.name())) {
+                long position = maxId == null ? 0 : maxId;
+                offsetRepository.save(new OutboxConsumerOffset(consumer.name(), position));
+                positions.put(consumer.name(), position);
+            }
+        }
+        relayedId = consumers.stream().mapToLong(consumer -> positions.get(consumer.name())).min().orElse(0);
+
+        bus = new RingBufferEventBus(properties.getRingSize(), properties.getConsumerBatchSize(),
+                properties.getMaxAttempts(), properties.getRetryBackoffMs(), consumers, positions,
+                offsetRepository::advance, this::park);
+        bus.start();
+        running = true;
+        thread = new Thread(this::relay, "outbox-relay");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Outbox relay started after event {} for {} consumers, {} gaps", relayedId, consumers.size(),
+                gaps.size());
+    }
+
+    /**
+     * Stops the relay thread, then the bus.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread relayThread = thread;
+        if (relayThread != null) {
+            LockSupport.unpark(relayThread);
+            try {
+                relayThread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (bus != null) {
+            bus.stop(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Wakes the relay thread up, called after a commit that wrote an event.
+     */
+    public void wakeUp() {
+        Thread relayThread = thread;
+        if (relayThread != null) {
+            LockSupport.unpark(relayThread);
+        }
+    }
+
+    /**
+     * Removes the events every consumer has handled. Rows below the oldest
+     * gap are kept, since a late row committed there has not been relayed.
+     */
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:60000}")
+    public void removeHandledEvents() {
+        RingBufferEventBus current = bus;
+        if (current == null) {
+            return;
+        }
+        long upTo = current.minPosition();
+        Map.Entry<Long, Instant> oldestGap = gaps.firstEntry();
+        if (oldestGap != null) {
+            upTo = Math.min(upTo, oldestGap.getKey() - 1);
+        }
+        int removed = outboxEventRepository.deleteUpTo(upTo);
+        if (removed > 0) {
+            log.debug("Removed {} handled outbox events", removed);
+        }
+    }
+
+    private void relay() {
+        while (running) {
+            int published;
+            try {
+                published = relayBatch() + relayLate();
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay failed, retrying after event {}", relayedId, e);
+                published = 0;
+            }
+            if (published == 0 && running) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(properties.getPollIntervalMs()));
+            }
+        }
+    }
+
+    /**
+     * Publishes the committed events following the last relayed one, up to
+     * the first gap that has not timed out.
+     *
+     * @return Number of published events
+     */
+    private int relayBatch() {
+        List<OutboxEvent> rows = outboxEventRepository.findBatchAfter(relayedId,
+                Pageable.ofSize(properties.getRelayBatchSize()));
+        List<DomainEvent> events = new ArrayList<>(rows.size());
+        List<OutboxGap> skipped = new ArrayList<>();
+        List<Long> filled = new ArrayList<>();
+        long lastId = relayedId;
+        for (OutboxEvent row : rows) {
+            if (row.getId() != lastId + 1) {
+                if (!gapTimedOut()) {
+                    break;
+                }
+                Instant now = Instant.now();
+                for (long id = lastId + 1; id < row.getId(); id++) {
+                    if (!gaps.containsKey(id)) {
+                        skipped.add(new OutboxGap(id, now));
+                    }
+                }
+            }
+            if (gaps.containsKey(row.getId()) && !lateSequences.containsKey(row.getId())) {
+                // Skipped before a restart, relayed in order now
+                filled.add(row.getId());
+            }
+            gapSinceMs = 0;
+            events.add(event(row));
+            lastId = row.getId();
+        }
+        if (events.isEmpty()) {
+            return 0;
+        }
+        if (!skipped.isEmpty()) {
+            // Stored before going past them, so that a restart still looks for them
+            gapRepository.saveAll(skipped);
+            skipped.forEach(gap -> gaps.put(gap.getId(), gap.getSkippedAt()));
+            log.debug("Outbox events {} to {} not committed yet, relayed if they show up", skipped.get(0).getId(),
+                    skipped.get(skipped.size() - 1).getId());
+        }
+        if (!bus.publish(events)) {
+            return 0;
+        }
+        if (!filled.isEmpty()) {
+            gapRepository.deleteByIdIn(filled);
+            filled.forEach(gaps::remove);
+        }
+        relayedId = lastId;
+        return events.size();
+    }
+
+    private boolean gapTimedOut() {
+        long now = System.currentTimeMillis();
+        if (gapSinceMs == 0) {
+            gapSinceMs = now;
+            return false;
+        }
+        return now - gapSinceMs >= properties.getGapTimeoutMs();
+    }
+
+    /**
+     * Publishes the rows of the gaps that have been committed since, removes
+     * the gaps of the late events every consumer is done with, and gives up
+     * the expired gaps.
+     *
+     * @return Number of published events
+     */
+    private int relayLate() {
+        List<Long> done = new ArrayList<>();
+        for (Iterator<Map.Entry<Long, Long>> it = lateSequences.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<Long, Long> late = it.next();
+            if (bus.isDone(late.getValue())) {
+                done.add(late.getKey());
+                it.remove();
+            }
+        }
+        if (!done.isEmpty()) {
+            gapRepository.deleteByIdIn(done);
+            done.forEach(gaps::remove);
+        }
+
+        List<Long> pending = gaps.keySet().stream()
+                .filter(id -> !lateSequences.containsKey(id))
+                .limit(properties.getRelayBatchSize())
+                .toList();
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<OutboxEvent> rows = new ArrayList<>(outboxEventRepository.findAllById(pending));
+        rows.sort(Comparator.comparing(OutboxEvent::getId));
+        if (!rows.isEmpty()) {
+            if (!bus.publishLate(rows.stream().map(OutboxRelay::event).toList())) {
+                return 0;
+            }
+            long sequence = bus.publishedSequence() - rows.size();
+            for (OutboxEvent row : rows) {
+                lateSequences.put(row.getId(), ++sequence);
+            }
+            log.info("Relayed {} outbox events committed after their gap timed out, from {}", rows.size(),
+                    rows.get(0).getId());
+        }
+
+        Instant expiry = Instant.now().minusMillis(properties.getGapExpiryMs());
+        List<Long> expired = pending.stream()
+                .filter(id -> !lateSequences.containsKey(id) && gaps.getOrDefault(id, Instant.MAX).isBefore(expiry))
+                .toList();
+        if (!expired.isEmpty()) {
+            gapRepository.deleteByIdIn(expired);
+            expired.forEach(gaps::remove);
+            log.warn("Outbox events {} never committed within {} ms, given up", expired,
+                    properties.getGapExpiryMs());
+        }
+        return rows.size();
+    }
+
+    /**
+     * Copies an event a consumer kept failing on to the dead letters.
+     */
+    private void park(String consumer, DomainEvent event, RuntimeException error) {
+        OutboxDeadLetter deadLetter = new OutboxDeadLetter();
+        deadLetter.setConsumer(consumer);
+        deadLetter.setEventId(event.id());
+        deadLetter.setType(event.type());
+        deadLetter.setEntityId(event.entityId());
+        deadLetter.setPostId(event.postId());
+        deadLetter.setTopicId(event.topicId());
+        deadLetter.setUserId(event.userId());
+        deadLetter.setCreatedAt(event.occurredAt());
+        String message = String.valueOf(error);
+        deadLetter.setError(message.length() > 500 ? message.substring(0, 500) : message);
+        deadLetter.setFailedAt(Instant.now());
+        deadLetterRepository.save(deadLetter);
+        Counter.builder("outbox.dead.letters")
+                .description("Events parked after their consumer kept failing on them")
+                .tag("consumer", consumer)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static DomainEvent event(OutboxEvent row) {
+        return new DomainEvent(row.getId(), row.getType(), row.getEntityId(), row.getPostId(), row.getTopicId(),
+                row.getUserId(), row.getCreatedAt());
+    }
+
+    private long lag(String name) {
+        RingBufferEventBus current = bus;
+        return current == null ? 0 : current.lag(name);
+    }
+}
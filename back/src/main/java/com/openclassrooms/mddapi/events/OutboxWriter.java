@@ -0,0 +1,70 @@
+package com.openclassrooms.mddapi.events;
+
+import com.openclassrooms.mddapi.entity.OutboxEvent;
+import com.openclassrooms.mddapi.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+
+/**
+ * Component recording events in the transactional outbox.
+ * The event is inserted in the caller's transaction, which is mandatory, so
+ * it is committed or rolled back with the change it describes. The write path
+ * does nothing else: the consumers run later on their own threads, and the
+ * relay is only woken up once the transaction has committed.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxRelay outboxRelay;
+
+    /**
+     * Constructs an OutboxWriter with required dependencies.
+     *
+     * @param outboxEventRepository Repository for outbox data access operations
+     * @param outboxRelay           Relay publishing the committed events
+     */
+    @Autowired
+    public OutboxWriter(OutboxEventRepository outboxEventRepository, OutboxRelay outboxRelay) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxRelay = outboxRelay;
+    }
+
+    /**
+     * Records an event in the current transaction.
+     *
+     * @param type     Type of the event
+     * @param entityId Identifier of the created or subscribed entity
+     * @param postId   Post concerned, null for subscription events
+     * @param topicId  Topic concerned
+     * @param userId   User who caused the event
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(EventType type, Integer entityId, Integer postId, Integer topicId, Integer userId) {
+        OutboxEvent event = new OutboxEvent();
+        event.setType(type);
+        event.setEntityId(entityId);
+        event.setPostId(postId);
+        event.setTopicId(topicId);
+        event.setUserId(userId);
+        event.setCreatedAt(Instant.now());
+        outboxEventRepository.save(event);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+        });
+    }
+}
@@ -0,0 +1,425 @@
+package com.openclassrooms.mddapi.events;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * In-process event bus backed by a fixed ring of slots.
+ * A single publisher appends events to the ring; every consumer reads the
+ * whole ring on its own thread, following its own cursor, and acknowledges
+ * the events by batch. A slow or failing consumer only delays itself, until
+ * the ring is full: the publisher then waits for the slowest cursor to move,
+ * which slows the relay down but never the write transactions.
+ *
+ * Besides its cursor in the ring, each consumer has a position: the
+ * identifier of the last event it handled. Positions are reported to a store
+ * after each batch, and events at or below the initial position of a
+ * consumer are skipped, so a consumer never sees again what it acknowledged
+ * before a restart. An event a consumer keeps failing on is parked in the
+ * dead-letter store before its position moves past it; while the store
+ * fails too, the consumer stays on the batch. Late events, relayed after events with a higher
+ * identifier, are delivered whatever the position of the consumer.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+public final class RingBufferEventBus {
+
+    private final DomainEvent[] slots;
+    private final boolean[] late;
+    private final int mask;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final ObjLongConsumer<String> positionStore;
+    private final DeadLetterStore deadLetterStore;
+    private final List<Worker> workers = new ArrayList<>();
+
+    /**
+     * Sequence of the last published event, -1 before the first one.
+     */
+    private final AtomicLong published = new AtomicLong(-1);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private volatile boolean running;
+
+    /**
+     * Constructs a bus.
+     *
+     * @param capacity       Number of slots, rounded up to a power of two
+     * @param batchSize      Maximum number of events per consumer batch
+     * @param maxAttempts    Attempts of a batch before its events are retried
+     *                       one by one and the failing ones parked
+     * @param retryBackoffMs Pause after a failed attempt, in milliseconds
+     * @param consumers      The consumers
+     * @param positions      Initial position of each consumer, by name; a
+     *                       missing consumer starts at 0
+     * @param positionStore  Receives the new position of a consumer after each
+     *                       acknowledged batch
+     * @param deadLetterStore Receives the events a consumer kept failing on
+     */
+    public RingBufferEventBus(int capacity, int batchSize, int maxAttempts, long retryBackoffMs,
+            List<? extends EventConsumer> consumers, Map<String, Long> positions,
+            ObjLongConsumer<String> positionStore, DeadLetterStore deadLetterStore) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new DomainEvent[size];
+        this.late = new boolean[size];
+        this.mask = size - 1;
+        this.batchSize = Math.max(batchSize, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.retryBackoffMs = retryBackoffMs;
+        this.positionStore = positionStore;
+        this.deadLetterStore = deadLetterStore;
+        for (EventConsumer consumer : consumers) {
+            workers.add(new Worker(consumer, positions.getOrDefault(consumer.name(), 0L)));
+        }
+    }
+
+    /**
+     * Starts one thread per consumer.
+     */
+    public void start() {
+        running = true;
+        for (Worker worker : workers) {
+            Thread thread = new Thread(worker, "event-bus-" + worker.consumer.name());
+            thread.setDaemon(true);
+            worker.thread = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops the consumer threads, letting the current batches finish.
+     *
+     * @param timeoutMs Maximum time to wait for each thread, in milliseconds
+     */
+    public void stop(long timeoutMs) {
+        running = false;
+        signalAll();
+        for (Worker worker : workers) {
+            if (worker.thread == null) {
+                continue;
+            }
+            try {
+                worker.thread.join(timeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Appends events to the ring, waiting while it is full. Must only be
+     * called from a single thread.
+     *
+     * @param events Events in increasing identifier order
+     * @return false if the bus was stopped before every event was appended
+     */
+    public boolean publish(List<DomainEvent> events) {
+        return publish(events, false);
+    }
+
+    /**
+     * Appends events relayed after events with a higher identifier, waiting
+     * while the ring is full. They are delivered even to the consumers whose
+     * position is past them. Must only be called from the publishing thread.
+     *
+     * @param events Late events
+     * @return false if the bus was stopped before every event was appended
+     */
+    public boolean publishLate(List<DomainEvent> events) {
+        return publish(events, true);
+    }
+
+    private boolean publish(List<DomainEvent> events, boolean lateEvents) {
+        for (DomainEvent event : events) {
+            long sequence = published.get() + 1;
+            if (!awaitSlot(sequence)) {
+                return false;
+            }
+            slots[(int) (sequence & mask)] = event;
+            late[(int) (sequence & mask)] = lateEvents;
+            published.set(sequence);
+        }
+        if (!events.isEmpty()) {
+            signalAll();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the sequence of the last published event.
+     *
+     * @return The sequence, -1 before the first event
+     */
+    public long publishedSequence() {
+        return published.get();
+    }
+
+    /**
+     * Indicates whether every consumer is done with a published event,
+     * handled or not.
+     *
+     * @param sequence The sequence of the event, as returned by
+     *                 {@link #publishedSequence()} after its publication
+     * @return true if every consumer read past it
+     */
+    public boolean isDone(long sequence) {
+        return minCursor() >= sequence;
+    }
+
+    /**
+     * Returns the lowest position of the consumers: every event up to it has
+     * been handled by all of them.
+     *
+     * @return The lowest position
+     */
+    public long minPosition() {
+        long min = Long.MAX_VALUE;
+        for (Worker worker : workers) {
+            min = Math.min(min, worker.position);
+        }
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    /**
+     * Returns the number of published events a consumer has not acknowledged
+     * yet.
+     *
+     * @param name The consumer name
+     * @return The lag, 0 for an unknown consumer
+     */
+    public long lag(String name) {
+        for (Worker worker : workers) {
+            if (worker.consumer.name().equals(name)) {
+                return published.get() - worker.cursor.get();
+            }
+        }
+        return 0;
+    }
+
+    private boolean awaitSlot(long sequence) {
+        while (sequence - slots.length > minCursor()) {
+            if (!running) {
+                return false;
+            }
+            lock.lock();
+            try {
+                if (sequence - slots.length > minCursor()) {
+                    notFull.await(100, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+        return true;
+    }
+
+    private long minCursor() {
+        long min = Long.MAX_VALUE;
+        for (Worker worker : workers) {
+            min = Math.min(min, worker.cursor.get());
+        }
+        return min == Long.MAX_VALUE ? published.get() : min;
+    }
+
+    private void signalAll() {
+        lock.lock();
+        try {
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the ring for one consumer.
+     */
+    private final class Worker implements Runnable {
+
+        private final EventConsumer consumer;
+
+        /**
+         * Sequence of the last event read from the ring, -1 before the first
+         * one.
+         */
+        private final AtomicLong cursor = new AtomicLong(-1);
+
+        /**
+         * Identifier of the last handled event.
+         */
+        private volatile long position;
+        private Thread thread;
+
+        private Worker(EventConsumer consumer, long position) {
+            this.consumer = consumer;
+            this.position = position;
+        }
+
+        @Override
+        public void run() {
+            while (running && !Thread.currentThread().isInterrupted()) {
+                long next = cursor.get() + 1;
+                long available = published.get();
+                if (next > available) {
+                    awaitEvents(next);
+                    continue;
+                }
+                long end = Math.min(available, next + batchSize - 1);
+                List<DomainEvent> batch = new ArrayList<>((int) (end - next + 1));
+                for (long sequence = next; sequence <= end; sequence++) {
+                    DomainEvent event = slots[(int) (sequence & mask)];
+                    if (event.id() > position || late[(int) (sequence & mask)]) {
+                        batch.add(event);
+                    }
+                }
+                if (!batch.isEmpty() && !deliver(batch)) {
+                    return;
+                }
+                cursor.set(end);
+                lock.lock();
+                try {
+                    notFull.signal();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        private void awaitEvents(long next) {
+            lock.lock();
+            try {
+                if (running && next > published.get()) {
+                    notEmpty.await(1, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Hands a batch to the consumer, retrying it, then its events one by
+         * one, parks the events that still fail and reports the new position.
+         * Nothing is acknowledged until the failing events are parked.
+         *
+         * @return false if the bus was stopped meanwhile
+         */
+        private boolean deliver(List<DomainEvent> batch) {
+            while (true) {
+                for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+                    try {
+                        consumer.accept(batch);
+                        acknowledge(lastId(batch));
+                        return true;
+                    } catch (RuntimeException e) {
+                        log.warn("Consumer {} failed on events {} to {} (attempt {}/{})", consumer.name(),
+                                batch.get(0).id(), batch.get(batch.size() - 1).id(), attempt, maxAttempts, e);
+                        if (!pause()) {
+                            return false;
+                        }
+                    }
+                }
+                if (deliverOneByOne(batch)) {
+                    acknowledge(lastId(batch));
+                    return true;
+                }
+                if (!pause()) {
+                    return false;
+                }
+            }
+        }
+
+        /**
+         * Hands the events of a batch one at a time and parks the failing
+         * ones.
+         *
+         * @return false if a failing event could not be parked
+         */
+        private boolean deliverOneByOne(List<DomainEvent> batch) {
+            for (DomainEvent event : batch) {
+                try {
+                    consumer.accept(List.of(event));
+                } catch (RuntimeException e) {
+                    try {
+                        deadLetterStore.park(consumer.name(), event, e);
+                    } catch (RuntimeException storeFailure) {
+                        log.error("Consumer {} failed on event {} ({}) and it could not be parked, retrying",
+                                consumer.name(), event.id(), event.type(), storeFailure);
+                        return false;
+                    }
+                    log.error("Consumer {} failed on event {} ({}) after {} attempts, parked in the dead letters",
+                            consumer.name(), event.id(), event.type(), maxAttempts + 1, e);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the highest identifier of a batch: late events come after
+         * events with a higher one.
+         */
+        private long lastId(List<DomainEvent> batch) {
+            return batch.stream().mapToLong(DomainEvent::id).max().orElse(position);
+        }
+
+        private void acknowledge(long id) {
+            if (id <= position) {
+                return;
+            }
+            position = id;
+            try {
+                positionStore.accept(consumer.name(), id);
+            } catch (RuntimeException e) {
+                // Stored with the next batch; until then a restart replays a few events
+                log.warn("Could not store the position {} of consumer {}", id, consumer.name(), e);
+            }
+        }
+
+        private boolean pause() {
+            try {
+                Thread.sleep(retryBackoffMs);
+                return running;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Store of the events a consumer kept failing on.
+     */
+    @FunctionalInterface
+    public interface DeadLetterStore {
+
+        /**
+         * Stores an event durably.
+         *
+         * @param consumer The consumer name
+         * @param event    The event
+         * @param error    The last failure of the consumer
+         * @throws RuntimeException if the event cannot be stored; the consumer
+         *                          then retries its batch
+         */
+        void park(String consumer, DomainEvent event, RuntimeException error);
+    }
+}
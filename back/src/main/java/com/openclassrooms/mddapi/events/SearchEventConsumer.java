@@ -0,0 +1,68 @@
+package com.openclassrooms.mddapi.events;
+
+import com.openclassrooms.mddapi.repository.CommentRepository;
+import com.openclassrooms.mddapi.repository.PostRepository;
+import com.openclassrooms.mddapi.services.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Consumer adding the new posts and comments to the search index.
+ * The texts are not part of the events, so each batch loads its posts and
+ * its comments with one query each.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class SearchEventConsumer implements EventConsumer {
+
+    private final SearchService searchService;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+
+    /**
+     * Constructs a SearchEventConsumer with required dependencies.
+     *
+     * @param searchService     Service keeping the full-text index up to date
+     * @param postRepository    Repository for post data access operations
+     * @param commentRepository Repository for comment data access operations
+     */
+    @Autowired
+    public SearchEventConsumer(
+            SearchService searchService,
+            PostRepository postRepository,
+            CommentRepository commentRepository) {
+        this.searchService = searchService;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+    }
+
+    @Override
+    public String name() {
+        return "search";
+    }
+
+    @Override
+    public void accept(List<DomainEvent> events) {
+        List<Integer> postIds = new ArrayList<>();
+        List<Integer> commentIds = new ArrayList<>();
+        for (DomainEvent event : events) {
+            if (event.type() == EventType.POST_CREATED) {
+                postIds.add(event.entityId());
+            } else if (event.type() == EventType.COMMENT_CREATED) {
+                commentIds.add(event.entityId());
+            }
+        }
+        if (!postIds.isEmpty()) {
+            postRepository.findAllWithUserAndTopicByIdIn(postIds).forEach(searchService::indexPost);
+        }
+        if (!commentIds.isEmpty()) {
+            commentRepository.findAllById(commentIds).forEach(searchService::indexComment);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.openclassrooms.mddapi.events;
+
+import com.openclassrooms.mddapi.services.TimelineService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Consumer maintaining the subscription feeds: new posts are pushed to the
+ * timelines of their topic's subscribers, and the timeline of a user whose
+ * subscriptions changed is dropped.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class TimelineEventConsumer implements EventConsumer {
+
+    private final TimelineService timelineService;
+
+    /**
+     * Constructs a TimelineEventConsumer with required dependencies.
+     *
+     * @param timelineService Service maintaining the subscription feeds
+     */
+    @Autowired
+    public TimelineEventConsumer(TimelineService timelineService) {
+        this.timelineService = timelineService;
+    }
+
+    @Override
+    public String name() {
+        return "timeline";
+    }
+
+    @Override
+    public void accept(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event.type() == EventType.POST_CREATED) {
+                timelineService.fanOut(event.topicId(), event.entityId());
+            } else if (event.type() == EventType.TOPIC_SUBSCRIBED || event.type() == EventType.TOPIC_UNSUBSCRIBED) {
+                timelineService.invalidate(event.userId());
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.openclassrooms.mddapi.events;
+
+import com.openclassrooms.mddapi.services.TrendingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Consumer counting the new posts and comments in the trending engine, at
+ * the time they were written rather than the time they are handled.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class TrendingEventConsumer implements EventConsumer {
+
+    private final TrendingService trendingService;
+
+    /**
+     * Constructs a TrendingEventConsumer with required dependencies.
+     *
+     * @param trendingService Service tracking recent activity
+     */
+    @Autowired
+    public TrendingEventConsumer(TrendingService trendingService) {
+        this.trendingService = trendingService;
+    }
+
+    @Override
+    public String name() {
+        return "trending";
+    }
+
+    @Override
+    public void accept(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            long epochSecond = event.occurredAt().getEpochSecond();
+            if (event.type() == EventType.POST_CREATED) {
+                trendingService.recordPostCreated(event.postId(), event.topicId(), epochSecond);
+            } else if (event.type() == EventType.COMMENT_CREATED) {
+                trendingService.recordCommentCreated(event.postId(), event.topicId(), epochSecond);
+            }
+        }
+    }
+}
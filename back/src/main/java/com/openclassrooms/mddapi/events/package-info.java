@@ -0,0 +1,13 @@
+/**
+ * Events package containing the transactional outbox and the in-process event
+ * bus.
+ * Write paths record their side effects as outbox events in their own
+ * transaction; a relay reads the committed events in order and publishes them
+ * on a ring buffer read by independent consumers (search index, timelines,
+ * trending), each with its own persisted position.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.events;
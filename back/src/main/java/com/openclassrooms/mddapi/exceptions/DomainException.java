@@ -0,0 +1,69 @@
+package com.openclassrooms.mddapi.exceptions;
+
+/**
+ * Base class of the exceptions reporting an expected business outcome, such
+ * as a missing post or a duplicate subscription, turned into an error
+ * response by {@link GlobalExceptionHandler}.
+ * These exceptions are part of the normal control flow: they capture no
+ * stack trace and accept no suppressed exceptions, which makes them about as
+ * cheap to throw as a return value. Their message identifies the cause; a
+ * variable part, such as an identifier, is passed apart as the argument and
+ * appended to it, so that the constant message can be rendered once.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private final transient Object argument;
+
+    /**
+     * Constructs a new DomainException with the specified detail message.
+     *
+     * @param message the detail message describing the reason for the exception
+     */
+    protected DomainException(String message) {
+        this(message, null);
+    }
+
+    /**
+     * Constructs a new DomainException with a constant detail message and the
+     * value appended to it.
+     *
+     * @param message  the constant part of the detail message
+     * @param argument the value appended to the message, such as an identifier
+     */
+    protected DomainException(String message, Object argument) {
+        super(message, null, false, false);
+        this.argument = argument;
+    }
+
+    /**
+     * Returns the detail message followed by the argument, if any.
+     *
+     * @return the full detail message
+     */
+    @Override
+    public String getMessage() {
+        return argument == null ? super.getMessage() : super.getMessage() + argument;
+    }
+
+    /**
+     * Returns the constant part of the detail message.
+     *
+     * @return the message without the argument
+     */
+    String template() {
+        return super.getMessage();
+    }
+
+    /**
+     * Returns the value appended to the detail message.
+     *
+     * @return the argument, null if none
+     */
+    Object argument() {
+        return argument;
+    }
+}
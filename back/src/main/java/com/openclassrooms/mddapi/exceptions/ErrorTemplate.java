@@ -0,0 +1,120 @@
+package com.openclassrooms.mddapi.exceptions;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed JSON error body of {@link GlobalExceptionHandler}, of the form
+ * {@code {"status":404,"message":"...","error":"..."}}.
+ * The status and the error label are rendered once; only the message is
+ * encoded per response. The bodies of the first
+ * {@link #MAX_CACHED_MESSAGES} messages of a template are kept, so that the
+ * errors with a constant message are answered without encoding anything.
+ * The variable part of a message, such as an identifier, is passed apart as
+ * its argument: only the constant part is cached, and the argument is encoded
+ * into a copy of its body, so that identifiers do not fill the cache.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+final class ErrorTemplate {
+
+    static final int MAX_CACHED_MESSAGES = 256;
+
+    private final HttpStatus status;
+    private final byte[] prefix;
+    private final byte[] suffix;
+    private final Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a template.
+     *
+     * @param status The response status
+     * @param error  The error label, the same for every response
+     */
+    ErrorTemplate(HttpStatus status, String error) {
+        this.status = status;
+        this.prefix = ("{\"status\":" + status.value() + ",\"message\":\"").getBytes(StandardCharsets.UTF_8);
+        this.suffix = ("\",\"error\":\"" + new String(JsonStringEncoder.getInstance().quoteAsString(error))
+                + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Renders the response of an exception: its constant message, followed
+     * by its argument.
+     *
+     * @param e The exception
+     * @return The response, with its status and JSON body
+     */
+    ResponseEntity<byte[]> render(DomainException e) {
+        return render(e.template(), e.argument());
+    }
+
+    /**
+     * Renders the response of a message.
+     *
+     * @param message  The constant part of the message, null rendered as an
+     *                 empty string
+     * @param argument The value appended to the message, null if none
+     * @return The response, with its status and JSON body
+     */
+    ResponseEntity<byte[]> render(String message, Object argument) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body(message, argument));
+    }
+
+    /**
+     * Returns the body of a message followed by an argument.
+     *
+     * @param message  The constant part of the message, null rendered as an
+     *                 empty string
+     * @param argument The value appended to the message, null if none
+     * @return The UTF-8 encoded JSON body
+     */
+    byte[] body(String message, Object argument) {
+        byte[] constant = body(message);
+        if (argument == null) {
+            return constant;
+        }
+        byte[] encoded = JsonStringEncoder.getInstance().quoteAsUTF8(String.valueOf(argument));
+        int head = constant.length - suffix.length;
+        byte[] body = Arrays.copyOf(constant, constant.length + encoded.length);
+        System.arraycopy(encoded, 0, body, head, encoded.length);
+        System.arraycopy(suffix, 0, body, head + encoded.length, suffix.length);
+        return body;
+    }
+
+    /**
+     * Returns the body of a constant message.
+     *
+     * @param message The message, null rendered as an empty string
+     * @return The UTF-8 encoded JSON body, shared between calls
+     */
+    byte[] body(String message) {
+        String key = message == null ? "" : message;
+        byte[] body = bodies.get(key);
+        if (body == null) {
+            body = encode(key);
+            if (bodies.size() < MAX_CACHED_MESSAGES) {
+                bodies.putIfAbsent(key, body);
+            }
+        }
+        return body;
+    }
+
+    private byte[] encode(String message) {
+        byte[] encoded = JsonStringEncoder.getInstance().quoteAsUTF8(message);
+        byte[] body = new byte[prefix.length + encoded.length + suffix.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(encoded, 0, body, prefix.length, encoded.length);
+        System.arraycopy(suffix, 0, body, prefix.length + encoded.length, suffix.length);
+        return body;
+    }
+}
@@ -20,11 +20,28 @@ import java.util.Map;
  * 
  * It handles various custom exceptions and returns appropriate HTTP status
  * codes
- * along with structured error responses.
+ * along with structured error responses. The responses to the
+ * {@link DomainException}s, frequent and cheap to throw, are rendered from
+ * precomputed {@link ErrorTemplate}s instead of being serialized from a map.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final ErrorTemplate USER_NOT_FOUND = new ErrorTemplate(HttpStatus.NOT_FOUND,
+            "L'utilisateur n'existe pas");
+    private static final ErrorTemplate USER_ALREADY_EXISTS = new ErrorTemplate(HttpStatus.CONFLICT,
+            "L'utilisateur existe déjà");
+    private static final ErrorTemplate INVALID_PASSWORD = new ErrorTemplate(HttpStatus.BAD_REQUEST,
+            "Mot de passe invalide");
+    private static final ErrorTemplate TOPIC_NOT_FOUND = new ErrorTemplate(HttpStatus.NOT_FOUND,
+            "Le thème n'existe pas");
+    private static final ErrorTemplate TOPIC_SUBSCRIPTION = new ErrorTemplate(HttpStatus.BAD_REQUEST,
+            "Erreur d'abonnement au thème");
+    private static final ErrorTemplate POST_NOT_FOUND = new ErrorTemplate(HttpStatus.NOT_FOUND,
+            "l'article n'existe pas");
+    private static final ErrorTemplate INVALID_REQUEST = new ErrorTemplate(HttpStatus.BAD_REQUEST,
+            "Requête invalide");
+
     /**
      * Handles UserNotFoundException.
      * Returns a 404 NOT_FOUND status with error details.
@@ -33,28 +50,22 @@ public class GlobalExceptionHandler {
      * @return ResponseEntity containing error details and HTTP status
      */
     @ExceptionHandler(UserNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleUserNotFoundException(UserNotFoundException e) {
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("status", HttpStatus.NOT_FOUND.value());
-        response.put("message", e.getMessage());
-        response.put("error", "L'utilisateur n'existe pas");
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    public ResponseEntity<byte[]> handleUserNotFoundException(UserNotFoundException e) {
+        return USER_NOT_FOUND.render(e);
     }
 
     /**
      * Handles UsernameNotFoundException from Spring Security.
-     * Returns a 404 NOT_FOUND status with error details.
+     * Returns a 404 NOT_FOUND status with error details. Its message names the
+     * user, so it is rendered as the argument of an empty message rather than
+     * cached.
      *
      * @param e the UsernameNotFoundException that was thrown
      * @return ResponseEntity containing error details and HTTP status
      */
     @ExceptionHandler(UsernameNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleUsernameNotFoundException(UsernameNotFoundException e) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", HttpStatus.NOT_FOUND.value());
-        response.put("message", e.getMessage());
-        response.put("error", "L'utilisateur n'existe pas");
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    public ResponseEntity<byte[]> handleUsernameNotFoundException(UsernameNotFoundException e) {
+        return USER_NOT_FOUND.render("", e.getMessage());
     }
 
     /**
@@ -65,12 +76,8 @@ public class GlobalExceptionHandler {
      * @return ResponseEntity containing error details and HTTP status
      */
     @ExceptionHandler(UserAlreadyExistsException.class)
-    public ResponseEntity<Map<String, Object>> handleUserAlreadyExistsException(UserAlreadyExistsException e) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", HttpStatus.CONFLICT.value());
-        response.put("message", e.getMessage());
-        response.put("error", "L'utilisateur existe déjà");
-        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    public ResponseEntity<byte[]> handleUserAlreadyExistsException(UserAlreadyExistsException e) {
+        return USER_ALREADY_EXISTS.render(e);
     }
 
     /**
@@ -81,12 +88,8 @@ public class GlobalExceptionHandler {
      * @return ResponseEntity containing error details and HTTP status
      */
     @ExceptionHandler(InvalidPasswordException.class)
-    public ResponseEntity<Map<String, Object>> handleInvalidPasswordException(InvalidPasswordException e) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("message", e.getMessage());
-        response.put("error", "Mot de passe invalide");
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<byte[]> handleInvalidPasswordException(InvalidPasswordException e) {
+        return INVALID_PASSWORD.render(e);
     }
 
     /**
@@ -97,12 +100,8 @@ public class GlobalExceptionHandler {
      * @return ResponseEntity containing error details and HTTP status
      */
     @ExceptionHandler(TopicNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleTopicNotFoundException(TopicNotFoundException e) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", HttpStatus.NOT_FOUND.value());
-        response.put("message", e.getMessage());
-        response.put("error", "Le thème n'existe pas");
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    public ResponseEntity<byte[]> handleTopicNotFoundException(TopicNotFoundException e) {
+        return TOPIC_NOT_FOUND.render(e);
     }
 
     /**
@@ -113,12 +112,8 @@ public class GlobalExceptionHandler {
      * @return ResponseEntity containing error details and HTTP status
      */
     @ExceptionHandler(TopicSubscriptionException.class)
-    public ResponseEntity<Map<String, Object>> handleTopicSubscriptionException(TopicSubscriptionException e) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("message", e.getMessage());
-        response.put("error", "Erreur d'abonnement au thème");
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<byte[]> handleTopicSubscriptionException(TopicSubscriptionException e) {
+        return TOPIC_SUBSCRIPTION.render(e);
     }
 
     /**
@@ -129,12 +124,20 @@ public class GlobalExceptionHandler {
      * @return ResponseEntity containing error details and HTTP status
      */
     @ExceptionHandler(PostNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handlePostNotFoundException(PostNotFoundException e) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", HttpStatus.NOT_FOUND.value());
-        response.put("message", e.getMessage());
-        response.put("error", "l'article n'existe pas");
-        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    public ResponseEntity<byte[]> handlePostNotFoundException(PostNotFoundException e) {
+        return POST_NOT_FOUND.render(e);
+    }
+
+    /**
+     * Handles InvalidRequestException.
+     * Returns a 400 BAD_REQUEST status with error details.
+     *
+     * @param e the InvalidRequestException that was thrown
+     * @return ResponseEntity containing error details and HTTP status
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<byte[]> handleInvalidRequestException(InvalidRequestException e) {
+        return INVALID_REQUEST.render(e);
     }
 
     /**
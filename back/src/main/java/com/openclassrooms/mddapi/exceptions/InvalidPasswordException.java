@@ -7,7 +7,7 @@ package com.openclassrooms.mddapi.exceptions;
  * password
  * doesn't meet security requirements or doesn't match the stored password.
  */
-public class InvalidPasswordException extends RuntimeException {
+public class InvalidPasswordException extends DomainException {
 
     /**
      * Constructs a new InvalidPasswordException with the specified detail message.
@@ -0,0 +1,18 @@
+package com.openclassrooms.mddapi.exceptions;
+
+/**
+ * Exception thrown when a request is well formed but its parameters are not
+ * acceptable, for instance when too many identifiers are requested at once.
+ */
+public class InvalidRequestException extends DomainException {
+
+    /**
+     * Constructs a new InvalidRequestException with the specified detail
+     * message.
+     *
+     * @param message the detail message describing the reason for the exception
+     */
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
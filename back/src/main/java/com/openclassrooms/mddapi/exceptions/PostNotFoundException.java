@@ -6,7 +6,7 @@ package com.openclassrooms.mddapi.exceptions;
  * delete
  * a post that doesn't exist in the database.
  */
-public class PostNotFoundException extends RuntimeException {
+public class PostNotFoundException extends DomainException {
 
     /**
      * Constructs a new PostNotFoundException with the specified detail message.
@@ -16,4 +16,15 @@ public class PostNotFoundException extends RuntimeException {
     public PostNotFoundException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+
+    /**
+     * Constructs a new PostNotFoundException with a constant detail message and
+     * the value appended to it.
+     *
+     * @param message  the constant part of the detail message
+     * @param argument the value appended to the message, such as an identifier
+     */
+    public PostNotFoundException(String message, Object argument) {
+        super(message, argument);
+    }
+}
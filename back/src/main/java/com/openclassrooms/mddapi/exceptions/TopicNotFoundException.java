@@ -6,7 +6,7 @@ package com.openclassrooms.mddapi.exceptions;
  * delete
  * a topic that doesn't exist in the database.
  */
-public class TopicNotFoundException extends RuntimeException {
+public class TopicNotFoundException extends DomainException {
 
     /**
      * Constructs a new TopicNotFoundException with the specified detail message.
@@ -16,4 +16,15 @@ public class TopicNotFoundException extends RuntimeException {
     public TopicNotFoundException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+
+    /**
+     * Constructs a new TopicNotFoundException with a constant detail message and
+     * the value appended to it.
+     *
+     * @param message  the constant part of the detail message
+     * @param argument the value appended to the message, such as an identifier
+     */
+    public TopicNotFoundException(String message, Object argument) {
+        super(message, argument);
+    }
+}
@@ -6,7 +6,7 @@ package com.openclassrooms.mddapi.exceptions;
  * from a topic encounters an error, such as already being subscribed or
  * attempting to unsubscribe from a topic one isn't subscribed to.
  */
-public class TopicSubscriptionException extends RuntimeException {
+public class TopicSubscriptionException extends DomainException {
 
     /**
      * Constructs a new TopicSubscriptionException with the specified detail
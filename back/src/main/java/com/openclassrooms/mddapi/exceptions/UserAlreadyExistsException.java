@@ -7,7 +7,7 @@ package com.openclassrooms.mddapi.exceptions;
  * username
  * is already associated with an existing account.
  */
-public class UserAlreadyExistsException extends RuntimeException {
+public class UserAlreadyExistsException extends DomainException {
 
     /**
      * Constructs a new UserAlreadyExistsException with the specified detail
@@ -5,7 +5,7 @@ package com.openclassrooms.mddapi.exceptions;
  * This exception is typically used when attempting to retrieve or manipulate
  * a user that doesn't exist in the database.
  */
-public class UserNotFoundException extends RuntimeException {
+public class UserNotFoundException extends DomainException {
 
     /**
      * Constructs a new UserNotFoundException with the specified detail message.
@@ -15,4 +15,15 @@ public class UserNotFoundException extends RuntimeException {
     public UserNotFoundException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+
+    /**
+     * Constructs a new UserNotFoundException with a constant detail message and
+     * the value appended to it.
+     *
+     * @param message  the constant part of the detail message
+     * @param argument the value appended to the message, such as an identifier
+     */
+    public UserNotFoundException(String message, Object argument) {
+        super(message, argument);
+    }
+}
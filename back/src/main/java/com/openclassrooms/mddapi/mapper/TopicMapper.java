@@ -3,6 +3,7 @@ package com.openclassrooms.mddapi.mapper;
 import com.openclassrooms.mddapi.dto.response.TopicResponse;
 import com.openclassrooms.mddapi.entity.Topic;
 import com.openclassrooms.mddapi.entity.User;
+import com.openclassrooms.mddapi.repository.TopicRepository;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -37,6 +38,7 @@ public interface TopicMapper {
         @Mapping(source = "topic.content", target = "content")
         @Mapping(source = "topic.createdAt", target = "createdAt")
         @Mapping(source = "topic.subscribers", target = "subscriberCount", qualifiedByName = "subscriptionCount")
+        @Mapping(target = "subscribed", ignore = true)
         @Mapping(source = "message", target = "message")
         @Mapping(source = "success", target = "success")
         TopicResponse toResponse(Topic topic, String message, boolean success);
@@ -55,10 +57,52 @@ public interface TopicMapper {
         @Mapping(source = "content", target = "content")
         @Mapping(source = "createdAt", target = "createdAt")
         @Mapping(source = "subscribers", target = "subscriberCount", qualifiedByName = "subscriptionCount")
+        @Mapping(target = "subscribed", ignore = true)
         @Mapping(target = "message", constant = "")
         @Mapping(target = "success", constant = "true")
         TopicResponse toResponse(Topic topic);
 
+        /**
+         * Converts a Topic entity to a TopicResponse without operation status,
+         * with a subscriber count and subscription flag read from the
+         * subscription index instead of the subscribers collection.
+         *
+         * @param topic           The topic entity to convert
+         * @param subscriberCount The number of subscribers of the topic
+         * @param subscribed      Whether the current user is subscribed
+         * @return A TopicResponse containing the topic's information with default
+         *         status
+         */
+        @Mapping(source = "topic.id", target = "id")
+        @Mapping(source = "topic.title", target = "title")
+        @Mapping(source = "topic.content", target = "content")
+        @Mapping(source = "topic.createdAt", target = "createdAt")
+        @Mapping(source = "subscriberCount", target = "subscriberCount")
+        @Mapping(source = "subscribed", target = "subscribed")
+        @Mapping(target = "message", constant = "")
+        @Mapping(target = "success", constant = "true")
+        TopicResponse toResponse(Topic topic, int subscriberCount, boolean subscribed);
+
+        /**
+         * Converts a subscribed topic, read with its subscriber count, to a
+         * TopicResponse with operation status.
+         *
+         * @param topic   The subscribed topic to convert
+         * @param message The operation message
+         * @param success The operation success status
+         * @return A TopicResponse containing the topic's information and operation
+         *         status
+         */
+        @Mapping(source = "topic.id", target = "id")
+        @Mapping(source = "topic.title", target = "title")
+        @Mapping(source = "topic.content", target = "content")
+        @Mapping(source = "topic.createdAt", target = "createdAt")
+        @Mapping(source = "topic.subscriberCount", target = "subscriberCount")
+        @Mapping(target = "subscribed", constant = "true")
+        @Mapping(source = "message", target = "message")
+        @Mapping(source = "success", target = "success")
+        TopicResponse toResponse(TopicRepository.SubscribedTopic topic, String message, boolean success);
+
         /**
          * Calculates the number of subscribers for a topic.
          * This is a named method used by MapStruct for custom mapping.
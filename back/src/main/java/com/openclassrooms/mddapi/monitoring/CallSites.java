@@ -0,0 +1,83 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import java.util.Optional;
+
+/**
+ * Finds the application method on whose behalf the database is used, for
+ * the connection leak and slow query reports.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+final class CallSites {
+
+    private static final String APPLICATION_PACKAGE = "com.openclassrooms.mddapi.";
+    private static final String SERVICES_PACKAGE = APPLICATION_PACKAGE + "services.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private CallSites() {
+    }
+
+    /**
+     * Finds the calling application method, preferring the services where
+     * transactions begin. Transactions borrow their connection in the service
+     * proxy, before the service method itself runs, so proxy frames are kept
+     * and named after the service.
+     *
+     * @return The method, as ClassName.method, or "unknown"
+     */
+    static String caller() {
+        Optional<StackWalker.StackFrame> service = STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(SERVICES_PACKAGE))
+                .findFirst());
+        if (service.isPresent()) {
+            return describe(service.get());
+        }
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> isApplication(frame.getClassName()))
+                .findFirst()
+                .map(CallSites::describe)
+                .orElse("unknown"));
+    }
+
+    /**
+     * Finds the calling application method in the stack captured by a
+     * throwable, the same way as {@link #caller()}. Capturing the throwable
+     * only records the stack; its frames are decoded here, when the call
+     * site is needed.
+     *
+     * @param origin A throwable created by the caller
+     * @return The method, as ClassName.method, or "unknown"
+     */
+    static String caller(Throwable origin) {
+        StackTraceElement[] frames = origin.getStackTrace();
+        for (StackTraceElement frame : frames) {
+            if (frame.getClassName().startsWith(SERVICES_PACKAGE)) {
+                return describe(frame.getClassName(), frame.getMethodName());
+            }
+        }
+        for (StackTraceElement frame : frames) {
+            if (isApplication(frame.getClassName())) {
+                return describe(frame.getClassName(), frame.getMethodName());
+            }
+        }
+        return "unknown";
+    }
+
+    private static boolean isApplication(String className) {
+        return className.startsWith(APPLICATION_PACKAGE) && !className.startsWith(CallSites.class.getPackageName());
+    }
+
+    private static String describe(StackWalker.StackFrame frame) {
+        return describe(frame.getClassName(), frame.getMethodName());
+    }
+
+    private static String describe(String className, String methodName) {
+        int proxySuffix = className.indexOf("$$");
+        if (proxySuffix >= 0) {
+            className = className.substring(0, proxySuffix);
+        }
+        return className.substring(className.lastIndexOf('.') + 1) + "." + methodName;
+    }
+}
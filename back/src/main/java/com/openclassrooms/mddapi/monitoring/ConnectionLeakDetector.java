@@ -0,0 +1,180 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the connections borrowed from the application datasource and
+ * reports those held longer than the configured threshold, by the
+ * application method that borrowed them (the first service, or else
+ * application, frame of the borrowing stack).
+ *
+ * Connections still open past the threshold are logged by a periodic check;
+ * closed ones are accounted when they are returned.
+ *
+ * A borrow only records its stack in a throwable, without decoding it: the
+ * borrowing method is looked up in it once the connection is held past the
+ * threshold, so that the connections returned in time never pay for it.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class ConnectionLeakDetector {
+
+    private final long thresholdMs;
+    private final Set<Lease> openLeases = ConcurrentHashMap.newKeySet();
+    private final Map<String, OwnerStats> statsByOwner = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the detector.
+     *
+     * @param properties Pool monitoring configuration
+     */
+    public ConnectionLeakDetector(PoolProperties properties) {
+        this.thresholdMs = properties.getLeakThresholdMs();
+    }
+
+    /**
+     * Tells whether the detection is enabled.
+     *
+     * @return false if the threshold is 0
+     */
+    public boolean isEnabled() {
+        return thresholdMs > 0;
+    }
+
+    /**
+     * Records a borrowed connection.
+     *
+     * @return The lease to give back to {@link #released(Lease)}
+     */
+    public Lease acquired() {
+        Lease lease = new Lease(new Throwable(), Thread.currentThread().getName(), System.currentTimeMillis());
+        openLeases.add(lease);
+        return lease;
+    }
+
+    /**
+     * Records a returned connection, accounting it if it was held too long.
+     *
+     * @param lease The lease returned by {@link #acquired()}
+     */
+    public void released(Lease lease) {
+        if (!openLeases.remove(lease)) {
+            return;
+        }
+        long heldMs = System.currentTimeMillis() - lease.acquiredAt;
+        if (heldMs >= thresholdMs) {
+            statsByOwner.computeIfAbsent(lease.owner(), o -> new OwnerStats()).record(heldMs);
+            if (!lease.reported) {
+                log.warn("Connection held {} ms by {} on thread {}", heldMs, lease.owner(), lease.thread);
+            }
+        }
+    }
+
+    /**
+     * Logs the connections open for longer than the threshold, once each.
+     */
+    @Scheduled(fixedDelayString = "${pool.leak-check-interval-ms:5000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        for (Lease lease : openLeases) {
+            if (!lease.reported && now - lease.acquiredAt >= thresholdMs) {
+                lease.reported = true;
+                log.warn("Connection held for {} ms and still open by {} on thread {}", now - lease.acquiredAt,
+                        lease.owner(), lease.thread);
+            }
+        }
+    }
+
+    /**
+     * Lists the methods that held connections too long, the worst first.
+     *
+     * @return One entry per method
+     */
+    public List<LeakReport> report() {
+        long now = System.currentTimeMillis();
+        Map<String, long[]> open = new HashMap<>();
+        for (Lease lease : openLeases) {
+            long heldMs = now - lease.acquiredAt;
+            if (heldMs >= thresholdMs) {
+                open.merge(lease.owner(), new long[] { 1, heldMs },
+                        (a, b) -> new long[] { a[0] + b[0], Math.max(a[1], b[1]) });
+            }
+        }
+        Map<String, LeakReport> reports = new HashMap<>();
+        statsByOwner.forEach((owner, stats) -> reports.put(owner,
+                new LeakReport(owner, stats.count.sum(), stats.maxHeldMs.get(), 0, 0)));
+        open.forEach((owner, counts) -> reports.merge(owner,
+                new LeakReport(owner, 0, 0, counts[0], counts[1]),
+                (closed, current) -> new LeakReport(owner, closed.longHolds(), closed.maxHeldMs(),
+                        current.openNow(), current.openMaxHeldMs())));
+        return reports.values().stream()
+                .sorted(Comparator.comparingLong((LeakReport r) -> r.longHolds() + r.openNow()).reversed())
+                .toList();
+    }
+
+    /**
+     * A borrowed connection.
+     */
+    public static final class Lease {
+        private final Throwable origin;
+        private final String thread;
+        private final long acquiredAt;
+        private volatile String owner;
+        private volatile boolean reported;
+
+        private Lease(Throwable origin, String thread, long acquiredAt) {
+            this.origin = origin;
+            this.thread = thread;
+            this.acquiredAt = acquiredAt;
+        }
+
+        private String owner() {
+            String found = owner;
+            if (found == null) {
+                found = CallSites.caller(origin);
+                owner = found;
+            }
+            return found;
+        }
+    }
+
+    /**
+     * Long holds of a method, among returned connections.
+     */
+    private static final class OwnerStats {
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong maxHeldMs = new AtomicLong();
+
+        private void record(long heldMs) {
+            count.increment();
+            maxHeldMs.accumulateAndGet(heldMs, Math::max);
+        }
+    }
+
+    /**
+     * Connections held too long by a method.
+     *
+     * @param owner         The method, as ClassName.method
+     * @param longHolds     Returned connections that were held too long
+     * @param maxHeldMs     Longest hold among them, in milliseconds
+     * @param openNow       Connections held too long and still open
+     * @param openMaxHeldMs Longest hold among them so far, in milliseconds
+     */
+    public record LeakReport(String owner, long longHolds, long maxHeldMs, long openNow, long openMaxHeldMs) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint listing the methods that held database connections
+ * longer than the leak threshold, the worst first.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Endpoint(id = "connectionleaks")
+public class ConnectionLeakEndpoint {
+
+    private final ConnectionLeakDetector detector;
+
+    /**
+     * Constructs the endpoint.
+     *
+     * @param detector The connection leak detector
+     */
+    public ConnectionLeakEndpoint(ConnectionLeakDetector detector) {
+        this.detector = detector;
+    }
+
+    /**
+     * Lists the methods holding connections too long.
+     *
+     * @return One entry per method
+     */
+    @ReadOperation
+    public List<ConnectionLeakDetector.LeakReport> leaks() {
+        return detector.report();
+    }
+}
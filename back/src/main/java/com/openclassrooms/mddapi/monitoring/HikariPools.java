@@ -0,0 +1,45 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the Hikari pools behind the application datasource, through the
+ * delegating and routing datasources wrapping them.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+final class HikariPools {
+
+    private HikariPools() {
+    }
+
+    /**
+     * Lists the pools behind a datasource.
+     *
+     * @param dataSource The application datasource
+     * @return The Hikari pools, empty if there is none
+     */
+    static List<HikariDataSource> find(DataSource dataSource) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        collect(dataSource, pools);
+        return pools;
+    }
+
+    private static void collect(DataSource dataSource, List<HikariDataSource> pools) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            pools.add(hikari);
+        } else if (dataSource instanceof DelegatingDataSource delegating && delegating.getTargetDataSource() != null) {
+            collect(delegating.getTargetDataSource(), pools);
+        } else if (dataSource instanceof AbstractRoutingDataSource routing) {
+            routing.getResolvedDataSources().values().forEach(target -> collect(target, pools));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource reporting every borrowed connection to the
+ * {@link ConnectionLeakDetector}, until the connection is closed.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public class LeakTrackingDataSource extends DelegatingDataSource {
+
+    private final ConnectionLeakDetector detector;
+
+    /**
+     * Wraps a datasource.
+     *
+     * @param target   The datasource lending the connections
+     * @param detector The detector receiving the leases
+     */
+    public LeakTrackingDataSource(DataSource target, ConnectionLeakDetector detector) {
+        super(target);
+        this.detector = detector;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection track(Connection connection) {
+        ConnectionLeakDetector.Lease lease = detector.acquired();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    if ("equals".equals(method.getName())) {
+                        return proxy == args[0];
+                    } else if ("hashCode".equals(method.getName())) {
+                        return System.identityHashCode(proxy);
+                    } else if ("close".equals(method.getName())) {
+                        detector.released(lease);
+                    } else if ("unwrap".equals(method.getName()) && args[0] == Connection.class) {
+                        return connection;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
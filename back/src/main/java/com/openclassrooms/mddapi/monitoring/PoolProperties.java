@@ -0,0 +1,73 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class for the connection pool monitoring.
+ * This class loads pool settings from the application configuration with the
+ * 'pool' prefix; the pools themselves are configured by the
+ * 'spring.datasource.hikari' settings.
+ *
+ * The properties include:
+ * <ul>
+ * <li>Bounds and thresholds of the adaptive pool sizing</li>
+ * <li>Hold time above which a connection is reported as leaked</li>
+ * </ul>
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "pool")
+@Data
+public class PoolProperties {
+
+    /**
+     * Whether the maximum size of the pools is adjusted at runtime.
+     */
+    private boolean adaptiveSizing = false;
+
+    /**
+     * Lower bound of the maximum pool size.
+     */
+    private int minSize = 5;
+
+    /**
+     * Upper bound of the maximum pool size.
+     */
+    private int maxSize = 30;
+
+    /**
+     * Connections added or removed at once when the pool grows or is shrunk
+     * because the database is slow.
+     */
+    private int step = 2;
+
+    /**
+     * Mean connection acquisition time, in milliseconds, above which the pool
+     * grows.
+     */
+    private double maxAcquireWaitMs = 5;
+
+    /**
+     * Mean statement execution time, in milliseconds, above which the
+     * database is considered saturated and the pool shrinks instead of
+     * growing, unless threads are waiting for a connection. Measured by the
+     * slow query log, so only when slow-query.threshold-ms is above 0.
+     */
+    private double maxStatementMs = 50;
+
+    /**
+     * Spare capacity kept above the average number of connections in use.
+     */
+    private double headroom = 1.5;
+
+    /**
+     * Hold time, in milliseconds, above which a connection is reported as
+     * leaked; 0 disables the detection.
+     */
+    private long leakThresholdMs = 2000;
+}
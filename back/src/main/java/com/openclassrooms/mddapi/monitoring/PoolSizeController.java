@@ -0,0 +1,125 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adjusts the maximum size of the Hikari pools at runtime, within bounds,
+ * from the acquisition and hold times recorded by the pool metrics
+ * ({@code hikaricp.connections.acquire} and {@code hikaricp.connections.usage})
+ * and the statement execution times counted by the {@link SlowQueryRecorder}
+ * since the previous adjustment. See {@link PoolSizingPolicy} for the rules.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class PoolSizeController {
+
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final PoolProperties properties;
+    private final PoolSizingPolicy policy;
+    private final SlowQueryRecorder recorder;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the controller.
+     *
+     * @param dataSource    The application datasource
+     * @param meterRegistry Registry holding the pool metrics
+     * @param properties    Pool monitoring configuration
+     * @param recorder      Recorder counting the statement executions
+     */
+    public PoolSizeController(DataSource dataSource, MeterRegistry meterRegistry, PoolProperties properties,
+            SlowQueryRecorder recorder) {
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.policy = new PoolSizingPolicy(properties);
+        this.recorder = recorder;
+    }
+
+    /**
+     * Resizes each pool from what was observed since the previous call.
+     */
+    @Scheduled(fixedDelayString = "${pool.sizing-interval-ms:10000}")
+    public void adjust() {
+        if (!properties.isAdaptiveSizing()) {
+            return;
+        }
+        for (HikariDataSource pool : HikariPools.find(dataSource)) {
+            String name = pool.getPoolName();
+            Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", name).timer();
+            Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", name).timer();
+            if (acquire == null || usage == null || pool.getHikariPoolMXBean() == null) {
+                continue;
+            }
+            Window window = windows.computeIfAbsent(name, n -> new Window());
+            long now = System.nanoTime();
+            long acquireCount = acquire.count();
+            double acquireTotalMs = acquire.totalTime(TimeUnit.MILLISECONDS);
+            long usageCount = usage.count();
+            double usageTotalMs = usage.totalTime(TimeUnit.MILLISECONDS);
+            // Statements of all the pools: the routing datasource is timed as a whole
+            long statementCount = recorder.executionCount();
+            long statementTotalNanos = recorder.executionTotalNanos();
+            long acquired = acquireCount - window.acquireCount;
+            long released = usageCount - window.usageCount;
+            double acquireMs = acquireTotalMs - window.acquireTotalMs;
+            double usageMs = usageTotalMs - window.usageTotalMs;
+            long executed = statementCount - window.statementCount;
+            double statementMs = (statementTotalNanos - window.statementTotalNanos) / 1e6;
+            double seconds = window.nanos == 0 ? 0 : (now - window.nanos) / 1e9;
+            window.nanos = now;
+            window.acquireCount = acquireCount;
+            window.acquireTotalMs = acquireTotalMs;
+            window.usageCount = usageCount;
+            window.usageTotalMs = usageTotalMs;
+            window.statementCount = statementCount;
+            window.statementTotalNanos = statementTotalNanos;
+            if (seconds == 0) {
+                continue;
+            }
+
+            int current = pool.getMaximumPoolSize();
+            int next = policy.nextSize(current,
+                    acquired == 0 ? 0 : acquireMs / acquired,
+                    released == 0 ? 0 : usageMs / released,
+                    released / seconds,
+                    executed == 0 ? 0 : statementMs / executed,
+                    pool.getHikariPoolMXBean().getThreadsAwaitingConnection());
+            if (next != current) {
+                pool.getHikariConfigMXBean().setMaximumPoolSize(next);
+                if (pool.getMinimumIdle() > next) {
+                    pool.getHikariConfigMXBean().setMinimumIdle(next);
+                }
+                log.info("Pool {} resized from {} to {} connections", name, current, next);
+            }
+        }
+    }
+
+    /**
+     * Metric totals at the previous adjustment of a pool.
+     */
+    private static final class Window {
+        private long nanos;
+        private long acquireCount;
+        private double acquireTotalMs;
+        private long usageCount;
+        private double usageTotalMs;
+        private long statementCount;
+        private long statementTotalNanos;
+    }
+}
@@ -0,0 +1,59 @@
+package com.openclassrooms.mddapi.monitoring;
+
+/**
+ * Decides the maximum size of a connection pool from what was observed since
+ * the previous decision.
+ * <ul>
+ * <li>When the database is slow, the statements themselves and not the time
+ * connections are held, the pool shrinks: more connections would only queue
+ * more work on it. It never shrinks while threads wait for a connection, it
+ * stays as it is</li>
+ * <li>When threads wait for connections, the pool grows</li>
+ * <li>Otherwise the pool slowly shrinks towards the number of connections
+ * actually needed, given by Little's law (throughput times hold time) plus
+ * some headroom</li>
+ * </ul>
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public class PoolSizingPolicy {
+
+    private final PoolProperties properties;
+
+    /**
+     * Constructs a policy.
+     *
+     * @param properties Bounds and thresholds
+     */
+    public PoolSizingPolicy(PoolProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Computes the next maximum pool size.
+     *
+     * @param current       The current maximum pool size
+     * @param acquireWaitMs Mean connection acquisition time over the window
+     * @param usageMs       Mean connection hold time over the window
+     * @param usesPerSecond Connections released per second over the window
+     * @param statementMs   Mean statement execution time over the window
+     * @param pending       Threads waiting for a connection right now
+     * @return The new maximum pool size, within the configured bounds
+     */
+    public int nextSize(int current, double acquireWaitMs, double usageMs, double usesPerSecond,
+            double statementMs, int pending) {
+        int target;
+        if (statementMs > properties.getMaxStatementMs()) {
+            target = pending > 0 ? current : current - properties.getStep();
+        } else if (acquireWaitMs > properties.getMaxAcquireWaitMs() || pending > 0) {
+            target = current + properties.getStep();
+        } else {
+            double inUse = usesPerSecond * usageMs / 1000;
+            int needed = (int) Math.ceil(inUse * properties.getHeadroom());
+            target = needed < current - properties.getStep() ? current - 1 : current;
+        }
+        return Math.max(properties.getMinSize(), Math.min(properties.getMaxSize(), target));
+    }
+}
@@ -0,0 +1,193 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Wrapper;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DataSource timing every statement executed on its connections and handing
+ * the slow ones to the {@link SlowQueryRecorder}; every execution is also
+ * added to the recorder's totals, the database latency seen by
+ * {@link PoolSizeController}.
+ * The connections and statements are JDK dynamic proxies: every JDBC call on
+ * them, not only the executions, costs a reflective invocation, with its
+ * arguments boxed into an array, and each execution reads the clock twice.
+ * The bind parameters are only kept for the SQL the recorder already saw
+ * slow, so that the others pay nothing more; the call site is looked up and
+ * the statement described after the fact, once over the threshold. Enable it
+ * (slow-query.threshold-ms above 0) where this overhead is acceptable.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public class SlowQueryDataSource extends DelegatingDataSource {
+
+    private final SlowQueryRecorder recorder;
+
+    /**
+     * Wraps a datasource.
+     *
+     * @param target   The datasource lending the connections
+     * @param recorder The recorder of the slow statements
+     */
+    public SlowQueryDataSource(DataSource target, SlowQueryRecorder recorder) {
+        super(target);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if ("equals".equals(name)) {
+                        return proxy == args[0];
+                    } else if ("hashCode".equals(name)) {
+                        return System.identityHashCode(proxy);
+                    } else if ("unwrap".equals(name)) {
+                        return unwrap(connection, (Class<?>) args[0]);
+                    } else if ("isWrapperFor".equals(name)) {
+                        return isWrapperFor(connection, (Class<?>) args[0]);
+                    }
+                    Object result = invoke(connection, method, args);
+                    Connection wrapper = (Connection) proxy;
+                    if (result instanceof CallableStatement statement) {
+                        return wrap(statement, CallableStatement.class, (String) args[0], connection, wrapper);
+                    } else if (result instanceof PreparedStatement statement) {
+                        return wrap(statement, PreparedStatement.class, (String) args[0], connection, wrapper);
+                    } else if (result instanceof Statement statement) {
+                        return wrap(statement, Statement.class, null, connection, wrapper);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement wrap(Statement statement, Class<? extends Statement> type, String sql, Connection connection,
+            Connection wrapper) {
+        return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] { type },
+                new TimedStatement(statement, sql, connection, wrapper));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Unwraps to the wrapped object when it implements the interface, like
+     * the pools do, or else asks the wrapped object.
+     */
+    private static Object unwrap(Wrapper target, Class<?> type) throws SQLException {
+        return type.isInstance(target) ? target : target.unwrap(type);
+    }
+
+    private static boolean isWrapperFor(Wrapper target, Class<?> type) throws SQLException {
+        return type.isInstance(target) || target.isWrapperFor(type);
+    }
+
+    /**
+     * Times the executions of a statement and, for a SQL already seen slow,
+     * keeps its bind parameters until then.
+     */
+    private final class TimedStatement implements InvocationHandler {
+
+        private final Statement statement;
+        private final Connection connection;
+        private final Connection wrapper;
+        private final boolean prepared;
+        private final List<Object> parameters;
+        private String sql;
+        private int batchSize;
+
+        private TimedStatement(Statement statement, String sql, Connection connection, Connection wrapper) {
+            this.statement = statement;
+            this.sql = sql;
+            this.connection = connection;
+            this.wrapper = wrapper;
+            this.prepared = sql != null;
+            this.parameters = prepared && recorder.capturesParameters(sql) ? new ArrayList<>() : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("equals".equals(name)) {
+                return proxy == args[0];
+            } else if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            } else if ("unwrap".equals(name)) {
+                return unwrap(statement, (Class<?>) args[0]);
+            } else if ("isWrapperFor".equals(name)) {
+                return isWrapperFor(statement, (Class<?>) args[0]);
+            } else if ("getConnection".equals(name)) {
+                return wrapper;
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            } else if (name.startsWith("set") && parameters != null && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                setParameter(index, name.equals("setNull") ? null : args[1]);
+            } else if ("clearParameters".equals(name) && parameters != null) {
+                parameters.clear();
+            } else if ("addBatch".equals(name)) {
+                batchSize++;
+                if (args != null && args.length == 1) {
+                    sql = (String) args[0];
+                }
+            } else if ("clearBatch".equals(name)) {
+                batchSize = 0;
+            }
+            return SlowQueryDataSource.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            boolean batch = method.getName().endsWith("Batch");
+            long started = System.nanoTime();
+            try {
+                return SlowQueryDataSource.invoke(statement, method, args);
+            } finally {
+                long elapsedNanos = System.nanoTime() - started;
+                recorder.countExecution(elapsedNanos);
+                if (recorder.isSlow(elapsedNanos) && executed != null) {
+                    recorder.record(executed, prepared, parameters, batch ? batchSize : 0, elapsedNanos,
+                            connection);
+                }
+                if (batch) {
+                    batchSize = 0;
+                }
+            }
+        }
+
+        private void setParameter(int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            parameters.set(index - 1, value);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint listing the slowest statement shapes by total time, with
+ * their callers, bind parameter types and captured plans.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryRecorder recorder;
+    private final SlowQueryProperties properties;
+
+    /**
+     * Constructs the endpoint.
+     *
+     * @param recorder   The slow query recorder
+     * @param properties Slow query log configuration
+     */
+    public SlowQueryEndpoint(SlowQueryRecorder recorder, SlowQueryProperties properties) {
+        this.recorder = recorder;
+        this.properties = properties;
+    }
+
+    /**
+     * Lists the slowest statement shapes, {@code slow-query.report-size} at
+     * most.
+     *
+     * @return The shapes, by decreasing total time
+     */
+    @ReadOperation
+    public List<SlowQueryRecorder.SlowQueryReport> slowQueries() {
+        return recorder.report(properties.getReportSize());
+    }
+
+    /**
+     * Lists the slowest statement shapes, on /actuator/slowqueries/{limit}.
+     *
+     * @param limit Maximum number of entries
+     * @return The shapes, by decreasing total time
+     */
+    @ReadOperation
+    public List<SlowQueryRecorder.SlowQueryReport> slowQueries(@Selector int limit) {
+        return recorder.report(limit);
+    }
+
+    /**
+     * Resets the report, for instance before a measurement.
+     */
+    @DeleteOperation
+    public void reset() {
+        recorder.clear();
+    }
+}
@@ -0,0 +1,50 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class for the slow query log.
+ * This class loads the settings from the application configuration with the
+ * 'slow-query' prefix.
+ *
+ * The properties include:
+ * <ul>
+ * <li>Duration above which a statement is logged and reported</li>
+ * <li>Whether the plan of a slow statement is captured</li>
+ * <li>Size of the report</li>
+ * </ul>
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "slow-query")
+@Data
+public class SlowQueryProperties {
+
+    /**
+     * Execution time from which a statement is slow, in milliseconds; 0
+     * disables the statement timing.
+     */
+    private long thresholdMs = 200;
+
+    /**
+     * Whether EXPLAIN is run on the first slow occurrence of each SELECT
+     * statement, on the same connection.
+     */
+    private boolean explain = false;
+
+    /**
+     * Maximum number of statement shapes tracked by the report; slower
+     * shapes beyond it are only logged.
+     */
+    private int maxShapes = 1000;
+
+    /**
+     * Default number of entries of the slowqueries endpoint.
+     */
+    private int reportSize = 20;
+}
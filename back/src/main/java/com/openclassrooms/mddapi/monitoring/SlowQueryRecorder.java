@@ -0,0 +1,304 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Records the statements executed slower than the configured threshold.
+ * Each slow statement is logged with its duration, the application method
+ * that issued it and the types of its bind parameters, never their values.
+ * The parameters are only captured once the SQL was seen slow: its first slow
+ * execution arms it, and the following ones are listed and explained with
+ * their parameters.
+ * Statements are grouped by shape, their SQL with the literals and the
+ * lengths of the IN and VALUES lists removed; the report lists the shapes by total
+ * time. When enabled, the plan of a SELECT shape is captured with EXPLAIN on
+ * its first slow occurrence.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class SlowQueryRecorder {
+
+    private static final int MAX_VARIANTS = 5;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern LITERAL = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?\\.\\.\\.\\)(?:\\s*,\\s*\\(\\?\\.\\.\\.\\))+");
+    private static final int MAX_LISTED_PARAMETERS = 10;
+
+    private final SlowQueryProperties properties;
+    private final long thresholdNanos;
+    private final Map<String, ShapeStats> statsByShape = new ConcurrentHashMap<>();
+    private final Set<String> armed = ConcurrentHashMap.newKeySet();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder executionNanos = new LongAdder();
+
+    /**
+     * Constructs the recorder.
+     *
+     * @param properties Slow query log configuration
+     */
+    public SlowQueryRecorder(SlowQueryProperties properties) {
+        this.properties = properties;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(properties.getThresholdMs());
+    }
+
+    /**
+     * Tells whether the statements are timed.
+     *
+     * @return false if the threshold is 0
+     */
+    public boolean isEnabled() {
+        return thresholdNanos > 0;
+    }
+
+    /**
+     * Tells whether a statement duration is over the threshold.
+     *
+     * @param elapsedNanos The execution time, in nanoseconds
+     * @return true if the statement must be recorded
+     */
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    /**
+     * Counts the execution of any statement, slow or not, in the totals read
+     * by {@link PoolSizeController} as the database latency.
+     *
+     * @param elapsedNanos The execution time, in nanoseconds
+     */
+    public void countExecution(long elapsedNanos) {
+        executions.increment();
+        executionNanos.add(elapsedNanos);
+    }
+
+    /**
+     * Returns the number of statements executed since startup.
+     *
+     * @return The execution count
+     */
+    public long executionCount() {
+        return executions.sum();
+    }
+
+    /**
+     * Returns the total execution time of the statements since startup.
+     *
+     * @return The total time, in nanoseconds
+     */
+    public long executionTotalNanos() {
+        return executionNanos.sum();
+    }
+
+    /**
+     * Tells whether the bind parameters of a prepared statement must be
+     * captured, because its SQL was already seen slow.
+     *
+     * @param sql The SQL of the statement
+     * @return true if the parameters must be kept until the execution
+     */
+    public boolean capturesParameters(String sql) {
+        return armed.contains(sql);
+    }
+
+    /**
+     * Records a slow statement, called on the thread that executed it.
+     *
+     * @param sql          The SQL of the statement
+     * @param prepared     Whether the statement was prepared; the literals of
+     *                     the others are removed from the shape
+     * @param parameters   The bind parameters, null for a plain statement or
+     *                     a prepared statement whose SQL was not armed yet
+     * @param batchSize    Number of parameter sets of a batch, 0 otherwise
+     * @param elapsedNanos The execution time, in nanoseconds
+     * @param connection   The unwrapped connection that executed it, used for
+     *                     EXPLAIN
+     */
+    public void record(String sql, boolean prepared, List<Object> parameters, int batchSize, long elapsedNanos,
+            Connection connection) {
+        String shape = shapeOf(sql, prepared);
+        String caller = CallSites.caller();
+        boolean captured = !prepared || parameters != null;
+        if (!captured && armed.size() < properties.getMaxShapes()) {
+            armed.add(sql);
+        }
+        String parameterTypes = captured ? parameterTypes(parameters, batchSize) : "(not captured)";
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        log.warn("Slow query: {} ms by {} with parameters {}: {}", elapsedMs, caller, parameterTypes, shape);
+
+        ShapeStats stats = statsByShape.get(shape);
+        if (stats == null) {
+            if (statsByShape.size() >= properties.getMaxShapes()) {
+                return;
+            }
+            stats = statsByShape.computeIfAbsent(shape, key -> new ShapeStats());
+        }
+        stats.record(elapsedNanos, caller, parameterTypes);
+        if (properties.isExplain() && captured && stats.explained.compareAndSet(false, true)) {
+            stats.plan = explain(sql, parameters, connection);
+            if (stats.plan != null) {
+                log.info("Plan of slow query {}:\n{}", shape, stats.plan);
+            }
+        }
+    }
+
+    /**
+     * Lists the slow statement shapes, by decreasing total time.
+     *
+     * @param limit Maximum number of entries
+     * @return The report entries
+     */
+    public List<SlowQueryReport> report(int limit) {
+        return statsByShape.entrySet().stream()
+                .map(entry -> entry.getValue().toReport(entry.getKey()))
+                .sorted(Comparator.comparingLong(SlowQueryReport::totalMs).reversed())
+                .limit(Math.max(limit, 0))
+                .toList();
+    }
+
+    /**
+     * Removes the recorded statements; the execution totals are kept.
+     */
+    public void clear() {
+        statsByShape.clear();
+    }
+
+    static String shapeOf(String sql, boolean prepared) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        if (!prepared) {
+            shape = LITERAL.matcher(shape).replaceAll("?");
+        }
+        shape = PLACEHOLDER_LIST.matcher(shape).replaceAll("?...");
+        return ROW_LIST.matcher(shape).replaceAll("(?...), ...");
+    }
+
+    private static String parameterTypes(List<Object> parameters, int batchSize) {
+        if (parameters == null) {
+            return "none";
+        }
+        StringBuilder types = new StringBuilder("(");
+        for (int i = 0; i < Math.min(parameters.size(), MAX_LISTED_PARAMETERS); i++) {
+            Object parameter = parameters.get(i);
+            types.append(i == 0 ? "" : ", ").append(parameter == null ? "null" : parameter.getClass().getSimpleName());
+        }
+        if (parameters.size() > MAX_LISTED_PARAMETERS) {
+            types.append(", ... ").append(parameters.size()).append(" parameters");
+        }
+        types.append(')');
+        if (batchSize > 0) {
+            types.append(" x ").append(batchSize);
+        }
+        return types.toString();
+    }
+
+    /**
+     * Runs EXPLAIN with the same parameters, on the connection of the
+     * statement so that it sees the same transaction.
+     *
+     * @return The plan, one line per row, or null for a statement other than
+     *         a SELECT
+     */
+    private static String explain(String sql, List<Object> parameters, Connection connection) {
+        String statement = sql.trim();
+        String keyword = statement.length() < 6 ? "" : statement.substring(0, 6).toLowerCase(Locale.ROOT);
+        if (!keyword.equals("select")) {
+            return null;
+        }
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement)) {
+            if (parameters != null) {
+                for (int i = 0; i < parameters.size(); i++) {
+                    explain.setObject(i + 1, parameters.get(i));
+                }
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = explain.executeQuery()) {
+                ResultSetMetaData metaData = rows.getMetaData();
+                for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                    plan.append(column == 1 ? "" : "\t").append(metaData.getColumnLabel(column));
+                }
+                while (rows.next()) {
+                    plan.append('\n');
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        plan.append(column == 1 ? "" : "\t").append(rows.getString(column));
+                    }
+                }
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            log.debug("Could not explain {}", statement, e);
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Slow executions of a statement shape.
+     */
+    private static final class ShapeStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final Set<String> callers = ConcurrentHashMap.newKeySet();
+        private final Set<String> parameterTypes = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean explained = new AtomicBoolean();
+        private volatile String plan;
+
+        private void record(long elapsedNanos, String caller, String types) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            if (callers.size() < MAX_VARIANTS) {
+                callers.add(caller);
+            }
+            if (parameterTypes.size() < MAX_VARIANTS) {
+                parameterTypes.add(types);
+            }
+        }
+
+        private SlowQueryReport toReport(String shape) {
+            long slow = count.sum();
+            long total = TimeUnit.NANOSECONDS.toMillis(totalNanos.sum());
+            return new SlowQueryReport(shape, slow, total, slow == 0 ? 0 : total / slow,
+                    TimeUnit.NANOSECONDS.toMillis(maxNanos.get()), List.copyOf(callers), List.copyOf(parameterTypes),
+                    plan);
+        }
+    }
+
+    /**
+     * Slow executions of a statement shape.
+     *
+     * @param shape          The SQL, without literals
+     * @param count          Number of slow executions
+     * @param totalMs        Total time of the slow executions, in milliseconds
+     * @param averageMs      Average time of the slow executions, in
+     *                       milliseconds
+     * @param maxMs          Longest execution, in milliseconds
+     * @param callers        Application methods that issued it, at most 5
+     * @param parameterTypes Types of the bind parameters, at most 5 variants
+     * @param plan           The captured plan, null if none
+     */
+    public record SlowQueryReport(String shape, long count, long totalMs, long averageMs, long maxMs,
+            List<String> callers, List<String> parameterTypes, String plan) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.openclassrooms.mddapi.monitoring.jfr;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the handling of an HTTP request, filters included.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Name(HttpRequestEvent.NAME)
+@Label("HTTP Request")
+@Category({ "MDD", "HTTP" })
+@Description("Handling of an HTTP request, from the first filter to the response")
+@Enabled(false)
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+
+    /**
+     * Name of the event type.
+     */
+    public static final String NAME = "mdd.HttpRequest";
+
+    @Label("Endpoint")
+    private String endpoint;
+
+    @Label("Status")
+    private int status;
+
+    /**
+     * Ends the event and commits it if the recording keeps it.
+     *
+     * @param request  The request, whose endpoint is only computed for a
+     *                 committed event
+     * @param status   The response status
+     */
+    public void finish(HttpServletRequest request, int status) {
+        end();
+        if (shouldCommit()) {
+            this.endpoint = JfrEvents.endpoint(request);
+            this.status = status;
+            commit();
+        }
+    }
+}
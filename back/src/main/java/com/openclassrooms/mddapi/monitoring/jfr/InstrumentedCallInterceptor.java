@@ -0,0 +1,71 @@
+package com.openclassrooms.mddapi.monitoring.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Interceptor emitting a JFR event around each call to a repository or a
+ * mapper.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public final class InstrumentedCallInterceptor implements MethodInterceptor {
+
+    private final String name;
+    private final boolean repository;
+
+    private InstrumentedCallInterceptor(String name, boolean repository) {
+        this.name = name;
+        this.repository = repository;
+    }
+
+    /**
+     * Creates the interceptor of a repository, emitting
+     * {@link RepositoryCallEvent}s.
+     *
+     * @param repositoryInterface The repository interface
+     * @return The interceptor
+     */
+    public static InstrumentedCallInterceptor forRepository(Class<?> repositoryInterface) {
+        return new InstrumentedCallInterceptor(repositoryInterface.getSimpleName(), true);
+    }
+
+    /**
+     * Creates the interceptor of a mapper, emitting {@link MapperCallEvent}s.
+     *
+     * @param mapperInterface The mapper interface
+     * @return The interceptor
+     */
+    public static InstrumentedCallInterceptor forMapper(Class<?> mapperInterface) {
+        return new InstrumentedCallInterceptor(mapperInterface.getSimpleName(), false);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (repository) {
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            event.begin();
+            Object result = null;
+            try {
+                result = invocation.proceed();
+                return result;
+            } finally {
+                event.finish(name, invocation.getMethod().getName(), firstArgument(invocation), result);
+            }
+        }
+        MapperCallEvent event = new MapperCallEvent();
+        event.begin();
+        try {
+            return invocation.proceed();
+        } finally {
+            event.finish(name, invocation.getMethod().getName(), firstArgument(invocation));
+        }
+    }
+
+    private static Object firstArgument(MethodInvocation invocation) {
+        Object[] arguments = invocation.getArguments();
+        return arguments.length > 0 ? arguments[0] : null;
+    }
+}
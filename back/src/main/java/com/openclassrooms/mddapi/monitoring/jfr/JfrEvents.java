@@ -0,0 +1,117 @@
+package com.openclassrooms.mddapi.monitoring.jfr;
+
+import com.openclassrooms.mddapi.entity.Comment;
+import com.openclassrooms.mddapi.entity.Post;
+import com.openclassrooms.mddapi.entity.Topic;
+import com.openclassrooms.mddapi.entity.User;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers filling the fields shared by the custom JFR events.
+ * Only called once an event is known to be committed, so that disabled
+ * events cost nothing beyond their enabled check.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public final class JfrEvents {
+
+    /**
+     * Endpoint of the events emitted outside of an HTTP request.
+     */
+    public static final String BACKGROUND = "(background)";
+
+    private static final String ENDPOINT_ATTRIBUTE = JfrEvents.class.getName() + ".endpoint";
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private JfrEvents() {
+    }
+
+    /**
+     * Returns the endpoint of the request handled by the current thread.
+     *
+     * @return The endpoint, or {@link #BACKGROUND} outside of a request
+     */
+    public static String endpoint() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return endpoint(attributes.getRequest());
+        }
+        return BACKGROUND;
+    }
+
+    /**
+     * Returns the endpoint of a request: its method and path, with the
+     * numeric segments replaced by {@code {id}} so that the requests on
+     * different entities are grouped. Computed once per request.
+     *
+     * @param request The request
+     * @return The endpoint, such as {@code GET /api/posts/{id}}
+     */
+    public static String endpoint(HttpServletRequest request) {
+        if (request.getAttribute(ENDPOINT_ATTRIBUTE) instanceof String endpoint) {
+            return endpoint;
+        }
+        String endpoint = request.getMethod() + " "
+                + ID_SEGMENT.matcher(request.getRequestURI()).replaceAll("/{id}");
+        request.setAttribute(ENDPOINT_ATTRIBUTE, endpoint);
+        return endpoint;
+    }
+
+    /**
+     * Returns the identifier of an entity, of an optional entity or the
+     * value of an identifier.
+     *
+     * @param value The entity or identifier, may be null
+     * @return The identifier, 0 if there is none
+     */
+    public static long entityId(Object value) {
+        if (value instanceof Optional<?> optional) {
+            value = optional.orElse(null);
+        }
+        Integer id = null;
+        if (value instanceof Integer integer) {
+            id = integer;
+        } else if (value instanceof Long longId) {
+            return longId;
+        } else if (value instanceof Post post) {
+            id = post.getId();
+        } else if (value instanceof Comment comment) {
+            id = comment.getId();
+        } else if (value instanceof Topic topic) {
+            id = topic.getId();
+        } else if (value instanceof User user) {
+            id = user.getId();
+        }
+        return id == null ? 0 : id;
+    }
+
+    /**
+     * Returns the number of results of a call.
+     *
+     * @param result The result
+     * @return The size of a collection, 0 or 1 for an optional or a single
+     *         value, -1 for a count or another scalar
+     */
+    public static int resultCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean) {
+            return -1;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,270 @@
+package com.openclassrooms.mddapi.monitoring.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line tool summarizing a JFR recording of the custom events into
+ * per-endpoint breakdowns.
+ * The events of each thread are nested by time: the time of an event minus
+ * the time of the events it contains is its own time, so that the repository
+ * calls made while authenticating a request are counted once, as repository
+ * time. The own time of a request event is the rest: filters, controllers
+ * and JSON serialization.
+ *
+ * Usage: {@code java -cp target/classes com.openclassrooms.mddapi.monitoring.jfr.JfrSummary recording.jfr}
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public final class JfrSummary {
+
+    private static final int TOP_REPOSITORY_METHODS = 20;
+
+    /**
+     * Part of a request time, one per event type.
+     */
+    public enum Part {
+        JWT(JwtAuthenticationEvent.NAME, "JWT"),
+        PASSWORD(PasswordHashEvent.NAME, "Password"),
+        REPOSITORY(RepositoryCallEvent.NAME, "Repository"),
+        MAPPER(MapperCallEvent.NAME, "Mapper"),
+        REST(HttpRequestEvent.NAME, "Rest");
+
+        private final String eventName;
+        private final String label;
+
+        Part(String eventName, String label) {
+            this.eventName = eventName;
+            this.label = label;
+        }
+
+        private static Part of(String eventName) {
+            for (Part part : values()) {
+                if (part.eventName.equals(eventName)) {
+                    return part;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Breakdown of the requests of one endpoint. Events emitted outside of a
+     * request are reported under {@link JfrEvents#BACKGROUND}, without
+     * requests.
+     */
+    public static final class Endpoint {
+
+        private final List<Long> requestNanos = new ArrayList<>();
+        private final Map<Part, Long> ownNanos = new EnumMap<>(Part.class);
+        private final Map<Part, Integer> calls = new EnumMap<>(Part.class);
+
+        public int getRequests() {
+            return requestNanos.size();
+        }
+
+        /**
+         * Returns a percentile of the request durations.
+         *
+         * @param percentile The percentile, between 0 and 100
+         * @return The duration in nanoseconds, 0 without requests
+         */
+        public long getRequestPercentileNanos(double percentile) {
+            if (requestNanos.isEmpty()) {
+                return 0;
+            }
+            List<Long> sorted = new ArrayList<>(requestNanos);
+            Collections.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * sorted.size()) - 1;
+            return sorted.get(Math.max(index, 0));
+        }
+
+        public long getOwnNanos(Part part) {
+            return ownNanos.getOrDefault(part, 0L);
+        }
+
+        public int getCalls(Part part) {
+            return calls.getOrDefault(part, 0);
+        }
+
+        private long getTotalNanos() {
+            return ownNanos.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    private final Map<String, Endpoint> endpoints = new HashMap<>();
+    private final Map<String, long[]> repositoryMethods = new HashMap<>();
+
+    private JfrSummary() {
+    }
+
+    /**
+     * Reads a recording.
+     *
+     * @param recording Path of the .jfr file
+     * @return The summary of its custom events
+     * @throws IOException if the file cannot be read
+     */
+    public static JfrSummary read(Path recording) throws IOException {
+        Map<Long, List<RecordedEvent>> eventsByThread = new HashMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (Part.of(event.getEventType().getName()) != null && event.getThread() != null) {
+                    eventsByThread.computeIfAbsent(event.getThread().getJavaThreadId(), id -> new ArrayList<>())
+                            .add(event);
+                }
+            }
+        }
+        JfrSummary summary = new JfrSummary();
+        eventsByThread.values().forEach(summary::addThread);
+        return summary;
+    }
+
+    /**
+     * Returns the breakdown of an endpoint.
+     *
+     * @param endpoint The endpoint, such as {@code GET /api/posts/{id}}
+     * @return The breakdown, null if the recording has no event for it
+     */
+    public Endpoint getEndpoint(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    /**
+     * Formats the summary as Markdown tables: the endpoints by total time,
+     * then the repository methods by total time. Times are in milliseconds.
+     *
+     * @return The tables
+     */
+    public String toMarkdown() {
+        StringBuilder out = new StringBuilder();
+        out.append("| Endpoint | Requests | p50 | p99 |");
+        for (Part part : Part.values()) {
+            out.append(' ').append(part.label).append(" |");
+        }
+        out.append(" Repository calls |\n|---|---:|---:|---:|");
+        out.append("---:|".repeat(Part.values().length + 1)).append('\n');
+        endpoints.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, Endpoint> entry) -> entry.getValue().getTotalNanos()).reversed())
+                .forEach(entry -> {
+                    Endpoint endpoint = entry.getValue();
+                    out.append("| ").append(entry.getKey()).append(" | ").append(endpoint.getRequests())
+                            .append(" | ").append(millis(endpoint.getRequestPercentileNanos(50)))
+                            .append(" | ").append(millis(endpoint.getRequestPercentileNanos(99))).append(" |");
+                    for (Part part : Part.values()) {
+                        out.append(' ').append(millis(endpoint.getOwnNanos(part))).append(" |");
+                    }
+                    out.append(' ').append(endpoint.getCalls(Part.REPOSITORY)).append(" |\n");
+                });
+
+        out.append("\n| Repository method | Calls | Total | Max |\n|---|---:|---:|---:|\n");
+        repositoryMethods.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[1]).reversed())
+                .limit(TOP_REPOSITORY_METHODS)
+                .forEach(entry -> out.append("| ").append(entry.getKey()).append(" | ").append(entry.getValue()[0])
+                        .append(" | ").append(millis(entry.getValue()[1])).append(" | ")
+                        .append(millis(entry.getValue()[2])).append(" |\n"));
+        return out.toString();
+    }
+
+    /**
+     * Prints the summary of a recording.
+     *
+     * @param args Path of the .jfr file
+     * @throws IOException if the file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: JfrSummary <recording.jfr>");
+            System.exit(2);
+        }
+        System.out.print(read(Path.of(args[0])).toMarkdown());
+    }
+
+    /**
+     * Nests the events of a thread and adds their own times to the endpoint
+     * of the outermost one.
+     */
+    private void addThread(List<RecordedEvent> events) {
+        events.sort(Comparator.comparing(RecordedEvent::getStartTime)
+                .thenComparing(RecordedEvent::getEndTime, Comparator.reverseOrder()));
+        Deque<Node> open = new ArrayDeque<>();
+        List<Node> nodes = new ArrayList<>(events.size());
+        for (RecordedEvent event : events) {
+            while (!open.isEmpty() && !open.peek().contains(event)) {
+                open.pop();
+            }
+            Node parent = open.peek();
+            Node node = new Node(event, parent);
+            if (parent != null) {
+                parent.ownNanos -= node.ownNanos;
+            }
+            open.push(node);
+            nodes.add(node);
+        }
+
+        for (Node node : nodes) {
+            Endpoint endpoint = endpoints.computeIfAbsent(node.root.event.getString("endpoint"),
+                    key -> new Endpoint());
+            Part part = Part.of(node.event.getEventType().getName());
+            long nanos = node.event.getDuration().toNanos();
+            if (part == Part.REST && node.root == node) {
+                endpoint.requestNanos.add(nanos);
+            }
+            endpoint.ownNanos.merge(part, node.ownNanos, Long::sum);
+            endpoint.calls.merge(part, 1, Integer::sum);
+            if (part == Part.REPOSITORY) {
+                long[] method = repositoryMethods.computeIfAbsent(
+                        node.event.getString("repository") + "." + node.event.getString("method"),
+                        key -> new long[3]);
+                method[0]++;
+                method[1] += nanos;
+                method[2] = Math.max(method[2], nanos);
+            }
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / (double) Duration.ofMillis(1).toNanos());
+    }
+
+    /**
+     * An event, the outermost event containing it and its own time, reduced
+     * by each event it contains.
+     */
+    private static final class Node {
+
+        private final RecordedEvent event;
+        private final Node root;
+        private long ownNanos;
+
+        private Node(RecordedEvent event, Node parent) {
+            this.event = event;
+            this.root = parent == null ? this : parent.root;
+            this.ownNanos = event.getDuration().toNanos();
+        }
+
+        private boolean contains(RecordedEvent other) {
+            return !other.getStartTime().isBefore(event.getStartTime())
+                    && !other.getEndTime().isAfter(event.getEndTime());
+        }
+    }
+}
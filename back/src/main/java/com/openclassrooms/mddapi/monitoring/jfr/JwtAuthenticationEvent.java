@@ -0,0 +1,55 @@
+package com.openclassrooms.mddapi.monitoring.jfr;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning the authentication of a request from its JWT: parsing,
+ * deny-list check and loading of the user.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Name(JwtAuthenticationEvent.NAME)
+@Label("JWT Authentication")
+@Category({ "MDD", "Security" })
+@Description("Authentication of a request from its bearer token")
+@Enabled(false)
+@StackTrace(false)
+public class JwtAuthenticationEvent extends Event {
+
+    /**
+     * Name of the event type.
+     */
+    public static final String NAME = "mdd.JwtAuthentication";
+
+    @Label("Endpoint")
+    private String endpoint;
+
+    @Label("Outcome")
+    private String outcome;
+
+    /**
+     * Ends the event and commits it if the recording keeps it.
+     *
+     * @param request  The request, whose endpoint is only computed for a
+     *                 committed event
+     * @param outcome  The outcome, such as {@code authenticated} or
+     *                 {@code revoked}
+     */
+    public void finish(HttpServletRequest request, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.endpoint = JfrEvents.endpoint(request);
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
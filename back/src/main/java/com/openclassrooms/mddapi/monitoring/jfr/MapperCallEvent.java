@@ -0,0 +1,62 @@
+package com.openclassrooms.mddapi.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning a mapper invocation, including the lazy loading of the
+ * associations it reads.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Name(MapperCallEvent.NAME)
+@Label("Mapper Call")
+@Category({ "MDD", "Mapping" })
+@Description("Conversion of an entity by a mapper")
+@Enabled(false)
+@StackTrace(false)
+public class MapperCallEvent extends Event {
+
+    /**
+     * Name of the event type.
+     */
+    public static final String NAME = "mdd.MapperCall";
+
+    @Label("Endpoint")
+    private String endpoint;
+
+    @Label("Mapper")
+    private String mapper;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Entity Id")
+    @Description("Identifier of the converted entity, 0 if none")
+    private long entityId;
+
+    /**
+     * Ends the event and commits it if the recording keeps it.
+     *
+     * @param mapper   The mapper interface name
+     * @param method   The called method name
+     * @param argument The first argument of the call
+     */
+    public void finish(String mapper, String method, Object argument) {
+        end();
+        if (shouldCommit()) {
+            this.endpoint = JfrEvents.endpoint();
+            this.mapper = mapper;
+            this.method = method;
+            this.entityId = JfrEvents.entityId(argument);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.openclassrooms.mddapi.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning a password hash computation, when a password is encoded
+ * or checked.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Name(PasswordHashEvent.NAME)
+@Label("Password Hash")
+@Category({ "MDD", "Security" })
+@Description("Encoding or verification of a password")
+@Enabled(false)
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+
+    /**
+     * Name of the event type.
+     */
+    public static final String NAME = "mdd.PasswordHash";
+
+    @Label("Endpoint")
+    private String endpoint;
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("User Id")
+    private long userId;
+
+    @Label("Matched")
+    private boolean matched;
+
+    /**
+     * Ends the event and commits it if the recording keeps it.
+     *
+     * @param operation {@code encode} or {@code matches}
+     * @param userId    The user the password belongs to, null if not known yet
+     * @param matched   Whether the password matched, false when encoding
+     */
+    public void finish(String operation, Integer userId, boolean matched) {
+        end();
+        if (shouldCommit()) {
+            this.endpoint = JfrEvents.endpoint();
+            this.operation = operation;
+            this.userId = JfrEvents.entityId(userId);
+            this.matched = matched;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.openclassrooms.mddapi.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning a call to a Spring Data repository, including the
+ * transaction the repository opens when none is active.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Name(RepositoryCallEvent.NAME)
+@Label("Repository Call")
+@Category({ "MDD", "Database" })
+@Description("Call to a repository method")
+@Enabled(false)
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    /**
+     * Name of the event type.
+     */
+    public static final String NAME = "mdd.RepositoryCall";
+
+    @Label("Endpoint")
+    private String endpoint;
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Entity Id")
+    @Description("Identifier passed to or returned by the call, 0 if none")
+    private long entityId;
+
+    @Label("Result Count")
+    @Description("Number of returned rows, -1 for a scalar result")
+    private int resultCount;
+
+    /**
+     * Ends the event and commits it if the recording keeps it.
+     *
+     * @param repository The repository interface name
+     * @param method     The called method name
+     * @param argument   The first argument of the call, null if none
+     * @param result     The returned value
+     */
+    public void finish(String repository, String method, Object argument, Object result) {
+        end();
+        if (shouldCommit()) {
+            this.endpoint = JfrEvents.endpoint();
+            this.repository = repository;
+            this.method = method;
+            long id = JfrEvents.entityId(argument);
+            this.entityId = id != 0 ? id : JfrEvents.entityId(result);
+            this.resultCount = JfrEvents.resultCount(result);
+            commit();
+        }
+    }
+}
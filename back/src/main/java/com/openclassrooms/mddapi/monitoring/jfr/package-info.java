@@ -0,0 +1,14 @@
+/**
+ * Java Flight Recorder instrumentation of the request hot paths.
+ * This package contains the custom events emitted around the HTTP requests,
+ * the JWT authentication, the password hashing, the repository calls and the
+ * mapper invocations, each carrying the endpoint it belongs to, and the tool
+ * summarizing a recording into per-endpoint breakdowns.
+ * The events are disabled unless the recording enables them, with the
+ * {@code jfr/mdd.jfc} settings file.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.monitoring.jfr;
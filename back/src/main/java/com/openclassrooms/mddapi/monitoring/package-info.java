@@ -0,0 +1,13 @@
+/**
+ * Monitoring package containing the connection pool instrumentation.
+ * This package contains the controller adapting the size of the Hikari pools
+ * to the observed wait times and database latency, and the detection of
+ * connections held too long, reported by the service method holding them,
+ * and the slow query log, reporting the statements over a threshold by shape
+ * with their callers and plans.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.monitoring;
@@ -1,9 +1,16 @@
 package com.openclassrooms.mddapi.repository;
 
 import com.openclassrooms.mddapi.entity.Comment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -26,7 +33,49 @@ public interface CommentRepository extends JpaRepository<Comment, Integer> {
      *
      * @param postId The ID of the post to retrieve comments for
      * @return List of comments for the specified post, ordered by comment date
-     *         descending
+     *         descending, with their author
      */
+    @EntityGraph(attributePaths = "user")
     List<Comment> findByPostIdOrderByCommentedAtDesc(Integer postId);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the highest comment identifier.
+     *
+     * @return The highest comment ID, or null if there is no comment
+     */
+    @Query("select max(c.id) from Comment c")
+    Integer findMaxId();
+
+    /**
+     * Retrieves a batch of comments in identifier order.
+     * Used to walk the whole table with keyset pagination.
+     *
+     * @param afterId  Only comments with a greater ID are returned
+     * @param pageable Size of the batch
+     * @return List of comments ordered by ID
+     */
+    @Query("select c from Comment c where c.id > :afterId order by c.id")
+    List<Comment> findBatchAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    /**
+     * Retrieves the comments of several posts with their author and post, in
+     * a single query.
+     *
+     * @param postIds Post IDs
+     * @return List of comments, most recent first
+     */
+    @Query("select c from Comment c join fetch c.user join fetch c.post where c.post.id in :postIds "
+            + "order by c.commentedAt desc, c.id desc")
+    List<Comment> findWithUserAndPostByPostIdIn(@Param("postIds") Collection<Integer> postIds);
+
+    /**
+     * Deletes the comments of several posts.
+     *
+     * @param postIds Post IDs
+     * @return The number of deleted comments
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Comment c where c.post.id in :postIds")
+    int deleteByPostIdIn(@Param("postIds") Collection<Integer> postIds);
+}
@@ -0,0 +1,27 @@
+package com.openclassrooms.mddapi.repository;
+
+import com.openclassrooms.mddapi.entity.DigestRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for DigestRun entity operations.
+ * Finds the run to resume and the last completed one.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Repository
+public interface DigestRunRepository extends JpaRepository<DigestRun, Long> {
+
+    /**
+     * Finds the most recent run in a given state.
+     *
+     * @param status The state of the run
+     * @return An Optional containing the run if found, or empty if not found
+     */
+    Optional<DigestRun> findFirstByStatusOrderByIdDesc(DigestRun.Status status);
+}
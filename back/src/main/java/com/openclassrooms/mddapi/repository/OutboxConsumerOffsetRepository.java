@@ -0,0 +1,33 @@
+package com.openclassrooms.mddapi.repository;
+
+import com.openclassrooms.mddapi.entity.OutboxConsumerOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository interface for OutboxConsumerOffset entity operations.
+ * Stores the position of each outbox consumer.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Repository
+public interface OutboxConsumerOffsetRepository extends JpaRepository<OutboxConsumerOffset, String> {
+
+    /**
+     * Moves the position of a consumer forward, never backward.
+     *
+     * @param name     The consumer name
+     * @param position The ID of the last processed event
+     * @return Number of updated rows, 0 if the consumer is unknown
+     */
+    @Modifying
+    @Transactional
+    @Query("update OutboxConsumerOffset o set o.position = :position where o.name = :name and o.position < :position")
+    int advance(@Param("name") String name, @Param("position") Long position);
+}
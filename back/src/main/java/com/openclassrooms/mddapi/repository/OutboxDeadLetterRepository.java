@@ -0,0 +1,27 @@
+package com.openclassrooms.mddapi.repository;
+
+import com.openclassrooms.mddapi.entity.OutboxDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for OutboxDeadLetter entity operations.
+ * Stores the events a consumer could not handle.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Repository
+public interface OutboxDeadLetterRepository extends JpaRepository<OutboxDeadLetter, Long> {
+
+    /**
+     * Retrieves the dead letters of a consumer.
+     *
+     * @param consumer The consumer name
+     * @return List of dead letters ordered by event ID
+     */
+    List<OutboxDeadLetter> findByConsumerOrderByEventId(String consumer);
+}
@@ -0,0 +1,54 @@
+package com.openclassrooms.mddapi.repository;
+
+import com.openclassrooms.mddapi.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Repository interface for OutboxEvent entity operations.
+ * Provides the keyset reads of the outbox relay and the removal of the events
+ * every consumer has processed.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Retrieves a batch of events in identifier order.
+     *
+     * @param afterId  Only events with a greater ID are returned
+     * @param pageable Size of the batch
+     * @return List of events ordered by ID
+     */
+    @Query("select e from OutboxEvent e where e.id > :afterId order by e.id")
+    List<OutboxEvent> findBatchAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Retrieves the highest event identifier.
+     *
+     * @return The highest event ID, or null if the outbox is empty
+     */
+    @Query("select max(e.id) from OutboxEvent e")
+    Long findMaxId();
+
+    /**
+     * Deletes the events up to an identifier.
+     *
+     * @param id Events with this ID or a lower one are deleted
+     * @return Number of deleted events
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from OutboxEvent e where e.id <= :id")
+    int deleteUpTo(@Param("id") Long id);
+}
@@ -0,0 +1,35 @@
+package com.openclassrooms.mddapi.repository;
+
+import com.openclassrooms.mddapi.entity.OutboxGap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * Repository interface for OutboxGap entity operations.
+ * Stores the outbox identifiers skipped by the relay while their row was not
+ * visible, so that a restart keeps looking for them.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Repository
+public interface OutboxGapRepository extends JpaRepository<OutboxGap, Long> {
+
+    /**
+     * Deletes gaps by identifier.
+     *
+     * @param ids Outbox event IDs
+     * @return Number of deleted gaps
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from OutboxGap g where g.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,10 +1,19 @@
 package com.openclassrooms.mddapi.repository;
 
+import com.openclassrooms.mddapi.dto.common.PostSummaryDto;
 import com.openclassrooms.mddapi.entity.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Post entity operations.
@@ -19,12 +28,221 @@ import java.util.List;
 public interface PostRepository extends JpaRepository<Post, Integer> {
 
     /**
-     * Retrieves all posts ordered by publication date in descending order (newest
-     * first).
-     * This method is useful for displaying posts in chronological order with the
-     * most recent posts appearing first.
-     * 
-     * @return List of posts ordered by publication date in descending order
+     * Retrieves a post by identifier with its author and topic, in a single
+     * query.
+     *
+     * @param id Post ID
+     * @return An Optional containing the post if found, or empty if not found
      */
-    List<Post> findAllByOrderByPublishedAtDesc();
-}
\ No newline at end of file
+    @Query("select p from Post p join fetch p.user join fetch p.topic where p.id = :id")
+    Optional<Post> findWithUserAndTopicById(@Param("id") Integer id);
+
+    /**
+     * Retrieves the summaries of all posts, newest first, in a single query
+     * that does not read the content column.
+     *
+     * @return List of post summaries ordered by publication date in descending
+     *         order
+     */
+    @Query("select new com.openclassrooms.mddapi.dto.common.PostSummaryDto(p.id, u.id, u.username, t.id, t.title, "
+            + "p.title, p.excerpt, p.publishedAt) from Post p join p.user u join p.topic t "
+            + "order by p.publishedAt desc")
+    List<PostSummaryDto> findAllSummaries();
+
+    /**
+     * Retrieves the summaries of posts by identifier, in a single query that
+     * does not read the content column.
+     *
+     * @param ids Post IDs
+     * @return List of post summaries, in no particular order
+     */
+    @Query("select new com.openclassrooms.mddapi.dto.common.PostSummaryDto(p.id, u.id, u.username, t.id, t.title, "
+            + "p.title, p.excerpt, p.publishedAt) from Post p join p.user u join p.topic t where p.id in :ids")
+    List<PostSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Retrieves the first page of the posts of a topic, most recent first.
+     * The topic is the driving table, so an existing topic without posts
+     * yields a single row with null post fields, and an unknown topic no row
+     * at all. Served by the (topic_id, published_at, id) index.
+     *
+     * @param topicId  The topic ID
+     * @param pageable Size of the page
+     * @return List of post summaries, empty if the topic does not exist
+     */
+    @Query("select new com.openclassrooms.mddapi.dto.common.PostSummaryDto(p.id, u.id, u.username, t.id, t.title, "
+            + "p.title, p.excerpt, p.publishedAt) from Topic t left join Post p on p.topic = t left join p.user u "
+            + "where t.id = :topicId order by p.publishedAt desc, p.id desc")
+    List<PostSummaryDto> findTopicPage(@Param("topicId") Integer topicId, Pageable pageable);
+
+    /**
+     * Retrieves a following page of the posts of a topic, most recent first,
+     * starting after the last post of the previous page. Rows are returned as
+     * by {@link #findTopicPage(Integer, Pageable)}.
+     *
+     * @param topicId           The topic ID
+     * @param beforePublishedAt Publication date of the last post of the
+     *                          previous page
+     * @param beforeId          ID of the last post of the previous page
+     * @param pageable          Size of the page
+     * @return List of post summaries, empty if the topic does not exist
+     */
+    @Query("select new com.openclassrooms.mddapi.dto.common.PostSummaryDto(p.id, u.id, u.username, t.id, t.title, "
+            + "p.title, p.excerpt, p.publishedAt) from Topic t left join Post p on p.topic = t "
+            + "and (p.publishedAt < :beforePublishedAt or (p.publishedAt = :beforePublishedAt and p.id < :beforeId)) "
+            + "left join p.user u where t.id = :topicId order by p.publishedAt desc, p.id desc")
+    List<PostSummaryDto> findTopicPageBefore(@Param("topicId") Integer topicId,
+            @Param("beforePublishedAt") LocalDateTime beforePublishedAt, @Param("beforeId") Integer beforeId,
+            Pageable pageable);
+
+    /**
+     * Retrieves a batch of post summaries published up to a date, in
+     * publication order. Used to walk the posts of a period with keyset
+     * pagination on the publication date and ID.
+     *
+     * @param afterPublishedAt Publication date of the last post read
+     * @param afterId          ID of the last post read; posts published at
+     *                         that date with a greater ID come next
+     * @param upTo             Only posts published at this date or before are
+     *                         returned
+     * @param pageable         Size of the batch
+     * @return List of post summaries ordered by publication date and ID
+     */
+    @Query("select new com.openclassrooms.mddapi.dto.common.PostSummaryDto(p.id, u.id, u.username, t.id, t.title, "
+            + "p.title, p.excerpt, p.publishedAt) from Post p join p.user u join p.topic t "
+            + "where (p.publishedAt > :afterPublishedAt or (p.publishedAt = :afterPublishedAt and p.id > :afterId)) "
+            + "and p.publishedAt <= :upTo order by p.publishedAt, p.id")
+    List<PostSummaryDto> findSummariesPublishedAfter(@Param("afterPublishedAt") LocalDateTime afterPublishedAt,
+            @Param("afterId") Integer afterId, @Param("upTo") LocalDateTime upTo, Pageable pageable);
+
+    /**
+     * Tells whether posts were published in a period.
+     *
+     * @param after The start of the period, excluded
+     * @param upTo  The end of the period, included
+     * @return true if at least one post was published in the period
+     */
+    boolean existsByPublishedAtGreaterThanAndPublishedAtLessThanEqual(LocalDateTime after, LocalDateTime upTo);
+
+    /**
+     * Retrieves a batch of posts without excerpt, in identifier order.
+     * Used to fill the excerpts of posts written before they existed.
+     *
+     * @param afterId  Only posts with a greater ID are returned
+     * @param pageable Size of the batch
+     * @return List of identifier and content pairs ordered by ID
+     */
+    @Query("select p.id as id, p.content as content from Post p where p.excerpt is null and p.id > :afterId "
+            + "order by p.id")
+    List<Content> findWithoutExcerptAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    /**
+     * Sets the excerpt of a post.
+     *
+     * @param id      Post ID
+     * @param excerpt The excerpt
+     * @return The number of updated posts
+     */
+    @Modifying
+    @Transactional
+    @Query("update Post p set p.excerpt = :excerpt where p.id = :id")
+    int updateExcerpt(@Param("id") Integer id, @Param("excerpt") String excerpt);
+
+    /**
+     * Retrieves the highest post identifier.
+     *
+     * @return The highest post ID, or null if there is no post
+     */
+    @Query("select max(p.id) from Post p")
+    Integer findMaxId();
+
+    /**
+     * Retrieves a batch of posts with their author, in identifier order.
+     * Used to walk the whole table with keyset pagination.
+     *
+     * @param afterId  Only posts with a greater ID are returned
+     * @param pageable Size of the batch
+     * @return List of posts ordered by ID
+     */
+    @Query("select p from Post p join fetch p.user where p.id > :afterId order by p.id")
+    List<Post> findBatchAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    /**
+     * Retrieves the identifiers of the newest posts of some topics, older than
+     * a given post.
+     *
+     * @param topicIds Topics to read
+     * @param beforeId Only posts with a lower ID are returned
+     * @param pageable Maximum number of identifiers
+     * @return List of post IDs in decreasing order
+     */
+    @Query("select p.id from Post p where p.topic.id in :topicIds and p.id < :beforeId order by p.id desc")
+    List<Integer> findIdsByTopicIdInAndIdLessThan(@Param("topicIds") Collection<Integer> topicIds,
+            @Param("beforeId") Integer beforeId, Pageable pageable);
+
+    /**
+     * Retrieves posts by identifier with their author and topic, in a single
+     * query.
+     *
+     * @param ids Post IDs
+     * @return List of posts, in no particular order
+     */
+    @Query("select p from Post p join fetch p.user join fetch p.topic where p.id in :ids")
+    List<Post> findAllWithUserAndTopicByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Retrieves the publication date of the oldest post published before a
+     * date.
+     *
+     * @param before The date
+     * @return The oldest publication date, or null if no post is older
+     */
+    @Query("select min(p.publishedAt) from Post p where p.publishedAt < :before")
+    LocalDateTime findOldestPublishedAtBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * Retrieves a batch of the posts published before a date with their
+     * author and topic, following a given post in publication order. Used to
+     * walk a period along the publication index with keyset pagination.
+     *
+     * @param afterPublishedAt The publication date of the last post read, or
+     *                         the start of the period for the first batch
+     * @param afterId          The ID of the last post read, 0 for the first
+     *                         batch
+     * @param before           The end of the period, exclusive
+     * @param pageable         Size of the batch
+     * @return List of posts ordered by publication date then ID
+     */
+    @Query("select p from Post p join fetch p.user join fetch p.topic where p.publishedAt >= :afterPublishedAt "
+            + "and (p.publishedAt > :afterPublishedAt or p.id > :afterId) and p.publishedAt < :before "
+            + "order by p.publishedAt, p.id")
+    List<Post> findPublishedBatchAfter(@Param("afterPublishedAt") LocalDateTime afterPublishedAt,
+            @Param("afterId") Integer afterId, @Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * Deletes posts by identifier. Their comments must be deleted first.
+     *
+     * @param ids Post IDs
+     * @return The number of deleted posts
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Post p where p.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Projection of the content of a post.
+     */
+    interface Content {
+
+        /**
+         * @return The post's ID
+         */
+        Integer getId();
+
+        /**
+         * @return The post's content
+         */
+        String getContent();
+    }
+}
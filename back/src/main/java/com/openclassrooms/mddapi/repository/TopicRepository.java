@@ -2,8 +2,12 @@ package com.openclassrooms.mddapi.repository;
 
 import com.openclassrooms.mddapi.entity.Topic;
 import com.openclassrooms.mddapi.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -45,4 +49,126 @@ public interface TopicRepository extends JpaRepository<Topic, Integer> {
      * @return List of topics that the user has subscribed to
      */
     List<Topic> findBySubscribersContaining(User user);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the identifiers of the users subscribed to a topic, straight
+     * from the subscriptions table.
+     *
+     * @param topicId The topic ID
+     * @return List of subscriber IDs
+     */
+    @Query(value = "select user_id from subscriptions where topic_id = :topicId", nativeQuery = true)
+    List<Integer> findSubscriberIds(@Param("topicId") Integer topicId);
+
+    /**
+     * Retrieves the identifiers of the topics a user is subscribed to.
+     *
+     * @param userId The user ID
+     * @return List of topic IDs
+     */
+    @Query(value = "select topic_id from subscriptions where user_id = :userId", nativeQuery = true)
+    List<Integer> findSubscribedTopicIds(@Param("userId") Integer userId);
+
+    /**
+     * Retrieves the subscriptions of a range of users, straight from the
+     * subscriptions table.
+     *
+     * @param fromUserId The lowest user ID, inclusive
+     * @param toUserId   The highest user ID, inclusive
+     * @return List of subscriptions ordered by user ID
+     */
+    @Query(value = "select user_id as userId, topic_id as topicId from subscriptions "
+            + "where user_id between :fromUserId and :toUserId order by user_id", nativeQuery = true)
+    List<Subscription> findSubscriptionsOfUsers(@Param("fromUserId") Integer fromUserId,
+            @Param("toUserId") Integer toUserId);
+
+    /**
+     * Retrieves a batch of subscriptions following a given one, in primary key
+     * order, to read the whole table in keyset batches.
+     *
+     * @param afterUserId  The subscriber of the last subscription read, 0 for
+     *                     the first batch
+     * @param afterTopicId The topic of the last subscription read, 0 for the
+     *                     first batch
+     * @param pageable     The batch size
+     * @return List of subscriptions ordered by user ID then topic ID
+     */
+    @Query(value = "select user_id as userId, topic_id as topicId from subscriptions "
+            + "where user_id > :afterUserId or (user_id = :afterUserId and topic_id > :afterTopicId) "
+            + "order by user_id, topic_id", nativeQuery = true)
+    List<Subscription> findSubscriptionsAfter(@Param("afterUserId") Integer afterUserId,
+            @Param("afterTopicId") Integer afterTopicId, Pageable pageable);
+
+    /**
+     * Retrieves the identifiers of the topics with more subscribers than a
+     * limit.
+     *
+     * @param limit The subscriber count to exceed
+     * @return List of topic IDs
+     */
+    @Query(value = "select topic_id from subscriptions group by topic_id having count(*) > :limit", nativeQuery = true)
+    List<Integer> findTopicIdsWithMoreSubscribersThan(@Param("limit") long limit);
+
+    /**
+     * Retrieves the topics a user is subscribed to with their subscriber
+     * counts, in a single query, most recent first.
+     *
+     * @param userId The subscriber's ID
+     * @return List of subscribed topics
+     */
+    @Query(value = "select t.id as id, t.title as title, t.content as content, t.created_at as createdAt, "
+            + "count(*) as subscriberCount from subscriptions mine "
+            + "join topics t on t.id = mine.topic_id "
+            + "join subscriptions s on s.topic_id = mine.topic_id "
+            + "where mine.user_id = :userId "
+            + "group by t.id, t.title, t.content, t.created_at order by t.created_at desc, t.id desc",
+            nativeQuery = true)
+    List<SubscribedTopic> findSubscribedTopics(@Param("userId") Integer userId);
+
+    /**
+     * Projection of a row of the subscriptions table.
+     */
+    interface Subscription {
+
+        /**
+         * @return The subscriber's ID
+         */
+        Integer getUserId();
+
+        /**
+         * @return The topic ID
+         */
+        Integer getTopicId();
+    }
+
+    /**
+     * Projection of a subscribed topic with its subscriber count.
+     */
+    interface SubscribedTopic {
+
+        /**
+         * @return The topic ID
+         */
+        Integer getId();
+
+        /**
+         * @return The topic title
+         */
+        String getTitle();
+
+        /**
+         * @return The topic description
+         */
+        String getContent();
+
+        /**
+         * @return The creation date of the topic
+         */
+        LocalDateTime getCreatedAt();
+
+        /**
+         * @return The number of subscribers of the topic
+         */
+        long getSubscriberCount();
+    }
+}
@@ -1,9 +1,14 @@
 package com.openclassrooms.mddapi.repository;
 
 import com.openclassrooms.mddapi.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,6 +29,7 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      * @param username The username to search for
      * @return An Optional containing the user if found, or empty if not found
      */
+    @Transactional(readOnly = true)
     Optional<User> findByUsername(String username);
 
     /**
@@ -32,6 +38,7 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      * @param email The email address to search for
      * @return An Optional containing the user if found, or empty if not found
      */
+    @Transactional(readOnly = true)
     Optional<User> findByEmail(String email);
 
     /**
@@ -49,4 +56,43 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      * @return true if a user with the email exists, false otherwise
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves a chunk of users in identifier order, without loading the
+     * entities. Used to walk the whole table with keyset pagination.
+     *
+     * @param afterId  Only users with a greater ID are returned
+     * @param pageable Size of the chunk
+     * @return List of recipients ordered by ID
+     */
+    @Query("select u.id as id, u.email as email, u.username as username from User u "
+            + "where u.id > :afterId order by u.id")
+    List<Recipient> findRecipientsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    /**
+     * Projection of the unique identifiers of a user.
+     */
+    interface Identifiers {
+
+        /**
+         * @return The user's email
+         */
+        String getEmail();
+
+        /**
+         * @return The user's username
+         */
+        String getUsername();
+    }
+
+    /**
+     * Projection of a user receiving notifications.
+     */
+    interface Recipient extends Identifiers {
+
+        /**
+         * @return The user's ID
+         */
+        Integer getId();
+    }
+}
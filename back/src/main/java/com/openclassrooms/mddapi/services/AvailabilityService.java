@@ -0,0 +1,119 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.dto.response.AvailabilityResponse;
+import com.openclassrooms.mddapi.repository.UserRepository;
+import com.openclassrooms.mddapi.services.availability.UserIdentifierFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service class that tells whether emails and usernames are taken.
+ * An in-memory Bloom filter over the existing identifiers answers first;
+ * only identifiers it reports as possibly taken are checked in the database,
+ * so checking a free identifier usually costs no query.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class AvailabilityService {
+
+    /**
+     * Number of users read per query when the filters are loaded.
+     */
+    static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final UserIdentifierFilter identifierFilter;
+    private final UserRepository userRepository;
+
+    /**
+     * Constructs an AvailabilityService with required dependencies.
+     *
+     * @param identifierFilter Bloom filters over taken identifiers
+     * @param userRepository   Repository for user data operations
+     */
+    @Autowired
+    public AvailabilityService(UserIdentifierFilter identifierFilter, UserRepository userRepository) {
+        this.identifierFilter = identifierFilter;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Fills the filters from a scan of the users table, in chunks walked by
+     * identifier so that only one chunk is in memory at a time. Until it
+     * completes, every check goes to the database.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIdentifiers() {
+        long started = System.nanoTime();
+        long count = 0;
+        Integer lastId = 0;
+        List<UserRepository.Recipient> chunk;
+        do {
+            chunk = userRepository.findRecipientsAfter(lastId, Pageable.ofSize(LOAD_CHUNK_SIZE));
+            for (UserRepository.Recipient identifier : chunk) {
+                identifierFilter.addEmail(identifier.getEmail());
+                identifierFilter.addUsername(identifier.getUsername());
+                lastId = identifier.getId();
+                count++;
+            }
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+        identifierFilter.markReady();
+        log.info("Availability filters loaded with {} users in {} ms ({} KB)", count,
+                (System.nanoTime() - started) / 1_000_000, identifierFilter.sizeInBytes() / 1024);
+    }
+
+    /**
+     * Checks whether an email is already used by an account.
+     *
+     * @param email The email to check
+     * @return true if the email is taken
+     */
+    public boolean isEmailTaken(String email) {
+        return identifierFilter.mightContainEmail(email) && userRepository.existsByEmail(email);
+    }
+
+    /**
+     * Checks whether a username is already used by an account.
+     *
+     * @param username The username to check
+     * @return true if the username is taken
+     */
+    public boolean isUsernameTaken(String username) {
+        return identifierFilter.mightContainUsername(username) && userRepository.existsByUsername(username);
+    }
+
+    /**
+     * Records the identifiers of a created or updated account.
+     *
+     * @param email    The account's email
+     * @param username The account's username
+     */
+    public void recordTaken(String email, String username) {
+        identifierFilter.addEmail(email);
+        identifierFilter.addUsername(username);
+    }
+
+    /**
+     * Checks the availability of an email and/or a username.
+     *
+     * @param email    The email to check, may be null
+     * @param username The username to check, may be null
+     * @return The availability of each identifier given, null for the others
+     */
+    public AvailabilityResponse checkAvailability(String email, String username) {
+        Boolean emailAvailable = email == null || email.isBlank() ? null : !isEmailTaken(email);
+        Boolean usernameAvailable = username == null || username.isBlank() ? null : !isUsernameTaken(username);
+        return new AvailabilityResponse(emailAvailable, usernameAvailable);
+    }
+}
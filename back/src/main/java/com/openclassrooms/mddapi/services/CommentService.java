@@ -1,21 +1,28 @@
 package com.openclassrooms.mddapi.services;
 
+import com.openclassrooms.mddapi.archive.ArchiveProperties;
+import com.openclassrooms.mddapi.archive.ArchivedPost;
+import com.openclassrooms.mddapi.archive.PostArchive;
 import com.openclassrooms.mddapi.dto.common.CommentDto;
 import com.openclassrooms.mddapi.dto.request.CommentRequest;
 import com.openclassrooms.mddapi.entity.Comment;
 import com.openclassrooms.mddapi.entity.Post;
 import com.openclassrooms.mddapi.entity.User;
+import com.openclassrooms.mddapi.events.EventType;
+import com.openclassrooms.mddapi.events.OutboxWriter;
+import com.openclassrooms.mddapi.exceptions.InvalidRequestException;
 import com.openclassrooms.mddapi.exceptions.PostNotFoundException;
+import com.openclassrooms.mddapi.exceptions.UserNotFoundException;
 import com.openclassrooms.mddapi.mapper.CommentMapper;
 import com.openclassrooms.mddapi.repository.CommentRepository;
 import com.openclassrooms.mddapi.repository.PostRepository;
 import com.openclassrooms.mddapi.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -40,6 +47,9 @@ public class CommentService {
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final CommentMapper commentMapper;
+    private final OutboxWriter outboxWriter;
+    private final PostArchive postArchive;
+    private final ArchiveProperties archiveProperties;
 
     /**
      * Constructs a CommentService with required dependencies.
@@ -49,6 +59,9 @@ public class CommentService {
      * @param userRepository    Repository for user data access operations
      * @param commentMapper     Mapper for converting between Comment entities and
      *                          DTOs
+     * @param outboxWriter      Writer of the events handled after commit
+     * @param postArchive       Store of the archived posts
+     * @param archiveProperties Archive configuration
      */
 
     @Autowired
@@ -56,11 +69,17 @@ public class CommentService {
             CommentRepository commentRepository,
             PostRepository postRepository,
             UserRepository userRepository,
-            CommentMapper commentMapper) {
+            CommentMapper commentMapper,
+            OutboxWriter outboxWriter,
+            PostArchive postArchive,
+            ArchiveProperties archiveProperties) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.commentMapper = commentMapper;
+        this.outboxWriter = outboxWriter;
+        this.postArchive = postArchive;
+        this.archiveProperties = archiveProperties;
     }
 
     /**
@@ -68,21 +87,35 @@ public class CommentService {
      * Uses the currently authenticated user as the author of the comment.
      * Sets the creation timestamp and associates the comment with the appropriate
      * post.
+     * The search index and the trending counters are updated after commit,
+     * from the event recorded in the same transaction.
      * 
      * @param request The comment request containing post ID and content
      * @return The created comment as a DTO
-     * @throws UsernameNotFoundException if the authenticated user cannot be found
+     * @throws UserNotFoundException if the authenticated user cannot be found
      * @throws PostNotFoundException     if the referenced post does not exist
+     * @throws InvalidRequestException   if the post is archived, or published
+     *                                   before the archive cutoff
      */
 
     @Transactional
     public CommentDto createComment(CommentRequest request) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("L'utilisateur n'existe pas"));
+                .orElseThrow(() -> new UserNotFoundException("L'utilisateur n'existe pas"));
 
-        Post post = postRepository.findById(request.getPostId())
-                .orElseThrow(() -> new PostNotFoundException("Article non trouvé"));
+        Post post = postRepository.findById(request.getPostId()).orElse(null);
+        if (post == null) {
+            if (postArchive.contains(request.getPostId())) {
+                throw new InvalidRequestException("Cet article est archivé et n'accepte plus de commentaires");
+            }
+            throw new PostNotFoundException("Article non trouvé");
+        }
+        // Posts about to be archived are closed too, a comment written meanwhile would be lost
+        if (archiveProperties.isEnabled()
+                && post.getPublishedAt().isBefore(archiveProperties.cutoff(LocalDate.now()))) {
+            throw new InvalidRequestException("Cet article est archivé et n'accepte plus de commentaires");
+        }
 
         Comment comment = new Comment();
         comment.setUser(user);
@@ -91,22 +124,28 @@ public class CommentService {
         comment.setCommentedAt(LocalDateTime.now());
 
         Comment savedComment = commentRepository.save(comment);
+        outboxWriter.record(EventType.COMMENT_CREATED, savedComment.getId(), post.getId(), post.getTopic().getId(),
+                user.getId());
         return commentMapper.toDto(savedComment);
     }
 
     /**
      * Retrieves all comments for a specific post, ordered by publication date
      * (descending).
-     * Returns the most recent comments first.
+     * Returns the most recent comments first. The comments of an archived
+     * post are read from its segment.
      * 
      * @param postId The ID of the post to retrieve comments for
      * @return List of comments as DTOs
      * @throws PostNotFoundException if the post is not found with the given ID
      */
 
+    @Transactional(readOnly = true)
     public List<CommentDto> getPostComments(Integer postId) {
         if (!postRepository.existsById(postId)) {
-            throw new PostNotFoundException("Article non trouvé");
+            return postArchive.find(postId)
+                    .map(ArchivedPost::comments)
+                    .orElseThrow(() -> new PostNotFoundException("Article non trouvé"));
         }
 
         List<Comment> comments = commentRepository.findByPostIdOrderByCommentedAtDesc(postId);
@@ -1,24 +1,43 @@
 package com.openclassrooms.mddapi.services;
 
+import com.openclassrooms.mddapi.Security.JwtAuthenticationDetails;
+import com.openclassrooms.mddapi.archive.ArchivedPost;
+import com.openclassrooms.mddapi.archive.PostArchive;
+import com.openclassrooms.mddapi.dto.request.PostBatchRequest;
 import com.openclassrooms.mddapi.dto.request.PostRequest;
+import com.openclassrooms.mddapi.dto.response.PostBatchResponse;
 import com.openclassrooms.mddapi.dto.common.PostDto;
+import com.openclassrooms.mddapi.dto.common.PostSummaryDto;
 import com.openclassrooms.mddapi.entity.Post;
 import com.openclassrooms.mddapi.entity.Topic;
 import com.openclassrooms.mddapi.entity.User;
+import com.openclassrooms.mddapi.events.EventType;
+import com.openclassrooms.mddapi.events.OutboxWriter;
+import com.openclassrooms.mddapi.exceptions.InvalidRequestException;
 import com.openclassrooms.mddapi.exceptions.PostNotFoundException;
 import com.openclassrooms.mddapi.exceptions.TopicNotFoundException;
+import com.openclassrooms.mddapi.exceptions.UserNotFoundException;
 import com.openclassrooms.mddapi.mapper.PostMapper;
 import com.openclassrooms.mddapi.repository.PostRepository;
 import com.openclassrooms.mddapi.repository.TopicRepository;
 import com.openclassrooms.mddapi.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -33,13 +52,20 @@ import java.util.stream.Collectors;
  * @version 1.0
  * @since 1.0
  */
+@Slf4j
 @Service
 public class PostService {
 
+    private static final int EXCERPT_BATCH_SIZE = 500;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final TopicRepository topicRepository;
     private final PostMapper postMapper;
+    private final TimelineService timelineService;
+    private final TrendingService trendingService;
+    private final OutboxWriter outboxWriter;
+    private final PostArchive postArchive;
 
     /**
      * Constructs a PostService with required dependencies.
@@ -48,35 +74,49 @@ public class PostService {
      * @param userRepository  Repository for user data access operations
      * @param topicRepository Repository for topic data access operations
      * @param postMapper      Mapper for converting between Post entities and DTOs
+     * @param timelineService Service maintaining the subscription feeds
+     * @param trendingService Service tracking recent activity
+     * @param outboxWriter    Writer of the events handled after commit
+     * @param postArchive     Store of the archived posts
      */
     @Autowired
     public PostService(
             PostRepository postRepository,
             UserRepository userRepository,
             TopicRepository topicRepository,
-            PostMapper postMapper) {
+            PostMapper postMapper,
+            TimelineService timelineService,
+            TrendingService trendingService,
+            OutboxWriter outboxWriter,
+            PostArchive postArchive) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
         this.topicRepository = topicRepository;
         this.postMapper = postMapper;
+        this.timelineService = timelineService;
+        this.trendingService = trendingService;
+        this.outboxWriter = outboxWriter;
+        this.postArchive = postArchive;
     }
 
     /**
      * Creates a new post in the system.
      * Associates the post with the current user and specified topic.
      * Sets the publication timestamp and validates all required relationships.
+     * The search index, the feeds and the trending counters are updated after
+     * commit, from the event recorded in the same transaction.
      * 
      * @param request The post creation request containing title, content, and topic
      *                ID
      * @return The created post as a DTO
-     * @throws UsernameNotFoundException if the authenticated user cannot be found
+     * @throws UserNotFoundException if the authenticated user cannot be found
      * @throws TopicNotFoundException    if the referenced topic does not exist
      */
     @Transactional
     public PostDto createPost(PostRequest request) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("L'utilisateur n'existe pas"));
+                .orElseThrow(() -> new UserNotFoundException("L'utilisateur n'existe pas"));
 
         Topic topic = topicRepository.findById(request.getTopicId())
                 .orElseThrow(() -> new TopicNotFoundException("Thème non trouvé"));
@@ -89,33 +129,138 @@ public class PostService {
         post.setPublishedAt(LocalDateTime.now());
 
         Post savedPost = postRepository.save(post);
+        outboxWriter.record(EventType.POST_CREATED, savedPost.getId(), savedPost.getId(), topic.getId(),
+                user.getId());
         return postMapper.toDto(savedPost);
     }
 
     /**
      * Retrieves all posts from the system, ordered by publication date
      * (descending).
-     * Returns the most recent posts first.
+     * Returns the most recent posts first, as summaries carrying an excerpt
+     * instead of the content.
      * 
-     * @return List of posts as DTOs
+     * @return List of post summaries
      */
-    public List<PostDto> getAllPosts() {
-        List<Post> posts = postRepository.findAllByOrderByPublishedAtDesc();
-        return posts.stream()
-                .map(postMapper::toDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<PostSummaryDto> getAllPosts() {
+        return postRepository.findAllSummaries();
     }
 
     /**
      * Retrieves a specific post by its ID.
+     * Posts moved to the archive are read from their segment; their views
+     * are not counted in the trending posts.
      * 
      * @param id The ID of the post to retrieve
      * @return The post as a DTO
      * @throws PostNotFoundException if the post is not found with the given ID
      */
+    @Transactional(readOnly = true)
     public PostDto getPostById(Integer id) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new PostNotFoundException("Article non trouvé avec l'ID : " + id));
+        Post post = postRepository.findWithUserAndTopicById(id).orElse(null);
+        if (post == null) {
+            return postArchive.find(id)
+                    .map(ArchivedPost::post)
+                    .orElseThrow(() -> new PostNotFoundException("Article non trouvé avec l'ID : ", id));
+        }
+        trendingService.recordPostViewed(post);
         return postMapper.toDto(post);
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves several posts by identifier, with their author and topic, in a
+     * single query.
+     * The posts come in the requested order, each once, archived posts
+     * included; identifiers without a post are reported in the response instead of failing the request.
+     *
+     * @param ids The identifiers of the posts, null entries are ignored
+     * @return The posts found and the missing identifiers
+     * @throws InvalidRequestException if no identifier or more than
+     *                                 {@link PostBatchRequest#MAX_IDS} distinct
+     *                                 identifiers are requested
+     */
+    @Transactional(readOnly = true)
+    public PostBatchResponse getPostsByIds(List<Integer> ids) {
+        LinkedHashSet<Integer> requested = new LinkedHashSet<>();
+        if (ids != null) {
+            ids.stream().filter(Objects::nonNull).forEach(requested::add);
+        }
+        if (requested.isEmpty()) {
+            throw new InvalidRequestException("Au moins un identifiant d'article est requis");
+        }
+        if (requested.size() > PostBatchRequest.MAX_IDS) {
+            throw new InvalidRequestException(
+                    "Au plus " + PostBatchRequest.MAX_IDS + " articles peuvent être demandés à la fois");
+        }
+
+        Map<Integer, Post> postsById = postRepository.findAllWithUserAndTopicByIdIn(requested).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<PostDto> posts = new ArrayList<>(postsById.size());
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer id : requested) {
+            Post post = postsById.get(id);
+            if (post != null) {
+                posts.add(postMapper.toDto(post));
+            } else {
+                postArchive.find(id).map(ArchivedPost::post).ifPresentOrElse(posts::add, () -> missingIds.add(id));
+            }
+        }
+        return new PostBatchResponse(posts, missingIds);
+    }
+
+    /**
+     * Retrieves a page of the current user's feed: the newest posts of the
+     * topics they are subscribed to, most recent first.
+     * The user comes from the token, the post identifiers from the
+     * precomputed timeline, and their summaries are loaded with a single
+     * query.
+     *
+     * @param beforeId Only posts with a lower ID are returned, null for the
+     *                 first page
+     * @param limit    Maximum number of posts
+     * @return List of post summaries
+     * @throws UserNotFoundException if the authenticated user cannot be found
+     */
+    @Transactional(readOnly = true)
+    public List<PostSummaryDto> getFeed(Integer beforeId, int limit) {
+        Integer userId = JwtAuthenticationDetails.currentUserId();
+        if (userId == null) {
+            throw new UserNotFoundException("L'utilisateur n'existe pas");
+        }
+
+        List<Integer> ids = timelineService.getFeedIds(userId, beforeId, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, PostSummaryDto> postsById = postRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostSummaryDto::getId, Function.identity()));
+        return ids.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fills the excerpts of the posts written before excerpts were stored.
+     * Runs in the background once the application is ready; posts written
+     * meanwhile get their excerpt on insert.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillMissingExcerpts() {
+        int filled = 0;
+        int afterId = 0;
+        List<PostRepository.Content> batch;
+        do {
+            batch = postRepository.findWithoutExcerptAfter(afterId, Pageable.ofSize(EXCERPT_BATCH_SIZE));
+            for (PostRepository.Content post : batch) {
+                filled += postRepository.updateExcerpt(post.getId(), Post.excerptOf(post.getContent()));
+                afterId = post.getId();
+            }
+        } while (batch.size() == EXCERPT_BATCH_SIZE);
+        if (filled > 0) {
+            log.info("Filled the excerpts of {} posts", filled);
+        }
+    }
+}
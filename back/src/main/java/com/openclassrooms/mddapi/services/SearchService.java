@@ -0,0 +1,189 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.dto.common.SearchHitDto;
+import com.openclassrooms.mddapi.entity.Comment;
+import com.openclassrooms.mddapi.entity.Post;
+import com.openclassrooms.mddapi.repository.CommentRepository;
+import com.openclassrooms.mddapi.repository.PostRepository;
+import com.openclassrooms.mddapi.services.search.SearchDocumentType;
+import com.openclassrooms.mddapi.services.search.SearchIndex;
+import com.openclassrooms.mddapi.services.search.SearchProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Service class that handles full-text search over posts and comments.
+ * Keeps the in-process {@link SearchIndex} up to date with new posts and
+ * comments, rebuilds it from the database when it was not bootstrapped yet,
+ * and runs ranked queries.
+ *
+ * The rebuild covers the posts and comments existing when the service is
+ * created, before the outbox relay starts. Events for them, replayed by the
+ * relay, are left to the rebuild so that no document is indexed twice.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class SearchService {
+
+    private static final int BOOTSTRAP_BATCH_SIZE = 500;
+
+    private final SearchIndex searchIndex;
+    private final SearchProperties searchProperties;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final int bootstrapMaxPostId;
+    private final int bootstrapMaxCommentId;
+
+    /**
+     * Constructs a SearchService with required dependencies.
+     *
+     * @param searchIndex       The in-process inverted index
+     * @param searchProperties  Search configuration
+     * @param postRepository    Repository for post data access operations
+     * @param commentRepository Repository for comment data access operations
+     */
+    @Autowired
+    public SearchService(
+            SearchIndex searchIndex,
+            SearchProperties searchProperties,
+            PostRepository postRepository,
+            CommentRepository commentRepository) {
+        this.searchIndex = searchIndex;
+        this.searchProperties = searchProperties;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        if (searchIndex.isBootstrapped()) {
+            this.bootstrapMaxPostId = 0;
+            this.bootstrapMaxCommentId = 0;
+        } else {
+            this.bootstrapMaxPostId = Objects.requireNonNullElse(postRepository.findMaxId(), 0);
+            this.bootstrapMaxCommentId = Objects.requireNonNullElse(commentRepository.findMaxId(), 0);
+        }
+    }
+
+    /**
+     * Adds a post to the index, on its title and content, unless it is left
+     * to the rebuild.
+     *
+     * @param post The saved post
+     */
+    public void indexPost(Post post) {
+        if (post.getId() > bootstrapMaxPostId) {
+            addPost(post);
+        }
+    }
+
+    /**
+     * Adds a comment to the index, on its content, unless it is left to the
+     * rebuild.
+     *
+     * @param comment The saved comment
+     */
+    public void indexComment(Comment comment) {
+        if (comment.getId() > bootstrapMaxCommentId) {
+            addComment(comment);
+        }
+    }
+
+    /**
+     * Searches posts and comments matching a free text query.
+     *
+     * @param query The query text
+     * @param limit Maximum number of results, capped by configuration
+     * @return Results ordered by decreasing relevance
+     */
+    public List<SearchHitDto> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int cappedLimit = Math.min(Math.max(limit, 1), searchProperties.getMaxResults());
+        long now = toEpochSecond(LocalDateTime.now());
+        return searchIndex.search(query, cappedLimit, now).stream()
+                .map(hit -> new SearchHitDto(hit.type().name(), hit.entityId(), hit.postId(), hit.score(),
+                        LocalDateTime.ofEpochSecond(hit.timestamp(), 0, ZoneOffset.UTC)))
+                .toList();
+    }
+
+    /**
+     * Rebuilds the index from the database when it was not bootstrapped, for
+     * instance on the first start, after the index directory was removed or
+     * after an interrupted rebuild. Runs in the background; documents created
+     * meanwhile are indexed by the regular write path since only the
+     * identifiers existing at startup are walked. The marker is written last,
+     * so an interrupted rebuild starts over.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfNotBootstrapped() {
+        if (searchIndex.isBootstrapped()) {
+            return;
+        }
+        long started = System.nanoTime();
+        int maxPostId = bootstrapMaxPostId;
+        int maxCommentId = bootstrapMaxCommentId;
+        int posts = 0;
+        int comments = 0;
+
+        int afterId = 0;
+        while (afterId < maxPostId) {
+            List<Post> batch = postRepository.findBatchAfter(afterId, Pageable.ofSize(BOOTSTRAP_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (Post post : batch) {
+                if (post.getId() <= maxPostId) {
+                    addPost(post);
+                    posts++;
+                }
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+
+        afterId = 0;
+        while (afterId < maxCommentId) {
+            List<Comment> batch = commentRepository.findBatchAfter(afterId, Pageable.ofSize(BOOTSTRAP_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (Comment comment : batch) {
+                if (comment.getId() <= maxCommentId) {
+                    addComment(comment);
+                    comments++;
+                }
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+
+        searchIndex.markBootstrapped();
+        log.info("Search index rebuilt with {} posts and {} comments in {} ms", posts, comments,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void addPost(Post post) {
+        searchIndex.add(SearchDocumentType.POST, post.getId(), post.getId(), toEpochSecond(post.getPublishedAt()),
+                post.getTitle(), post.getContent());
+    }
+
+    private void addComment(Comment comment) {
+        searchIndex.add(SearchDocumentType.COMMENT, comment.getId(), comment.getPost().getId(),
+                toEpochSecond(comment.getCommentedAt()), null, comment.getContent());
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
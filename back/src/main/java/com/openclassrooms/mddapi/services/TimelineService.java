@@ -0,0 +1,204 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.repository.PostRepository;
+import com.openclassrooms.mddapi.repository.TopicRepository;
+import com.openclassrooms.mddapi.services.subscriptions.SubscriptionIndex;
+import com.openclassrooms.mddapi.services.timeline.IntRingBuffer;
+import com.openclassrooms.mddapi.services.timeline.TimelineProperties;
+import com.openclassrooms.mddapi.services.timeline.TimelineStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Service class that maintains the subscription feeds.
+ * When a post is created, its identifier is pushed onto the in-memory
+ * timeline of every subscriber of its topic (fan-out on write), so that
+ * reading a feed page is a memory lookup. Topics with more subscribers than
+ * the configured limit are not fanned out; their newest posts are merged in
+ * when the feed is read (fan-out on read). The topics of the reader come from
+ * the subscription index, or from the database until it is loaded.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Service
+public class TimelineService {
+
+    private final TimelineStore timelineStore;
+    private final TimelineProperties timelineProperties;
+    private final PostRepository postRepository;
+    private final TopicRepository topicRepository;
+    private final SubscriptionIndex subscriptionIndex;
+
+    /**
+     * Constructs a TimelineService with required dependencies.
+     *
+     * @param timelineStore      In-memory store of the timelines
+     * @param timelineProperties Timeline configuration
+     * @param postRepository     Repository for post data access operations
+     * @param topicRepository    Repository for topic data access operations
+     * @param subscriptionIndex  In-memory index of the subscriptions
+     */
+    @Autowired
+    public TimelineService(
+            TimelineStore timelineStore,
+            TimelineProperties timelineProperties,
+            PostRepository postRepository,
+            TopicRepository topicRepository,
+            SubscriptionIndex subscriptionIndex) {
+        this.timelineStore = timelineStore;
+        this.timelineProperties = timelineProperties;
+        this.postRepository = postRepository;
+        this.topicRepository = topicRepository;
+        this.subscriptionIndex = subscriptionIndex;
+    }
+
+    /**
+     * Records the topics that are already too large to fan out.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLargeTopics() {
+        List<Integer> topicIds = topicRepository
+                .findTopicIdsWithMoreSubscribersThan(timelineProperties.getFanOutLimit());
+        topicIds.forEach(timelineStore::markLargeTopic);
+        log.info("{} topics are read on demand instead of fanned out", topicIds.size());
+    }
+
+    /**
+     * Pushes a new post onto the timelines of its topic's subscribers, unless
+     * the topic has too many subscribers.
+     *
+     * @param topicId The topic of the post
+     * @param postId  The post ID
+     */
+    public void fanOut(Integer topicId, Integer postId) {
+        if (timelineStore.isLargeTopic(topicId)) {
+            return;
+        }
+        List<Integer> subscriberIds = topicRepository.findSubscriberIds(topicId);
+        if (subscriberIds.size() > timelineProperties.getFanOutLimit()) {
+            timelineStore.markLargeTopic(topicId);
+            return;
+        }
+        timelineStore.push(postId, subscriberIds);
+    }
+
+    /**
+     * Drops the timeline of a user whose subscriptions changed. It is rebuilt
+     * on the next read.
+     *
+     * @param userId The user ID
+     */
+    public void invalidate(Integer userId) {
+        timelineStore.invalidate(userId);
+    }
+
+    /**
+     * Returns a page of the feed of a user: the newest posts of the topics
+     * they are subscribed to.
+     *
+     * @param userId   The user ID
+     * @param beforeId Only posts with a lower ID are returned, null for the
+     *                 first page
+     * @param limit    Maximum number of posts, capped by configuration
+     * @return Post IDs in decreasing order
+     */
+    public List<Integer> getFeedIds(Integer userId, Integer beforeId, int limit) {
+        int before = beforeId == null ? Integer.MAX_VALUE : beforeId;
+        int size = Math.min(Math.max(limit, 1), timelineProperties.getMaxPageSize());
+        List<Integer> topicIds = subscribedTopicIds(userId);
+        if (topicIds.isEmpty()) {
+            return List.of();
+        }
+
+        IntRingBuffer timeline = timelineStore.get(userId);
+        if (timeline == null) {
+            timeline = load(userId, topicIds);
+        }
+        if (timeline == null || !timeline.isReady()) {
+            return postRepository.findIdsByTopicIdInAndIdLessThan(topicIds, before, Pageable.ofSize(size));
+        }
+        int[] page = timeline.page(before, size);
+        if (page.length < size && timeline.isTruncated()) {
+            // The page goes past the buffered window
+            return postRepository.findIdsByTopicIdInAndIdLessThan(topicIds, before, Pageable.ofSize(size));
+        }
+
+        List<Integer> largeTopicIds = topicIds.stream()
+                .filter(timelineStore::isLargeTopic)
+                .toList();
+        if (largeTopicIds.isEmpty()) {
+            return Arrays.stream(page).boxed().toList();
+        }
+        List<Integer> fromLargeTopics = postRepository.findIdsByTopicIdInAndIdLessThan(largeTopicIds, before,
+                Pageable.ofSize(size));
+        return merge(page, fromLargeTopics, size);
+    }
+
+    /**
+     * Registers and loads the timeline of a user from the database. Topics
+     * that are not fanned out are left out since they are merged at read time.
+     *
+     * @param userId   The user ID
+     * @param topicIds The topics the user is subscribed to
+     * @return The timeline, or null if it was evicted meanwhile
+     */
+    private IntRingBuffer load(Integer userId, List<Integer> topicIds) {
+        IntRingBuffer timeline = timelineStore.register(userId);
+        if (timeline == null) {
+            return timelineStore.get(userId);
+        }
+        try {
+            List<Integer> fannedOut = topicIds.stream()
+                    .filter(topicId -> !timelineStore.isLargeTopic(topicId))
+                    .toList();
+            int capacity = timelineProperties.getCapacity();
+            List<Integer> postIds = fannedOut.isEmpty() ? List.of()
+                    : postRepository.findIdsByTopicIdInAndIdLessThan(fannedOut, Integer.MAX_VALUE,
+                            Pageable.ofSize(capacity));
+            timeline.seed(postIds.stream().mapToInt(Integer::intValue).toArray(), postIds.size() >= capacity);
+            return timeline;
+        } catch (RuntimeException e) {
+            timelineStore.invalidate(userId);
+            throw e;
+        }
+    }
+
+    private List<Integer> subscribedTopicIds(Integer userId) {
+        if (subscriptionIndex.isReady()) {
+            return Arrays.stream(subscriptionIndex.topicsOf(userId)).boxed().toList();
+        }
+        return topicRepository.findSubscribedTopicIds(userId);
+    }
+
+    /**
+     * Merges two lists of post IDs in decreasing order, without duplicates.
+     */
+    private static List<Integer> merge(int[] first, List<Integer> second, int size) {
+        List<Integer> merged = new ArrayList<>(size);
+        int i = 0;
+        int j = 0;
+        while (merged.size() < size && (i < first.length || j < second.size())) {
+            int next;
+            if (j >= second.size() || (i < first.length && first[i] >= second.get(j))) {
+                next = first[i++];
+            } else {
+                next = second.get(j++);
+            }
+            if (merged.isEmpty() || merged.get(merged.size() - 1) != next) {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
+}
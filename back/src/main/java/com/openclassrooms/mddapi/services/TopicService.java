@@ -1,19 +1,38 @@
 package com.openclassrooms.mddapi.services;
 
+import com.openclassrooms.mddapi.Security.JwtAuthenticationDetails;
+import com.openclassrooms.mddapi.dto.common.PostSummaryDto;
 import com.openclassrooms.mddapi.dto.response.TopicResponse;
 import com.openclassrooms.mddapi.entity.Topic;
 import com.openclassrooms.mddapi.entity.User;
+import com.openclassrooms.mddapi.events.EventType;
+import com.openclassrooms.mddapi.events.OutboxWriter;
 import com.openclassrooms.mddapi.exceptions.TopicNotFoundException;
 import com.openclassrooms.mddapi.exceptions.TopicSubscriptionException;
+import com.openclassrooms.mddapi.exceptions.UserNotFoundException;
 import com.openclassrooms.mddapi.mapper.TopicMapper;
+import com.openclassrooms.mddapi.repository.PostRepository;
 import com.openclassrooms.mddapi.repository.TopicRepository;
 import com.openclassrooms.mddapi.repository.UserRepository;
+import com.openclassrooms.mddapi.services.subscriptions.SubscriptionIndex;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import java.util.List;
@@ -28,38 +47,187 @@ import java.util.List;
  * @version 1.0
  * @since 1.0
  */
+@Slf4j
 @Service
 public class TopicService {
 
+    /**
+     * Maximum number of posts per page of a topic.
+     */
+    static final int MAX_POSTS_PAGE_SIZE = 50;
+
+    private static final int INDEX_BATCH_SIZE = 10_000;
+
     private final TopicRepository topicRepository;
     private final UserRepository userRepository;
+    private final PostRepository postRepository;
     private final TopicMapper topicMapper;
+    private final OutboxWriter outboxWriter;
+    private final SubscriptionIndex subscriptionIndex;
+    private final AtomicBoolean indexLoading = new AtomicBoolean();
 
     /**
      * Constructs a TopicService with required dependencies.
      *
-     * @param topicRepository Repository for topic data operations
-     * @param userRepository  Repository for user data operations
-     * @param topicMapper     Mapper for DTO conversions
+     * @param topicRepository   Repository for topic data operations
+     * @param userRepository    Repository for user data operations
+     * @param postRepository    Repository for post data operations
+     * @param topicMapper       Mapper for DTO conversions
+     * @param outboxWriter      Writer of the events handled after commit
+     * @param subscriptionIndex In-memory index of the subscriptions
      */
     @Autowired
     public TopicService(TopicRepository topicRepository,
             UserRepository userRepository,
-            TopicMapper topicMapper) {
+            PostRepository postRepository,
+            TopicMapper topicMapper,
+            OutboxWriter outboxWriter,
+            SubscriptionIndex subscriptionIndex) {
         this.topicRepository = topicRepository;
         this.userRepository = userRepository;
+        this.postRepository = postRepository;
         this.topicMapper = topicMapper;
+        this.outboxWriter = outboxWriter;
+        this.subscriptionIndex = subscriptionIndex;
+    }
+
+    /**
+     * Loads the subscription index by reading the subscriptions table in
+     * keyset batches. Runs in the background once the application is ready;
+     * topics are counted from the database until it completes. Does nothing
+     * while another load is in progress.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSubscriptionIndex() {
+        if (!indexLoading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            loadIndex();
+        } finally {
+            indexLoading.set(false);
+        }
+    }
+
+    /**
+     * Loads the subscription index again when its last load failed.
+     */
+    @Scheduled(fixedDelayString = "${subscriptions.index-retry-interval-ms:30000}",
+            initialDelayString = "${subscriptions.index-retry-interval-ms:30000}")
+    public void retrySubscriptionIndex() {
+        if (!subscriptionIndex.isReady()) {
+            loadSubscriptionIndex();
+        }
+    }
+
+    /**
+     * Reloads the subscription index periodically, which picks up the
+     * subscriptions changed through the other instances.
+     */
+    @Scheduled(fixedDelayString = "${subscriptions.index-reload-interval-ms:600000}",
+            initialDelayString = "${subscriptions.index-reload-interval-ms:600000}")
+    public void reloadSubscriptionIndex() {
+        loadSubscriptionIndex();
+    }
+
+    private void loadIndex() {
+        long started = System.nanoTime();
+        subscriptionIndex.startLoading();
+        try {
+            int[] userIds = new int[INDEX_BATCH_SIZE];
+            int[] topicIds = new int[INDEX_BATCH_SIZE];
+            int afterUserId = 0;
+            int afterTopicId = 0;
+            List<TopicRepository.Subscription> batch;
+            do {
+                batch = topicRepository.findSubscriptionsAfter(afterUserId, afterTopicId,
+                        Pageable.ofSize(INDEX_BATCH_SIZE));
+                for (int i = 0; i < batch.size(); i++) {
+                    userIds[i] = batch.get(i).getUserId();
+                    topicIds[i] = batch.get(i).getTopicId();
+                }
+                subscriptionIndex.load(userIds, topicIds, batch.size());
+                if (!batch.isEmpty()) {
+                    afterUserId = userIds[batch.size() - 1];
+                    afterTopicId = topicIds[batch.size() - 1];
+                }
+            } while (batch.size() == INDEX_BATCH_SIZE);
+            subscriptionIndex.finishLoading();
+        } catch (RuntimeException e) {
+            subscriptionIndex.abortLoading();
+            log.error("Could not load the subscription index, {}", subscriptionIndex.isReady()
+                    ? "the previous one is kept" : "topics are counted from the database until the next try", e);
+            return;
+        }
+
+        long subscriptions = subscriptionIndex.subscriptions();
+        long bytes = subscriptionIndex.sizeInBytes();
+        log.info("Subscription index loaded in {} ms: {} subscriptions in {} KB ({} KB per million)",
+                (System.nanoTime() - started) / 1_000_000, subscriptions, bytes / 1024,
+                subscriptions == 0 ? 0 : bytes * 1_000_000 / subscriptions / 1024);
     }
 
     /**
-     * Retrieves all topics ordered by creation date in descending order.
+     * Retrieves all topics ordered by creation date in descending order, with
+     * their subscriber counts and whether the current user is subscribed.
+     * Counts and flags come from the subscription index; until it is loaded,
+     * they are read from the database.
      *
      * @return List of TopicResponse objects representing all topics
      */
+    @Transactional(readOnly = true)
     public List<TopicResponse> getAllTopics() {
         List<Topic> topics = topicRepository.findAllByOrderByCreatedAtDesc();
+        Integer userId = JwtAuthenticationDetails.currentUserId();
+        if (subscriptionIndex.isReady()) {
+            int[] subscribed = userId == null ? new int[0] : subscriptionIndex.topicsOf(userId);
+            return topics.stream()
+                    .map(topic -> topicMapper.toResponse(topic, subscriptionIndex.subscriberCount(topic.getId()),
+                            Arrays.binarySearch(subscribed, topic.getId()) >= 0))
+                    .toList();
+        }
+
+        Set<Integer> subscribed = userId == null ? Set.of()
+                : new HashSet<>(topicRepository.findSubscribedTopicIds(userId));
         return topics.stream()
-                .map(topic -> topicMapper.toResponse(topic))
+                .map(topic -> {
+                    TopicResponse response = topicMapper.toResponse(topic);
+                    response.setSubscribed(subscribed.contains(topic.getId()));
+                    return response;
+                })
+                .toList();
+    }
+
+    /**
+     * Retrieves a page of the posts of a topic, most recent first, as
+     * summaries.
+     * Pages are chained with the publication date and ID of the last post of
+     * the previous page; the existence of the topic is checked by the same
+     * query.
+     *
+     * @param topicId           The topic ID
+     * @param beforePublishedAt Publication date of the last post of the
+     *                          previous page, null for the first page
+     * @param beforeId          ID of the last post of the previous page, null
+     *                          for the first page
+     * @param limit             Maximum number of posts, capped at
+     *                          {@value #MAX_POSTS_PAGE_SIZE}
+     * @return List of post summaries, empty after the last page
+     * @throws TopicNotFoundException if the topic does not exist
+     */
+    @Transactional(readOnly = true)
+    public List<PostSummaryDto> getTopicPosts(Integer topicId, LocalDateTime beforePublishedAt, Integer beforeId,
+            int limit) {
+        Pageable page = Pageable.ofSize(Math.min(Math.max(limit, 1), MAX_POSTS_PAGE_SIZE));
+        List<PostSummaryDto> rows = beforePublishedAt == null || beforeId == null
+                ? postRepository.findTopicPage(topicId, page)
+                : postRepository.findTopicPageBefore(topicId, beforePublishedAt, beforeId, page);
+        if (rows.isEmpty()) {
+            throw new TopicNotFoundException("thème non trouvé avec l'ID : ", topicId);
+        }
+        return rows.stream()
+                .filter(row -> Objects.nonNull(row.getId()))
                 .toList();
     }
 
@@ -69,7 +237,7 @@ public class TopicService {
      *
      * @param topicId The ID of the topic to subscribe to
      * @return TopicResponse containing the updated topic information
-     * @throws UsernameNotFoundException  if the current user is not found
+     * @throws UserNotFoundException      if the current user is not found
      * @throws TopicNotFoundException     if the topic is not found
      * @throws TopicSubscriptionException if the user is already subscribed
      */
@@ -77,10 +245,10 @@ public class TopicService {
     public TopicResponse subscribeTopic(Integer topicId) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("L'utilisateur n'existe pas"));
+                .orElseThrow(() -> new UserNotFoundException("L'utilisateur n'existe pas"));
 
         Topic topic = topicRepository.findById(topicId)
-                .orElseThrow(() -> new TopicNotFoundException("thème non trouvé avec l'ID : " + topicId));
+                .orElseThrow(() -> new TopicNotFoundException("thème non trouvé avec l'ID : ", topicId));
 
         if (topic.hasSubscription(user)) {
             throw new TopicSubscriptionException("Vous êtes déjà abonné à ce thème");
@@ -89,11 +257,15 @@ public class TopicService {
         // Add subscription
         topic.addSubscription(user);
         topicRepository.save(topic);
+        outboxWriter.record(EventType.TOPIC_SUBSCRIBED, topicId, null, topicId, user.getId());
+        recordAfterCommit(user.getId(), topicId, true);
 
         // Force refresh from database to get updated subscriber count
         topic = topicRepository.findById(topicId).get();
 
-        return topicMapper.toResponse(topic, "Abonnement au thème réussi", true);
+        TopicResponse response = topicMapper.toResponse(topic, "Abonnement au thème réussi", true);
+        response.setSubscribed(true);
+        return response;
     }
 
     /**
@@ -102,7 +274,7 @@ public class TopicService {
      *
      * @param topicId The ID of the topic to unsubscribe from
      * @return TopicResponse containing the updated topic information
-     * @throws UsernameNotFoundException  if the current user is not found
+     * @throws UserNotFoundException      if the current user is not found
      * @throws TopicNotFoundException     if the topic is not found
      * @throws TopicSubscriptionException if the user is not subscribed
      */
@@ -110,10 +282,10 @@ public class TopicService {
     public TopicResponse unsubscribeTopic(Integer topicId) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("L'utilisateur n'existe pas"));
+                .orElseThrow(() -> new UserNotFoundException("L'utilisateur n'existe pas"));
 
         Topic topic = topicRepository.findById(topicId)
-                .orElseThrow(() -> new TopicNotFoundException("thème non trouvé avec l'ID : " + topicId));
+                .orElseThrow(() -> new TopicNotFoundException("thème non trouvé avec l'ID : ", topicId));
 
         if (!topic.hasSubscription(user)) {
             throw new TopicSubscriptionException("Vous n'êtes pas abonné à ce thème");
@@ -122,6 +294,8 @@ public class TopicService {
         // Remove subscription
         topic.removeSubscription(user);
         topicRepository.save(topic);
+        outboxWriter.record(EventType.TOPIC_UNSUBSCRIBED, topicId, null, topicId, user.getId());
+        recordAfterCommit(user.getId(), topicId, false);
 
         // Force refresh from database to get updated subscriber count
         topic = topicRepository.findById(topicId).get();
@@ -130,20 +304,34 @@ public class TopicService {
     }
 
     /**
-     * Retrieves all topics subscribed by the current user.
+     * Retrieves all topics subscribed by the current user, most recent first.
+     * The topics and their subscriber counts are read with a single query,
+     * by the user ID of the token.
      *
      * @return List of TopicResponse objects representing subscribed topics
-     * @throws UsernameNotFoundException if the current user is not found
+     * @throws UserNotFoundException if the current user is not found
      */
+    @Transactional(readOnly = true)
     public List<TopicResponse> getSubscribedTopics() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("L'utilisateur n'existe pas"));
-
-        Set<Topic> subscribedTopics = user.getSubscribedTopics();
+        Integer userId = JwtAuthenticationDetails.currentUserId();
+        if (userId == null) {
+            throw new UserNotFoundException("L'utilisateur n'existe pas");
+        }
 
-        return subscribedTopics.stream()
+        return topicRepository.findSubscribedTopics(userId).stream()
                 .map(topic -> topicMapper.toResponse(topic, "Thème trouvé", true))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * Updates the subscription index once the current transaction commits.
+     */
+    private void recordAfterCommit(int userId, int topicId, boolean subscribed) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                subscriptionIndex.record(userId, topicId, subscribed);
+            }
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.dto.common.PostSummaryDto;
+import com.openclassrooms.mddapi.dto.common.TrendingItemDto;
+import com.openclassrooms.mddapi.entity.Post;
+import com.openclassrooms.mddapi.entity.Topic;
+import com.openclassrooms.mddapi.repository.PostRepository;
+import com.openclassrooms.mddapi.repository.TopicRepository;
+import com.openclassrooms.mddapi.services.trending.TrendingEngine;
+import com.openclassrooms.mddapi.services.trending.TrendingEntry;
+import com.openclassrooms.mddapi.services.trending.TrendingKind;
+import com.openclassrooms.mddapi.services.trending.TrendingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service class that answers "what's hot right now".
+ * Feeds the {@link TrendingEngine} with post creations, comment creations and
+ * post views, and returns the most active topics and posts of the sliding
+ * window without scanning the posts and comments tables.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Service
+public class TrendingService {
+
+    private final TrendingEngine trendingEngine;
+    private final TrendingProperties trendingProperties;
+    private final TopicRepository topicRepository;
+    private final PostRepository postRepository;
+
+    /**
+     * Constructs a TrendingService with required dependencies.
+     *
+     * @param trendingEngine     Engine estimating recent activity
+     * @param trendingProperties Trending configuration
+     * @param topicRepository    Repository for topic data access operations
+     * @param postRepository     Repository for post data access operations
+     */
+    @Autowired
+    public TrendingService(
+            TrendingEngine trendingEngine,
+            TrendingProperties trendingProperties,
+            TopicRepository topicRepository,
+            PostRepository postRepository) {
+        this.trendingEngine = trendingEngine;
+        this.trendingProperties = trendingProperties;
+        this.topicRepository = topicRepository;
+        this.postRepository = postRepository;
+    }
+
+    /**
+     * Records the creation of a post, counted for its topic and itself.
+     *
+     * @param postId      The post ID
+     * @param topicId     The topic of the post
+     * @param epochSecond Time of the creation
+     */
+    public void recordPostCreated(Integer postId, Integer topicId, long epochSecond) {
+        record(postId, topicId, trendingProperties.getPostWeight(), epochSecond);
+    }
+
+    /**
+     * Records a new comment, counted for its post and the post's topic.
+     *
+     * @param postId      The commented post ID
+     * @param topicId     The topic of the post
+     * @param epochSecond Time of the comment
+     */
+    public void recordCommentCreated(Integer postId, Integer topicId, long epochSecond) {
+        record(postId, topicId, trendingProperties.getCommentWeight(), epochSecond);
+    }
+
+    /**
+     * Records a view of a post, counted for the post and its topic.
+     *
+     * @param post The viewed post
+     */
+    public void recordPostViewed(Post post) {
+        record(post.getId(), post.getTopic().getId(), trendingProperties.getViewWeight(), nowSec());
+    }
+
+    /**
+     * Retrieves the most active topics of the sliding window.
+     *
+     * @param limit Maximum number of topics, capped by configuration
+     * @return Topics ordered by decreasing activity
+     */
+    public List<TrendingItemDto> getTrendingTopics(int limit) {
+        List<TrendingEntry> entries = trendingEngine.top(TrendingKind.TOPIC, cap(limit), nowSec());
+        Map<Integer, Topic> topics = topicRepository.findAllById(ids(entries)).stream()
+                .collect(Collectors.toMap(Topic::getId, Function.identity()));
+        return entries.stream()
+                .filter(entry -> topics.containsKey(entry.id()))
+                .map(entry -> new TrendingItemDto(entry.id(), topics.get(entry.id()).getTitle(), entry.score()))
+                .toList();
+    }
+
+    /**
+     * Retrieves the most active posts of the sliding window.
+     *
+     * @param limit Maximum number of posts, capped by configuration
+     * @return Posts ordered by decreasing activity
+     */
+    public List<TrendingItemDto> getTrendingPosts(int limit) {
+        List<TrendingEntry> entries = trendingEngine.top(TrendingKind.POST, cap(limit), nowSec());
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, PostSummaryDto> posts = postRepository.findSummariesByIdIn(ids(entries)).stream()
+                .collect(Collectors.toMap(PostSummaryDto::getId, Function.identity()));
+        return entries.stream()
+                .map(entry -> {
+                    PostSummaryDto post = posts.get(entry.id());
+                    return post == null ? null : new TrendingItemDto(entry.id(), post.getTitle(), entry.score());
+                })
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void record(Integer postId, Integer topicId, int weight, long epochSecond) {
+        trendingEngine.record(TrendingKind.POST, postId, weight, epochSecond);
+        trendingEngine.record(TrendingKind.TOPIC, topicId, weight, epochSecond);
+    }
+
+    private int cap(int limit) {
+        return Math.min(Math.max(limit, 1), trendingProperties.getMaxResults());
+    }
+
+    private static List<Integer> ids(List<TrendingEntry> entries) {
+        return entries.stream().map(TrendingEntry::id).toList();
+    }
+
+    private static long nowSec() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -4,25 +4,35 @@ import com.openclassrooms.mddapi.dto.request.LoginRequest;
 import com.openclassrooms.mddapi.dto.request.RegisterRequest;
 import com.openclassrooms.mddapi.dto.request.UpdateProfileRequest;
 import com.openclassrooms.mddapi.dto.response.LoginResponse;
+import com.openclassrooms.mddapi.dto.response.LogoutResponse;
 import com.openclassrooms.mddapi.dto.response.RegisterResponse;
 import com.openclassrooms.mddapi.dto.response.UpdateProfileResponse;
 import com.openclassrooms.mddapi.entity.User;
 import com.openclassrooms.mddapi.mapper.UserMapper;
+import com.openclassrooms.mddapi.monitoring.jfr.PasswordHashEvent;
 import com.openclassrooms.mddapi.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.openclassrooms.mddapi.Security.JwtService;
 import com.openclassrooms.mddapi.Security.PasswordValidator;
+import com.openclassrooms.mddapi.Security.TokenDenyList;
 import com.openclassrooms.mddapi.exceptions.UserAlreadyExistsException;
 import com.openclassrooms.mddapi.exceptions.InvalidPasswordException;
 import com.openclassrooms.mddapi.exceptions.UserNotFoundException;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -44,6 +54,10 @@ public class UserService implements UserDetailsService {
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
     private final JwtService jwtService;
+    private final PasswordValidator passwordValidator;
+    private final AvailabilityService availabilityService;
+    private final TokenDenyList tokenDenyList;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Constructs a UserService with required dependencies.
@@ -52,17 +66,29 @@ public class UserService implements UserDetailsService {
      * @param passwordEncoder Encoder for password hashing and verification
      * @param userMapper      Mapper for DTO conversions
      * @param jwtService      Service for JWT token generation and management
+     * @param passwordValidator Validator enforcing the password policy
+     * @param availabilityService Service checking whether identifiers are taken
+     * @param tokenDenyList   Deny-list of revoked tokens
+     * @param transactionTemplate Template of the profile update transactions
      */
     @Autowired
     public UserService(
             UserRepository userRepository,
             PasswordEncoder passwordEncoder,
             UserMapper userMapper,
-            JwtService jwtService) {
+            JwtService jwtService,
+            PasswordValidator passwordValidator,
+            AvailabilityService availabilityService,
+            TokenDenyList tokenDenyList,
+            TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userMapper = userMapper;
         this.jwtService = jwtService;
+        this.passwordValidator = passwordValidator;
+        this.availabilityService = availabilityService;
+        this.tokenDenyList = tokenDenyList;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
@@ -75,6 +101,7 @@ public class UserService implements UserDetailsService {
      *                                   username/email
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         Optional<User> userOptional;
         if (username.contains("@")) {
@@ -100,29 +127,31 @@ public class UserService implements UserDetailsService {
      * 
      * @param loginRequest DTO containing login credentials
      * @return LoginResponse with authentication result and JWT token
-     * @throws UsernameNotFoundException if user not found
-     * @throws InvalidPasswordException  if password is incorrect
+     * @throws UserNotFoundException    if user not found
+     * @throws InvalidPasswordException if password is incorrect
      */
     public LoginResponse login(LoginRequest loginRequest) {
         boolean isEmail = loginRequest.getUsername().contains("@");
 
+        // The lookup runs in its own read-only transaction: no connection is
+        // held while the password hash is checked
         User user = (isEmail ? userRepository.findByEmail(loginRequest.getUsername())
                 : userRepository.findByUsername(loginRequest.getUsername()))
-                .orElseThrow(() -> new UsernameNotFoundException("L'utilisateur n'existe pas"));
+                .orElseThrow(() -> new UserNotFoundException("L'utilisateur n'existe pas"));
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordMatches(loginRequest.getPassword(), user)) {
             throw new InvalidPasswordException("Mot de passe incorrect");
         }
 
-        UserDetails userDetails = loadUserByUsername(user.getUsername());
-        String token = jwtService.generateToken(userDetails);
+        String token = jwtService.generateToken(user);
         return userMapper.toLoginResponse(user, token, "Connexion réussie", true);
     }
 
     /**
      * Registers a new user with encoded password.
-     * Validates username and email uniqueness.
-     * Performs password validation and encoding.
+     * Performs password validation and encoding, then inserts the user in a
+     * single statement; username and email uniqueness are enforced by the
+     * database constraints.
      * 
      * @param registerRequest DTO containing registration information
      * @return RegisterResponse with registration result and JWT token
@@ -130,15 +159,7 @@ public class UserService implements UserDetailsService {
      * @throws InvalidPasswordException   if password validation fails
      */
     public RegisterResponse register(RegisterRequest registerRequest) {
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            throw new UserAlreadyExistsException("Email déjà enregistré");
-        }
-
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
-            throw new UserAlreadyExistsException("Nom d'utilisateur déjà pris");
-        }
-
-        String validationError = PasswordValidator.validate(registerRequest.getPassword());
+        String validationError = passwordValidator.validate(registerRequest.getPassword());
         if (validationError != null) {
             throw new InvalidPasswordException(validationError);
         }
@@ -146,12 +167,18 @@ public class UserService implements UserDetailsService {
         User user = new User();
         user.setEmail(registerRequest.getEmail());
         user.setUsername(registerRequest.getUsername());
-        user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        user.setPassword(encodePassword(registerRequest.getPassword(), null));
         user.setCreatedAt(LocalDateTime.now());
 
-        User savedUser = userRepository.save(user);
-        UserDetails userDetails = loadUserByUsername(savedUser.getUsername());
-        String token = jwtService.generateToken(userDetails);
+        // Uniqueness is enforced by the database constraints, in the same statement
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new UserAlreadyExistsException(duplicateIdentifierMessage(e, registerRequest));
+        }
+        availabilityService.recordTaken(savedUser.getEmail(), savedUser.getUsernameDisplay());
+        String token = jwtService.generateToken(savedUser);
 
         return userMapper.toRegisterResponse(savedUser, token, "Inscription réussie", true);
     }
@@ -170,8 +197,36 @@ public class UserService implements UserDetailsService {
      * @throws InvalidPasswordException   if new password validation fails
      */
     public UpdateProfileResponse updateProfile(Integer userId, UpdateProfileRequest updateRequest) {
+        // The new password is hashed before the transaction, which holds a
+        // connection only to load and save the user
+        String encodedPassword = null;
+        if (updateRequest.getPassword() != null && !updateRequest.getPassword().isEmpty()) {
+            String validationError = passwordValidator.validate(updateRequest.getPassword());
+            if (validationError != null) {
+                throw new InvalidPasswordException(validationError);
+            }
+            encodedPassword = encodePassword(updateRequest.getPassword(), userId);
+        }
+
+        String newPassword = encodedPassword;
+        return transactionTemplate.execute(status -> applyProfileUpdate(userId, updateRequest, newPassword));
+    }
+
+    /**
+     * Applies a profile update inside the transaction of
+     * {@link #updateProfile(Integer, UpdateProfileRequest)}.
+     *
+     * @param userId          The ID of the user to update
+     * @param updateRequest   DTO containing update information
+     * @param encodedPassword The hash of the new password, null to keep the
+     *                        current one
+     * @return UpdateProfileResponse with update result and new token if email
+     *         changed
+     */
+    private UpdateProfileResponse applyProfileUpdate(Integer userId, UpdateProfileRequest updateRequest,
+            String encodedPassword) {
         User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("L'utilisateur n'existe pas avec l'id: " + userId));
+                .orElseThrow(() -> new UserNotFoundException("L'utilisateur n'existe pas avec l'id: ", userId));
 
         boolean changes = false;
         String oldEmail = user.getEmail();
@@ -180,7 +235,7 @@ public class UserService implements UserDetailsService {
         // Check and update email if provided
         if (updateRequest.getEmail() != null && !updateRequest.getEmail().isEmpty()) {
             if (!updateRequest.getEmail().equals(oldEmail)) {
-                if (userRepository.existsByEmail(updateRequest.getEmail())) {
+                if (availabilityService.isEmailTaken(updateRequest.getEmail())) {
                     throw new UserAlreadyExistsException("Email déjà utilisé par un autre utilisateur");
                 }
                 user.setEmail(updateRequest.getEmail());
@@ -192,7 +247,7 @@ public class UserService implements UserDetailsService {
         // Check and update username if provided
         if (updateRequest.getUsername() != null && !updateRequest.getUsername().isEmpty()) {
             if (!updateRequest.getUsername().equals(user.getUsername())) {
-                if (userRepository.existsByUsername(updateRequest.getUsername())) {
+                if (availabilityService.isUsernameTaken(updateRequest.getUsername())) {
                     throw new UserAlreadyExistsException("Nom d'utilisateur déjà utilisé par un autre utilisateur");
                 }
                 user.setUsername(updateRequest.getUsername());
@@ -200,13 +255,9 @@ public class UserService implements UserDetailsService {
             }
         }
 
-        // Check and update password if provided
-        if (updateRequest.getPassword() != null && !updateRequest.getPassword().isEmpty()) {
-            String validationError = PasswordValidator.validate(updateRequest.getPassword());
-            if (validationError != null) {
-                throw new InvalidPasswordException(validationError);
-            }
-            user.setPassword(passwordEncoder.encode(updateRequest.getPassword()));
+        // Update password if provided, already validated and hashed
+        if (encodedPassword != null) {
+            user.setPassword(encodedPassword);
             changes = true;
         }
 
@@ -218,11 +269,11 @@ public class UserService implements UserDetailsService {
 
         // Save the updated user
         User updatedUser = userRepository.save(user);
+        availabilityService.recordTaken(updatedUser.getEmail(), updatedUser.getUsernameDisplay());
 
         // If email changed, generate new token
         if (emailChanged) {
-            UserDetails userDetails = loadUserByUsername(updatedUser.getUsername());
-            String newToken = jwtService.generateToken(userDetails);
+            String newToken = jwtService.generateToken(updatedUser);
             return userMapper.toUpdateProfileResponse(updatedUser, "Profil mis à jour avec succès", true, newToken);
         }
 
@@ -236,20 +287,138 @@ public class UserService implements UserDetailsService {
      * @param loginRequest DTO containing login information (not used, kept for API
      *                     consistency)
      * @return LoginResponse with new JWT token
-     * @throws UsernameNotFoundException if current user is not found
+     * @throws UserNotFoundException if current user is not found
      */
-
     public LoginResponse refreshToken(LoginRequest loginRequest) {
-        // Get current authenticated user's email
-        String currentUserEmail = SecurityContextHolder.getContext().getAuthentication().getName();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-        User user = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> new UsernameNotFoundException(
-                        "L'utilisateur n'existe pas avec l'email: " + currentUserEmail));
+        // The authentication filter already loaded the user
+        User user;
+        if (authentication.getPrincipal() instanceof User principal) {
+            user = principal;
+        } else {
+            String currentUserEmail = authentication.getName();
+            user = userRepository.findByEmail(currentUserEmail)
+                    .orElseThrow(() -> new UserNotFoundException(
+                            "L'utilisateur n'existe pas avec l'email: ", currentUserEmail));
+        }
 
-        UserDetails userDetails = loadUserByUsername(user.getUsername());
-        String newToken = jwtService.generateToken(userDetails);
+        String newToken = jwtService.generateToken(user);
 
         return userMapper.toLoginResponse(user, newToken, "Token rafraîchi avec succès", true);
     }
-}
\ No newline at end of file
+
+    /**
+     * Logs the current user out by revoking the token of the request.
+     * The token is rejected by the authentication filter from now on, until it
+     * expires; the user's other tokens stay valid.
+     *
+     * @param authorizationHeader The "Authorization" header of the request
+     * @return LogoutResponse with the logout result
+     */
+    public LogoutResponse logout(String authorizationHeader) {
+        Claims claims = currentTokenClaims(authorizationHeader);
+        if (claims == null) {
+            return new LogoutResponse("Aucune session active", false);
+        }
+        if (claims.getId() == null) {
+            // Tokens issued before identifiers were added can only be revoked by subject
+            tokenDenyList.revokeSubject(claims.getSubject());
+        } else {
+            tokenDenyList.revokeToken(claims.getId(), claims.getExpiration().getTime() / 1000);
+        }
+        return new LogoutResponse("Déconnexion réussie", true);
+    }
+
+    /**
+     * Logs the current user out everywhere by revoking all the tokens issued to
+     * them so far. Also used to force the revocation after a compromise.
+     *
+     * @param authorizationHeader The "Authorization" header of the request
+     * @return LogoutResponse with the logout result
+     */
+    public LogoutResponse logoutAll(String authorizationHeader) {
+        Claims claims = currentTokenClaims(authorizationHeader);
+        if (claims == null) {
+            return new LogoutResponse("Aucune session active", false);
+        }
+        tokenDenyList.revokeSubject(claims.getSubject());
+        return new LogoutResponse("Déconnexion de toutes les sessions réussie", true);
+    }
+
+    /**
+     * Returns the claims of the request's token, when the authentication filter
+     * accepted it.
+     *
+     * @param authorizationHeader The "Authorization" header of the request
+     * @return The token claims, null if the request is not authenticated
+     */
+    private Claims currentTokenClaims(String authorizationHeader) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User)
+                || authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        return jwtService.extractAllClaims(authorizationHeader.substring(7));
+    }
+
+    /**
+     * Builds the error message for a registration rejected by a unique
+     * constraint. The constraint name tells which identifier is taken; when it
+     * cannot be recognized, the identifiers are looked up.
+     *
+     * @param e               The violation raised by the insert
+     * @param registerRequest The rejected registration
+     * @return The message for {@link UserAlreadyExistsException}
+     * @throws DataIntegrityViolationException if neither identifier is taken
+     */
+    private String duplicateIdentifierMessage(DataIntegrityViolationException e, RegisterRequest registerRequest) {
+        if (e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null) {
+            // Named constraints, or MySQL's default index names ("email", "users.email")
+            String constraint = violation.getConstraintName().toLowerCase(Locale.ROOT);
+            if (constraint.contains("uk_users_email") || constraint.matches("(.*\\.)?email")) {
+                return "Email déjà enregistré";
+            }
+            if (constraint.contains("uk_users_username") || constraint.matches("(.*\\.)?username")) {
+                return "Nom d'utilisateur déjà pris";
+            }
+        }
+        if (availabilityService.isEmailTaken(registerRequest.getEmail())) {
+            return "Email déjà enregistré";
+        }
+        if (availabilityService.isUsernameTaken(registerRequest.getUsername())) {
+            return "Nom d'utilisateur déjà pris";
+        }
+        throw e;
+    }
+
+    /**
+     * Checks a password against the hash of a user, timed by a
+     * {@link PasswordHashEvent}.
+     */
+    private boolean passwordMatches(String rawPassword, User user) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        boolean matched = false;
+        try {
+            matched = passwordEncoder.matches(rawPassword, user.getPassword());
+            return matched;
+        } finally {
+            event.finish("matches", user.getId(), matched);
+        }
+    }
+
+    /**
+     * Hashes a password, timed by a {@link PasswordHashEvent}.
+     */
+    private String encodePassword(String rawPassword, Integer userId) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        try {
+            return passwordEncoder.encode(rawPassword);
+        } finally {
+            event.finish("encode", userId, false);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.openclassrooms.mddapi.services.availability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class for the identifier availability filters.
+ * This class loads the filter sizing from the application configuration with
+ * the 'availability' prefix.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "availability")
+@Data
+public class AvailabilityProperties {
+
+    /**
+     * Number of users the filters are sized for. Beyond it the false positive
+     * rate grows, which only costs extra database lookups.
+     */
+    private long expectedUsers = 1_000_000;
+
+    /**
+     * Target false positive rate at the expected number of users.
+     */
+    private double falsePositiveRate = 0.01;
+}
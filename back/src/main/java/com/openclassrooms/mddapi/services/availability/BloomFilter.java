@@ -0,0 +1,180 @@
+package com.openclassrooms.mddapi.services.availability;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ * Answers "definitely absent" or "possibly present": a key that was added is
+ * always reported as possibly present, while an absent key is wrongly
+ * reported present with the configured probability. Keys cannot be removed.
+ *
+ * The bit positions are derived from one 128-bit MurmurHash3 of the key's
+ * UTF-8 bytes by double hashing.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder insertions = new LongAdder();
+
+    /**
+     * Constructs an empty filter sized for a number of keys.
+     *
+     * @param expectedInsertions Number of keys the filter is sized for
+     * @param falsePositiveRate  Target false positive rate at that size
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * Adds a key.
+     *
+     * @param key The key
+     */
+    public void put(String key) {
+        long[] hash = hash(key);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = position(hash, i);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+        insertions.increment();
+    }
+
+    /**
+     * Tests a key.
+     *
+     * @param key The key
+     * @return false if the key was never added, true if it may have been
+     */
+    public boolean mightContain(String key) {
+        long[] hash = hash(key);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = position(hash, i);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of keys added so far, duplicates included.
+     *
+     * @return Number of insertions
+     */
+    public long insertions() {
+        return insertions.sum();
+    }
+
+    /**
+     * Returns the memory used by the bit array.
+     *
+     * @return Size in bytes
+     */
+    public long sizeInBytes() {
+        return bitCount / 8;
+    }
+
+    private long position(long[] hash, int i) {
+        long combined = hash[0] + i * hash[1];
+        return Math.floorMod(combined, bitCount);
+    }
+
+    /**
+     * MurmurHash3 x64 128-bit of the UTF-8 bytes of a key.
+     */
+    private static long[] hash(String key) {
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        long h1 = 0;
+        long h2 = 0;
+        final long c1 = 0x87C37B91114253D5L;
+        final long c2 = 0x4CF5AD432745937FL;
+        int blocks = data.length / 16;
+        for (int i = 0; i < blocks; i++) {
+            long k1 = getLong(data, i * 16);
+            long k2 = getLong(data, i * 16 + 8);
+            k1 *= c1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= c2;
+            h1 ^= k1;
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52DCE729;
+            k2 *= c2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= c1;
+            h2 ^= k2;
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495AB5;
+        }
+        long k1 = 0;
+        long k2 = 0;
+        int tail = blocks * 16;
+        for (int i = data.length - 1; i >= tail; i--) {
+            int offset = i - tail;
+            long value = data[i] & 0xFFL;
+            if (offset >= 8) {
+                k2 |= value << ((offset - 8) * 8);
+            } else {
+                k1 |= value << (offset * 8);
+            }
+        }
+        if (k2 != 0) {
+            k2 *= c2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= c1;
+            h2 ^= k2;
+        }
+        if (k1 != 0) {
+            k1 *= c1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= c2;
+            h1 ^= k1;
+        }
+        h1 ^= data.length;
+        h2 ^= data.length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new long[] { h1, h2 };
+    }
+
+    private static long getLong(byte[] data, int offset) {
+        long value = 0;
+        for (int i = 7; i >= 0; i--) {
+            value = (value << 8) | (data[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static long fmix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB93FE53A1C63L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,124 @@
+package com.openclassrooms.mddapi.services.availability;
+
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Bloom filters over the emails and usernames already taken.
+ * The filters only answer "certainly free"; any other answer must be confirmed
+ * by the database. For that answer to be right, two identifiers the database
+ * collation (utf8mb4_0900_ai_ci) considers equal must hash to the same key.
+ * The key does not reproduce the collation, it is deliberately coarser: the
+ * case is folded, compatibility forms (ligatures, full-width letters) are
+ * decomposed, accents and ignorable characters are removed, surrounding
+ * spaces are stripped, and the letters the collation expands or treats as a
+ * variant of a base letter (ß and ss, æ and ae, œ and oe, ø and o...) are
+ * folded to that base. Identifiers the collation tells apart may share a key,
+ * which only costs a database lookup.
+ *
+ * Until {@link #markReady()} is called, after the initial scan, every
+ * identifier is reported as possibly taken.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class UserIdentifierFilter {
+
+    private static final Pattern IGNORABLE = Pattern.compile("[\\p{M}\\p{Cf}\\p{Cc}]+");
+    private static final Map<Character, String> FOLDED_LETTERS = Map.of(
+            'ß', "ss", 'æ', "ae", 'œ', "oe", 'ø', "o", 'đ', "d", 'ð', "d", 'ł', "l", 'ħ', "h", 'ı', "i", 'þ', "th");
+
+    private final BloomFilter emails;
+    private final BloomFilter usernames;
+    private volatile boolean ready;
+
+    /**
+     * Constructs empty filters.
+     *
+     * @param properties Filter sizing
+     */
+    public UserIdentifierFilter(AvailabilityProperties properties) {
+        this.emails = new BloomFilter(properties.getExpectedUsers(), properties.getFalsePositiveRate());
+        this.usernames = new BloomFilter(properties.getExpectedUsers(), properties.getFalsePositiveRate());
+    }
+
+    /**
+     * Records a taken email.
+     *
+     * @param email The email
+     */
+    public void addEmail(String email) {
+        if (email != null) {
+            emails.put(normalize(email));
+        }
+    }
+
+    /**
+     * Records a taken username.
+     *
+     * @param username The username
+     */
+    public void addUsername(String username) {
+        if (username != null) {
+            usernames.put(normalize(username));
+        }
+    }
+
+    /**
+     * Tests whether an email may be taken.
+     *
+     * @param email The email
+     * @return false only if the email is certainly free
+     */
+    public boolean mightContainEmail(String email) {
+        return !ready || email == null || emails.mightContain(normalize(email));
+    }
+
+    /**
+     * Tests whether a username may be taken.
+     *
+     * @param username The username
+     * @return false only if the username is certainly free
+     */
+    public boolean mightContainUsername(String username) {
+        return !ready || username == null || usernames.mightContain(normalize(username));
+    }
+
+    /**
+     * Marks the initial scan as complete.
+     */
+    public void markReady() {
+        ready = true;
+    }
+
+    /**
+     * Returns the memory used by both filters.
+     *
+     * @return Size in bytes
+     */
+    public long sizeInBytes() {
+        return emails.sizeInBytes() + usernames.sizeInBytes();
+    }
+
+    private static String normalize(String identifier) {
+        String decomposed = Normalizer.normalize(identifier.strip().toLowerCase(Locale.ROOT), Normalizer.Form.NFKD);
+        String stripped = IGNORABLE.matcher(decomposed).replaceAll("");
+        StringBuilder key = new StringBuilder(stripped.length());
+        for (int i = 0; i < stripped.length(); i++) {
+            char c = stripped.charAt(i);
+            String folded = FOLDED_LETTERS.get(c);
+            if (folded == null) {
+                key.append(c);
+            } else {
+                key.append(folded);
+            }
+        }
+        return key.toString();
+    }
+}
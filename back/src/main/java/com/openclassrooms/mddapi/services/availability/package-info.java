@@ -0,0 +1,11 @@
+/**
+ * Availability package containing the in-memory filters over taken user
+ * identifiers.
+ * This package contains the Bloom filter used to answer most "is this email
+ * or username taken" questions without querying the users table.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.services.availability;
@@ -0,0 +1,105 @@
+package com.openclassrooms.mddapi.services.search;
+
+import java.util.Arrays;
+
+/**
+ * Posting list of a single term within a segment.
+ * Each entry is a (document, term frequency) pair stored as two variable-length
+ * integers, the document being encoded as the gap from the previous document.
+ * Documents are always appended in increasing order.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+final class PostingList {
+
+    /**
+     * Receives decoded postings.
+     */
+    @FunctionalInterface
+    interface Visitor {
+        void visit(int doc, int termFrequency);
+    }
+
+    private byte[] data;
+    private int size;
+    private int docFrequency;
+    private int lastDoc = -1;
+
+    PostingList() {
+        this.data = new byte[8];
+    }
+
+    PostingList(byte[] data, int docFrequency) {
+        this.data = data;
+        this.size = data.length;
+        this.docFrequency = docFrequency;
+    }
+
+    /**
+     * Appends a posting. The document must be greater than the last one.
+     *
+     * @param doc           Segment-local document number
+     * @param termFrequency Occurrences of the term in the document
+     */
+    void add(int doc, int termFrequency) {
+        ensureCapacity(10);
+        writeVarInt(doc - lastDoc);
+        writeVarInt(termFrequency);
+        lastDoc = doc;
+        docFrequency++;
+    }
+
+    /**
+     * Decodes every posting, shifting documents by the given base.
+     *
+     * @param docBase Value added to every decoded document number
+     * @param visitor Receiver of the postings
+     */
+    void forEach(int docBase, Visitor visitor) {
+        int position = 0;
+        int doc = -1;
+        while (position < size) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            int frequency = 0;
+            shift = 0;
+            do {
+                b = data[position++];
+                frequency |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += delta;
+            visitor.visit(docBase + doc, frequency);
+        }
+    }
+
+    int docFrequency() {
+        return docFrequency;
+    }
+
+    byte[] bytes() {
+        return size == data.length ? data : Arrays.copyOf(data, size);
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[size++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, size + extra));
+        }
+    }
+}
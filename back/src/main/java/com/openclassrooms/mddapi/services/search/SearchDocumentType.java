@@ -0,0 +1,21 @@
+package com.openclassrooms.mddapi.services.search;
+
+/**
+ * Kind of entity an indexed document refers to.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public enum SearchDocumentType {
+
+    /**
+     * A post, indexed on its title and content.
+     */
+    POST,
+
+    /**
+     * A comment, indexed on its content.
+     */
+    COMMENT
+}
@@ -0,0 +1,17 @@
+package com.openclassrooms.mddapi.services.search;
+
+/**
+ * Ranked result of a search query.
+ *
+ * @param type      Kind of the matching entity
+ * @param entityId  Identifier of the matching post or comment
+ * @param postId    Identifier of the post the match belongs to
+ * @param score     Relevance score (BM25 boosted by recency)
+ * @param timestamp Creation time of the entity in epoch seconds
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public record SearchHit(SearchDocumentType type, int entityId, int postId, double score, long timestamp) {
+}
@@ -0,0 +1,413 @@
+package com.openclassrooms.mddapi.services.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over posts and comments.
+ * New documents go to an in-memory active segment. When it reaches the flush
+ * threshold (or on the periodic flush) it is sealed and written to its own
+ * segment file; when too many segments accumulate, a background merge
+ * rewrites them into one. Queries are ranked with BM25 using statistics over
+ * all segments, multiplied by a recency boost that decays exponentially.
+ *
+ * A marker file is written once the index has been rebuilt from the database.
+ * An index opened without it is incomplete, either new or left by an
+ * interrupted rebuild: its segments are dropped and it must be rebuilt.
+ *
+ * Concurrency:
+ * <ul>
+ * <li>Adding a document and sealing the active segment hold the write lock
+ * for a few microseconds</li>
+ * <li>Queries hold the read lock</li>
+ * <li>File writes and merges run outside of any lock on sealed segments</li>
+ * </ul>
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+@Component
+public class SearchIndex {
+
+    private static final String SEGMENT_PREFIX = "seg-";
+    private static final String SEGMENT_SUFFIX = ".idx";
+    static final String BOOTSTRAP_MARKER = "bootstrapped";
+
+    private final SearchProperties properties;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong generations = new AtomicLong();
+    private final Object mergeLock = new Object();
+
+    private Path directory;
+    private SearchSegment active;
+    private List<SearchSegment> sealed = List.of();
+    private volatile boolean bootstrapped;
+
+    /**
+     * Constructs a SearchIndex.
+     *
+     * @param properties Search configuration
+     */
+    public SearchIndex(SearchProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Loads the persisted segments. Segments whose generation range is covered
+     * by a merged segment are leftovers of an interrupted merge and are
+     * deleted, as are all segments when the bootstrap marker is missing.
+     *
+     * @throws IOException if the index directory cannot be read
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        directory = Files.createDirectories(Path.of(properties.getDirectory()));
+        bootstrapped = Files.exists(directory.resolve(BOOTSTRAP_MARKER));
+        List<SearchSegment> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(SearchIndex::isSegmentFile).toList()) {
+                if (bootstrapped) {
+                    loaded.add(SearchSegment.read(file));
+                } else {
+                    Files.delete(file);
+                }
+            }
+        }
+        loaded.sort(Comparator.comparingLong((SearchSegment s) -> s.coveredTo() - s.coveredFrom()).reversed());
+        List<SearchSegment> kept = new ArrayList<>();
+        for (SearchSegment segment : loaded) {
+            boolean covered = kept.stream().anyMatch(k -> segment.coveredFrom() <= k.coveredTo()
+                    && segment.coveredTo() >= k.coveredFrom());
+            if (covered) {
+                Files.deleteIfExists(segmentFile(segment.generation()));
+            } else {
+                kept.add(segment);
+            }
+        }
+        long maxGeneration = kept.stream().mapToLong(SearchSegment::generation).max().orElse(0);
+        generations.set(maxGeneration);
+        sealed = List.copyOf(kept);
+        active = SearchSegment.create(generations.incrementAndGet());
+        log.info("Search index opened with {} segments and {} documents", sealed.size(), documentCount());
+    }
+
+    /**
+     * Flushes the pending documents when the application stops.
+     */
+    @PreDestroy
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Indicates whether the index was opened complete, with its bootstrap
+     * marker. Decided once in {@link #open()}, before any document is added.
+     *
+     * @return false if the index must be rebuilt from the database
+     */
+    public boolean isBootstrapped() {
+        return bootstrapped;
+    }
+
+    /**
+     * Writes the pending documents, then the bootstrap marker, once the index
+     * has been rebuilt from the database.
+     */
+    public void markBootstrapped() {
+        flush();
+        try {
+            Files.write(directory.resolve(BOOTSTRAP_MARKER), new byte[0]);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write the search bootstrap marker", e);
+        }
+        bootstrapped = true;
+    }
+
+    /**
+     * Adds a document to the index.
+     *
+     * @param type      Kind of the indexed entity
+     * @param entityId  Identifier of the post or comment
+     * @param postId    Identifier of the post the document belongs to
+     * @param timestamp Creation time in epoch seconds
+     * @param title     Title of the document, weighted twice, may be null
+     * @param content   Body of the document
+     */
+    public void add(SearchDocumentType type, int entityId, int postId, long timestamp, String title,
+            String content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : Tokenizer.tokenize(title)) {
+            frequencies.merge(term, 2, Integer::sum);
+            length += 2;
+        }
+        for (String term : Tokenizer.tokenize(content)) {
+            frequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+
+        boolean full;
+        lock.writeLock().lock();
+        try {
+            active.add(type, entityId, postId, timestamp, frequencies, length);
+            full = active.docCount() >= properties.getFlushThreshold();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * Returns the best matching documents for a query.
+     *
+     * @param query  Free text query
+     * @param limit  Maximum number of hits
+     * @param nowSec Current time in epoch seconds, used for the recency boost
+     * @return Hits ordered by decreasing score
+     */
+    public List<SearchHit> search(String query, int limit, long nowSec) {
+        List<String> terms = Tokenizer.tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<SearchSegment> segments = new ArrayList<>(sealed);
+            segments.add(active);
+
+            long documents = 0;
+            long totalLength = 0;
+            for (SearchSegment segment : segments) {
+                documents += segment.docCount();
+                totalLength += segment.totalLength();
+            }
+            if (documents == 0) {
+                return List.of();
+            }
+            double averageLength = Math.max(1d, (double) totalLength / documents);
+            double[] idf = new double[terms.size()];
+            for (int t = 0; t < terms.size(); t++) {
+                long docFrequency = 0;
+                for (SearchSegment segment : segments) {
+                    PostingList list = segment.postings(terms.get(t));
+                    docFrequency += list == null ? 0 : list.docFrequency();
+                }
+                idf[t] = Math.log(1 + (documents - docFrequency + 0.5) / (docFrequency + 0.5));
+            }
+
+            PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(SearchHit::score));
+            for (SearchSegment segment : segments) {
+                collect(segment, terms, idf, averageLength, nowSec, limit, top);
+            }
+            List<SearchHit> hits = new ArrayList<>(top);
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Seals the active segment and writes it to disk. Runs periodically so that
+     * a quiet index is still persisted.
+     */
+    @Scheduled(fixedDelayString = "${search.flush-interval-ms:30000}")
+    public void flush() {
+        SearchSegment toWrite;
+        lock.writeLock().lock();
+        try {
+            if (active == null || active.docCount() == 0) {
+                return;
+            }
+            toWrite = active;
+            List<SearchSegment> segments = new ArrayList<>(sealed);
+            segments.add(toWrite);
+            sealed = List.copyOf(segments);
+            active = SearchSegment.create(generations.incrementAndGet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            toWrite.write(segmentFile(toWrite.generation()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write search segment " + toWrite.generation(), e);
+        }
+    }
+
+    /**
+     * Merges all sealed segments into one when there are more than the
+     * configured maximum. The merged file is written before the old ones are
+     * deleted, so an interruption never loses documents.
+     */
+    @Scheduled(fixedDelayString = "${search.merge-interval-ms:60000}")
+    public void mergeIfNeeded() {
+        synchronized (mergeLock) {
+            List<SearchSegment> snapshot = sealed;
+            if (snapshot.size() <= properties.getMaxSegments()) {
+                return;
+            }
+            long started = System.nanoTime();
+            SearchSegment merged = SearchSegment.merge(snapshot, generations.incrementAndGet());
+            try {
+                merged.write(segmentFile(merged.generation()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write merged search segment", e);
+            }
+
+            lock.writeLock().lock();
+            try {
+                List<SearchSegment> segments = new ArrayList<>(sealed);
+                segments.removeAll(snapshot);
+                segments.add(0, merged);
+                sealed = List.copyOf(segments);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            for (SearchSegment segment : snapshot) {
+                try {
+                    Files.deleteIfExists(segmentFile(segment.generation()));
+                } catch (IOException e) {
+                    log.warn("Unable to delete merged search segment {}", segment.generation(), e);
+                }
+            }
+            log.info("Merged {} search segments ({} documents) in {} ms", snapshot.size(), merged.docCount(),
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    /**
+     * Scores the documents of a segment matching at least one term and offers
+     * them to the top hits. Scores are accumulated per matching document only,
+     * so the work and memory are proportional to the postings of the query
+     * terms, not to the size of the segment.
+     */
+    private void collect(SearchSegment segment, List<String> terms, double[] idf, double averageLength,
+            long nowSec, int limit, PriorityQueue<SearchHit> top) {
+        PostingList[] lists = new PostingList[terms.size()];
+        int postingCount = 0;
+        for (int t = 0; t < terms.size(); t++) {
+            lists[t] = segment.postings(terms.get(t));
+            postingCount += lists[t] == null ? 0 : lists[t].docFrequency();
+        }
+        if (postingCount == 0) {
+            return;
+        }
+        float k1 = properties.getK1();
+        float b = properties.getB();
+        ScoreAccumulator scores = new ScoreAccumulator(postingCount);
+        for (int t = 0; t < lists.length; t++) {
+            if (lists[t] == null) {
+                continue;
+            }
+            double termIdf = idf[t];
+            lists[t].forEach(0, (doc, frequency) -> {
+                double norm = k1 * (1 - b + b * segment.length(doc) / averageLength);
+                scores.add(doc, termIdf * frequency * (k1 + 1) / (frequency + norm));
+            });
+        }
+        double halfLifeSeconds = properties.getRecencyHalfLifeHours() * 3600;
+        scores.forEach((doc, relevance) -> {
+            long age = Math.max(0, nowSec - segment.timestamp(doc));
+            double score = relevance * (1 + properties.getRecencyWeight() * Math.pow(0.5, age / halfLifeSeconds));
+            if (top.size() < limit || score > top.peek().score()) {
+                top.add(new SearchHit(segment.type(doc), segment.entityId(doc), segment.postId(doc), score,
+                        segment.timestamp(doc)));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        });
+    }
+
+    private long documentCount() {
+        lock.readLock().lock();
+        try {
+            long count = active == null ? 0 : active.docCount();
+            for (SearchSegment segment : sealed) {
+                count += segment.docCount();
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Path segmentFile(long generation) {
+        return directory.resolve(SEGMENT_PREFIX + generation + SEGMENT_SUFFIX);
+    }
+
+    private static boolean isSegmentFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Open-addressing map from document number to score, sized for a known
+     * number of postings and visited in insertion order.
+     */
+    private static final class ScoreAccumulator {
+
+        @FunctionalInterface
+        interface Visitor {
+            void visit(int doc, double score);
+        }
+
+        private final int[] keys;
+        private final double[] values;
+        private final int[] inserted;
+        private final int mask;
+        private int size;
+
+        ScoreAccumulator(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(2, expected) * 2 - 1) << 1;
+            keys = new int[capacity];
+            Arrays.fill(keys, -1);
+            values = new double[capacity];
+            inserted = new int[expected];
+            mask = capacity - 1;
+        }
+
+        void add(int doc, double score) {
+            int hash = doc * 0x9E3779B9;
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (keys[slot] != doc) {
+                if (keys[slot] == -1) {
+                    keys[slot] = doc;
+                    inserted[size++] = slot;
+                    break;
+                }
+                slot = slot + 1 & mask;
+            }
+            values[slot] += score;
+        }
+
+        void forEach(Visitor visitor) {
+            for (int i = 0; i < size; i++) {
+                visitor.visit(keys[inserted[i]], values[inserted[i]]);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.openclassrooms.mddapi.services.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class for the full-text search index.
+ * This class loads search settings from the application configuration with the
+ * 'search' prefix.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "search")
+@Data
+public class SearchProperties {
+
+    /**
+     * Directory holding the index segment files.
+     */
+    private String directory = "data/search";
+
+    /**
+     * Number of buffered documents that triggers a flush to a new segment.
+     */
+    private int flushThreshold = 1000;
+
+    /**
+     * Number of segments above which a background merge is started.
+     */
+    private int maxSegments = 8;
+
+    /**
+     * BM25 term frequency saturation parameter.
+     */
+    private float k1 = 1.2f;
+
+    /**
+     * BM25 document length normalization parameter.
+     */
+    private float b = 0.75f;
+
+    /**
+     * Half-life, in hours, of the recency boost.
+     */
+    private double recencyHalfLifeHours = 72;
+
+    /**
+     * Maximum relative boost given to a brand new document.
+     */
+    private double recencyWeight = 0.5;
+
+    /**
+     * Maximum number of results a query may request.
+     */
+    private int maxResults = 100;
+}
@@ -0,0 +1,249 @@
+package com.openclassrooms.mddapi.services.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Segment of the inverted index.
+ * A segment stores a contiguous range of documents (per-document metadata in
+ * parallel primitive arrays) and one {@link PostingList} per term. The active
+ * segment receives new documents in memory; once sealed it never changes and
+ * is persisted to its own file, which makes flushing and merging free of any
+ * in-place update.
+ *
+ * File layout: magic, version, covered generation range, document table,
+ * then every term with its document frequency and encoded postings.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+final class SearchSegment {
+
+    private static final int MAGIC = 0x4D444453;
+    private static final int VERSION = 1;
+    private static final SearchDocumentType[] TYPES = SearchDocumentType.values();
+
+    private final long generation;
+    private final long coveredFrom;
+    private final long coveredTo;
+    private final Map<String, PostingList> postings;
+
+    private byte[] types;
+    private int[] entityIds;
+    private int[] postIds;
+    private int[] lengths;
+    private long[] timestamps;
+    private int docCount;
+    private long totalLength;
+
+    private SearchSegment(long generation, long coveredFrom, long coveredTo, int capacity,
+            Map<String, PostingList> postings) {
+        this.generation = generation;
+        this.coveredFrom = coveredFrom;
+        this.coveredTo = coveredTo;
+        this.postings = postings;
+        this.types = new byte[capacity];
+        this.entityIds = new int[capacity];
+        this.postIds = new int[capacity];
+        this.lengths = new int[capacity];
+        this.timestamps = new long[capacity];
+    }
+
+    /**
+     * Creates an empty segment accepting new documents.
+     *
+     * @param generation Generation number of the segment
+     * @return The new segment
+     */
+    static SearchSegment create(long generation) {
+        return new SearchSegment(generation, generation, generation, 64, new HashMap<>());
+    }
+
+    /**
+     * Appends a document to the segment.
+     *
+     * @param type            Kind of the indexed entity
+     * @param entityId        Identifier of the post or comment
+     * @param postId          Identifier of the post the document belongs to
+     * @param timestamp       Creation time in epoch seconds
+     * @param termFrequencies Frequency of every term of the document
+     * @param length          Number of terms of the document
+     */
+    void add(SearchDocumentType type, int entityId, int postId, long timestamp,
+            Map<String, Integer> termFrequencies, int length) {
+        int doc = appendDocument((byte) type.ordinal(), entityId, postId, length, timestamp);
+        termFrequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new PostingList())
+                .add(doc, frequency));
+    }
+
+    int docCount() {
+        return docCount;
+    }
+
+    long totalLength() {
+        return totalLength;
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    long coveredFrom() {
+        return coveredFrom;
+    }
+
+    long coveredTo() {
+        return coveredTo;
+    }
+
+    PostingList postings(String term) {
+        return postings.get(term);
+    }
+
+    SearchDocumentType type(int doc) {
+        return TYPES[types[doc]];
+    }
+
+    int entityId(int doc) {
+        return entityIds[doc];
+    }
+
+    int postId(int doc) {
+        return postIds[doc];
+    }
+
+    int length(int doc) {
+        return lengths[doc];
+    }
+
+    long timestamp(int doc) {
+        return timestamps[doc];
+    }
+
+    /**
+     * Merges sealed segments into a single new segment.
+     * Documents keep their relative order; postings are re-encoded with the
+     * document numbers shifted by the size of the preceding segments.
+     *
+     * @param segments   The segments to merge, in order
+     * @param generation Generation number of the merged segment
+     * @return The merged segment
+     */
+    static SearchSegment merge(List<SearchSegment> segments, long generation) {
+        int capacity = segments.stream().mapToInt(SearchSegment::docCount).sum();
+        long from = segments.stream().mapToLong(SearchSegment::coveredFrom).min().orElse(generation);
+        long to = segments.stream().mapToLong(SearchSegment::coveredTo).max().orElse(generation);
+        SearchSegment merged = new SearchSegment(generation, from, to, Math.max(capacity, 1), new HashMap<>());
+
+        for (SearchSegment segment : segments) {
+            int base = merged.docCount;
+            for (int doc = 0; doc < segment.docCount; doc++) {
+                merged.appendDocument(segment.types[doc], segment.entityIds[doc], segment.postIds[doc],
+                        segment.lengths[doc], segment.timestamps[doc]);
+            }
+            segment.postings.forEach((term, list) -> {
+                PostingList target = merged.postings.computeIfAbsent(term, t -> new PostingList());
+                list.forEach(base, target::add);
+            });
+        }
+        return merged;
+    }
+
+    /**
+     * Writes the segment to a file, atomically replacing any previous content.
+     *
+     * @param file Destination file
+     * @throws IOException if the segment cannot be written
+     */
+    void write(Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(generation);
+            out.writeLong(coveredFrom);
+            out.writeLong(coveredTo);
+            out.writeInt(docCount);
+            for (int doc = 0; doc < docCount; doc++) {
+                out.writeByte(types[doc]);
+                out.writeInt(entityIds[doc]);
+                out.writeInt(postIds[doc]);
+                out.writeInt(lengths[doc]);
+                out.writeLong(timestamps[doc]);
+            }
+            out.writeInt(postings.size());
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                byte[] bytes = entry.getValue().bytes();
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().docFrequency());
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a segment previously written with {@link #write(Path)}.
+     *
+     * @param file Source file
+     * @return The sealed segment
+     * @throws IOException if the file cannot be read or is not a segment
+     */
+    static SearchSegment read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a search segment: " + file);
+            }
+            long generation = in.readLong();
+            long from = in.readLong();
+            long to = in.readLong();
+            int docCount = in.readInt();
+            SearchSegment segment = new SearchSegment(generation, from, to, Math.max(docCount, 1), new HashMap<>());
+            for (int doc = 0; doc < docCount; doc++) {
+                segment.appendDocument(in.readByte(), in.readInt(), in.readInt(), in.readInt(), in.readLong());
+            }
+            int termCount = in.readInt();
+            for (int i = 0; i < termCount; i++) {
+                String term = in.readUTF();
+                int docFrequency = in.readInt();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                segment.postings.put(term, new PostingList(bytes, docFrequency));
+            }
+            return segment;
+        }
+    }
+
+    private int appendDocument(byte type, int entityId, int postId, int length, long timestamp) {
+        if (docCount == types.length) {
+            int capacity = types.length * 2;
+            types = Arrays.copyOf(types, capacity);
+            entityIds = Arrays.copyOf(entityIds, capacity);
+            postIds = Arrays.copyOf(postIds, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+        }
+        int doc = docCount++;
+        types[doc] = type;
+        entityIds[doc] = entityId;
+        postIds[doc] = postId;
+        lengths[doc] = length;
+        timestamps[doc] = timestamp;
+        totalLength += length;
+        return doc;
+    }
+}
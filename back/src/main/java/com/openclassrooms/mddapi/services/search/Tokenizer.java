@@ -0,0 +1,66 @@
+package com.openclassrooms.mddapi.services.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Utility class splitting text into index terms.
+ * Terms are lower-cased, stripped of accents, split on any character that is
+ * neither a letter nor a digit, and filtered from single characters and common
+ * French and English stop words.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public final class Tokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "le", "la", "les", "un", "une", "des", "de", "du", "et", "en", "au", "aux", "ce", "ces", "est",
+            "que", "qui", "pour", "par", "sur", "dans", "pas", "the", "and", "for", "with", "this", "that",
+            "are", "was", "is", "it", "of", "to", "in", "on", "an", "or", "be");
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Splits a text into normalized terms, keeping duplicates.
+     *
+     * @param text The text to tokenize, may be null
+     * @return The list of terms in order of appearance
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                term.append(c);
+            } else {
+                addTerm(terms, term);
+            }
+        }
+        addTerm(terms, term);
+        return terms;
+    }
+
+    private static void addTerm(List<String> terms, StringBuilder term) {
+        if (term.length() > 1) {
+            String value = term.toString();
+            if (!STOP_WORDS.contains(value)) {
+                terms.add(value);
+            }
+        }
+        term.setLength(0);
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Search package containing the in-process full-text index.
+ * This package contains the inverted index over post titles, post contents
+ * and comments: tokenization, immutable on-disk segments with delta-encoded
+ * posting lists, background flushing and merging, and BM25 ranking boosted by
+ * recency.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.services.search;
@@ -0,0 +1,255 @@
+package com.openclassrooms.mddapi.services.subscriptions;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of non-negative integers, laid out like a Roaring bitmap.
+ * Values are split into chunks of 65536 by their 16 high bits. A chunk holding
+ * at most {@value #MAX_ARRAY_SIZE} values stores their low bits as a sorted
+ * {@code char[]}; a denser chunk switches to a bitmap of 1024 words. Sets of a
+ * few values therefore cost a few bytes each, and the densest chunks 8 KB.
+ *
+ * Not thread-safe: {@link SubscriptionIndex} guards its sets.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+final class CompressedIntSet {
+
+    /**
+     * Cardinality above which a chunk is stored as a bitmap.
+     */
+    static final int MAX_ARRAY_SIZE = 4096;
+
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private char[] keys = new char[1];
+
+    /**
+     * Per chunk, a sorted {@code char[]} or a {@code long[]} bitmap.
+     */
+    private Object[] containers = new Object[1];
+
+    /**
+     * Per chunk, the number of values it holds.
+     */
+    private int[] cardinalities = new int[1];
+    private int chunks;
+    private int size;
+
+    /**
+     * Adds a value.
+     *
+     * @param value A non-negative integer
+     * @return true if the value was not in the set
+     */
+    boolean add(int value) {
+        char high = (char) (value >>> 16);
+        char low = (char) value;
+        int chunk = chunkIndex(high);
+        if (chunk < 0) {
+            chunk = -chunk - 1;
+            insertChunk(chunk, high);
+        }
+        Object container = containers[chunk];
+        int cardinality = cardinalities[chunk];
+        if (container instanceof long[] bitmap) {
+            long bit = 1L << low;
+            if ((bitmap[low >>> 6] & bit) != 0) {
+                return false;
+            }
+            bitmap[low >>> 6] |= bit;
+        } else {
+            char[] array = (char[]) container;
+            int position = Arrays.binarySearch(array, 0, cardinality, low);
+            if (position >= 0) {
+                return false;
+            }
+            position = -position - 1;
+            if (cardinality == MAX_ARRAY_SIZE) {
+                long[] bitmap = toBitmap(array, cardinality);
+                bitmap[low >>> 6] |= 1L << low;
+                containers[chunk] = bitmap;
+            } else {
+                if (cardinality == array.length) {
+                    array = Arrays.copyOf(array, Math.min(cardinality + (cardinality >> 1) + 1, MAX_ARRAY_SIZE));
+                    containers[chunk] = array;
+                }
+                System.arraycopy(array, position, array, position + 1, cardinality - position);
+                array[position] = low;
+            }
+        }
+        cardinalities[chunk]++;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param value A non-negative integer
+     * @return true if the value was in the set
+     */
+    boolean remove(int value) {
+        int chunk = chunkIndex((char) (value >>> 16));
+        if (chunk < 0) {
+            return false;
+        }
+        char low = (char) value;
+        Object container = containers[chunk];
+        int cardinality = cardinalities[chunk];
+        if (container instanceof long[] bitmap) {
+            long bit = 1L << low;
+            if ((bitmap[low >>> 6] & bit) == 0) {
+                return false;
+            }
+            bitmap[low >>> 6] &= ~bit;
+            if (cardinality - 1 == MAX_ARRAY_SIZE) {
+                containers[chunk] = toArray(bitmap, MAX_ARRAY_SIZE);
+            }
+        } else {
+            char[] array = (char[]) container;
+            int position = Arrays.binarySearch(array, 0, cardinality, low);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(array, position + 1, array, position, cardinality - position - 1);
+        }
+        size--;
+        if (--cardinalities[chunk] == 0) {
+            removeChunk(chunk);
+        }
+        return true;
+    }
+
+    /**
+     * Indicates whether a value is in the set.
+     *
+     * @param value A non-negative integer
+     * @return true if the set holds the value
+     */
+    boolean contains(int value) {
+        int chunk = chunkIndex((char) (value >>> 16));
+        if (chunk < 0) {
+            return false;
+        }
+        char low = (char) value;
+        if (containers[chunk] instanceof long[] bitmap) {
+            return (bitmap[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) containers[chunk], 0, cardinalities[chunk], low) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the values in increasing order.
+     *
+     * @return A new array
+     */
+    int[] toArray() {
+        int[] values = new int[size];
+        int count = 0;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int base = keys[chunk] << 16;
+            if (containers[chunk] instanceof long[] bitmap) {
+                for (int word = 0; word < BITMAP_WORDS; word++) {
+                    long bits = bitmap[word];
+                    while (bits != 0) {
+                        values[count++] = base | (word << 6) | Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                    }
+                }
+            } else {
+                char[] array = (char[]) containers[chunk];
+                for (int i = 0; i < cardinalities[chunk]; i++) {
+                    values[count++] = base | array[i];
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Estimates the heap footprint of the set, assuming compressed oops: 12
+     * bytes per object header, 16 per array header, 4 per reference.
+     *
+     * @return Estimated size in bytes
+     */
+    long sizeInBytes() {
+        long bytes = align(12 + 3 * 4 + 2 * 4)
+                + align(16 + 2L * keys.length)
+                + align(16 + 4L * containers.length)
+                + align(16 + 4L * cardinalities.length);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            bytes += containers[chunk] instanceof long[] bitmap
+                    ? 16 + 8L * bitmap.length
+                    : align(16 + 2L * ((char[]) containers[chunk]).length);
+        }
+        return bytes;
+    }
+
+    private int chunkIndex(char high) {
+        // Most sets hold a single chunk: identifiers below 65536
+        if (chunks > 0 && keys[chunks - 1] == high) {
+            return chunks - 1;
+        }
+        return Arrays.binarySearch(keys, 0, chunks, high);
+    }
+
+    private void insertChunk(int chunk, char high) {
+        if (chunks == keys.length) {
+            int capacity = chunks * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        System.arraycopy(keys, chunk, keys, chunk + 1, chunks - chunk);
+        System.arraycopy(containers, chunk, containers, chunk + 1, chunks - chunk);
+        System.arraycopy(cardinalities, chunk, cardinalities, chunk + 1, chunks - chunk);
+        keys[chunk] = high;
+        containers[chunk] = new char[1];
+        cardinalities[chunk] = 0;
+        chunks++;
+    }
+
+    private void removeChunk(int chunk) {
+        System.arraycopy(keys, chunk + 1, keys, chunk, chunks - chunk - 1);
+        System.arraycopy(containers, chunk + 1, containers, chunk, chunks - chunk - 1);
+        System.arraycopy(cardinalities, chunk + 1, cardinalities, chunk, chunks - chunk - 1);
+        chunks--;
+        containers[chunks] = null;
+    }
+
+    private static long[] toBitmap(char[] array, int cardinality) {
+        long[] bitmap = new long[BITMAP_WORDS];
+        for (int i = 0; i < cardinality; i++) {
+            bitmap[array[i] >>> 6] |= 1L << array[i];
+        }
+        return bitmap;
+    }
+
+    private static char[] toArray(long[] bitmap, int cardinality) {
+        char[] array = new char[cardinality];
+        int count = 0;
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long bits = bitmap[word];
+            while (bits != 0) {
+                array[count++] = (char) ((word << 6) | Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return array;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,310 @@
+package com.openclassrooms.mddapi.services.subscriptions;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the subscriptions, in both directions: the subscribers
+ * of each topic and the topics of each user, as {@link CompressedIntSet}s in
+ * arrays indexed by identifier.
+ *
+ * The index is empty until loaded from the subscriptions table. Changes
+ * committed while it loads are queued and replayed once the table has been
+ * read, so that a row read before its removal does not linger. Until the
+ * first load completes, {@link #isReady()} is false and callers read the
+ * database instead. A later load builds new sets while the current ones keep
+ * serving, and replaces them once complete; a failed load leaves them in
+ * place.
+ *
+ * Only the changes committed through this instance are recorded as they
+ * happen. With several instances, the changes made through the others reach
+ * the index with the next reload, so counts and subscription flags may be
+ * stale for up to the reload interval. The outbox does not help here: its
+ * consumer positions are shared by the instances, which would split the
+ * events between them.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class SubscriptionIndex {
+
+    private static final int[] NO_TOPICS = new int[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Sets current = new Sets();
+    private Sets next;
+    private boolean loading;
+    private volatile boolean ready;
+    private final List<Change> pending = new ArrayList<>();
+
+    /**
+     * Constructs a SubscriptionIndex and registers its size and footprint as
+     * gauges.
+     *
+     * @param meterRegistry Registry of application metrics
+     */
+    public SubscriptionIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("subscriptions.index.size", this, SubscriptionIndex::subscriptions)
+                .description("Subscriptions held in the in-memory index")
+                .register(meterRegistry);
+        Gauge.builder("subscriptions.index.memory", this, SubscriptionIndex::sizeInBytes)
+                .description("Estimated heap footprint of the in-memory subscription index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a load into new sets; the current ones keep serving until it
+     * finishes. Changes are queued for the new sets from now on.
+     */
+    public void startLoading() {
+        lock.writeLock().lock();
+        try {
+            next = new Sets();
+            pending.clear();
+            loading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a batch of rows read from the subscriptions table.
+     *
+     * @param userIds  The subscribers
+     * @param topicIds The topics, at the same positions
+     * @param count    Number of rows in the arrays
+     */
+    public void load(int[] userIds, int[] topicIds, int count) {
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                next.apply(userIds[i], topicIds[i], true);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replays the changes queued while loading, replaces the current sets by
+     * the loaded ones and opens the index to reads.
+     */
+    public void finishLoading() {
+        lock.writeLock().lock();
+        try {
+            for (Change change : pending) {
+                next.apply(change.userId(), change.topicId(), change.subscribed());
+            }
+            pending.clear();
+            current = next;
+            next = null;
+            loading = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gives up a load that failed. An index loaded before keeps serving; one
+     * never loaded stays closed to reads.
+     */
+    public void abortLoading() {
+        lock.writeLock().lock();
+        try {
+            pending.clear();
+            next = null;
+            loading = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records a committed subscription change. Ignored before the first load
+     * starts, since the load reads it from the table.
+     *
+     * @param userId     The subscriber
+     * @param topicId    The topic
+     * @param subscribed true for a subscription, false for its removal
+     */
+    public void record(int userId, int topicId, boolean subscribed) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                pending.add(new Change(userId, topicId, subscribed));
+            }
+            if (ready) {
+                current.apply(userId, topicId, subscribed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indicates whether the index reflects the subscriptions table, as of
+     * its last load and the changes committed since through this instance.
+     *
+     * @return false until the first load completes
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Returns the number of subscribers of a topic.
+     *
+     * @param topicId The topic
+     * @return The subscriber count
+     */
+    public int subscriberCount(int topicId) {
+        lock.readLock().lock();
+        try {
+            CompressedIntSet subscribers = get(current.subscribersByTopic, topicId);
+            return subscribers == null ? 0 : subscribers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the topics a user is subscribed to.
+     *
+     * @param userId The user
+     * @return Topic IDs in increasing order
+     */
+    public int[] topicsOf(int userId) {
+        lock.readLock().lock();
+        try {
+            CompressedIntSet topics = get(current.topicsByUser, userId);
+            return topics == null ? NO_TOPICS : topics.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indicates whether a user is subscribed to a topic.
+     *
+     * @param userId  The user
+     * @param topicId The topic
+     * @return true if the subscription exists
+     */
+    public boolean isSubscribed(int userId, int topicId) {
+        lock.readLock().lock();
+        try {
+            CompressedIntSet topics = get(current.topicsByUser, userId);
+            return topics != null && topics.contains(topicId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of subscriptions held
+     */
+    public long subscriptions() {
+        lock.readLock().lock();
+        try {
+            return current.subscriptions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the heap footprint of the current sets: both arrays of sets
+     * and the sets themselves. A reload holds a second copy until it
+     * completes.
+     *
+     * @return Estimated size in bytes
+     */
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return sizeInBytes(current.subscribersByTopic) + sizeInBytes(current.topicsByUser);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static CompressedIntSet get(CompressedIntSet[] sets, int id) {
+        return id >= 0 && id < sets.length ? sets[id] : null;
+    }
+
+    private static long sizeInBytes(CompressedIntSet[] sets) {
+        long bytes = 16 + 4L * sets.length;
+        for (CompressedIntSet set : sets) {
+            if (set != null) {
+                bytes += set.sizeInBytes();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * The sets of both directions, and the number of subscriptions they hold.
+     */
+    private static final class Sets {
+        private CompressedIntSet[] subscribersByTopic = new CompressedIntSet[16];
+        private CompressedIntSet[] topicsByUser = new CompressedIntSet[16];
+        private long subscriptions;
+
+        private void apply(int userId, int topicId, boolean subscribed) {
+            if (subscribed) {
+                if (getOrCreate(true, topicId).add(userId)) {
+                    getOrCreate(false, userId).add(topicId);
+                    subscriptions++;
+                }
+                return;
+            }
+            CompressedIntSet subscribers = get(subscribersByTopic, topicId);
+            if (subscribers != null && subscribers.remove(userId)) {
+                CompressedIntSet topics = get(topicsByUser, userId);
+                topics.remove(topicId);
+                if (topics.isEmpty()) {
+                    topicsByUser[userId] = null;
+                }
+                if (subscribers.isEmpty()) {
+                    subscribersByTopic[topicId] = null;
+                }
+                subscriptions--;
+            }
+        }
+
+        private CompressedIntSet getOrCreate(boolean byTopic, int id) {
+            CompressedIntSet[] sets = byTopic ? subscribersByTopic : topicsByUser;
+            if (id >= sets.length) {
+                // Identifiers are allocated in sequence, the arrays stay dense
+                sets = Arrays.copyOf(sets, Math.max(sets.length + (sets.length >> 1), id + 1));
+                if (byTopic) {
+                    subscribersByTopic = sets;
+                } else {
+                    topicsByUser = sets;
+                }
+            }
+            CompressedIntSet set = sets[id];
+            if (set == null) {
+                set = new CompressedIntSet();
+                sets[id] = set;
+            }
+            return set;
+        }
+    }
+
+    /**
+     * A subscription change committed while the index loads.
+     */
+    private record Change(int userId, int topicId, boolean subscribed) {
+    }
+}
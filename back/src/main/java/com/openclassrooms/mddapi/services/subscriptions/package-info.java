@@ -0,0 +1,13 @@
+/**
+ * Subscriptions package containing the in-memory subscription index.
+ * This package contains the compressed integer sets holding the subscribers of
+ * each topic and the topics of each user, loaded from the subscriptions table
+ * at startup and kept current by the subscription changes, so that topic lists
+ * carry subscriber counts and the subscribed flag of the current user without
+ * querying the database.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.services.subscriptions;
@@ -0,0 +1,150 @@
+package com.openclassrooms.mddapi.services.timeline;
+
+import java.util.Arrays;
+
+/**
+ * Capped timeline of post identifiers, kept in ascending order in a primitive
+ * ring buffer. When full, pushing a new identifier evicts the oldest one.
+ *
+ * A buffer is created empty and not ready; it receives the posts published
+ * while it is loaded from the database, then {@link #seed} merges the loaded
+ * identifiers and marks it ready.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public final class IntRingBuffer {
+
+    private final int[] ids;
+    private int head;
+    private int size;
+    private boolean truncated;
+    private volatile boolean ready;
+    private volatile long lastRead;
+
+    /**
+     * Constructs an empty, not yet ready buffer.
+     *
+     * @param capacity Maximum number of identifiers kept
+     */
+    public IntRingBuffer(int capacity) {
+        this.ids = new int[capacity];
+    }
+
+    /**
+     * Adds an identifier. Identifiers normally arrive in increasing order;
+     * a late one is moved back to its place, and a duplicate is ignored.
+     *
+     * @param id Post identifier
+     */
+    public synchronized void push(int id) {
+        int capacity = ids.length;
+        int position = size;
+        while (position > 0 && at(position - 1) > id) {
+            position--;
+        }
+        if (position > 0 && at(position - 1) == id) {
+            return;
+        }
+        if (size == capacity) {
+            if (position == 0) {
+                truncated = true;
+                return;
+            }
+            // Drop the oldest entry to make room
+            head = (head + 1) % capacity;
+            size--;
+            position--;
+            truncated = true;
+        }
+        for (int i = size; i > position; i--) {
+            ids[index(i)] = at(i - 1);
+        }
+        ids[index(position)] = id;
+        size++;
+    }
+
+    /**
+     * Merges the identifiers loaded from the database with the ones pushed in
+     * the meantime, and marks the buffer ready.
+     *
+     * @param loaded    Identifiers loaded from the database, in any order
+     * @param truncated Whether older identifiers exist beyond the loaded ones
+     */
+    public synchronized void seed(int[] loaded, boolean truncated) {
+        int[] merged = new int[size + loaded.length];
+        for (int i = 0; i < size; i++) {
+            merged[i] = at(i);
+        }
+        System.arraycopy(loaded, 0, merged, size, loaded.length);
+        merged = Arrays.stream(merged).sorted().distinct().toArray();
+
+        int kept = Math.min(merged.length, ids.length);
+        System.arraycopy(merged, merged.length - kept, ids, 0, kept);
+        head = 0;
+        size = kept;
+        this.truncated = this.truncated || truncated || kept < merged.length;
+        ready = true;
+    }
+
+    /**
+     * Returns the newest identifiers lower than a bound.
+     *
+     * @param beforeId Exclusive upper bound
+     * @param limit    Maximum number of identifiers
+     * @return Identifiers in decreasing order
+     */
+    public synchronized int[] page(int beforeId, int limit) {
+        int[] page = new int[Math.min(limit, size)];
+        int count = 0;
+        for (int i = size - 1; i >= 0 && count < page.length; i--) {
+            int id = at(i);
+            if (id < beforeId) {
+                page[count++] = id;
+            }
+        }
+        return count == page.length ? page : Arrays.copyOf(page, count);
+    }
+
+    /**
+     * Indicates whether identifiers older than the buffered ones may exist,
+     * either because the buffer overflowed or because the initial load was
+     * capped.
+     *
+     * @return true if the buffer does not hold the whole timeline
+     */
+    public synchronized boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Indicates whether the buffer has been loaded.
+     *
+     * @return true once {@link #seed} has run
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Records when the timeline was last read, for its eviction.
+     *
+     * @param timeMillis Time of the read
+     */
+    void markRead(long timeMillis) {
+        lastRead = timeMillis;
+    }
+
+    long lastRead() {
+        return lastRead;
+    }
+
+    private int at(int logical) {
+        return ids[index(logical)];
+    }
+
+    private int index(int logical) {
+        return (head + logical) % ids.length;
+    }
+}
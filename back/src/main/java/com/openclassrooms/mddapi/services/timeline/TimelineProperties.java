@@ -0,0 +1,47 @@
+package com.openclassrooms.mddapi.services.timeline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class for the subscription feeds.
+ * This class loads timeline settings from the application configuration with
+ * the 'timeline' prefix.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "timeline")
+@Data
+public class TimelineProperties {
+
+    /**
+     * Number of post identifiers kept per user.
+     */
+    private int capacity = 500;
+
+    /**
+     * Subscriber count above which a topic is not fanned out on write; its
+     * posts are merged in when the feed is read.
+     */
+    private int fanOutLimit = 10_000;
+
+    /**
+     * Maximum number of users whose timeline is kept in memory. When full, the
+     * least recently read timelines are evicted to make room.
+     */
+    private int maxUsers = 100_000;
+
+    /**
+     * Time, in milliseconds, after which a timeline nobody read is evicted.
+     */
+    private long idleTimeoutMs = 1_800_000;
+
+    /**
+     * Maximum number of posts a feed page may request.
+     */
+    private int maxPageSize = 100;
+}
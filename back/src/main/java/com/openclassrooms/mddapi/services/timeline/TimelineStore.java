@@ -0,0 +1,170 @@
+package com.openclassrooms.mddapi.services.timeline;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory store of the per-user timelines and of the topics that are too
+ * large to fan out.
+ * Only users who read their feed get a timeline; posts are pushed to the
+ * timelines that exist, and a missing one is loaded on the next read.
+ * The number of timelines is capped: when the store is full, the least
+ * recently read sixteenth is evicted, and timelines nobody read for the idle
+ * timeout are evicted periodically.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class TimelineStore {
+
+    private final TimelineProperties properties;
+    private final Map<Integer, IntRingBuffer> timelines = new ConcurrentHashMap<>();
+    private final Set<Integer> largeTopics = ConcurrentHashMap.newKeySet();
+    private final Object evictionLock = new Object();
+
+    /**
+     * Constructs a TimelineStore.
+     *
+     * @param properties Timeline configuration
+     */
+    public TimelineStore(TimelineProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Pushes a post identifier onto the timelines of the given users that are
+     * held in memory.
+     *
+     * @param postId  Identifier of the new post
+     * @param userIds Identifiers of the subscribers of the post's topic
+     */
+    public void push(int postId, Collection<Integer> userIds) {
+        for (Integer userId : userIds) {
+            IntRingBuffer timeline = timelines.get(userId);
+            if (timeline != null) {
+                timeline.push(postId);
+            }
+        }
+    }
+
+    /**
+     * Returns the timeline of a user and records the read.
+     *
+     * @param userId User identifier
+     * @return The timeline, or null if it is not held in memory
+     */
+    public IntRingBuffer get(int userId) {
+        IntRingBuffer timeline = timelines.get(userId);
+        if (timeline != null) {
+            timeline.markRead(System.currentTimeMillis());
+        }
+        return timeline;
+    }
+
+    /**
+     * Registers a new, not yet loaded timeline for a user. Posts created from
+     * now on are pushed to it while it is loaded.
+     *
+     * @param userId User identifier
+     * @return The registered timeline, or null if another thread registered
+     *         one first
+     */
+    public IntRingBuffer register(int userId) {
+        if (timelines.size() >= properties.getMaxUsers()) {
+            evictLeastRecentlyRead();
+        }
+        IntRingBuffer timeline = new IntRingBuffer(properties.getCapacity());
+        timeline.markRead(System.currentTimeMillis());
+        return timelines.putIfAbsent(userId, timeline) == null ? timeline : null;
+    }
+
+    /**
+     * Drops the timeline of a user, for instance after a subscription change.
+     *
+     * @param userId User identifier
+     */
+    public void invalidate(int userId) {
+        timelines.remove(userId);
+    }
+
+    /**
+     * Evicts the timelines nobody read for the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${timeline.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        evictIdle(System.currentTimeMillis());
+    }
+
+    /**
+     * Evicts the timelines last read before the idle timeout.
+     *
+     * @param nowMillis Current time
+     */
+    void evictIdle(long nowMillis) {
+        long readBefore = nowMillis - properties.getIdleTimeoutMs();
+        timelines.values().removeIf(timeline -> timeline.lastRead() < readBefore);
+    }
+
+    /**
+     * Returns the number of timelines held in memory.
+     *
+     * @return Number of timelines
+     */
+    public int size() {
+        return timelines.size();
+    }
+
+    /**
+     * Records a topic as too large to fan out. A topic stays large until the
+     * application restarts, so that its posts are never missing from a feed.
+     *
+     * @param topicId Topic identifier
+     */
+    public void markLargeTopic(int topicId) {
+        largeTopics.add(topicId);
+    }
+
+    /**
+     * Indicates whether a topic is read at query time instead of fanned out.
+     *
+     * @param topicId Topic identifier
+     * @return true if the topic is large
+     */
+    public boolean isLargeTopic(int topicId) {
+        return largeTopics.contains(topicId);
+    }
+
+    /**
+     * Evicts the least recently read sixteenth of the timelines, so that the
+     * sort is paid once for many registrations.
+     */
+    private void evictLeastRecentlyRead() {
+        synchronized (evictionLock) {
+            int maxUsers = properties.getMaxUsers();
+            if (timelines.size() < maxUsers) {
+                return;
+            }
+            // Reads go on meanwhile, so the times are copied before sorting
+            List<Candidate> candidates = timelines.entrySet().stream()
+                    .map(entry -> new Candidate(entry.getKey(), entry.getValue(), entry.getValue().lastRead()))
+                    .sorted(Comparator.comparingLong(Candidate::lastRead))
+                    .toList();
+            int evicted = Math.min(candidates.size(), timelines.size() - maxUsers + Math.max(1, maxUsers / 16));
+            for (int i = 0; i < evicted; i++) {
+                timelines.remove(candidates.get(i).userId(), candidates.get(i).timeline());
+            }
+        }
+    }
+
+    private record Candidate(int userId, IntRingBuffer timeline, long lastRead) {
+    }
+}
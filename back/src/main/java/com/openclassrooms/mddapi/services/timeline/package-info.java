@@ -0,0 +1,12 @@
+/**
+ * Timeline package containing the precomputed subscription feeds.
+ * This package contains the per-user capped ring buffers of post identifiers
+ * filled when a post is created (fan-out on write), and the bookkeeping of the
+ * topics whose subscriber count is too large to fan out, which are merged in
+ * when the feed is read instead.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.services.timeline;
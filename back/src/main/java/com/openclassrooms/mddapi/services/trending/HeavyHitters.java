@@ -0,0 +1,177 @@
+package com.openclassrooms.mddapi.services.trending;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounded set of the keys with the highest estimated counts.
+ * A new key enters only when there is room or when its estimate beats the
+ * lowest candidate, which it then replaces. Estimates are refreshed
+ * periodically so that keys whose activity left the window make room.
+ *
+ * The candidates are kept in a min-heap indexed by key, so that an offer costs
+ * O(log k) under the lock. Once the set is full, offers at or below the lowest
+ * estimate, which is most of them on a skewed stream, are rejected without
+ * taking the lock; a candidate whose estimate fell meanwhile keeps its
+ * previous one until the next refresh.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public final class HeavyHitters {
+
+    private final int capacity;
+    private final int[] keys;
+    private final long[] estimates;
+    private final Map<Integer, Integer> positions;
+    private int size;
+    private volatile long floor = -1;
+
+    /**
+     * Constructs an empty set.
+     *
+     * @param capacity Maximum number of candidates
+     */
+    public HeavyHitters(int capacity) {
+        this.capacity = capacity;
+        this.keys = new int[capacity];
+        this.estimates = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Offers a key with its current estimate.
+     *
+     * @param key      The key
+     * @param estimate Its estimated count
+     */
+    public void offer(int key, long estimate) {
+        if (estimate <= floor) {
+            return;
+        }
+        synchronized (this) {
+            Integer position = positions.get(key);
+            if (position != null) {
+                update(position, estimate);
+            } else if (size < capacity) {
+                keys[size] = key;
+                estimates[size] = estimate;
+                positions.put(key, size);
+                siftUp(size++);
+            } else if (estimate > estimates[0]) {
+                positions.remove(keys[0]);
+                keys[0] = key;
+                estimates[0] = estimate;
+                positions.put(key, 0);
+                siftDown(0);
+            }
+            updateFloor();
+        }
+    }
+
+    /**
+     * Returns the current candidates.
+     *
+     * @return Candidate keys, in no particular order
+     */
+    public synchronized int[] keys() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    /**
+     * Replaces the estimates of the candidates; keys with no remaining
+     * activity are dropped.
+     *
+     * @param fresh Fresh estimates by key
+     */
+    public synchronized void refresh(Map<Integer, Long> fresh) {
+        fresh.forEach((key, estimate) -> {
+            Integer position = positions.get(key);
+            if (position == null) {
+                return;
+            }
+            if (estimate == 0) {
+                remove(position);
+            } else {
+                update(position, estimate);
+            }
+        });
+        updateFloor();
+    }
+
+    private void update(int position, long estimate) {
+        long previous = estimates[position];
+        estimates[position] = estimate;
+        if (estimate < previous) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    private void remove(int position) {
+        positions.remove(keys[position]);
+        size--;
+        if (position == size) {
+            return;
+        }
+        long removed = estimates[position];
+        move(size, position);
+        if (estimates[position] < removed) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (estimates[parent] <= estimates[position]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && estimates[left] < estimates[smallest]) {
+                smallest = left;
+            }
+            if (right < size && estimates[right] < estimates[smallest]) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int key = keys[a];
+        long estimate = estimates[a];
+        move(b, a);
+        keys[b] = key;
+        estimates[b] = estimate;
+        positions.put(key, b);
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        estimates[to] = estimates[from];
+        positions.put(keys[to], to);
+    }
+
+    private void updateFloor() {
+        floor = size == capacity ? estimates[0] : -1;
+    }
+}
@@ -0,0 +1,143 @@
+package com.openclassrooms.mddapi.services.trending;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch over a sliding time window.
+ * The window is split into time buckets, each with its own sketch of
+ * {@code depth} rows of {@code width} counters; the bucket of the oldest
+ * period is cleared and reused when time moves on. Memory is fixed whatever
+ * the number of distinct keys or events.
+ *
+ * Estimates never undercount. With e the base of natural logarithms, the
+ * overcount of one bucket exceeds e / width times the bucket's total only
+ * with probability e^-depth.
+ *
+ * Counters are updated without locks; only the reuse of a bucket is
+ * synchronized.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public final class SlidingWindowSketch {
+
+    private final int depth;
+    private final int mask;
+    private final int bucketCount;
+    private final long bucketSeconds;
+    private final long[] seeds;
+    private final AtomicLongArray[] counters;
+    private final AtomicLongArray bucketEpochs;
+
+    /**
+     * Constructs an empty sketch.
+     *
+     * @param width         Counters per row, rounded up to a power of two
+     * @param depth         Number of rows
+     * @param buckets       Number of time buckets in the window
+     * @param bucketSeconds Duration of one bucket, in seconds
+     */
+    public SlidingWindowSketch(int width, int depth, int buckets, long bucketSeconds) {
+        int roundedWidth = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.mask = roundedWidth - 1;
+        this.bucketCount = buckets;
+        this.bucketSeconds = bucketSeconds;
+        this.seeds = new long[depth];
+        for (int row = 0; row < depth; row++) {
+            seeds[row] = mix(0x9E3779B97F4A7C15L * (row + 1));
+        }
+        this.counters = new AtomicLongArray[buckets];
+        this.bucketEpochs = new AtomicLongArray(buckets);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            counters[bucket] = new AtomicLongArray(depth * roundedWidth);
+            bucketEpochs.set(bucket, -1);
+        }
+    }
+
+    /**
+     * Adds occurrences of a key at a point in time.
+     *
+     * @param key    The key
+     * @param count  Number of occurrences
+     * @param nowSec Time of the event in epoch seconds
+     */
+    public void add(int key, long count, long nowSec) {
+        long epoch = nowSec / bucketSeconds;
+        int bucket = (int) (epoch % bucketCount);
+        AtomicLongArray cells = current(bucket, epoch);
+        if (cells == null) {
+            return;
+        }
+        int width = mask + 1;
+        for (int row = 0; row < depth; row++) {
+            cells.addAndGet(row * width + cell(key, row), count);
+        }
+    }
+
+    /**
+     * Estimates the occurrences of a key within the window ending now.
+     *
+     * @param key    The key
+     * @param nowSec Current time in epoch seconds
+     * @return An estimate that is never lower than the true count
+     */
+    public long estimate(int key, long nowSec) {
+        long epoch = nowSec / bucketSeconds;
+        int width = mask + 1;
+        long total = 0;
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            long bucketEpoch = bucketEpochs.get(bucket);
+            if (bucketEpoch < 0 || bucketEpoch > epoch || epoch - bucketEpoch >= bucketCount) {
+                continue;
+            }
+            AtomicLongArray cells = counters[bucket];
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                min = Math.min(min, cells.get(row * width + cell(key, row)));
+            }
+            total += min;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the counters of a bucket, clearing them first when they still
+     * hold an older period, or null when the event is older than the window.
+     */
+    private AtomicLongArray current(int bucket, long epoch) {
+        if (bucketEpochs.get(bucket) != epoch) {
+            synchronized (this) {
+                long bucketEpoch = bucketEpochs.get(bucket);
+                if (bucketEpoch > epoch) {
+                    return null;
+                }
+                if (bucketEpoch != epoch) {
+                    AtomicLongArray cells = counters[bucket];
+                    for (int i = 0; i < cells.length(); i++) {
+                        cells.set(i, 0);
+                    }
+                    bucketEpochs.set(bucket, epoch);
+                }
+            }
+        }
+        return counters[bucket];
+    }
+
+    private int cell(int key, int row) {
+        return (int) (mix(key ^ seeds[row]) & mask);
+    }
+
+    /**
+     * Finalization step of MurmurHash3, spreading the bits of a key.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB93FE53A1C63L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,95 @@
+package com.openclassrooms.mddapi.services.trending;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks recent activity of topics and posts in bounded memory.
+ * Each kind of entity has a sliding-window count-min sketch that estimates
+ * its weighted event count, and a heavy-hitter set that keeps the best
+ * candidates for the top list.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public class TrendingEngine {
+
+    private final Map<TrendingKind, SlidingWindowSketch> sketches = new EnumMap<>(TrendingKind.class);
+    private final Map<TrendingKind, HeavyHitters> heavyHitters = new EnumMap<>(TrendingKind.class);
+
+    /**
+     * Constructs a TrendingEngine.
+     *
+     * @param properties Trending configuration
+     */
+    public TrendingEngine(TrendingProperties properties) {
+        for (TrendingKind kind : TrendingKind.values()) {
+            sketches.put(kind, new SlidingWindowSketch(properties.getWidth(), properties.getDepth(),
+                    properties.getBuckets(), properties.getBucketSeconds()));
+            heavyHitters.put(kind, new HeavyHitters(properties.getCandidates()));
+        }
+    }
+
+    /**
+     * Records activity on an entity.
+     *
+     * @param kind   Kind of the entity
+     * @param id     Identifier of the entity
+     * @param weight Weight of the event
+     * @param nowSec Time of the event in epoch seconds
+     */
+    public void record(TrendingKind kind, int id, long weight, long nowSec) {
+        SlidingWindowSketch sketch = sketches.get(kind);
+        sketch.add(id, weight, nowSec);
+        heavyHitters.get(kind).offer(id, sketch.estimate(id, nowSec));
+    }
+
+    /**
+     * Returns the most active entities of a kind within the window.
+     *
+     * @param kind   Kind of the entities
+     * @param limit  Maximum number of entries
+     * @param nowSec Current time in epoch seconds
+     * @return Entries ordered by decreasing score
+     */
+    public List<TrendingEntry> top(TrendingKind kind, int limit, long nowSec) {
+        SlidingWindowSketch sketch = sketches.get(kind);
+        List<TrendingEntry> entries = new ArrayList<>();
+        for (int id : heavyHitters.get(kind).keys()) {
+            long score = sketch.estimate(id, nowSec);
+            if (score > 0) {
+                entries.add(new TrendingEntry(id, score));
+            }
+        }
+        entries.sort(Comparator.comparingLong(TrendingEntry::score).reversed()
+                .thenComparing(Comparator.comparingInt(TrendingEntry::id).reversed()));
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    /**
+     * Re-estimates the heavy-hitter candidates, so that entities whose
+     * activity left the window free their slot.
+     */
+    @Scheduled(fixedDelayString = "${trending.refresh-interval-ms:60000}")
+    public void refresh() {
+        long nowSec = System.currentTimeMillis() / 1000;
+        for (TrendingKind kind : TrendingKind.values()) {
+            SlidingWindowSketch sketch = sketches.get(kind);
+            HeavyHitters hitters = heavyHitters.get(kind);
+            Map<Integer, Long> estimates = new HashMap<>();
+            for (int id : hitters.keys()) {
+                estimates.put(id, sketch.estimate(id, nowSec));
+            }
+            hitters.refresh(estimates);
+        }
+    }
+}
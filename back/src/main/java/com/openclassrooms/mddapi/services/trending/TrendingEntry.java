@@ -0,0 +1,14 @@
+package com.openclassrooms.mddapi.services.trending;
+
+/**
+ * Entity ranked by the trending engine.
+ *
+ * @param id    Identifier of the topic or post
+ * @param score Estimated weighted activity within the window
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public record TrendingEntry(int id, long score) {
+}
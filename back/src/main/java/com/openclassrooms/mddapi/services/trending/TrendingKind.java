@@ -0,0 +1,13 @@
+package com.openclassrooms.mddapi.services.trending;
+
+/**
+ * Kind of entity whose activity is tracked by the trending engine.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+public enum TrendingKind {
+    TOPIC,
+    POST
+}
@@ -0,0 +1,66 @@
+package com.openclassrooms.mddapi.services.trending;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties class for the trending engine.
+ * This class loads trending settings from the application configuration with
+ * the 'trending' prefix.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "trending")
+@Data
+public class TrendingProperties {
+
+    /**
+     * Duration of one time bucket, in seconds.
+     */
+    private int bucketSeconds = 300;
+
+    /**
+     * Number of buckets in the sliding window; the window lasts
+     * bucketSeconds times buckets.
+     */
+    private int buckets = 12;
+
+    /**
+     * Number of counters per sketch row, rounded up to a power of two.
+     */
+    private int width = 2048;
+
+    /**
+     * Number of sketch rows.
+     */
+    private int depth = 4;
+
+    /**
+     * Number of heavy-hitter candidates tracked per kind of entity.
+     */
+    private int candidates = 200;
+
+    /**
+     * Weight of a post view.
+     */
+    private int viewWeight = 1;
+
+    /**
+     * Weight of a new comment.
+     */
+    private int commentWeight = 3;
+
+    /**
+     * Weight of a new post.
+     */
+    private int postWeight = 5;
+
+    /**
+     * Maximum number of entries a trending query may request.
+     */
+    private int maxResults = 50;
+}
@@ -0,0 +1,11 @@
+/**
+ * Trending package containing the "what's hot right now" engine.
+ * This package contains sliding-window count-min sketches that estimate the
+ * recent activity of topics and posts in fixed memory, and the heavy-hitter
+ * tracking that keeps the current top entries.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+package com.openclassrooms.mddapi.services.trending;
@@ -4,10 +4,12 @@ USE MDD;
 -- Users table
 CREATE TABLE users (
     id INT PRIMARY KEY AUTO_INCREMENT,
-    email VARCHAR(255) UNIQUE NOT NULL,
-    username VARCHAR(100) UNIQUE NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    username VARCHAR(100) NOT NULL,
     password VARCHAR(255) NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_username UNIQUE (username)
 );
 
 -- Topics table
@@ -35,9 +37,12 @@ CREATE TABLE posts (
     topic_id INT NOT NULL,
     title VARCHAR(255) NOT NULL,
     content TEXT NOT NULL,
+    excerpt VARCHAR(200),
     published_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
-    FOREIGN KEY (topic_id) REFERENCES topics(id) ON DELETE CASCADE
+    FOREIGN KEY (topic_id) REFERENCES topics(id) ON DELETE CASCADE,
+    INDEX idx_posts_topic_published (topic_id, published_at, id),
+    INDEX idx_posts_published (published_at, id)
 );
 
 -- Comments table
@@ -51,6 +56,69 @@ CREATE TABLE comments (
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+-- Transactional outbox: side effects of the writes, handled after commit
+CREATE TABLE outbox_events (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    type VARCHAR(32) NOT NULL,
+    entity_id INT NOT NULL,
+    post_id INT,
+    topic_id INT,
+    user_id INT,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+-- Outbox identifiers skipped by the relay, relayed if their row is committed later
+CREATE TABLE outbox_gaps (
+    id BIGINT PRIMARY KEY,
+    skipped_at TIMESTAMP(6) NOT NULL
+);
+
+-- Position of each outbox consumer
+CREATE TABLE outbox_consumers (
+    name VARCHAR(64) PRIMARY KEY,
+    position BIGINT NOT NULL
+);
+
+-- Outbox events a consumer kept failing on, kept for inspection and replay
+CREATE TABLE outbox_dead_letters (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    consumer VARCHAR(64) NOT NULL,
+    event_id BIGINT NOT NULL,
+    type VARCHAR(32) NOT NULL,
+    entity_id INT NOT NULL,
+    post_id INT,
+    topic_id INT,
+    user_id INT,
+    created_at TIMESTAMP(6) NOT NULL,
+    error VARCHAR(500),
+    failed_at TIMESTAMP(6) NOT NULL
+);
+
+-- Subscriber digest runs, with the progress of the current one
+CREATE TABLE digest_runs (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    status VARCHAR(16) NOT NULL,
+    published_after DATETIME(6) NOT NULL,
+    published_up_to DATETIME(6) NOT NULL,
+    last_user_id INT NOT NULL,
+    users_processed INT NOT NULL,
+    digests_written INT NOT NULL,
+    started_at TIMESTAMP(6) NOT NULL,
+    completed_at TIMESTAMP(6) NULL
+);
+
+-- Outgoing digests, read by the mail relay
+CREATE TABLE digest_mailbox (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    run_id BIGINT NOT NULL,
+    user_id INT NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_digest_mailbox_run_user UNIQUE (run_id, user_id)
+);
+
 INSERT INTO users (email, username, password) 
 VALUES ('test@user.com', 'testuser', 'Test!1234');
 
@@ -0,0 +1,88 @@
+-- Monthly partitions of the posts and comments tables (MySQL 8)
+--
+-- Ranges the posts on published_at and the comments on commented_at, one
+-- partition per month from the oldest row up to three months ahead, then
+-- p_future for the later rows. With archive.partitioned=true the archive job
+-- creates the partitions of the coming months and drops the partitions it
+-- emptied (PartitionMaintenance).
+--
+-- Run once, on the MDD database, while the application is stopped:
+--   mysql MDD < partitioning.sql
+-- then set spring.jpa.hibernate.ddl-auto=none, since update would add the
+-- foreign keys back. Plain statements only, so that the script also runs
+-- through JDBC (see PartitionMaintenanceMySqlTests).
+--
+-- MySQL requires the partitioning column in every unique key and does not
+-- support foreign keys on partitioned tables:
+--   * the primary keys become (id, published_at) and (id, commented_at);
+--   * the foreign keys of both tables are dropped, whatever their names
+--     (data.sql or Hibernate): deleting a post no longer deletes its comments
+--     and the application deletes them itself. The indexes created for the
+--     foreign keys are kept.
+-- The partitions are ranged with RANGE COLUMNS on DATETIME columns, which
+-- does not depend on the session time zone nor end in 2038: TIMESTAMP
+-- columns of data.sql are converted to DATETIME, as Hibernate creates them.
+
+SET SESSION group_concat_max_len = 1000000;
+
+-- Foreign keys of the comments, then of the posts
+SELECT GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', constraint_name, '`') SEPARATOR ', ') INTO @drops
+FROM information_schema.referential_constraints
+WHERE constraint_schema = DATABASE() AND table_name = 'comments';
+SET @statement = IF(@drops IS NULL, 'DO 0', CONCAT('ALTER TABLE comments ', @drops));
+PREPARE stmt FROM @statement;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SELECT GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', constraint_name, '`') SEPARATOR ', ') INTO @drops
+FROM information_schema.referential_constraints
+WHERE constraint_schema = DATABASE() AND table_name = 'posts';
+SET @statement = IF(@drops IS NULL, 'DO 0', CONCAT('ALTER TABLE posts ', @drops));
+PREPARE stmt FROM @statement;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+ALTER TABLE posts
+    MODIFY published_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, published_at);
+
+ALTER TABLE comments
+    MODIFY commented_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, commented_at);
+
+-- Posts: one partition per month from the oldest post, or the current month
+-- when there is none, to three months ahead
+SELECT DATE_FORMAT(COALESCE(LEAST(MIN(published_at), NOW()), NOW()), '%Y-%m-01') INTO @oldest FROM posts;
+WITH RECURSIVE months (first_day) AS (
+    SELECT CAST(@oldest AS DATE)
+    UNION ALL
+    SELECT DATE_ADD(first_day, INTERVAL 1 MONTH) FROM months
+    WHERE first_day < DATE_ADD(DATE_FORMAT(CURDATE(), '%Y-%m-01'), INTERVAL 3 MONTH)
+)
+SELECT CONCAT('ALTER TABLE posts PARTITION BY RANGE COLUMNS (published_at) (',
+    GROUP_CONCAT(CONCAT('PARTITION p', DATE_FORMAT(first_day, '%Y%m'), ' VALUES LESS THAN (''',
+        DATE_ADD(first_day, INTERVAL 1 MONTH), ' 00:00:00'')') ORDER BY first_day SEPARATOR ', '),
+    ', PARTITION p_future VALUES LESS THAN (MAXVALUE))') INTO @statement
+FROM months;
+PREPARE stmt FROM @statement;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Comments: same, from the oldest comment
+SELECT DATE_FORMAT(COALESCE(LEAST(MIN(commented_at), NOW()), NOW()), '%Y-%m-01') INTO @oldest FROM comments;
+WITH RECURSIVE months (first_day) AS (
+    SELECT CAST(@oldest AS DATE)
+    UNION ALL
+    SELECT DATE_ADD(first_day, INTERVAL 1 MONTH) FROM months
+    WHERE first_day < DATE_ADD(DATE_FORMAT(CURDATE(), '%Y-%m-01'), INTERVAL 3 MONTH)
+)
+SELECT CONCAT('ALTER TABLE comments PARTITION BY RANGE COLUMNS (commented_at) (',
+    GROUP_CONCAT(CONCAT('PARTITION p', DATE_FORMAT(first_day, '%Y%m'), ' VALUES LESS THAN (''',
+        DATE_ADD(first_day, INTERVAL 1 MONTH), ' 00:00:00'')') ORDER BY first_day SEPARATOR ', '),
+    ', PARTITION p_future VALUES LESS THAN (MAXVALUE))') INTO @statement
+FROM months;
+PREPARE stmt FROM @statement;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,73 @@
+package com.openclassrooms.mddapi.Security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the throughput and allocation rate of the single-pass validator
+ * with the former regular expression implementation, on the same seeded
+ * random passwords. Not part of the default build: it runs when the number of
+ * measured validations is set, with
+ * {@code mvn test -Dtest=PasswordValidatorBenchmarkTests -Dbenchmark.iterations=2000000}.
+ */
+@EnabledIfSystemProperty(named = "benchmark.iterations", matches = "\\d+")
+class PasswordValidatorBenchmarkTests {
+
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 2_000_000);
+
+	private static final int PASSWORDS = 10_000;
+
+	@Test
+	void singlePassAgainstRegularExpressions() {
+		SplittableRandom random = new SplittableRandom(1);
+		String[] passwords = new String[PASSWORDS];
+		for (int i = 0; i < passwords.length; i++) {
+			passwords[i] = PasswordValidatorTests.randomPassword(random);
+		}
+		PasswordValidator validator = new PasswordValidator(new PasswordProperties(), Optional.empty());
+
+		int legacyAccepted = measure("regular expressions", passwords, PasswordValidatorTests::legacyValidate);
+		int currentAccepted = measure("single pass", passwords, validator::validate);
+
+		assertEquals(legacyAccepted, currentAccepted);
+	}
+
+	/**
+	 * Warms an implementation up, then measures it.
+	 *
+	 * @return Number of accepted passwords in the measured run
+	 */
+	private static int measure(String name, String[] passwords, Function<String, String> validate) {
+		run(passwords, validate, ITERATIONS / 2);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+		long started = System.nanoTime();
+		int accepted = run(passwords, validate, ITERATIONS);
+		long elapsedNanos = System.nanoTime() - started;
+		long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+		System.out.printf(Locale.ROOT, "password validation, %s: %d operations, %.0f operations/s, %.1f ns/operation, "
+				+ "%d bytes/operation%n", name, ITERATIONS, ITERATIONS * 1e9 / elapsedNanos,
+				(double) elapsedNanos / ITERATIONS, allocated / ITERATIONS);
+		return accepted;
+	}
+
+	private static int run(String[] passwords, Function<String, String> validate, int iterations) {
+		int accepted = 0;
+		for (int i = 0; i < iterations; i++) {
+			if (validate.apply(passwords[i % passwords.length]) == null) {
+				accepted++;
+			}
+		}
+		return accepted;
+	}
+}
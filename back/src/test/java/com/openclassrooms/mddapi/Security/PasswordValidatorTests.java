@@ -0,0 +1,88 @@
+package com.openclassrooms.mddapi.Security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that the single-pass validator gives the same verdicts as the former
+ * regular expression implementation, on seeded random passwords and on
+ * passwords at the edge of each rule.
+ */
+class PasswordValidatorTests {
+
+	private static final String ALPHABET = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ"
+			+ "!@#$%^&*()_+-=[]{};':\"\\|,.<>/?"
+			+ " ~`\t\n\r\u0085\u2028\u2029\u00e9\u00c9\u0663\uff11\u00df\ud83d\ude00";
+
+	private final PasswordValidator validator = new PasswordValidator(new PasswordProperties(), Optional.empty());
+
+	@Test
+	void sameVerdictsAsRegularExpressions() {
+		SplittableRandom random = new SplittableRandom(20241019);
+		for (int i = 0; i < 200_000; i++) {
+			String password = randomPassword(random);
+			assertEquals(legacyValidate(password), validator.validate(password), () -> "password: " + password);
+		}
+	}
+
+	@Test
+	void breachedPasswordsAreRejected() {
+		PasswordValidator withChecker = new PasswordValidator(new PasswordProperties(),
+				Optional.of(password -> password.equals("Passw0rd!")));
+		assertEquals(PasswordValidator.BREACHED, withChecker.validate("Passw0rd!"));
+		assertNull(withChecker.validate("Passw0rd!2"));
+	}
+
+	@Test
+	void sameVerdictsAsRegularExpressionsOnBoundaryPasswords() {
+		String[] passwords = {
+				"", "Aa1!aaa", "Aa1!aaaa", "aa1!aaaa", "AA1!AAAA", "Aaa!aaaa", "Aa1aaaaa", "Aa1 aaaa",
+				"Aa\u0663!aaaa", "Aa\uff11!aaaa", "\u00c9\u00e91!aaaa", "A\u00df1!aaaa", "Aa1\u2028aaaa",
+				"Aa1\\aaaa", "Aa1/aaaa", "Aa1-aaaa", "Aa1~aaaa", "Aa1`aaaa", "\ud83d\ude00Aa1!aaa",
+				"Aa1!\naaaa", "Aa1!aaaa\n" };
+		String[] legacy = new String[passwords.length];
+		String[] current = new String[passwords.length];
+		for (int i = 0; i < passwords.length; i++) {
+			legacy[i] = legacyValidate(passwords[i]);
+			current[i] = validator.validate(passwords[i]);
+		}
+		assertArrayEquals(legacy, current);
+	}
+
+	static String randomPassword(SplittableRandom random) {
+		int length = random.nextInt(17);
+		StringBuilder password = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			password.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+		}
+		return password.toString();
+	}
+
+	/**
+	 * Former implementation, kept as the reference.
+	 */
+	static String legacyValidate(String password) {
+		if (password.length() < 8) {
+			return "Le mot de passe doit contenir au moins 8 caractères";
+		}
+		if (!password.matches(".*\\d.*")) {
+			return "Le mot de passe doit contenir au moins un chiffre";
+		}
+		if (!password.matches(".*[a-z].*")) {
+			return "Le mot de passe doit contenir au moins une lettre minuscule";
+		}
+		if (!password.matches(".*[A-Z].*")) {
+			return "Le mot de passe doit contenir au moins une lettre majuscule";
+		}
+		if (!password.matches(".*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>\\/?].*")) {
+			return "Le mot de passe doit contenir au moins un caractère spécial";
+		}
+		return null;
+	}
+}
@@ -0,0 +1,108 @@
+package com.openclassrooms.mddapi.Security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the rate limiting filter on the authentication endpoints: the 429
+ * response with its Retry-After header, the per-account limit of the logins
+ * and the limit of the availability checks, kept apart from the budget of the
+ * other authentication requests.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:mdd-rate-limit;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"rate-limit.ip-burst=3",
+		"rate-limit.ip-per-minute=1",
+		"rate-limit.account-burst=2",
+		"rate-limit.account-per-minute=1",
+		"rate-limit.availability-burst=5",
+		"rate-limit.availability-per-minute=1" })
+@AutoConfigureMockMvc
+@ActiveProfiles("bench")
+class RateLimitFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void availabilityChecksAreLimitedPerClientIp() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			mockMvc.perform(availability().with(from("10.0.0.1")))
+					.andExpect(status().isOk());
+		}
+		mockMvc.perform(availability().with(from("10.0.0.1")))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "60"))
+				.andExpect(jsonPath("$.status").value(429));
+
+		mockMvc.perform(availability().with(from("10.0.0.2")))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void availabilityChecksDoNotUseUpTheRegisterBudget() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			mockMvc.perform(availability().with(from("10.0.2.1")))
+					.andExpect(status().isOk());
+		}
+		mockMvc.perform(availability().with(from("10.0.2.1")))
+				.andExpect(status().isTooManyRequests());
+
+		mockMvc.perform(register("typist").with(from("10.0.2.1")))
+				.andExpect(status().isCreated());
+		mockMvc.perform(login("typist@test.com").with(from("10.0.2.1")))
+				.andExpect(status().is(not(429)));
+	}
+
+	@Test
+	void loginsAreLimitedPerAccountAcrossClientIps() throws Exception {
+		mockMvc.perform(login("victim@test.com").with(from("10.0.1.1")))
+				.andExpect(status().is(not(429)));
+		mockMvc.perform(login("victim@test.com").with(from("10.0.1.2")))
+				.andExpect(status().is(not(429)));
+		mockMvc.perform(login("VICTIM@test.com ").with(from("10.0.1.3")))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string("Retry-After", "60"));
+
+		mockMvc.perform(login("other@test.com").with(from("10.0.1.3")))
+				.andExpect(status().is(not(429)));
+	}
+
+	private static MockHttpServletRequestBuilder availability() {
+		return get("/api/auth/availability").param("username", "libre");
+	}
+
+	private static MockHttpServletRequestBuilder register(String username) {
+		return post("/api/auth/register")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\":\"" + username + "@test.com\",\"username\":\"" + username
+						+ "\",\"password\":\"C0rrectHorse!\"}");
+	}
+
+	private static MockHttpServletRequestBuilder login(String username) {
+		return post("/api/auth/login")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"" + username + "\",\"password\":\"Wr0ngPassword!\"}");
+	}
+
+	private static RequestPostProcessor from(String ip) {
+		return request -> {
+			request.setRemoteAddr(ip);
+			return request;
+		};
+	}
+}
@@ -0,0 +1,78 @@
+package com.openclassrooms.mddapi.Security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the per-key buckets on a fake clock: independent keys, the shared
+ * overflow bucket once the maximum number of keys is reached, the sweep of
+ * the full buckets and the rejection report.
+ */
+class RateLimiterTests {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	void keysHaveIndependentBuckets() {
+		RateLimiter limiter = new RateLimiter(1, 60, 10, 0);
+
+		assertEquals(0, limiter.tryConsume("a", 0));
+		assertEquals(SECOND, limiter.tryConsume("a", 0));
+		assertEquals(0, limiter.tryConsume("b", 0));
+		assertEquals(2, limiter.size());
+	}
+
+	@Test
+	void keysBeyondTheMaximumShareTheOverflowBucket() {
+		RateLimiter limiter = new RateLimiter(1, 60, 2, 0);
+		limiter.tryConsume("a", 0);
+		limiter.tryConsume("b", 0);
+
+		assertEquals(0, limiter.tryConsume("c", 0));
+		assertTrue(limiter.tryConsume("d", 0) > 0);
+		assertTrue(limiter.tryConsume("e", 0) > 0);
+		assertEquals(2, limiter.size());
+		assertEquals(List.of(new RateLimiter.KeyRejections("*overflow*", 2)), limiter.topRejected(10));
+
+		// Tracked keys keep their own bucket
+		assertEquals(0, limiter.tryConsume("a", SECOND));
+	}
+
+	@Test
+	void sweepDropsOnlyTheFullBuckets() {
+		RateLimiter limiter = new RateLimiter(2, 60, 2, 0);
+		limiter.tryConsume("once", 0);
+		limiter.tryConsume("twice", 0);
+		limiter.tryConsume("twice", 0);
+
+		assertEquals(0, limiter.sweep(0));
+		assertEquals(1, limiter.sweep(SECOND));
+		assertEquals(1, limiter.size());
+
+		// The freed slot is given to a new key instead of the overflow bucket
+		limiter.tryConsume("new", SECOND);
+		limiter.tryConsume("new", SECOND);
+		assertEquals(2, limiter.size());
+		assertEquals(1, limiter.sweep(2 * SECOND));
+		assertEquals(1, limiter.size());
+	}
+
+	@Test
+	void mostRejectedKeysComeFirst() {
+		RateLimiter limiter = new RateLimiter(1, 60, 10, 0);
+		for (int i = 0; i < 3; i++) {
+			limiter.tryConsume("often", 0);
+		}
+		limiter.tryConsume("once", 0);
+		limiter.tryConsume("once", 0);
+		limiter.tryConsume("never", 0);
+
+		assertEquals(List.of(new RateLimiter.KeyRejections("often", 2), new RateLimiter.KeyRejections("once", 1)),
+				limiter.topRejected(10));
+		assertEquals(List.of(new RateLimiter.KeyRejections("often", 2)), limiter.topRejected(1));
+	}
+}
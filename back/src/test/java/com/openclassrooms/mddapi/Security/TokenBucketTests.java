@@ -0,0 +1,92 @@
+package com.openclassrooms.mddapi.Security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the token bucket on a fake clock: the burst size, the wait returned
+ * on rejection, the refill, and that concurrent consumers never take more
+ * than the burst.
+ */
+class TokenBucketTests {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	void burstIsAcceptedThenTheWaitIsOneInterval() {
+		// 6 per minute: one token every 10 seconds
+		TokenBucket bucket = new TokenBucket(3, 6, 0);
+
+		assertEquals(0, bucket.tryConsume(0));
+		assertEquals(0, bucket.tryConsume(0));
+		assertEquals(0, bucket.tryConsume(0));
+		assertEquals(10 * SECOND, bucket.tryConsume(0));
+		assertEquals(4 * SECOND, bucket.tryConsume(6 * SECOND));
+		assertEquals(2, bucket.rejections());
+
+		assertEquals(0, bucket.tryConsume(10 * SECOND));
+		assertEquals(10 * SECOND, bucket.tryConsume(10 * SECOND));
+	}
+
+	@Test
+	void unusedTimeDoesNotGrowTheBurst() {
+		TokenBucket bucket = new TokenBucket(2, 60, 0);
+
+		long later = 3600 * SECOND;
+		assertEquals(0, bucket.tryConsume(later));
+		assertEquals(0, bucket.tryConsume(later));
+		assertEquals(SECOND, bucket.tryConsume(later));
+	}
+
+	@Test
+	void bucketIsIdleOnceFullAgain() {
+		TokenBucket bucket = new TokenBucket(3, 6, 0);
+		assertTrue(bucket.isIdle(0));
+
+		bucket.tryConsume(0);
+		bucket.tryConsume(0);
+		assertFalse(bucket.isIdle(0));
+		assertFalse(bucket.isIdle(20 * SECOND - 1));
+		assertTrue(bucket.isIdle(20 * SECOND));
+	}
+
+	@Test
+	void concurrentConsumersTakeExactlyTheBurst() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(1000, 1, 0);
+		AtomicInteger accepted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < 500; i++) {
+					if (bucket.tryConsume(0) == 0) {
+						accepted.incrementAndGet();
+					}
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(1000, accepted.get());
+		assertEquals(3000, bucket.rejections());
+	}
+}
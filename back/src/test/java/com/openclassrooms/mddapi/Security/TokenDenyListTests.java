@@ -0,0 +1,105 @@
+package com.openclassrooms.mddapi.Security;
+
+import com.openclassrooms.mddapi.entity.User;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks token and subject revocation, to the millisecond, and that
+ * revocations survive a restart.
+ */
+class TokenDenyListTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void revokedTokensAreRejectedAfterRestart() throws IOException {
+		JwtProperties properties = properties();
+		long now = System.currentTimeMillis() / 1000;
+
+		TokenDenyList denyList = new TokenDenyList(properties);
+		denyList.open();
+		denyList.revokeToken("revoked", now + 3600);
+		denyList.revokeToken("expired", now - 1);
+		denyList.revokeSubject("all@test.com");
+
+		TokenDenyList restarted = new TokenDenyList(properties);
+		restarted.open();
+		long nowMillis = now * 1000;
+		assertTrue(restarted.isRevoked("revoked", "user@test.com", nowMillis));
+		assertFalse(restarted.isRevoked("expired", "user@test.com", nowMillis));
+		assertFalse(restarted.isRevoked("other", "user@test.com", nowMillis));
+		assertTrue(restarted.isRevoked("other", "all@test.com", nowMillis));
+		assertFalse(restarted.isRevoked("other", "all@test.com", nowMillis + 1000));
+	}
+
+	@Test
+	void tokensWithoutIdentifierAreCheckedBySubject() throws IOException {
+		TokenDenyList denyList = new TokenDenyList(properties());
+		denyList.open();
+		long now = System.currentTimeMillis();
+
+		assertFalse(denyList.isRevoked(null, "user@test.com", now));
+		denyList.revokeSubject("user@test.com");
+		assertTrue(denyList.isRevoked(null, "user@test.com", now));
+	}
+
+	@Test
+	void loginRightAfterLogoutEverywhereIsAccepted() throws IOException {
+		JwtProperties properties = properties();
+		properties.setSecret("test-secret-key-for-the-deny-list-tests-0123456789");
+		JwtService jwtService = new JwtService(properties);
+		TokenDenyList denyList = new TokenDenyList(properties);
+		denyList.open();
+		User user = new User();
+		user.setId(1);
+		user.setEmail("again@test.com");
+		user.setUsername("again");
+
+		Claims before = jwtService.extractAllClaims(jwtService.generateToken(user));
+		denyList.revokeSubject(before.getSubject());
+		// Same second as the revocation, one millisecond later at least
+		long revokedAt = System.currentTimeMillis();
+		while (System.currentTimeMillis() == revokedAt) {
+			Thread.onSpinWait();
+		}
+		Claims after = jwtService.extractAllClaims(jwtService.generateToken(user));
+
+		assertTrue(denyList.isRevoked(before.getId(), before.getSubject(), JwtService.issuedAtMillis(before)));
+		assertFalse(denyList.isRevoked(after.getId(), after.getSubject(), JwtService.issuedAtMillis(after)));
+
+		// Also after a restart
+		TokenDenyList restarted = new TokenDenyList(properties);
+		restarted.open();
+		assertTrue(restarted.isRevoked(before.getId(), before.getSubject(), JwtService.issuedAtMillis(before)));
+		assertFalse(restarted.isRevoked(after.getId(), after.getSubject(), JwtService.issuedAtMillis(after)));
+	}
+
+	@Test
+	void revocationsInSecondsAreReadUpToTheEndOfTheirSecond() throws IOException {
+		JwtProperties properties = properties();
+		long now = System.currentTimeMillis() / 1000;
+		Files.writeString(directory.resolve("deny-list.log"), "S legacy@test.com " + now + " " + (now + 3600) + "\n");
+
+		TokenDenyList denyList = new TokenDenyList(properties);
+		denyList.open();
+		assertTrue(denyList.isRevoked(null, "legacy@test.com", now * 1000 + 999));
+		assertFalse(denyList.isRevoked(null, "legacy@test.com", now * 1000 + 1000));
+	}
+
+	private JwtProperties properties() {
+		JwtProperties properties = new JwtProperties();
+		properties.setExpiration(86_400_000);
+		properties.setDenyListFile(directory.resolve("deny-list.log").toString());
+		return properties;
+	}
+}
@@ -0,0 +1,103 @@
+package com.openclassrooms.mddapi.archive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs partitioning.sql and the partition maintenance against MySQL 8, on a
+ * schema whose foreign keys have Hibernate-style names.
+ * Only runs when MDD_MYSQL_URL points to a scratch database, whose users,
+ * topics, posts and comments tables are dropped and recreated:
+ * MDD_MYSQL_URL=jdbc:mysql://localhost:3306/mdd_test MDD_MYSQL_USER=... MDD_MYSQL_PASSWORD=... mvn test
+ */
+@EnabledIfEnvironmentVariable(named = "MDD_MYSQL_URL", matches = ".+")
+class PartitionMaintenanceMySqlTests {
+
+	private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void createSchema() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(System.getenv("MDD_MYSQL_URL"),
+				System.getenv("MDD_MYSQL_USER"), System.getenv("MDD_MYSQL_PASSWORD"));
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("drop table if exists comments, posts, topics, users");
+		jdbcTemplate.execute("create table users (id int primary key auto_increment, username varchar(100))");
+		jdbcTemplate.execute("create table topics (id int primary key auto_increment, title varchar(100))");
+		jdbcTemplate.execute("create table posts (id int primary key auto_increment, user_id int not null, "
+				+ "topic_id int not null, title varchar(255), published_at datetime(6), "
+				+ "constraint FKk6w5s4oy6n1yhhpgw8bwbmfjj foreign key (user_id) references users (id), "
+				+ "constraint FK1ykd8yp4hmkfnkwq1bs2ve8gx foreign key (topic_id) references topics (id))");
+		jdbcTemplate.execute("create table comments (id int primary key auto_increment, post_id int not null, "
+				+ "user_id int not null, content text, commented_at datetime(6), "
+				+ "constraint FKh4c7lvsc298whoyd4w9ta25cr foreign key (post_id) references posts (id), "
+				+ "constraint FK8omq0tc18jd43bu5tjh6jvraq foreign key (user_id) references users (id))");
+		jdbcTemplate.update("insert into users (username) values ('auteur')");
+		jdbcTemplate.update("insert into topics (title) values ('Java')");
+	}
+
+	@Test
+	void partitionsByMonthThenDropsTheArchivedMonths() {
+		LocalDateTime old = LocalDate.now().withDayOfMonth(1).minusMonths(14).atTime(12, 0);
+		jdbcTemplate.update("insert into posts (user_id, topic_id, title, published_at) values (1, 1, 'Ancien', ?)",
+				old);
+		jdbcTemplate.update("insert into posts (user_id, topic_id, title, published_at) values (1, 1, 'Récent', ?)",
+				LocalDateTime.now());
+		jdbcTemplate.update("insert into comments (post_id, user_id, content, commented_at) values (1, 1, 'x', ?)",
+				old.plusDays(1));
+
+		new ResourceDatabasePopulator(new ClassPathResource("partitioning.sql")).execute(
+				jdbcTemplate.getDataSource());
+
+		String oldMonth = PARTITION_NAME.format(old);
+		List<String> posts = partitions("posts");
+		assertEquals(oldMonth, posts.get(0));
+		assertEquals("p_future", posts.get(posts.size() - 1));
+		assertEquals(14 + 3 + 2, posts.size());
+		assertEquals(0, jdbcTemplate.queryForObject("select count(*) from information_schema.referential_constraints "
+				+ "where constraint_schema = database() and table_name in ('posts', 'comments')", Integer.class));
+		assertEquals(1, jdbcTemplate.queryForObject(
+				"select count(*) from posts partition (" + oldMonth + ")", Integer.class));
+
+		// The archiver emptied the old month
+		jdbcTemplate.update("delete from comments where post_id = 1");
+		jdbcTemplate.update("delete from posts where id = 1");
+		ArchiveProperties properties = new ArchiveProperties();
+		properties.setPartitionsAhead(5);
+		PartitionMaintenance maintenance = new PartitionMaintenance(properties, jdbcTemplate);
+		maintenance.maintain(properties.cutoff(LocalDate.now()));
+
+		posts = partitions("posts");
+		assertFalse(posts.contains(oldMonth));
+		assertTrue(posts.contains(PARTITION_NAME.format(YearMonth.now().plusMonths(5).atDay(1))));
+		assertEquals("p_future", posts.get(posts.size() - 1));
+		assertFalse(partitions("comments").contains(PARTITION_NAME.format(old.plusDays(1))));
+		assertEquals(1, jdbcTemplate.queryForObject("select count(*) from posts", Integer.class));
+
+		// Nothing left to do
+		maintenance.maintain(properties.cutoff(LocalDate.now()));
+		assertEquals(posts, partitions("posts"));
+	}
+
+	private List<String> partitions(String table) {
+		return jdbcTemplate.queryForList("select partition_name from information_schema.partitions "
+				+ "where table_schema = database() and table_name = ? order by partition_ordinal_position",
+				String.class, table);
+	}
+}
@@ -0,0 +1,33 @@
+package com.openclassrooms.mddapi.archive;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the partition statements and the reading of the partition bounds
+ * listed by MySQL. The statements themselves run against MySQL in
+ * {@link PartitionMaintenanceMySqlTests}.
+ */
+class PartitionMaintenanceTests {
+
+	@Test
+	void splitsTheFuturePartitionIntoMonths() {
+		assertEquals("alter table posts reorganize partition p_future into ("
+				+ "partition p202411 values less than ('2024-12-01 00:00:00'), "
+				+ "partition p202412 values less than ('2025-01-01 00:00:00'), "
+				+ "partition p202501 values less than ('2025-02-01 00:00:00'), "
+				+ "partition p_future values less than (maxvalue))",
+				PartitionMaintenance.reorganizeStatement("posts", YearMonth.of(2024, 11), YearMonth.of(2025, 1)));
+	}
+
+	@Test
+	void readsTheBoundsOfRangeColumnsPartitions() {
+		assertEquals(LocalDateTime.of(2024, 2, 1, 0, 0), PartitionMaintenance.upperBound("'2024-02-01 00:00:00'"));
+		assertEquals(LocalDateTime.of(2024, 2, 1, 0, 0),
+				PartitionMaintenance.upperBound("'2024-02-01 00:00:00.000000'"));
+	}
+}
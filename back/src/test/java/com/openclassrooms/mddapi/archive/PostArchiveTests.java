@@ -0,0 +1,147 @@
+package com.openclassrooms.mddapi.archive;
+
+import com.openclassrooms.mddapi.dto.common.CommentDto;
+import com.openclassrooms.mddapi.dto.common.PostDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that archived posts are read back by ID after a restart, that
+ * unfinished segments are discarded while complete ones left under their
+ * temporary name are recovered, and that the segments are compressed.
+ */
+class PostArchiveTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void archivedPostsAreReadAfterRestart() throws IOException {
+		PostArchive archive = open();
+		try (ArchiveSegment.Writer writer = archive.newSegment(YearMonth.of(2020, 1))) {
+			writer.append(archived(7, "Premier article", 2));
+			writer.append(archived(3, "Article sans commentaire", 0));
+			archive.publish(writer);
+		}
+		try (ArchiveSegment.Writer writer = archive.newSegment(YearMonth.of(2020, 1))) {
+			writer.append(archived(12, null, 1));
+			archive.publish(writer);
+		}
+		archive.close();
+
+		PostArchive restarted = open();
+		assertEquals(3, restarted.postCount());
+		ArchivedPost first = restarted.find(7).orElseThrow();
+		assertEquals("Premier article", first.post().getTitle());
+		assertEquals(LocalDateTime.of(2020, 1, 7, 10, 30, 0, 123_000_000), first.post().getPublishedAt());
+		assertEquals(List.of(701, 700), first.comments().stream().map(CommentDto::getId).toList());
+		assertEquals(7, first.comments().get(0).getPostId());
+		assertTrue(restarted.find(3).orElseThrow().comments().isEmpty());
+		assertNull(restarted.find(12).orElseThrow().post().getTitle());
+		assertFalse(restarted.contains(5));
+		assertTrue(restarted.find(5).isEmpty());
+		restarted.close();
+	}
+
+	@Test
+	void unfinishedSegmentsAreDiscarded() throws IOException {
+		PostArchive archive = open();
+		ArchiveSegment.Writer writer = archive.newSegment(YearMonth.of(2020, 2));
+		writer.append(archived(1, "Jamais publié", 1));
+		archive.close();
+
+		PostArchive restarted = open();
+		assertEquals(0, restarted.postCount());
+		try (var files = Files.list(directory)) {
+			assertEquals(0, files.count());
+		}
+		restarted.close();
+		writer.close();
+	}
+
+	@Test
+	void completeSegmentLeftUnderItsTemporaryNameIsRecovered() throws IOException {
+		PostArchive archive = open();
+		try (ArchiveSegment.Writer writer = archive.newSegment(YearMonth.of(2020, 4))) {
+			writer.append(archived(4, "Déplacement perdu", 1));
+			archive.publish(writer);
+		}
+		archive.close();
+		// A power loss after the sync of the file, before the move reached the disk
+		Path segment = directory.resolve("posts-2020-04-0001.seg");
+		Files.move(segment, directory.resolve("posts-2020-04-0001.seg.tmp"));
+
+		PostArchive restarted = open();
+		assertEquals("Déplacement perdu", restarted.find(4).orElseThrow().post().getTitle());
+		assertTrue(Files.exists(segment));
+		try (var files = Files.list(directory)) {
+			assertEquals(1, files.count());
+		}
+		restarted.close();
+	}
+
+	@Test
+	void segmentsAreCompressed() throws IOException {
+		PostArchive archive = open();
+		long raw = 0;
+		try (ArchiveSegment.Writer writer = archive.newSegment(YearMonth.of(2020, 3))) {
+			for (int id = 1; id <= 200; id++) {
+				ArchivedPost post = archived(id, "Article " + id, 5);
+				raw += post.post().getContent().length() + post.comments().stream()
+						.mapToInt(comment -> comment.getContent().length()).sum();
+				writer.append(post);
+			}
+			archive.publish(writer);
+		}
+		assertEquals(200, archive.postCount());
+		assertTrue(archive.sizeInBytes() < raw / 3, archive.sizeInBytes() + " bytes for " + raw + " characters");
+		archive.close();
+	}
+
+	private PostArchive open() throws IOException {
+		ArchiveProperties properties = new ArchiveProperties();
+		properties.setDirectory(directory.toString());
+		PostArchive archive = new PostArchive(properties, new SimpleMeterRegistry());
+		archive.open();
+		return archive;
+	}
+
+	private static ArchivedPost archived(int id, String title, int comments) {
+		PostDto post = new PostDto();
+		post.setId(id);
+		post.setUserId(1);
+		post.setUsername("auteur");
+		post.setTopicId(2);
+		post.setTopicTitle("Java");
+		post.setTitle(title);
+		post.setContent("Contenu de l'article " + id + ". ".repeat(20)
+				+ "Les articles anciens sont déplacés vers l'archive compressée. ".repeat(10));
+		post.setPublishedAt(LocalDateTime.of(2020, 1, 7, 10, 30, 0, 123_000_000));
+		List<CommentDto> list = new ArrayList<>();
+		for (int i = comments - 1; i >= 0; i--) {
+			CommentDto comment = new CommentDto();
+			comment.setId(id * 100 + i);
+			comment.setPostId(id);
+			comment.setUserId(3);
+			comment.setUsername("lecteur");
+			comment.setContent("Commentaire " + i + " sur l'article archivé, merci pour l'article. ".repeat(3));
+			comment.setCommentedAt(LocalDateTime.of(2020, 1, 8, 9, i));
+			list.add(comment);
+		}
+		return new ArchivedPost(post, list);
+	}
+}
@@ -0,0 +1,169 @@
+package com.openclassrooms.mddapi.archive;
+
+import com.openclassrooms.mddapi.Security.JwtAuthenticationDetails;
+import com.openclassrooms.mddapi.dto.common.CommentDto;
+import com.openclassrooms.mddapi.dto.common.PostDto;
+import com.openclassrooms.mddapi.dto.request.CommentRequest;
+import com.openclassrooms.mddapi.dto.request.RegisterRequest;
+import com.openclassrooms.mddapi.entity.Comment;
+import com.openclassrooms.mddapi.entity.Post;
+import com.openclassrooms.mddapi.entity.Topic;
+import com.openclassrooms.mddapi.entity.User;
+import com.openclassrooms.mddapi.exceptions.InvalidRequestException;
+import com.openclassrooms.mddapi.repository.CommentRepository;
+import com.openclassrooms.mddapi.repository.PostRepository;
+import com.openclassrooms.mddapi.repository.TopicRepository;
+import com.openclassrooms.mddapi.repository.UserRepository;
+import com.openclassrooms.mddapi.services.CommentService;
+import com.openclassrooms.mddapi.services.PostService;
+import com.openclassrooms.mddapi.services.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the posts older than the hot months move to the archive with
+ * their comments, are still served from it, and no longer accept comments.
+ */
+@SpringBootTest(properties = {
+		"archive.enabled=true",
+		"archive.hot-months=1",
+		"archive.batch-size=2",
+		"spring.datasource.url=jdbc:h2:mem:mdd-archive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+@ActiveProfiles("bench")
+class PostArchiverTests {
+
+	@Autowired
+	private PostArchiver postArchiver;
+
+	@Autowired
+	private PostService postService;
+
+	@Autowired
+	private CommentService commentService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TopicRepository topicRepository;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@AfterEach
+	void clearSecurityContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void oldPostsAreServedFromTheArchive() {
+		User author = register("archive-author@test.com", "archive-author");
+		Topic topic = topic("Archives");
+		LocalDateTime old = LocalDateTime.now().minusMonths(6);
+		Post first = post(author, topic, "Ancien article", old);
+		Post second = post(author, topic, "Autre ancien article", old.plusMinutes(1));
+		Post third = post(author, topic, "Article plus ancien", old.minusMonths(2));
+		Post recent = post(author, topic, "Article récent", LocalDateTime.now());
+		comment(author, first, "Premier commentaire", old.plusHours(1));
+		comment(author, first, "Second commentaire", old.plusHours(2));
+		comment(author, recent, "Commentaire récent", LocalDateTime.now());
+
+		assertEquals(3, postArchiver.run());
+		assertEquals(0, postArchiver.run());
+
+		for (Post post : List.of(first, second, third)) {
+			assertFalse(postRepository.existsById(post.getId()));
+		}
+		assertTrue(commentRepository.findByPostIdOrderByCommentedAtDesc(first.getId()).isEmpty());
+
+		PostDto archived = postService.getPostById(first.getId());
+		assertEquals("Ancien article", archived.getTitle());
+		assertEquals("archive-author", archived.getUsername());
+		assertEquals("Archives", archived.getTopicTitle());
+		assertEquals(List.of("Second commentaire", "Premier commentaire"),
+				commentService.getPostComments(first.getId()).stream().map(CommentDto::getContent).toList());
+		assertTrue(commentService.getPostComments(second.getId()).isEmpty());
+		assertEquals(List.of(third.getId(), recent.getId()), postService
+				.getPostsByIds(List.of(third.getId(), recent.getId())).getPosts().stream().map(PostDto::getId)
+				.toList());
+
+		assertEquals("Article récent", postService.getPostById(recent.getId()).getTitle());
+		assertEquals(1, commentService.getPostComments(recent.getId()).size());
+
+		authenticate(author);
+		assertThrows(InvalidRequestException.class, () -> commentService.createComment(request(first)));
+		Post closed = post(author, topic, "Article à archiver", old);
+		assertThrows(InvalidRequestException.class, () -> commentService.createComment(request(closed)));
+		assertEquals("Commentaire", commentService.createComment(request(recent)).getContent());
+	}
+
+	private User register(String email, String username) {
+		RegisterRequest request = new RegisterRequest();
+		request.setEmail(email);
+		request.setUsername(username);
+		request.setPassword("Passw0rd!");
+		userService.register(request);
+		return userRepository.findByEmail(email).orElseThrow();
+	}
+
+	private Topic topic(String title) {
+		Topic topic = new Topic();
+		topic.setTitle(title);
+		topic.setContent("Description de " + title);
+		topic.setCreatedAt(LocalDateTime.now());
+		return topicRepository.save(topic);
+	}
+
+	private Post post(User author, Topic topic, String title, LocalDateTime publishedAt) {
+		Post post = new Post();
+		post.setUser(author);
+		post.setTopic(topic);
+		post.setTitle(title);
+		post.setContent("Contenu de " + title);
+		post.setPublishedAt(publishedAt);
+		return postRepository.save(post);
+	}
+
+	private void comment(User author, Post post, String content, LocalDateTime commentedAt) {
+		Comment comment = new Comment();
+		comment.setUser(author);
+		comment.setPost(post);
+		comment.setContent(content);
+		comment.setCommentedAt(commentedAt);
+		commentRepository.save(comment);
+	}
+
+	private static CommentRequest request(Post post) {
+		CommentRequest request = new CommentRequest();
+		request.setPostId(post.getId());
+		request.setContent("Commentaire");
+		return request;
+	}
+
+	private static void authenticate(User user) {
+		UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(user, null,
+				user.getAuthorities());
+		authentication.setDetails(new JwtAuthenticationDetails(new MockHttpServletRequest(), user.getId()));
+		SecurityContextHolder.getContext().setAuthentication(authentication);
+	}
+}
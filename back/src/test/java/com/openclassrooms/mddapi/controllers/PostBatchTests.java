@@ -0,0 +1,166 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.openclassrooms.mddapi.archive.PostArchiver;
+import com.openclassrooms.mddapi.entity.Post;
+import com.openclassrooms.mddapi.entity.Topic;
+import com.openclassrooms.mddapi.entity.User;
+import com.openclassrooms.mddapi.exceptions.GlobalExceptionHandler;
+import com.openclassrooms.mddapi.repository.PostRepository;
+import com.openclassrooms.mddapi.repository.TopicRepository;
+import com.openclassrooms.mddapi.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the batch loading of posts by identifier, through the GET and the
+ * POST variants: the requested order, duplicates, missing identifiers, the
+ * archive fallback, and the bounds on the number of identifiers.
+ */
+@SpringBootTest(properties = {
+		"archive.enabled=true",
+		"archive.hot-months=1",
+		"spring.datasource.url=jdbc:h2:mem:mdd-post-batch;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+@ActiveProfiles("bench")
+class PostBatchTests {
+
+	private static final int UNKNOWN_ID = 999_999;
+
+	@Autowired
+	private PostController postController;
+
+	@Autowired
+	private PostArchiver postArchiver;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TopicRepository topicRepository;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	private MockMvc mockMvc;
+	private User author;
+	private Topic topic;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.standaloneSetup(postController)
+				.setControllerAdvice(new GlobalExceptionHandler())
+				.build();
+		author = userRepository.findByEmail("batch@test.com").orElseGet(() -> {
+			User user = new User();
+			user.setEmail("batch@test.com");
+			user.setUsername("batch");
+			user.setPassword("Passw0rd!");
+			return userRepository.save(user);
+		});
+		topic = topicRepository.findAll().stream().findFirst().orElseGet(() -> {
+			Topic created = new Topic();
+			created.setTitle("Lots");
+			created.setContent("Description de Lots");
+			created.setCreatedAt(LocalDateTime.now());
+			return topicRepository.save(created);
+		});
+	}
+
+	@Test
+	void postsComeInTheRequestedOrderOnceEach() throws Exception {
+		Post first = save("Premier", LocalDateTime.now());
+		Post second = save("Deuxième", LocalDateTime.now());
+		Post third = save("Troisième", LocalDateTime.now());
+		String ids = third.getId() + "," + first.getId() + "," + third.getId() + "," + second.getId();
+
+		for (RequestBuilder request : new RequestBuilder[] { getIds(ids), postIds(ids) }) {
+			mockMvc.perform(request)
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.posts[*].id").value(contains(third.getId(), first.getId(), second.getId())))
+					.andExpect(jsonPath("$.posts[1].title").value("Premier"))
+					.andExpect(jsonPath("$.posts[1].username").value("batch"))
+					.andExpect(jsonPath("$.posts[1].topicTitle").value(topic.getTitle()))
+					.andExpect(jsonPath("$.missingIds", hasSize(0)));
+		}
+	}
+
+	@Test
+	void missingIdsAreReportedAndArchivedPostsServed() throws Exception {
+		Post archived = save("Archivé", LocalDateTime.now().minusMonths(6));
+		Post recent = save("Récent", LocalDateTime.now());
+		postArchiver.run();
+		String ids = UNKNOWN_ID + "," + archived.getId() + "," + recent.getId() + "," + (UNKNOWN_ID + 1) + ","
+				+ UNKNOWN_ID;
+
+		for (RequestBuilder request : new RequestBuilder[] { getIds(ids), postIds(ids) }) {
+			mockMvc.perform(request)
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.posts[*].id").value(contains(archived.getId(), recent.getId())))
+					.andExpect(jsonPath("$.posts[0].title").value("Archivé"))
+					.andExpect(jsonPath("$.posts[0].username").value("batch"))
+					.andExpect(jsonPath("$.missingIds").value(contains(UNKNOWN_ID, UNKNOWN_ID + 1)));
+		}
+	}
+
+	@Test
+	void emptyAndTooLongListsAreRejected() throws Exception {
+		mockMvc.perform(get("/api/posts").param("ids", ""))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("Au moins un identifiant d'article est requis"));
+		mockMvc.perform(post("/api/posts/batch").contentType(MediaType.APPLICATION_JSON).content("{\"ids\":[]}"))
+				.andExpect(status().isBadRequest());
+
+		String tooMany = IntStream.rangeClosed(1, 101).mapToObj(Integer::toString).collect(Collectors.joining(","));
+		for (RequestBuilder request : new RequestBuilder[] { getIds(tooMany), postIds(tooMany) }) {
+			mockMvc.perform(request)
+					.andExpect(status().isBadRequest())
+					.andExpect(jsonPath("$.status").value(400));
+		}
+
+		String maximum = IntStream.rangeClosed(UNKNOWN_ID, UNKNOWN_ID + 99).mapToObj(Integer::toString)
+				.collect(Collectors.joining(","));
+		for (RequestBuilder request : new RequestBuilder[] { getIds(maximum), postIds(maximum) }) {
+			mockMvc.perform(request)
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.posts", hasSize(0)))
+					.andExpect(jsonPath("$.missingIds", hasSize(100)));
+		}
+	}
+
+	private static RequestBuilder getIds(String ids) {
+		return get("/api/posts").param("ids", ids);
+	}
+
+	private static RequestBuilder postIds(String ids) {
+		return post("/api/posts/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"ids\":[" + ids + "]}");
+	}
+
+	private Post save(String title, LocalDateTime publishedAt) {
+		Post post = new Post();
+		post.setUser(author);
+		post.setTopic(topic);
+		post.setTitle(title);
+		post.setContent("Contenu de " + title);
+		post.setPublishedAt(publishedAt);
+		return postRepository.save(post);
+	}
+}
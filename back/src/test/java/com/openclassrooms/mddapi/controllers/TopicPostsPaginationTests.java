@@ -0,0 +1,160 @@
+package com.openclassrooms.mddapi.controllers;
+
+import com.openclassrooms.mddapi.entity.Post;
+import com.openclassrooms.mddapi.entity.Topic;
+import com.openclassrooms.mddapi.entity.User;
+import com.openclassrooms.mddapi.exceptions.GlobalExceptionHandler;
+import com.openclassrooms.mddapi.repository.PostRepository;
+import com.openclassrooms.mddapi.repository.TopicRepository;
+import com.openclassrooms.mddapi.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the keyset pagination of the posts of a topic: the first page, the
+ * following ones from a cursor, posts sharing a publication date, unknown
+ * and empty topics, and the cap on the page size.
+ */
+@SpringBootTest(properties =
+		"spring.datasource.url=jdbc:h2:mem:mdd-topic-posts;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("bench")
+class TopicPostsPaginationTests {
+
+	private static final LocalDateTime NOON = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+	@Autowired
+	private TopicController topicController;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TopicRepository topicRepository;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	private MockMvc mockMvc;
+	private User author;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.standaloneSetup(topicController)
+				.setControllerAdvice(new GlobalExceptionHandler())
+				.build();
+		author = userRepository.findByEmail("pages@test.com").orElseGet(() -> {
+			User user = new User();
+			user.setEmail("pages@test.com");
+			user.setUsername("pages");
+			user.setPassword("Passw0rd!");
+			return userRepository.save(user);
+		});
+	}
+
+	@Test
+	void pagesFollowTheCursorAcrossEqualPublicationDates() throws Exception {
+		Topic topic = topic("Pages");
+		Post oldest = post(topic, NOON.minusHours(4));
+		Post older = post(topic, NOON.minusHours(3));
+		Post tiedFirst = post(topic, NOON.minusHours(2));
+		Post tiedSecond = post(topic, NOON.minusHours(2));
+		Post newest = post(topic, NOON.minusHours(1));
+		post(topic("Autre thème"), NOON);
+
+		// Most recent first, the higher ID first among equal dates
+		mockMvc.perform(get("/api/topics/{topicId}/posts", topic.getId()).param("limit", "3"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].id").value(contains(newest.getId(), tiedSecond.getId(), tiedFirst.getId())))
+				.andExpect(jsonPath("$[0].topicTitle").value("Pages"))
+				.andExpect(jsonPath("$[0].username").value("pages"));
+
+		mockMvc.perform(page(topic, tiedFirst, "3"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].id").value(contains(older.getId(), oldest.getId())));
+
+		// A cursor between two posts of the same date
+		mockMvc.perform(page(topic, tiedSecond, "3"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].id").value(contains(tiedFirst.getId(), older.getId(), oldest.getId())));
+
+		mockMvc.perform(page(topic, oldest, "3"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(0)));
+	}
+
+	@Test
+	void unknownTopicIsNotFoundAndEmptyTopicHasNoPosts() throws Exception {
+		mockMvc.perform(get("/api/topics/{topicId}/posts", 999_999))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.status").value(404))
+				.andExpect(jsonPath("$.message").value("thème non trouvé avec l'ID : 999999"));
+		mockMvc.perform(get("/api/topics/{topicId}/posts", 999_999)
+				.param("beforePublishedAt", NOON.toString())
+				.param("beforeId", "10"))
+				.andExpect(status().isNotFound());
+
+		Topic empty = topic("Vide");
+		mockMvc.perform(get("/api/topics/{topicId}/posts", empty.getId()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(0)));
+	}
+
+	@Test
+	void pageSizeIsCapped() throws Exception {
+		Topic topic = topic("Nombreux");
+		List<Post> posts = new ArrayList<>();
+		for (int i = 0; i < 60; i++) {
+			posts.add(post(topic, NOON.minusMinutes(i)));
+		}
+
+		mockMvc.perform(get("/api/topics/{topicId}/posts", topic.getId()).param("limit", "1000"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(50)))
+				.andExpect(jsonPath("$[49].id").value(posts.get(49).getId()));
+		mockMvc.perform(get("/api/topics/{topicId}/posts", topic.getId()))
+				.andExpect(jsonPath("$", hasSize(20)));
+		mockMvc.perform(get("/api/topics/{topicId}/posts", topic.getId()).param("limit", "0"))
+				.andExpect(jsonPath("$", hasSize(1)));
+	}
+
+	private static RequestBuilder page(Topic topic, Post last, String limit) {
+		return get("/api/topics/{topicId}/posts", topic.getId())
+				.param("beforePublishedAt", last.getPublishedAt().toString())
+				.param("beforeId", last.getId().toString())
+				.param("limit", limit);
+	}
+
+	private Topic topic(String title) {
+		Topic topic = new Topic();
+		topic.setTitle(title);
+		topic.setContent("Description de " + title);
+		topic.setCreatedAt(NOON);
+		return topicRepository.save(topic);
+	}
+
+	private Post post(Topic topic, LocalDateTime publishedAt) {
+		Post post = new Post();
+		post.setUser(author);
+		post.setTopic(topic);
+		post.setTitle("Article du " + publishedAt);
+		post.setContent("Contenu");
+		post.setPublishedAt(publishedAt);
+		return postRepository.save(post);
+	}
+}
@@ -0,0 +1,70 @@
+package com.openclassrooms.mddapi.datagen;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the rows are inserted in full batches followed by the rest,
+ * and that the batches of wide tables stay under the parameter limit.
+ */
+class JdbcBatchSinkTests {
+
+	@Test
+	void batchesStayUnderTheParameterLimit() {
+		List<Integer> statementParameters = new ArrayList<>();
+		JdbcTemplate jdbcTemplate = recording("batchsink", statementParameters);
+		jdbcTemplate.execute("CREATE TABLE wide (a INT, b INT, c INT, d INT, e INT, f INT, g INT)");
+
+		JdbcBatchSink sink = new JdbcBatchSink(jdbcTemplate, 20_000);
+		sink.begin("wide", "a", "b", "c", "d", "e", "f", "g");
+		for (int i = 0; i < 20_000; i++) {
+			sink.row(i, i, i, i, i, i, i);
+		}
+		sink.end();
+		sink.close();
+
+		// 65535 / 7 columns: 9362 rows per statement
+		assertEquals(List.of(9_362 * 7, 9_362 * 7, 1_276 * 7), statementParameters);
+		assertEquals(20_000, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wide", Integer.class));
+	}
+
+	@Test
+	void narrowTablesUseTheConfiguredBatchSize() {
+		List<Integer> statementParameters = new ArrayList<>();
+		JdbcTemplate jdbcTemplate = recording("batchsink-narrow", statementParameters);
+		jdbcTemplate.execute("CREATE TABLE narrow (a INT, b VARCHAR(10))");
+
+		JdbcBatchSink sink = new JdbcBatchSink(jdbcTemplate, 4);
+		sink.begin("narrow", "a", "b");
+		for (int i = 0; i < 10; i++) {
+			sink.row(i, "row" + i);
+		}
+		sink.end();
+
+		assertEquals(List.of(8, 8, 4), statementParameters);
+		assertEquals(List.of("row0", "row9"), jdbcTemplate.queryForList(
+				"SELECT b FROM narrow WHERE a IN (0, 9) ORDER BY a", String.class));
+	}
+
+	/**
+	 * Template on an in-memory database recording the number of parameters of
+	 * each update.
+	 */
+	private static JdbcTemplate recording(String database, List<Integer> statementParameters) {
+		JdbcDataSource h2 = new JdbcDataSource();
+		h2.setURL("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+		return new JdbcTemplate(h2) {
+			@Override
+			public int update(String sql, Object... args) {
+				statementParameters.add(args.length);
+				return super.update(sql, args);
+			}
+		};
+	}
+}
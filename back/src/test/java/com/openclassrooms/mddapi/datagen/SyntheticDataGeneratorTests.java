@@ -0,0 +1,81 @@
+package com.openclassrooms.mddapi.datagen;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a seed always generates the same dataset, with the configured
+ * row counts and identifiers following the existing rows.
+ */
+class SyntheticDataGeneratorTests {
+
+	private static final List<String> TABLES = List.of("users", "topics", "subscriptions", "posts", "comments");
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void sameSeedGeneratesTheSameDataset() throws IOException {
+		JdbcTemplate jdbcTemplate = database();
+		generate(jdbcTemplate, 42, directory.resolve("first"));
+		generate(jdbcTemplate, 42, directory.resolve("second"));
+		generate(jdbcTemplate, 43, directory.resolve("other"));
+
+		for (String table : TABLES) {
+			assertEquals(Files.readString(directory.resolve("first").resolve(table + ".tsv")),
+					Files.readString(directory.resolve("second").resolve(table + ".tsv")), table);
+		}
+		assertNotEquals(Files.readString(directory.resolve("first").resolve("posts.tsv")),
+				Files.readString(directory.resolve("other").resolve("posts.tsv")));
+
+		assertEquals(50, lines(directory.resolve("first"), "users").size());
+		assertEquals(10, lines(directory.resolve("first"), "topics").size());
+		assertEquals(200, lines(directory.resolve("first"), "posts").size());
+		assertEquals(500, lines(directory.resolve("first"), "comments").size());
+		// Identifiers continue after the seed rows
+		assertTrue(lines(directory.resolve("first"), "users").get(0).startsWith("4\t"));
+	}
+
+	private static JdbcTemplate database() {
+		JdbcDataSource h2 = new JdbcDataSource();
+		h2.setURL("jdbc:h2:mem:datagen;DB_CLOSE_DELAY=-1");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(h2);
+		for (String table : List.of("users", "topics", "posts", "comments")) {
+			jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " (id INT PRIMARY KEY)");
+		}
+		jdbcTemplate.execute("MERGE INTO users VALUES (1), (3)");
+		return jdbcTemplate;
+	}
+
+	@SuppressWarnings("deprecation")
+	private static void generate(JdbcTemplate jdbcTemplate, long seed, Path output) throws IOException {
+		DataGeneratorProperties properties = new DataGeneratorProperties();
+		properties.setSeed(seed);
+		properties.setUsers(50);
+		properties.setTopics(10);
+		properties.setPosts(200);
+		properties.setComments(500);
+		properties.setMaxSubscriptionsPerUser(5);
+		properties.setHistoryDays(30);
+		properties.setEndTime(LocalDateTime.of(2024, 6, 1, 0, 0));
+		properties.setOutputDir(output.toString());
+		new SyntheticDataGenerator(properties, jdbcTemplate, NoOpPasswordEncoder.getInstance()).run();
+	}
+
+	private static List<String> lines(Path output, String table) throws IOException {
+		return Files.readAllLines(output.resolve(table + ".tsv"));
+	}
+}
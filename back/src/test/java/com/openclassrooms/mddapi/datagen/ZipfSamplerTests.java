@@ -0,0 +1,70 @@
+package com.openclassrooms.mddapi.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the ranks drawn follow the Zipf probabilities, stay within
+ * bounds, and repeat for a given seed.
+ */
+class ZipfSamplerTests {
+
+	@Test
+	void ranksFollowTheZipfProbabilities() {
+		int elements = 50;
+		double exponent = 1.1;
+		int samples = 400_000;
+		ZipfSampler sampler = new ZipfSampler(elements, exponent);
+		SplittableRandom random = new SplittableRandom(7);
+		long[] counts = new long[elements + 1];
+		for (int i = 0; i < samples; i++) {
+			int rank = sampler.sample(random);
+			assertTrue(rank >= 1 && rank <= elements, "rank " + rank);
+			counts[rank]++;
+		}
+
+		double normalization = 0;
+		for (int rank = 1; rank <= elements; rank++) {
+			normalization += Math.pow(rank, -exponent);
+		}
+		for (int rank : new int[] { 1, 2, 5, 10, 50 }) {
+			double expected = samples * Math.pow(rank, -exponent) / normalization;
+			assertEquals(expected, counts[rank], expected * 0.05, "rank " + rank);
+		}
+	}
+
+	@Test
+	void sameSeedDrawsTheSameRanks() {
+		ZipfSampler sampler = new ZipfSampler(1_000_000, 1.1);
+		assertArrayEquals(draw(sampler, 42), draw(sampler, 42));
+		assertFalse(Arrays.equals(draw(sampler, 42), draw(sampler, 43)));
+	}
+
+	@Test
+	void singleElementAndInvalidParameters() {
+		SplittableRandom random = new SplittableRandom(1);
+		ZipfSampler sampler = new ZipfSampler(1, 2);
+		for (int i = 0; i < 100; i++) {
+			assertEquals(1, sampler.sample(random));
+		}
+		assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1.1));
+		assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(10, 0));
+	}
+
+	private static int[] draw(ZipfSampler sampler, long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		int[] ranks = new int[1_000];
+		for (int i = 0; i < ranks.length; i++) {
+			ranks[i] = sampler.sample(random);
+		}
+		return ranks;
+	}
+}
@@ -0,0 +1,86 @@
+package com.openclassrooms.mddapi.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the routing between two embedded databases standing in for the
+ * primary and a replica, each holding a marker row naming it.
+ */
+class ReplicaRoutingDataSourceTests {
+
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readOnly;
+	private TransactionTemplate readWrite;
+
+	@BeforeEach
+	void setUp() {
+		DataSource primary = database("primary");
+		DataSource replica = database("replica");
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica),
+				new ReadYourWritesTracker(60));
+		routing.afterPropertiesSet();
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+	}
+
+	@AfterEach
+	void clearSecurityContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readOnlyTransactionsGoToTheReplica() {
+		assertEquals("replica", readOnly.execute(status -> marker()));
+		assertEquals("primary", readWrite.execute(status -> marker()));
+		assertEquals("primary", marker());
+	}
+
+	@Test
+	void readsStickToThePrimaryAfterAWrite() {
+		authenticate("writer@test.com");
+		assertEquals("replica", readOnly.execute(status -> marker()));
+		readWrite.executeWithoutResult(status -> marker());
+		assertEquals("primary", readOnly.execute(status -> marker()));
+
+		authenticate("reader@test.com");
+		assertEquals("replica", readOnly.execute(status -> marker()));
+	}
+
+	private String marker() {
+		return jdbcTemplate.queryForObject("select name from marker", String.class);
+	}
+
+	private static void authenticate(String email) {
+		SecurityContextHolder.getContext()
+				.setAuthentication(new UsernamePasswordAuthenticationToken(email, null, List.of()));
+	}
+
+	private static DataSource database(String name) {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("create table if not exists marker (name varchar(20))");
+		jdbcTemplate.execute("delete from marker");
+		jdbcTemplate.update("insert into marker values (?)", name);
+		return dataSource;
+	}
+}
@@ -0,0 +1,182 @@
+package com.openclassrooms.mddapi.digest;
+
+import com.openclassrooms.mddapi.entity.DigestRun;
+import com.openclassrooms.mddapi.entity.Post;
+import com.openclassrooms.mddapi.entity.Topic;
+import com.openclassrooms.mddapi.entity.User;
+import com.openclassrooms.mddapi.repository.DigestRunRepository;
+import com.openclassrooms.mddapi.repository.PostRepository;
+import com.openclassrooms.mddapi.repository.TopicRepository;
+import com.openclassrooms.mddapi.repository.UserRepository;
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that an interrupted run resumes after its last completed chunk,
+ * writing each digest once, and that a run covers the posts by publication
+ * date, so that a post with a lower ID published later is not skipped.
+ */
+@SpringBootTest(properties = {
+		"digest.enabled=false",
+		"digest.chunk-size=2",
+		"digest.grace-seconds=60",
+		"spring.datasource.url=jdbc:h2:mem:mdd-digest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+@ActiveProfiles("bench")
+class DigestJobTests {
+
+	private static volatile Integer failingUserId;
+
+	@Autowired
+	private DigestJob digestJob;
+
+	@Autowired
+	private DigestProperties properties;
+
+	@Autowired
+	private DigestRunRepository digestRunRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TopicRepository topicRepository;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void clear() {
+		jdbcTemplate.execute("DROP TRIGGER IF EXISTS fail_digest_mailbox");
+		failingUserId = null;
+		properties.setGraceSeconds(60);
+		jdbcTemplate.update("DELETE FROM digest_mailbox");
+		digestRunRepository.deleteAll();
+		postRepository.deleteAll();
+	}
+
+	@Test
+	void interruptedRunResumesAfterItsLastChunk() {
+		List<User> users = users("resume", 5);
+		Topic topic = topic("Reprise", users);
+		post(users.get(0), topic, "Article du jour", LocalDateTime.now().minusMinutes(10));
+
+		// The sink fails on the chunk of the third user, as a crash would stop the run
+		failingUserId = users.get(2).getId();
+		jdbcTemplate.execute("CREATE TRIGGER fail_digest_mailbox BEFORE INSERT ON digest_mailbox FOR EACH ROW CALL \""
+				+ FailingInsert.class.getName() + "\"");
+		assertThrows(RuntimeException.class, digestJob::run);
+
+		DigestRun interrupted = digestRunRepository.findFirstByStatusOrderByIdDesc(DigestRun.Status.RUNNING)
+				.orElseThrow();
+		List<Integer> mailed = mailedUsers();
+		assertFalse(mailed.isEmpty());
+		assertFalse(mailed.contains(failingUserId));
+		assertEquals(users.subList(0, mailed.size()).stream().map(User::getId).toList(), mailed);
+		assertEquals(mailed.get(mailed.size() - 1), interrupted.getLastUserId());
+
+		jdbcTemplate.execute("DROP TRIGGER fail_digest_mailbox");
+		digestJob.run();
+
+		DigestRun completed = digestRunRepository.findById(interrupted.getId()).orElseThrow();
+		assertEquals(DigestRun.Status.COMPLETED, completed.getStatus());
+		assertEquals(5, completed.getDigestsWritten());
+		assertEquals(users.stream().map(User::getId).toList(), mailedUsers());
+		assertEquals(List.of(interrupted.getId()),
+				jdbcTemplate.queryForList("SELECT DISTINCT run_id FROM digest_mailbox", Long.class));
+	}
+
+	@Test
+	void postWithALowerIdPublishedLaterIsInTheNextRun() {
+		List<User> users = users("watermark", 1);
+		Topic topic = topic("Ordre de validation", users);
+		Post pending = post(users.get(0), topic, "Article en attente", LocalDateTime.now().minusSeconds(10));
+		Post committed = post(users.get(0), topic, "Article validé", LocalDateTime.now().minusMinutes(10));
+		assertTrue(pending.getId() < committed.getId());
+
+		digestJob.run();
+		List<String> first = bodies();
+		assertEquals(1, first.size());
+		assertTrue(first.get(0).contains("Article validé"), first.get(0));
+		assertFalse(first.get(0).contains("Article en attente"), first.get(0));
+
+		properties.setGraceSeconds(0);
+		digestJob.run();
+		List<String> second = bodies();
+		assertEquals(2, second.size());
+		assertTrue(second.get(1).contains("Article en attente"), second.get(1));
+		assertFalse(second.get(1).contains("Article validé"), second.get(1));
+	}
+
+	private List<Integer> mailedUsers() {
+		return jdbcTemplate.queryForList("SELECT user_id FROM digest_mailbox ORDER BY user_id", Integer.class);
+	}
+
+	private List<String> bodies() {
+		return jdbcTemplate.queryForList("SELECT body FROM digest_mailbox ORDER BY id", String.class);
+	}
+
+	private List<User> users(String prefix, int count) {
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			User user = new User();
+			user.setEmail(prefix + i + "@test.com");
+			user.setUsername(prefix + i);
+			user.setPassword("Passw0rd!");
+			users.add(userRepository.save(user));
+		}
+		return users;
+	}
+
+	private Topic topic(String title, List<User> subscribers) {
+		Topic topic = new Topic();
+		topic.setTitle(title);
+		topic.setContent("Description de " + title);
+		topic.setCreatedAt(LocalDateTime.now());
+		subscribers.forEach(topic::addSubscription);
+		return topicRepository.save(topic);
+	}
+
+	private Post post(User author, Topic topic, String title, LocalDateTime publishedAt) {
+		Post post = new Post();
+		post.setUser(author);
+		post.setTopic(topic);
+		post.setTitle(title);
+		post.setContent("Contenu de " + title);
+		post.setPublishedAt(publishedAt);
+		return postRepository.save(post);
+	}
+
+	/**
+	 * Trigger failing the insert of the digest of a given user, recognised as
+	 * the only INT column holding its ID.
+	 */
+	public static class FailingInsert implements Trigger {
+
+		@Override
+		public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+			if (Arrays.asList(newRow).contains(failingUserId)) {
+				throw new SQLException("Digest sink unavailable");
+			}
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.openclassrooms.mddapi.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the excerpts stored with the posts: short contents kept as they
+ * are, long ones cut at a word boundary, never in the middle of a surrogate
+ * pair, and never longer than {@link Post#EXCERPT_LENGTH}.
+ */
+class PostExcerptTests {
+
+	private static final String ELLIPSIS = "…";
+
+	@Test
+	void shortContentsAreKept() {
+		assertNull(Post.excerptOf(null));
+		assertEquals("", Post.excerptOf(""));
+		String exact = "a".repeat(Post.EXCERPT_LENGTH);
+		assertEquals(exact, Post.excerptOf(exact));
+	}
+
+	@Test
+	void longContentsAreCutAtAWordBoundary() {
+		String content = "mot ".repeat(100);
+		String excerpt = Post.excerptOf(content);
+
+		assertTrue(excerpt.length() <= Post.EXCERPT_LENGTH, excerpt.length() + " characters");
+		assertTrue(excerpt.endsWith("mot" + ELLIPSIS), excerpt);
+		assertEquals(content.substring(0, excerpt.length() - 1), excerpt.substring(0, excerpt.length() - 1));
+
+		// Trailing spaces before the cut are not kept
+		String spaced = "a".repeat(150) + "     " + "b".repeat(100);
+		assertEquals("a".repeat(150) + ELLIPSIS, Post.excerptOf(spaced));
+	}
+
+	@Test
+	void wordsTooLongAreCutAtTheLimit() {
+		// The only space is in the first half: cutting there would lose too much
+		String content = "a".repeat(50) + " " + "b".repeat(300);
+		String excerpt = Post.excerptOf(content);
+
+		assertEquals(Post.EXCERPT_LENGTH, excerpt.length());
+		assertEquals(content.substring(0, Post.EXCERPT_LENGTH - 1) + ELLIPSIS, excerpt);
+	}
+
+	@Test
+	void surrogatePairsAreNeverSplit() {
+		String emoji = "😀";
+		// The pair straddles the cut: it is dropped whole
+		String content = "a".repeat(Post.EXCERPT_LENGTH - 2) + emoji + "a".repeat(50);
+		String excerpt = Post.excerptOf(content);
+
+		assertEquals("a".repeat(Post.EXCERPT_LENGTH - 2) + ELLIPSIS, excerpt);
+		assertFalse(Character.isHighSurrogate(excerpt.charAt(excerpt.length() - 2)));
+
+		for (int offset = 0; offset < 4; offset++) {
+			String shifted = "a".repeat(Post.EXCERPT_LENGTH - 4 + offset) + emoji.repeat(10);
+			String cut = Post.excerptOf(shifted);
+			assertTrue(cut.length() <= Post.EXCERPT_LENGTH);
+			String body = cut.substring(0, cut.length() - 1);
+			assertFalse(Character.isHighSurrogate(body.charAt(body.length() - 1)), "offset " + offset);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.openclassrooms.mddapi.events;
+
+import com.openclassrooms.mddapi.repository.OutboxGapRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that an outbox row committed after the relay went past its
+ * identifier is still delivered.
+ */
+@SpringBootTest(properties = {
+		"outbox.gap-timeout-ms=200",
+		"outbox.poll-interval-ms=50",
+		"spring.datasource.url=jdbc:h2:mem:mdd-outbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1" })
+@ActiveProfiles("bench")
+@Import(OutboxRelayTests.RecorderConfiguration.class)
+class OutboxRelayTests {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private OutboxGapRepository gapRepository;
+
+	@Autowired
+	private RecordingConsumer recorder;
+
+	@Test
+	void rowCommittedAfterTheGapTimeoutIsDelivered() throws SQLException {
+		try (Connection slow = dataSource.getConnection(); Connection fast = dataSource.getConnection()) {
+			slow.setAutoCommit(false);
+			long slowId = insert(slow);
+			long fastId = insert(fast);
+			assertTrue(fastId > slowId);
+
+			awaitTrue(() -> recorder.ids.contains(fastId));
+			awaitTrue(() -> gapRepository.existsById(slowId));
+			assertFalse(recorder.ids.contains(slowId));
+
+			slow.commit();
+			awaitTrue(() -> recorder.ids.contains(slowId));
+			awaitTrue(() -> !gapRepository.existsById(slowId));
+			assertEquals(1, recorder.ids.stream().filter(id -> id == slowId).count());
+		}
+	}
+
+	/**
+	 * Inserts an event no application consumer acts on.
+	 */
+	private static long insert(Connection connection) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(
+				"insert into outbox_events (type, entity_id, topic_id, user_id, created_at) values (?, 1, 1, -1, ?)",
+				Statement.RETURN_GENERATED_KEYS)) {
+			statement.setString(1, EventType.TOPIC_UNSUBSCRIBED.name());
+			statement.setTimestamp(2, Timestamp.from(Instant.now()));
+			statement.executeUpdate();
+			try (ResultSet keys = statement.getGeneratedKeys()) {
+				keys.next();
+				return keys.getLong(1);
+			}
+		}
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "condition not met in time");
+			Thread.onSpinWait();
+		}
+	}
+
+	@TestConfiguration
+	static class RecorderConfiguration {
+
+		@Bean
+		RecordingConsumer recordingConsumer() {
+			return new RecordingConsumer();
+		}
+	}
+
+	static final class RecordingConsumer implements EventConsumer {
+
+		private final List<Long> ids = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String name() {
+			return "test-recorder";
+		}
+
+		@Override
+		public void accept(List<DomainEvent> events) {
+			events.forEach(event -> ids.add(event.id()));
+		}
+	}
+}
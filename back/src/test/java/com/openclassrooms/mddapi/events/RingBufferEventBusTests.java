@@ -0,0 +1,183 @@
+package com.openclassrooms.mddapi.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the delivery guarantees of the event bus: order, independent
+ * consumers, retries, dead letters and resumption after the stored positions.
+ */
+class RingBufferEventBusTests {
+
+	private final Map<String, Long> stored = new ConcurrentHashMap<>();
+	private final List<Long> parked = new CopyOnWriteArrayList<>();
+	private final AtomicInteger parkFailuresLeft = new AtomicInteger();
+	private RingBufferEventBus bus;
+
+	@AfterEach
+	void stopBus() {
+		if (bus != null) {
+			bus.stop(1000);
+		}
+	}
+
+	@Test
+	void deliversEveryEventInOrderToEachConsumer() throws InterruptedException {
+		RecordingConsumer fast = new RecordingConsumer("fast");
+		RecordingConsumer slow = new RecordingConsumer("slow");
+		CountDownLatch release = new CountDownLatch(1);
+		slow.gate = release;
+		bus = new RingBufferEventBus(8, 4, 3, 10, List.of(fast, slow), Map.of(), stored::put, this::park);
+		bus.start();
+
+		bus.publish(events(1, 6));
+		awaitTrue(() -> fast.ids.size() == 6);
+		// The blocked consumer does not hold the other one back
+		assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), fast.ids);
+		assertEquals(6L, stored.get("fast"));
+
+		release.countDown();
+		bus.publish(events(7, 40));
+		awaitTrue(() -> slow.ids.size() == 40 && fast.ids.size() == 40);
+		assertEquals(fast.ids, slow.ids);
+		assertEquals(40L, bus.minPosition());
+	}
+
+	@Test
+	void retriesAFailingBatchThenParksTheFailingEvent() {
+		RecordingConsumer consumer = new RecordingConsumer("flaky");
+		consumer.failuresLeft.set(2);
+		consumer.poison = 3L;
+		bus = new RingBufferEventBus(16, 8, 3, 1, List.of(consumer), Map.of(), stored::put, this::park);
+		bus.start();
+
+		bus.publish(events(1, 5));
+		awaitTrue(() -> Long.valueOf(5).equals(stored.get("flaky")));
+		assertEquals(List.of(1L, 2L, 4L, 5L), consumer.ids);
+		assertEquals(List.of(3L), parked);
+	}
+
+	@Test
+	void keepsTheBatchWhileTheFailingEventCannotBeParked() throws InterruptedException {
+		RecordingConsumer consumer = new RecordingConsumer("down");
+		consumer.poison = 2L;
+		parkFailuresLeft.set(Integer.MAX_VALUE);
+		bus = new RingBufferEventBus(16, 8, 2, 1, List.of(consumer), Map.of(), stored::put, this::park);
+		bus.start();
+
+		bus.publish(events(1, 3));
+		awaitTrue(() -> parkFailuresLeft.get() <= Integer.MAX_VALUE - 2);
+		// Nothing acknowledged while event 2 is neither handled nor parked
+		assertNull(stored.get("down"));
+		assertEquals(0, bus.minPosition());
+
+		parkFailuresLeft.set(0);
+		awaitTrue(() -> Long.valueOf(3).equals(stored.get("down")));
+		assertEquals(List.of(2L), parked);
+		assertTrue(consumer.ids.containsAll(List.of(1L, 3L)));
+		assertFalse(consumer.ids.contains(2L));
+	}
+
+	@Test
+	void deliversLateEventsBelowThePosition() {
+		RecordingConsumer consumer = new RecordingConsumer("late");
+		bus = new RingBufferEventBus(16, 8, 3, 1, List.of(consumer), Map.of(), stored::put, this::park);
+		bus.start();
+
+		bus.publish(events(1, 1));
+		bus.publish(events(3, 4));
+		awaitTrue(() -> Long.valueOf(4).equals(stored.get("late")));
+		bus.publishLate(events(2, 2));
+		long sequence = bus.publishedSequence();
+		awaitTrue(() -> bus.isDone(sequence));
+		assertEquals(List.of(1L, 3L, 4L, 2L), consumer.ids);
+		assertEquals(4L, stored.get("late"));
+	}
+
+	private void park(String consumer, DomainEvent event, RuntimeException error) {
+		if (parkFailuresLeft.getAndDecrement() > 0) {
+			throw new IllegalStateException("dead letter store unavailable");
+		}
+		parked.add(event.id());
+	}
+
+	@Test
+	void skipsTheEventsAtOrBelowTheStoredPosition() {
+		RecordingConsumer consumer = new RecordingConsumer("resumed");
+		bus = new RingBufferEventBus(16, 8, 3, 1, List.of(consumer), Map.of("resumed", 3L), stored::put, this::park);
+		bus.start();
+
+		bus.publish(events(2, 6));
+		awaitTrue(() -> consumer.ids.size() == 3);
+		assertEquals(List.of(4L, 5L, 6L), consumer.ids);
+	}
+
+	private static List<DomainEvent> events(long from, long to) {
+		List<DomainEvent> events = new ArrayList<>();
+		for (long id = from; id <= to; id++) {
+			events.add(new DomainEvent(id, EventType.POST_CREATED, (int) id, (int) id, 1, 1, Instant.now()));
+		}
+		return events;
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "condition not met in time");
+			Thread.onSpinWait();
+		}
+	}
+
+	private static final class RecordingConsumer implements EventConsumer {
+
+		private final String name;
+		private final List<Long> ids = new CopyOnWriteArrayList<>();
+		private final AtomicInteger failuresLeft = new AtomicInteger();
+		private volatile CountDownLatch gate;
+		private volatile Long poison;
+
+		private RecordingConsumer(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String name() {
+			return name;
+		}
+
+		@Override
+		public void accept(List<DomainEvent> events) {
+			if (gate != null) {
+				try {
+					gate.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException(e);
+				}
+			}
+			if (failuresLeft.getAndDecrement() > 0) {
+				throw new IllegalStateException("transient failure");
+			}
+			if (events.stream().anyMatch(event -> poison != null && event.id() == poison)) {
+				throw new IllegalStateException("poison event");
+			}
+			events.forEach(event -> ids.add(event.id()));
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package com.openclassrooms.mddapi.exceptions;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks the error bodies rendered from the templates, and that the
+ * identifiers of the messages are appended to a shared body instead of being
+ * cached one by one.
+ */
+class ErrorTemplateTests {
+
+	@Test
+	void exceptionsAreRenderedWithTheirArgument() {
+		GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+		ResponseEntity<byte[]> response = handler
+				.handlePostNotFoundException(new PostNotFoundException("Article non trouvé avec l'ID : ", 7));
+		assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+		assertEquals("{\"status\":404,\"message\":\"Article non trouvé avec l'ID : 7\",\"error\":\"l'article n'existe pas\"}",
+				text(response.getBody()));
+
+		assertEquals("{\"status\":404,\"message\":\"L'utilisateur n'existe pas\",\"error\":\"L'utilisateur n'existe pas\"}",
+				text(handler.handleUserNotFoundException(new UserNotFoundException("L'utilisateur n'existe pas"))
+						.getBody()));
+		assertEquals("{\"status\":404,\"message\":\"Introuvable : \\\"x@test.com\\\"\",\"error\":\"L'utilisateur n'existe pas\"}",
+				text(handler.handleUsernameNotFoundException(new UsernameNotFoundException("Introuvable : \"x@test.com\""))
+						.getBody()));
+	}
+
+	@Test
+	void argumentsDoNotFillTheCache() {
+		ErrorTemplate template = new ErrorTemplate(HttpStatus.NOT_FOUND, "Introuvable");
+		for (int id = 0; id < ErrorTemplate.MAX_CACHED_MESSAGES * 2; id++) {
+			assertEquals("{\"status\":404,\"message\":\"ID : " + id + "\",\"error\":\"Introuvable\"}",
+					text(template.body("ID : ", id)));
+		}
+		assertSame(template.body("Constant", null), template.body("Constant"));
+		assertEquals("{\"status\":404,\"message\":\"\",\"error\":\"Introuvable\"}", text(template.body(null, null)));
+	}
+
+	private static String text(byte[] body) {
+		return new String(body, StandardCharsets.UTF_8);
+	}
+}
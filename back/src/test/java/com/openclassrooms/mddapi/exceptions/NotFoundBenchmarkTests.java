@@ -0,0 +1,127 @@
+package com.openclassrooms.mddapi.exceptions;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Measures the throughput and allocation rate of the 404 path: a controller
+ * throwing {@link PostNotFoundException}, handled by
+ * {@link GlobalExceptionHandler}. Not part of the default build: it runs when
+ * the number of measured requests is set, with
+ * {@code mvn test -Dtest=NotFoundBenchmarkTests -Dbenchmark.iterations=20000}.
+ *
+ * @author Herry Khoalinh
+ * @version 1.0
+ * @since 1.0
+ */
+@EnabledIfSystemProperty(named = "benchmark.iterations", matches = "\\d+")
+class NotFoundBenchmarkTests {
+
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20_000);
+
+	/**
+	 * Approximate number of frames below a controller method in the
+	 * application: Tomcat, the security filter chain and Spring MVC.
+	 */
+	private static final int STACK_DEPTH = 120;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.standaloneSetup(new MissingPostController())
+				.setControllerAdvice(new GlobalExceptionHandler())
+				.build();
+	}
+
+	@Test
+	void notFoundPath() throws Exception {
+		mockMvc.perform(get("/posts/7"))
+				.andExpect(status().isNotFound())
+				.andExpect(jsonPath("$.status").value(404))
+				.andExpect(jsonPath("$.message").value("Article non trouvé avec l'ID : 7"))
+				.andExpect(jsonPath("$.error").value("l'article n'existe pas"));
+
+		run(ITERATIONS / 2);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+		long started = System.nanoTime();
+		run(ITERATIONS);
+		long elapsedNanos = System.nanoTime() - started;
+		long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+		report("404 path", elapsedNanos, allocated);
+	}
+
+	@Test
+	void notFoundExceptionAndBody() {
+		GlobalExceptionHandler handler = new GlobalExceptionHandler();
+		throwAndHandle(handler, ITERATIONS / 2);
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+		long started = System.nanoTime();
+		throwAndHandle(handler, ITERATIONS);
+		long elapsedNanos = System.nanoTime() - started;
+		long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+		report("404 exception and body at depth " + STACK_DEPTH, elapsedNanos, allocated);
+	}
+
+	private static void report(String name, long elapsedNanos, long allocated) {
+		System.out.printf(Locale.ROOT, "%s: %d operations, %.0f operations/s, %d bytes/operation, %.1f MB/s%n",
+				name, ITERATIONS, ITERATIONS * 1e9 / elapsedNanos, allocated / ITERATIONS,
+				allocated * 1e9 / elapsedNanos / (1024 * 1024));
+	}
+
+	private static void throwAndHandle(GlobalExceptionHandler handler, int iterations) {
+		int failures = 0;
+		for (int i = 0; i < iterations; i++) {
+			try {
+				throwAt(STACK_DEPTH, i % 1000);
+			} catch (PostNotFoundException e) {
+				Object response = handler.handlePostNotFoundException(e);
+				failures += response == null ? 1 : 0;
+			}
+		}
+		assertEquals(0, failures);
+	}
+
+	private static void throwAt(int depth, int id) {
+		if (depth > 0) {
+			throwAt(depth - 1, id);
+			return;
+		}
+		throw new PostNotFoundException("Article non trouvé avec l'ID : ", id);
+	}
+
+	private void run(int iterations) throws Exception {
+		for (int i = 0; i < iterations; i++) {
+			mockMvc.perform(get("/posts/" + (i % 1000))).andExpect(status().isNotFound());
+		}
+	}
+
+	@RestController
+	static class MissingPostController {
+
+		@GetMapping("/posts/{id}")
+		String getPost(@PathVariable Integer id) {
+			throw new PostNotFoundException("Article non trouvé avec l'ID : ", id);
+		}
+	}
+}
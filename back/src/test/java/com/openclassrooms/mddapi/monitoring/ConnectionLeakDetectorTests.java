@@ -0,0 +1,58 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the connections held past the threshold are reported by the
+ * method that borrowed them, found in the stack captured at the borrow.
+ */
+class ConnectionLeakDetectorTests {
+
+	@Test
+	void reportsTheConnectionsHeldTooLong() throws InterruptedException {
+		PoolProperties properties = new PoolProperties();
+		properties.setLeakThresholdMs(20);
+		ConnectionLeakDetector detector = new ConnectionLeakDetector(properties);
+
+		detector.released(detector.acquired());
+		ConnectionLeakDetector.Lease held = detector.acquired();
+		ConnectionLeakDetector.Lease open = detector.acquired();
+		Thread.sleep(30);
+		detector.released(held);
+
+		List<ConnectionLeakDetector.LeakReport> report = detector.report();
+		assertEquals(1, report.size());
+		assertEquals(1, report.get(0).longHolds());
+		assertTrue(report.get(0).maxHeldMs() >= 20);
+		assertEquals(1, report.get(0).openNow());
+		detector.released(open);
+	}
+
+	@Test
+	void findsTheBorrowingServiceInTheCapturedStack() {
+		Throwable origin = new Throwable();
+		origin.setStackTrace(new StackTraceElement[] {
+				frame("com.openclassrooms.mddapi.monitoring.LeakTrackingDataSource", "getConnection"),
+				frame("org.springframework.orm.jpa.JpaTransactionManager", "doBegin"),
+				frame("com.openclassrooms.mddapi.services.PostService$$SpringCGLIB$$0", "getFeed"),
+				frame("com.openclassrooms.mddapi.controllers.PostController", "getFeed") });
+		assertEquals("PostService.getFeed", CallSites.caller(origin));
+
+		origin.setStackTrace(new StackTraceElement[] {
+				frame("com.openclassrooms.mddapi.monitoring.LeakTrackingDataSource", "getConnection"),
+				frame("com.openclassrooms.mddapi.archive.PostArchiver", "archive") });
+		assertEquals("PostArchiver.archive", CallSites.caller(origin));
+
+		origin.setStackTrace(new StackTraceElement[] { frame("java.lang.Thread", "run") });
+		assertEquals("unknown", CallSites.caller(origin));
+	}
+
+	private static StackTraceElement frame(String className, String methodName) {
+		return new StackTraceElement(className, methodName, null, -1);
+	}
+}
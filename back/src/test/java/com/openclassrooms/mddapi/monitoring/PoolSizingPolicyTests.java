@@ -0,0 +1,49 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the pool sizing decisions and their bounds.
+ */
+class PoolSizingPolicyTests {
+
+	private final PoolSizingPolicy policy = new PoolSizingPolicy(new PoolProperties());
+
+	@Test
+	void growsWhenThreadsWait() {
+		assertEquals(12, policy.nextSize(10, 20, 10, 500, 2, 0));
+		assertEquals(12, policy.nextSize(10, 0, 10, 500, 2, 3));
+		assertEquals(30, policy.nextSize(29, 20, 10, 500, 2, 0));
+	}
+
+	@Test
+	void longHoldsWithFastStatementsDoNotShrinkThePool() {
+		// Connections held 500 ms by work done inside the transactions, not by the database
+		assertEquals(12, policy.nextSize(10, 50, 500, 20, 2, 4));
+		assertEquals(12, policy.nextSize(10, 50, 500, 20, 2, 0));
+	}
+
+	@Test
+	void shrinksWhenTheDatabaseIsSlow() {
+		assertEquals(8, policy.nextSize(10, 50, 500, 20, 80, 0));
+		assertEquals(5, policy.nextSize(6, 0, 500, 20, 80, 0));
+	}
+
+	@Test
+	void neverShrinksWhileThreadsWait() {
+		assertEquals(10, policy.nextSize(10, 50, 500, 20, 80, 4));
+		assertEquals(10, policy.nextSize(10, 0, 10, 20, 80, 1));
+		assertEquals(12, policy.nextSize(10, 0, 10, 20, 2, 1));
+	}
+
+	@Test
+	void shrinksSlowlyTowardsLittlesLaw() {
+		// 200 uses per second held 10 ms: 2 connections in use, 3 with headroom
+		assertEquals(19, policy.nextSize(20, 0, 10, 200, 2, 0));
+		// 800 uses per second held 10 ms: 8 connections in use, 12 with headroom
+		assertEquals(12, policy.nextSize(12, 0, 10, 800, 2, 0));
+		assertEquals(5, policy.nextSize(5, 0, 0, 0, 0, 0));
+	}
+}
@@ -0,0 +1,139 @@
+package com.openclassrooms.mddapi.monitoring;
+
+import org.h2.jdbc.JdbcConnection;
+import org.h2.jdbc.JdbcPreparedStatement;
+import org.h2.jdbc.JdbcStatement;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that only the statements over the threshold are recorded, grouped by
+ * shape, with their parameter types and plan once their SQL was seen slow, and
+ * that the wrappers unwrap and lead back to the wrapped connection.
+ */
+class SlowQueryDataSourceTests {
+
+	private SlowQueryRecorder recorder;
+	private SlowQueryDataSource dataSource;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		SlowQueryProperties properties = new SlowQueryProperties();
+		properties.setThresholdMs(50);
+		properties.setExplain(true);
+		recorder = new SlowQueryRecorder(properties);
+
+		JdbcDataSource h2 = new JdbcDataSource();
+		h2.setURL("jdbc:h2:mem:slowquery;DB_CLOSE_DELAY=-1");
+		dataSource = new SlowQueryDataSource(h2, recorder);
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("CREATE ALIAS IF NOT EXISTS PAUSE FOR 'java.lang.Thread.sleep(long)'");
+			statement.execute("CREATE TABLE IF NOT EXISTS items (id INT PRIMARY KEY, name VARCHAR(20))");
+			statement.execute("MERGE INTO items VALUES (1, 'one'), (2, 'two'), (3, 'three')");
+		}
+	}
+
+	@Test
+	void recordsTheSlowStatementsByShape() throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			assertEquals("one", name(connection, 1, 0));
+			assertEquals("two", name(connection, 2, 60));
+			assertEquals("three", name(connection, 3, 60));
+			try (Statement statement = connection.createStatement()) {
+				statement.executeQuery("SELECT name FROM items WHERE id = 1 AND PAUSE(60) IS NULL").close();
+			}
+		}
+
+		List<SlowQueryRecorder.SlowQueryReport> report = recorder.report(10);
+		assertEquals(2, report.size());
+		SlowQueryRecorder.SlowQueryReport prepared = report.get(0);
+		assertEquals("SELECT name FROM items WHERE id IN (?...) AND PAUSE(?) IS NULL", prepared.shape());
+		assertEquals(2, prepared.count());
+		assertTrue(prepared.maxMs() >= 60);
+		assertEquals(Set.of("(not captured)", "(Integer, Integer, Long)"), Set.copyOf(prepared.parameterTypes()));
+		assertNotNull(prepared.plan());
+		assertTrue(prepared.plan().toLowerCase(Locale.ROOT).contains("items"), prepared.plan());
+
+		SlowQueryRecorder.SlowQueryReport plain = report.get(1);
+		assertEquals("SELECT name FROM items WHERE id = ? AND PAUSE(?) IS NULL", plain.shape());
+		assertEquals(List.of("none"), plain.parameterTypes());
+	}
+
+	@Test
+	void countsEveryExecutionForTheDatabaseLatency() throws SQLException {
+		long count = recorder.executionCount();
+		long totalNanos = recorder.executionTotalNanos();
+		try (Connection connection = dataSource.getConnection()) {
+			assertEquals("one", name(connection, 1, 0));
+			assertEquals("two", name(connection, 2, 60));
+		}
+
+		assertEquals(count + 2, recorder.executionCount());
+		assertTrue(recorder.executionTotalNanos() - totalNanos >= 60_000_000L);
+	}
+
+	@Test
+	void capturesTheParametersOnlyOnceTheStatementWasSlow() throws SQLException {
+		String sql = "SELECT name FROM items WHERE id IN (?, ?)\n AND PAUSE(?) IS NULL";
+		try (Connection connection = dataSource.getConnection()) {
+			assertEquals("one", name(connection, 1, 0));
+			assertFalse(recorder.capturesParameters(sql));
+			assertEquals("two", name(connection, 2, 60));
+			assertTrue(recorder.capturesParameters(sql));
+		}
+		SlowQueryRecorder.SlowQueryReport prepared = recorder.report(1).get(0);
+		assertEquals(List.of("(not captured)"), prepared.parameterTypes());
+		assertNull(prepared.plan());
+	}
+
+	@Test
+	void wrappersUnwrapAndReturnTheWrappedConnection() throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement prepared = connection.prepareStatement("SELECT 1");
+				Statement statement = connection.createStatement()) {
+			assertSame(connection, prepared.getConnection());
+			assertSame(connection, statement.getConnection());
+
+			assertTrue(connection.isWrapperFor(JdbcConnection.class));
+			assertFalse(connection.isWrapperFor(ResultSet.class));
+			assertInstanceOf(JdbcConnection.class, connection.unwrap(Connection.class));
+			assertInstanceOf(JdbcConnection.class, connection.unwrap(JdbcConnection.class));
+			assertThrows(SQLException.class, () -> connection.unwrap(ResultSet.class));
+
+			assertTrue(prepared.isWrapperFor(JdbcPreparedStatement.class));
+			assertInstanceOf(JdbcPreparedStatement.class, prepared.unwrap(PreparedStatement.class));
+			assertInstanceOf(JdbcStatement.class, statement.unwrap(Statement.class));
+		}
+	}
+
+	private static String name(Connection connection, int id, long pauseMs) throws SQLException {
+		try (PreparedStatement statement = connection
+				.prepareStatement("SELECT name FROM items WHERE id IN (?, ?)\n AND PAUSE(?) IS NULL")) {
+			statement.setInt(1, id);
+			statement.setInt(2, id);
+			statement.setLong(3, pauseMs);
+			try (ResultSet rows = statement.executeQuery()) {
+				return rows.next() ? rows.getString(1) : null;
+			}
+		}
+	}
+}
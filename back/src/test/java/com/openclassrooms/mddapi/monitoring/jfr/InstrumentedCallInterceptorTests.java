@@ -0,0 +1,125 @@
+package com.openclassrooms.mddapi.monitoring.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the events emitted around the repository and mapper calls, and that
+ * the request endpoint is not computed while the events are disabled.
+ */
+class InstrumentedCallInterceptorTests {
+
+	@TempDir
+	Path directory;
+
+	@AfterEach
+	void clearRequest() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void repositoryAndMapperCallsAreRecorded() throws IOException {
+		RequestContextHolder.setRequestAttributes(
+				new ServletRequestAttributes(new MockHttpServletRequest("GET", "/api/topics/3/posts")));
+		PostLookup repository = proxy(new Posts(), InstrumentedCallInterceptor.forRepository(PostLookup.class));
+		PostLookup mapper = proxy(new Posts(), InstrumentedCallInterceptor.forMapper(PostLookup.class));
+
+		Path file = directory.resolve("calls.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(RepositoryCallEvent.NAME).withThreshold(Duration.ZERO);
+			recording.enable(MapperCallEvent.NAME).withThreshold(Duration.ZERO);
+			recording.start();
+			assertEquals(Optional.of("Article 12"), repository.findById(12));
+			assertEquals(List.of("a", "b", "c"), repository.findTitles());
+			assertThrows(IllegalStateException.class, () -> repository.failing(5));
+			assertEquals(Optional.of("Article 7"), mapper.findById(7));
+			recording.stop();
+			recording.dump(file);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		List<RecordedEvent> calls = events.stream()
+				.filter(event -> event.getEventType().getName().equals(RepositoryCallEvent.NAME))
+				.toList();
+		assertEquals(3, calls.size());
+		assertEquals("PostLookup", calls.get(0).getString("repository"));
+		assertEquals("findById", calls.get(0).getString("method"));
+		assertEquals("GET /api/topics/{id}/posts", calls.get(0).getString("endpoint"));
+		assertEquals(12, calls.get(0).getLong("entityId"));
+		assertEquals(1, calls.get(0).getInt("resultCount"));
+		assertEquals(3, calls.get(1).getInt("resultCount"));
+		assertEquals("failing", calls.get(2).getString("method"));
+		assertEquals(5, calls.get(2).getLong("entityId"));
+		assertEquals(0, calls.get(2).getInt("resultCount"));
+
+		RecordedEvent mapping = events.stream()
+				.filter(event -> event.getEventType().getName().equals(MapperCallEvent.NAME))
+				.findFirst()
+				.orElseThrow();
+		assertEquals("PostLookup", mapping.getString("mapper"));
+		assertEquals(7, mapping.getLong("entityId"));
+	}
+
+	@Test
+	void disabledRequestEventDoesNotComputeTheEndpoint() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/42");
+		new JfrRequestFilter().doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		assertTrue(Collections.list(request.getAttributeNames()).stream()
+				.noneMatch(name -> name.startsWith(JfrEvents.class.getName())));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(T target, InstrumentedCallInterceptor interceptor) {
+		ProxyFactory proxyFactory = new ProxyFactory(target);
+		proxyFactory.addAdvice(interceptor);
+		return (T) proxyFactory.getProxy();
+	}
+
+	interface PostLookup {
+
+		Optional<String> findById(Integer id);
+
+		List<String> findTitles();
+
+		String failing(Integer id);
+	}
+
+	static final class Posts implements PostLookup {
+
+		@Override
+		public Optional<String> findById(Integer id) {
+			return Optional.of("Article " + id);
+		}
+
+		@Override
+		public List<String> findTitles() {
+			return List.of("a", "b", "c");
+		}
+
+		@Override
+		public String failing(Integer id) {
+			throw new IllegalStateException("base indisponible");
+		}
+	}
+}
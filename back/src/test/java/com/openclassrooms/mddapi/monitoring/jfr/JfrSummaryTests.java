@@ -0,0 +1,85 @@
+package com.openclassrooms.mddapi.monitoring.jfr;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a recording of the custom events is summarized by endpoint,
+ * with the time of the nested events counted once.
+ */
+class JfrSummaryTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void summarizesNestedEventsByEndpoint() throws IOException {
+		MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/posts/42");
+		String endpoint = JfrEvents.endpoint(servletRequest);
+		assertEquals("GET /api/posts/{id}", endpoint);
+
+		Path file = directory.resolve("test.jfr");
+		try (Recording recording = new Recording()) {
+			for (String name : new String[] { HttpRequestEvent.NAME, RepositoryCallEvent.NAME,
+					MapperCallEvent.NAME }) {
+				recording.enable(name).withThreshold(Duration.ZERO);
+			}
+			recording.start();
+
+			HttpRequestEvent request = new HttpRequestEvent();
+			request.begin();
+			RepositoryCallEvent query = new RepositoryCallEvent();
+			query.begin();
+			pause(20);
+			query.finish("PostRepository", "findById", 42, null);
+			MapperCallEvent mapping = new MapperCallEvent();
+			mapping.begin();
+			pause(5);
+			mapping.finish("PostMapper", "toDto", null);
+			pause(5);
+			request.finish(servletRequest, 200);
+
+			RepositoryCallEvent background = new RepositoryCallEvent();
+			background.begin();
+			background.finish("OutboxEventRepository", "findMaxId", null, 3L);
+
+			recording.stop();
+			recording.dump(file);
+		}
+
+		JfrSummary summary = JfrSummary.read(file);
+		JfrSummary.Endpoint posts = summary.getEndpoint(endpoint);
+		assertEquals(1, posts.getRequests());
+		assertEquals(1, posts.getCalls(JfrSummary.Part.REPOSITORY));
+		assertEquals(1, posts.getCalls(JfrSummary.Part.MAPPER));
+		long total = posts.getRequestPercentileNanos(50);
+		long parts = posts.getOwnNanos(JfrSummary.Part.REPOSITORY) + posts.getOwnNanos(JfrSummary.Part.MAPPER)
+				+ posts.getOwnNanos(JfrSummary.Part.REST);
+		assertEquals(total, parts);
+		assertTrue(posts.getOwnNanos(JfrSummary.Part.REPOSITORY) >= TimeUnit.MILLISECONDS.toNanos(20));
+		assertTrue(posts.getOwnNanos(JfrSummary.Part.REST) < total - TimeUnit.MILLISECONDS.toNanos(25));
+
+		JfrSummary.Endpoint background = summary.getEndpoint(JfrEvents.BACKGROUND);
+		assertEquals(0, background.getRequests());
+		assertEquals(1, background.getCalls(JfrSummary.Part.REPOSITORY));
+		assertTrue(summary.toMarkdown().contains("| PostRepository.findById | 1 |"));
+	}
+
+	private static void pause(long millis) {
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+		while (System.nanoTime() < deadline) {
+			LockSupport.parkNanos(deadline - System.nanoTime());
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.dto.common.PostSummaryDto;
+import com.openclassrooms.mddapi.entity.Post;
+import com.openclassrooms.mddapi.entity.Topic;
+import com.openclassrooms.mddapi.entity.User;
+import com.openclassrooms.mddapi.repository.PostRepository;
+import com.openclassrooms.mddapi.repository.TopicRepository;
+import com.openclassrooms.mddapi.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the post summaries are read in a single statement that never
+ * selects the content column, and carry the stored excerpt.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.openclassrooms.mddapi.services.StatementCounter")
+@ActiveProfiles("bench")
+class PostSummaryStatementTests {
+
+	private static final Pattern CONTENT_COLUMN = Pattern.compile("\\.content\\b");
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TopicRepository topicRepository;
+
+	@Test
+	void summariesNeverSelectTheContent() {
+		User author = new User();
+		author.setEmail("summary@test.com");
+		author.setUsername("summary");
+		author.setPassword("Passw0rd!");
+		author = userRepository.save(author);
+		Topic topic = new Topic();
+		topic.setTitle("Résumés");
+		topic.setContent("Description de Résumés");
+		topic.setCreatedAt(LocalDateTime.now());
+		topic = topicRepository.save(topic);
+		Post post = new Post();
+		post.setUser(author);
+		post.setTopic(topic);
+		post.setTitle("Long article");
+		post.setContent("phrase ".repeat(100));
+		post.setPublishedAt(LocalDateTime.now());
+		post = postRepository.save(post);
+		Integer id = post.getId();
+		Integer topicId = topic.getId();
+
+		PostSummaryDto summary = single(() -> postRepository.findSummariesByIdIn(List.of(id))).get(0);
+		assertEquals(Post.excerptOf(post.getContent()), summary.getExcerpt());
+		assertTrue(summary.getExcerpt().length() <= Post.EXCERPT_LENGTH);
+		assertEquals("summary", summary.getUsername());
+		assertEquals("Résumés", summary.getTopicTitle());
+
+		assertTrue(single(postRepository::findAllSummaries).stream().anyMatch(s -> s.getId().equals(id)));
+		assertEquals(id, single(() -> postRepository.findTopicPage(topicId, Pageable.ofSize(10))).get(0).getId());
+		assertEquals(id, single(() -> postRepository.findTopicPageBefore(topicId, LocalDateTime.now().plusDays(1),
+				Integer.MAX_VALUE, Pageable.ofSize(10))).get(0).getId());
+		assertTrue(single(() -> postRepository.findSummariesPublishedAfter(LocalDateTime.now().minusDays(1), 0,
+				LocalDateTime.now().plusDays(1), Pageable.ofSize(100))).stream().anyMatch(s -> s.getId().equals(id)));
+	}
+
+	/**
+	 * Runs a summary query, checking it issued one statement without the
+	 * content column.
+	 */
+	private static List<PostSummaryDto> single(Supplier<List<PostSummaryDto>> query) {
+		StatementCounter.reset();
+		List<PostSummaryDto> summaries = query.get();
+		assertEquals(1, StatementCounter.count());
+		String sql = StatementCounter.statements().get(0).toLowerCase(Locale.ROOT);
+		assertTrue(sql.contains("excerpt"), sql);
+		assertFalse(CONTENT_COLUMN.matcher(sql).find(), sql);
+		return summaries;
+	}
+}
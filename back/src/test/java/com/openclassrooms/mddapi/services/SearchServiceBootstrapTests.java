@@ -0,0 +1,125 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.dto.common.SearchHitDto;
+import com.openclassrooms.mddapi.entity.Comment;
+import com.openclassrooms.mddapi.entity.Post;
+import com.openclassrooms.mddapi.entity.Topic;
+import com.openclassrooms.mddapi.entity.User;
+import com.openclassrooms.mddapi.repository.CommentRepository;
+import com.openclassrooms.mddapi.repository.PostRepository;
+import com.openclassrooms.mddapi.repository.TopicRepository;
+import com.openclassrooms.mddapi.repository.UserRepository;
+import com.openclassrooms.mddapi.services.search.SearchIndex;
+import com.openclassrooms.mddapi.services.search.SearchProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that an index which is not bootstrapped is rebuilt even when the
+ * outbox relay indexed documents before the rebuild, without indexing any of
+ * them twice.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:mdd-search-bootstrap;MODE=MySQL;"
+		+ "DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("bench")
+class SearchServiceBootstrapTests {
+
+	@TempDir
+	Path directory;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private CommentRepository commentRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TopicRepository topicRepository;
+
+	@Test
+	void rebuildsDespiteDocumentsIndexedBeforeIt() throws IOException {
+		User author = new User();
+		author.setEmail("bootstrap@test.com");
+		author.setUsername("bootstrap");
+		author.setPassword("Passw0rd!");
+		author = userRepository.save(author);
+		Topic topic = new Topic();
+		topic.setTitle("Elasticsearch");
+		topic.setContent("Description de Elasticsearch");
+		topic.setCreatedAt(LocalDateTime.now());
+		topic = topicRepository.save(topic);
+		Post first = save(author, topic, "Analyseurs Lucene");
+		Post second = save(author, topic, "Segments Lucene");
+		Comment comment = new Comment();
+		comment.setPost(first);
+		comment.setUser(author);
+		comment.setContent("Lucene fusionne les segments");
+		comment.setCommentedAt(LocalDateTime.now());
+		commentRepository.save(comment);
+
+		SearchIndex index = open();
+		assertFalse(index.isBootstrapped());
+		SearchService searchService = new SearchService(index, properties(), postRepository, commentRepository);
+
+		// The relay replays an existing post and relays a new one before the rebuild
+		searchService.indexPost(second);
+		Post created = save(author, topic, "Requêtes Lucene");
+		searchService.indexPost(created);
+		searchService.rebuildIfNotBootstrapped();
+
+		assertTrue(index.isBootstrapped());
+		List<Integer> postIds = lucenePosts(searchService);
+		assertEquals(List.of(first.getId(), second.getId(), created.getId()), postIds.stream().sorted().toList());
+		assertEquals(1, searchService.search("lucene", 10).stream()
+				.filter(hit -> hit.getType().equals("COMMENT")).count());
+
+		SearchIndex restarted = open();
+		assertTrue(restarted.isBootstrapped());
+		SearchService afterRestart = new SearchService(restarted, properties(), postRepository, commentRepository);
+		assertEquals(postIds.stream().sorted().toList(), lucenePosts(afterRestart).stream().sorted().toList());
+	}
+
+	private Post save(User author, Topic topic, String title) {
+		Post post = new Post();
+		post.setUser(author);
+		post.setTopic(topic);
+		post.setTitle(title);
+		post.setContent("Contenu de " + title);
+		post.setPublishedAt(LocalDateTime.now());
+		return postRepository.save(post);
+	}
+
+	private SearchIndex open() throws IOException {
+		SearchIndex index = new SearchIndex(properties());
+		index.open();
+		return index;
+	}
+
+	private SearchProperties properties() {
+		SearchProperties properties = new SearchProperties();
+		properties.setDirectory(directory.toString());
+		return properties;
+	}
+
+	private static List<Integer> lucenePosts(SearchService searchService) {
+		return searchService.search("lucene", 10).stream()
+				.filter(hit -> hit.getType().equals("POST"))
+				.map(SearchHitDto::getId)
+				.toList();
+	}
+}
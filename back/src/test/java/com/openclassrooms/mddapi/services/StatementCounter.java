@@ -0,0 +1,34 @@
+package com.openclassrooms.mddapi.services;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so that
+ * background tasks running in the same application do not skew the count,
+ * and keeps their SQL.
+ */
+public class StatementCounter implements StatementInspector {
+
+	private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+	@Override
+	public String inspect(String sql) {
+		STATEMENTS.get().add(sql);
+		return sql;
+	}
+
+	static void reset() {
+		STATEMENTS.get().clear();
+	}
+
+	static int count() {
+		return STATEMENTS.get().size();
+	}
+
+	static List<String> statements() {
+		return List.copyOf(STATEMENTS.get());
+	}
+}
@@ -0,0 +1,135 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.Security.JwtAuthenticationDetails;
+import com.openclassrooms.mddapi.dto.request.RegisterRequest;
+import com.openclassrooms.mddapi.dto.response.TopicResponse;
+import com.openclassrooms.mddapi.entity.Topic;
+import com.openclassrooms.mddapi.entity.User;
+import com.openclassrooms.mddapi.repository.TopicRepository;
+import com.openclassrooms.mddapi.repository.UserRepository;
+import com.openclassrooms.mddapi.services.subscriptions.SubscriptionIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the topic lists are read with their subscriber counts, and the
+ * subscriptions of the current user, in a single statement.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.openclassrooms.mddapi.services.StatementCounter")
+@ActiveProfiles("bench")
+class TopicServiceStatementTests {
+
+	@Autowired
+	private TopicService topicService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TopicRepository topicRepository;
+
+	@Autowired
+	private SubscriptionIndex subscriptionIndex;
+
+	@AfterEach
+	void clearSecurityContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void subscribedTopicsAreReadInOneStatement() {
+		User reader = register("reader@test.com", "reader");
+		User other = register("other-reader@test.com", "other-reader");
+		Topic older = topic("Subscribed older", LocalDateTime.now().minusDays(1));
+		Topic newer = topic("Subscribed newer", LocalDateTime.now());
+		topic("Not subscribed", LocalDateTime.now());
+
+		authenticate(other);
+		topicService.subscribeTopic(older.getId());
+		authenticate(reader);
+		topicService.subscribeTopic(older.getId());
+		topicService.subscribeTopic(newer.getId());
+
+		StatementCounter.reset();
+		List<TopicResponse> topics = topicService.getSubscribedTopics();
+		assertEquals(1, StatementCounter.count());
+
+		assertEquals(List.of(newer.getId(), older.getId()), topics.stream().map(TopicResponse::getId).toList());
+		assertEquals(List.of(1, 2), topics.stream().map(TopicResponse::getSubscriberCount).toList());
+		assertEquals("Subscribed newer", topics.get(0).getTitle());
+	}
+
+	@Test
+	void allTopicsCarryCountsAndFlagsFromTheIndex() {
+		User member = register("member@test.com", "member");
+		Topic joined = topic("Joined", LocalDateTime.now());
+		Topic left = topic("Left", LocalDateTime.now());
+		authenticate(member);
+		topicService.subscribeTopic(joined.getId());
+		topicService.subscribeTopic(left.getId());
+		topicService.unsubscribeTopic(left.getId());
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!subscriptionIndex.isReady()) {
+			assertTrue(System.nanoTime() < deadline, "subscription index not loaded in time");
+			Thread.onSpinWait();
+		}
+
+		StatementCounter.reset();
+		List<TopicResponse> topics = topicService.getAllTopics();
+		assertEquals(1, StatementCounter.count());
+
+		TopicResponse joinedResponse = find(topics, joined.getId());
+		assertTrue(joinedResponse.isSubscribed());
+		assertEquals(1, joinedResponse.getSubscriberCount());
+		TopicResponse leftResponse = find(topics, left.getId());
+		assertFalse(leftResponse.isSubscribed());
+		assertEquals(0, leftResponse.getSubscriberCount());
+	}
+
+	private static TopicResponse find(List<TopicResponse> topics, Integer id) {
+		return topics.stream().filter(topic -> topic.getId().equals(id)).findFirst().orElseThrow();
+	}
+
+	private User register(String email, String username) {
+		RegisterRequest request = new RegisterRequest();
+		request.setEmail(email);
+		request.setUsername(username);
+		request.setPassword("Passw0rd!");
+		userService.register(request);
+		return userRepository.findByEmail(email).orElseThrow();
+	}
+
+	private Topic topic(String title, LocalDateTime createdAt) {
+		Topic topic = new Topic();
+		topic.setTitle(title);
+		topic.setContent("Description de " + title);
+		topic.setCreatedAt(createdAt);
+		return topicRepository.save(topic);
+	}
+
+	private static void authenticate(User user) {
+		UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(user, null,
+				user.getAuthorities());
+		authentication.setDetails(new JwtAuthenticationDetails(new MockHttpServletRequest(), user.getId()));
+		SecurityContextHolder.getContext().setAuthentication(authentication);
+	}
+}
@@ -0,0 +1,98 @@
+package com.openclassrooms.mddapi.services;
+
+import com.openclassrooms.mddapi.dto.request.LoginRequest;
+import com.openclassrooms.mddapi.dto.request.RegisterRequest;
+import com.openclassrooms.mddapi.entity.User;
+import com.openclassrooms.mddapi.exceptions.UserAlreadyExistsException;
+import com.openclassrooms.mddapi.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the number of SQL statements issued by the registration and login
+ * flows.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.openclassrooms.mddapi.services.StatementCounter")
+@ActiveProfiles("bench")
+class UserServiceStatementTests {
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@AfterEach
+	void clearSecurityContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void registerIssuesOneStatement() {
+		StatementCounter.reset();
+		assertNotNull(userService.register(registerRequest("one@test.com", "one")).getToken());
+		assertEquals(1, StatementCounter.count());
+	}
+
+	@Test
+	void duplicateRegistrationIsRejected() {
+		userService.register(registerRequest("dup@test.com", "dup"));
+
+		UserAlreadyExistsException email = assertThrows(UserAlreadyExistsException.class,
+				() -> userService.register(registerRequest("dup@test.com", "other")));
+		assertEquals("Email déjà enregistré", email.getMessage());
+
+		UserAlreadyExistsException username = assertThrows(UserAlreadyExistsException.class,
+				() -> userService.register(registerRequest("other@test.com", "dup")));
+		assertEquals("Nom d'utilisateur déjà pris", username.getMessage());
+	}
+
+	@Test
+	void loginIssuesOneStatement() {
+		userService.register(registerRequest("login@test.com", "login"));
+
+		LoginRequest byEmail = new LoginRequest();
+		byEmail.setUsername("login@test.com");
+		byEmail.setPassword("Passw0rd!");
+		StatementCounter.reset();
+		assertNotNull(userService.login(byEmail).getToken());
+		assertEquals(1, StatementCounter.count());
+
+		LoginRequest byUsername = new LoginRequest();
+		byUsername.setUsername("login");
+		byUsername.setPassword("Passw0rd!");
+		StatementCounter.reset();
+		assertNotNull(userService.login(byUsername).getToken());
+		assertEquals(1, StatementCounter.count());
+	}
+
+	@Test
+	void refreshTokenReusesTheAuthenticatedUser() {
+		userService.register(registerRequest("refresh@test.com", "refresh"));
+		User user = userRepository.findByEmail("refresh@test.com").orElseThrow();
+		SecurityContextHolder.getContext()
+				.setAuthentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+		StatementCounter.reset();
+		assertNotNull(userService.refreshToken(new LoginRequest()).getToken());
+		assertEquals(0, StatementCounter.count());
+	}
+
+	private static RegisterRequest registerRequest(String email, String username) {
+		RegisterRequest request = new RegisterRequest();
+		request.setEmail(email);
+		request.setUsername(username);
+		request.setPassword("Passw0rd!");
+		return request;
+	}
+}
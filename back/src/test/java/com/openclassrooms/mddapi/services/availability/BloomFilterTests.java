@@ -0,0 +1,42 @@
+package com.openclassrooms.mddapi.services.availability;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the Bloom filter never forgets a key and stays close to its
+ * target false positive rate at the size it was built for.
+ */
+class BloomFilterTests {
+
+	@Test
+	void addedKeysAreAlwaysReported() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("user" + i + "@test.com");
+		}
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain("user" + i + "@test.com"));
+		}
+		assertEquals(10_000, filter.insertions());
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTheTarget() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("user" + i);
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("other" + i)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 2_000, falsePositives + " false positives out of 100000");
+		// About 9.6 bits per key at 1%
+		assertTrue(filter.sizeInBytes() < 10_000 * 10 / 8 + 8);
+	}
+}
@@ -0,0 +1,65 @@
+package com.openclassrooms.mddapi.services.availability;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the identifier filters never report free an identifier the
+ * database collation considers equal to a taken one.
+ */
+class UserIdentifierFilterTests {
+
+	@Test
+	void everythingMayBeTakenUntilTheScanIsComplete() {
+		UserIdentifierFilter filter = filter();
+		assertTrue(filter.mightContainUsername("libre"));
+		filter.markReady();
+		assertFalse(filter.mightContainUsername("libre"));
+	}
+
+	@Test
+	void identifiersEqualUnderTheCollationAreReportedTaken() {
+		UserIdentifierFilter filter = filter();
+		filter.addUsername("Straße");
+		filter.addUsername("Cæsar");
+		filter.addUsername("Œuvre");
+		filter.addUsername("Hélène");
+		filter.addUsername("oﬃce");
+		filter.addEmail("Jose@Test.com");
+		filter.markReady();
+
+		assertTrue(filter.mightContainUsername("strasse"));
+		assertTrue(filter.mightContainUsername("STRASSE"));
+		assertTrue(filter.mightContainUsername("caesar"));
+		assertTrue(filter.mightContainUsername("oeuvre"));
+		assertTrue(filter.mightContainUsername("helene"));
+		assertTrue(filter.mightContainUsername("HÉLÈNE"));
+		assertTrue(filter.mightContainUsername("office"));
+		assertTrue(filter.mightContainUsername("he\u200Blene"));
+		assertTrue(filter.mightContainEmail("josé@test.com"));
+		assertTrue(filter.mightContainEmail("JOSE@TEST.COM"));
+	}
+
+	@Test
+	void expandedLettersAreFoldedWhicheverFormWasTaken() {
+		UserIdentifierFilter filter = filter();
+		filter.addUsername("strasse");
+		filter.addUsername("aether");
+		filter.addUsername("soeur");
+		filter.markReady();
+
+		assertTrue(filter.mightContainUsername("Straße"));
+		assertTrue(filter.mightContainUsername("ÆTHER"));
+		assertTrue(filter.mightContainUsername("sœur"));
+		assertFalse(filter.mightContainUsername("soeurs"));
+	}
+
+	private static UserIdentifierFilter filter() {
+		AvailabilityProperties properties = new AvailabilityProperties();
+		properties.setExpectedUsers(1_000);
+		properties.setFalsePositiveRate(0.0001);
+		return new UserIdentifierFilter(properties);
+	}
+}
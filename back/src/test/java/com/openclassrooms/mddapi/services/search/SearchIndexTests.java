@@ -0,0 +1,138 @@
+package com.openclassrooms.mddapi.services.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the BM25 ranking of the index, that its documents survive a flush,
+ * a restart and a merge of the segments, and that an index without its
+ * bootstrap marker is dropped.
+ */
+class SearchIndexTests {
+
+	private static final long NOW = 1_700_000_000L;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void ranksTheMostRelevantDocumentsFirst() throws IOException {
+		SearchIndex index = open(1000);
+		index.add(SearchDocumentType.POST, 1, 1, NOW, "Spring Boot", "Configuration de Spring Boot");
+		index.add(SearchDocumentType.POST, 2, 2, NOW, "Java", "Les records de Java et Spring");
+		index.add(SearchDocumentType.POST, 3, 3, NOW, "Angular", "Composants et services Angular");
+		index.add(SearchDocumentType.COMMENT, 40, 3, NOW, null, "Angular appelle une API Spring");
+
+		// Twice in the title and once in the content, then the shorter document
+		assertEquals(List.of(1, 40, 2), entityIds(index.search("spring", 10, NOW)));
+		// The rarer term outweighs the common one
+		assertEquals(2, index.search("java spring", 10, NOW).get(0).entityId());
+		assertEquals(List.of(1), entityIds(index.search("spring", 1, NOW)));
+		assertTrue(index.search("kotlin", 10, NOW).isEmpty());
+		assertTrue(index.search("le de", 10, NOW).isEmpty());
+	}
+
+	@Test
+	void recentDocumentsAreBoosted() throws IOException {
+		SearchIndex index = open(1000);
+		index.add(SearchDocumentType.POST, 1, 1, NOW - 30 * 24 * 3600, "Hibernate", "Cache de second niveau");
+		index.add(SearchDocumentType.POST, 2, 2, NOW, "Hibernate", "Cache de second niveau");
+
+		List<SearchHit> hits = index.search("hibernate", 10, NOW);
+		assertEquals(List.of(2, 1), entityIds(hits));
+		assertTrue(hits.get(0).score() > hits.get(1).score() * 1.4);
+	}
+
+	@Test
+	void documentsSurviveARestartAndAMerge() throws IOException {
+		SearchIndex index = open(2);
+		for (int id = 1; id <= 9; id++) {
+			index.add(SearchDocumentType.POST, id, id, NOW - id, "Article " + id, id % 3 == 0 ? "Docker" : "Maven");
+		}
+		index.markBootstrapped();
+		List<SearchHit> before = index.search("docker", 10, NOW);
+		index.close();
+		assertEquals(5, segmentFiles());
+
+		SearchIndex restarted = open(2);
+		assertEquals(before, restarted.search("docker", 10, NOW));
+		restarted.mergeIfNeeded();
+		assertEquals(1, segmentFiles());
+		assertEquals(List.of(3, 6, 9), entityIds(restarted.search("docker", 10, NOW)).stream().sorted().toList());
+		assertEquals(6, restarted.search("maven", 10, NOW).size());
+		assertEquals(before, restarted.search("docker", 10, NOW));
+
+		SearchIndex merged = open(2);
+		assertEquals(before, merged.search("docker", 10, NOW));
+	}
+
+	@Test
+	void segmentsLeftByAnInterruptedMergeAreDeleted() throws IOException {
+		SearchSegment first = SearchSegment.create(1);
+		first.add(SearchDocumentType.POST, 1, 1, NOW, Map.of("redis", 1), 1);
+		SearchSegment second = SearchSegment.create(2);
+		second.add(SearchDocumentType.POST, 2, 2, NOW, Map.of("redis", 1), 1);
+		first.write(directory.resolve("seg-1.idx"));
+		second.write(directory.resolve("seg-2.idx"));
+		SearchSegment.merge(List.of(first, second), 3).write(directory.resolve("seg-3.idx"));
+		Files.createFile(directory.resolve(SearchIndex.BOOTSTRAP_MARKER));
+
+		SearchIndex index = open(1000);
+		assertEquals(1, segmentFiles());
+		assertEquals(List.of(1, 2), entityIds(index.search("redis", 10, NOW)).stream().sorted().toList());
+	}
+
+	@Test
+	void segmentsWithoutTheBootstrapMarkerAreDropped() throws IOException {
+		SearchIndex index = open(1);
+		assertFalse(index.isBootstrapped());
+		index.add(SearchDocumentType.POST, 1, 1, NOW, "Kafka", "Partitions");
+		index.close();
+		assertEquals(1, segmentFiles());
+
+		// The rebuild was interrupted: its segments are incomplete
+		SearchIndex interrupted = open(1);
+		assertFalse(interrupted.isBootstrapped());
+		assertEquals(0, segmentFiles());
+		assertTrue(interrupted.search("kafka", 10, NOW).isEmpty());
+
+		interrupted.add(SearchDocumentType.POST, 1, 1, NOW, "Kafka", "Partitions");
+		interrupted.markBootstrapped();
+		assertTrue(interrupted.isBootstrapped());
+
+		SearchIndex restarted = open(1);
+		assertTrue(restarted.isBootstrapped());
+		assertEquals(List.of(1), entityIds(restarted.search("kafka", 10, NOW)));
+	}
+
+	private SearchIndex open(int flushThreshold) throws IOException {
+		SearchProperties properties = new SearchProperties();
+		properties.setDirectory(directory.toString());
+		properties.setFlushThreshold(flushThreshold);
+		properties.setMaxSegments(2);
+		SearchIndex index = new SearchIndex(properties);
+		index.open();
+		return index;
+	}
+
+	private long segmentFiles() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.getFileName().toString().endsWith(".idx")).count();
+		}
+	}
+
+	private static List<Integer> entityIds(List<SearchHit> hits) {
+		return hits.stream().map(SearchHit::entityId).toList();
+	}
+}
@@ -0,0 +1,98 @@
+package com.openclassrooms.mddapi.services.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that posting lists and segments decode what was encoded, survive a
+ * write and read, and keep their documents and postings once merged.
+ */
+class SearchSegmentTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void postingListDecodesItsPostings() {
+		PostingList list = new PostingList();
+		list.add(0, 1);
+		list.add(3, 200);
+		list.add(130, 5);
+		list.add(1_000_000, 70_000);
+
+		assertEquals(List.of(List.of(0, 1), List.of(3, 200), List.of(130, 5), List.of(1_000_000, 70_000)),
+				decode(list, 0));
+		assertEquals(List.of(10, 13, 140, 1_000_010), decode(list, 10).stream().map(p -> p.get(0)).toList());
+		assertEquals(4, list.docFrequency());
+
+		PostingList copy = new PostingList(list.bytes(), list.docFrequency());
+		assertEquals(decode(list, 0), decode(copy, 0));
+	}
+
+	@Test
+	void segmentIsReadBackAsWritten() throws IOException {
+		SearchSegment segment = SearchSegment.create(4);
+		segment.add(SearchDocumentType.POST, 11, 11, 1_700_000_000L, Map.of("java", 3, "spring", 1), 4);
+		segment.add(SearchDocumentType.COMMENT, 52, 11, 1_700_000_100L, Map.of("java", 1), 1);
+		Path file = directory.resolve("seg-4.idx");
+		segment.write(file);
+
+		SearchSegment read = SearchSegment.read(file);
+		assertEquals(4, read.generation());
+		assertEquals(2, read.docCount());
+		assertEquals(5, read.totalLength());
+		assertEquals(SearchDocumentType.COMMENT, read.type(1));
+		assertEquals(52, read.entityId(1));
+		assertEquals(11, read.postId(1));
+		assertEquals(1, read.length(1));
+		assertEquals(1_700_000_100L, read.timestamp(1));
+		assertEquals(List.of(List.of(0, 3), List.of(1, 1)), decode(read.postings("java"), 0));
+		assertEquals(List.of(List.of(0, 1)), decode(read.postings("spring"), 0));
+		assertNull(read.postings("kotlin"));
+		assertFalse(Files.exists(directory.resolve("seg-4.idx.tmp")));
+	}
+
+	@Test
+	void fileThatIsNotASegmentIsRejected() throws IOException {
+		Path file = Files.write(directory.resolve("seg-1.idx"), new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+		assertThrows(IOException.class, () -> SearchSegment.read(file));
+	}
+
+	@Test
+	void mergeShiftsTheDocumentsOfTheFollowingSegments() {
+		SearchSegment first = SearchSegment.create(1);
+		first.add(SearchDocumentType.POST, 1, 1, 10, Map.of("java", 1), 1);
+		first.add(SearchDocumentType.POST, 2, 2, 20, Map.of("spring", 2), 2);
+		SearchSegment second = SearchSegment.create(2);
+		second.add(SearchDocumentType.COMMENT, 7, 1, 30, Map.of("java", 2, "spring", 1), 3);
+
+		SearchSegment merged = SearchSegment.merge(List.of(first, second), 3);
+		assertEquals(1, merged.coveredFrom());
+		assertEquals(2, merged.coveredTo());
+		assertEquals(3, merged.docCount());
+		assertEquals(6, merged.totalLength());
+		assertEquals(List.of(1, 2, 7), List.of(merged.entityId(0), merged.entityId(1), merged.entityId(2)));
+		assertEquals(SearchDocumentType.COMMENT, merged.type(2));
+		assertEquals(List.of(List.of(0, 1), List.of(2, 2)), decode(merged.postings("java"), 0));
+		assertEquals(List.of(List.of(1, 2), List.of(2, 1)), decode(merged.postings("spring"), 0));
+		assertEquals(2, merged.postings("spring").docFrequency());
+	}
+
+	private static List<List<Integer>> decode(PostingList list, int docBase) {
+		List<List<Integer>> postings = new ArrayList<>();
+		list.forEach(docBase, (doc, frequency) -> postings.add(List.of(doc, frequency)));
+		return postings;
+	}
+}
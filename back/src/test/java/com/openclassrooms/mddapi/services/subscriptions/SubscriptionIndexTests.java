@@ -0,0 +1,133 @@
+package com.openclassrooms.mddapi.services.subscriptions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the compressed sets against a reference set, the replay of the
+ * changes recorded while the index loads, the reloads that keep the previous
+ * index serving, and bounds the footprint of the index.
+ */
+class SubscriptionIndexTests {
+
+	@Test
+	void compressedSetBehavesLikeASortedSet() {
+		Random random = new Random(42);
+		CompressedIntSet set = new CompressedIntSet();
+		TreeSet<Integer> reference = new TreeSet<>();
+		// Dense enough around 0 for a chunk to switch to a bitmap and back
+		for (int round = 0; round < 60_000; round++) {
+			int value = random.nextInt(3) == 0 ? random.nextInt(300_000) : random.nextInt(6_000);
+			if (random.nextInt(4) == 0) {
+				assertEquals(reference.remove(value), set.remove(value));
+			} else {
+				assertEquals(reference.add(value), set.add(value));
+			}
+		}
+		assertEquals(reference.size(), set.size());
+		assertArrayEquals(reference.stream().mapToInt(Integer::intValue).toArray(), set.toArray());
+		for (int value = 0; value < 10_000; value++) {
+			assertEquals(reference.contains(value), set.contains(value));
+		}
+
+		reference.forEach(set::remove);
+		assertTrue(set.isEmpty());
+		assertEquals(0, set.toArray().length);
+	}
+
+	@Test
+	void changesRecordedWhileLoadingAreReplayed() {
+		SubscriptionIndex index = new SubscriptionIndex(new SimpleMeterRegistry());
+		index.record(1, 1, true);
+		assertFalse(index.isReady());
+
+		index.startLoading();
+		index.load(new int[] { 1, 1, 2 }, new int[] { 1, 2, 2 }, 3);
+		// Committed after the rows were read
+		index.record(1, 2, false);
+		index.record(3, 2, true);
+		assertFalse(index.isReady());
+		index.finishLoading();
+
+		assertTrue(index.isReady());
+		assertEquals(3, index.subscriptions());
+		assertArrayEquals(new int[] { 1 }, index.topicsOf(1));
+		assertEquals(2, index.subscriberCount(2));
+		assertTrue(index.isSubscribed(3, 2));
+		assertFalse(index.isSubscribed(1, 2));
+
+		index.record(2, 2, false);
+		index.record(3, 2, false);
+		assertEquals(0, index.subscriberCount(2));
+		assertArrayEquals(new int[0], index.topicsOf(3));
+		assertEquals(1, index.subscriptions());
+	}
+
+	@Test
+	void reloadKeepsServingThePreviousIndex() {
+		SubscriptionIndex index = new SubscriptionIndex(new SimpleMeterRegistry());
+		index.startLoading();
+		index.abortLoading();
+		assertFalse(index.isReady());
+
+		index.startLoading();
+		index.load(new int[] { 1, 2 }, new int[] { 1, 1 }, 2);
+		index.finishLoading();
+
+		// A failed reload, with a change committed meanwhile
+		index.startLoading();
+		index.load(new int[] { 1 }, new int[] { 1 }, 1);
+		index.record(3, 1, true);
+		assertTrue(index.isReady());
+		assertEquals(3, index.subscriberCount(1));
+		index.abortLoading();
+		assertTrue(index.isReady());
+		assertEquals(3, index.subscriberCount(1));
+
+		// A reload seeing a subscription made through another instance
+		index.startLoading();
+		index.load(new int[] { 1, 2, 3, 4 }, new int[] { 1, 1, 1, 2 }, 4);
+		index.record(2, 1, false);
+		assertEquals(2, index.subscriberCount(1));
+		assertEquals(0, index.subscriberCount(2));
+		index.finishLoading();
+		assertEquals(2, index.subscriberCount(1));
+		assertTrue(index.isSubscribed(4, 2));
+		assertEquals(3, index.subscriptions());
+	}
+
+	@Test
+	void footprintOfAMillionSubscriptionsIsBounded() {
+		SubscriptionIndex index = new SubscriptionIndex(new SimpleMeterRegistry());
+		index.startLoading();
+		Random random = new Random(7);
+		int users = 100_000;
+		int topics = 1_000;
+		Set<Long> subscriptions = new HashSet<>();
+		int[] userIds = new int[1];
+		int[] topicIds = new int[1];
+		while (subscriptions.size() < 1_000_000) {
+			userIds[0] = 1 + random.nextInt(users);
+			// Skewed towards the first topics, like the synthetic dataset
+			topicIds[0] = 1 + (int) (topics * Math.pow(random.nextDouble(), 3));
+			subscriptions.add((long) userIds[0] << 32 | topicIds[0]);
+			index.load(userIds, topicIds, 1);
+		}
+		index.finishLoading();
+		assertEquals(1_000_000, index.subscriptions());
+
+		long bytes = index.sizeInBytes();
+		// About 18 MB for both directions
+		assertTrue(bytes < 24L << 20, "footprint of " + bytes + " bytes");
+	}
+}
@@ -0,0 +1,73 @@
+package com.openclassrooms.mddapi.services.timeline;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the timeline buffer keeps the newest identifiers in order,
+ * places late ones, ignores duplicates and merges the loaded ones.
+ */
+class IntRingBufferTests {
+
+	@Test
+	void pagesAreReturnedNewestFirst() {
+		IntRingBuffer buffer = new IntRingBuffer(8);
+		for (int id = 1; id <= 6; id++) {
+			buffer.push(id * 10);
+		}
+		assertArrayEquals(new int[] { 60, 50, 40 }, buffer.page(Integer.MAX_VALUE, 3));
+		assertArrayEquals(new int[] { 30, 20, 10 }, buffer.page(40, 5));
+		assertArrayEquals(new int[0], buffer.page(10, 5));
+		assertFalse(buffer.isTruncated());
+	}
+
+	@Test
+	void lateAndDuplicateIdentifiersKeepTheOrder() {
+		IntRingBuffer buffer = new IntRingBuffer(8);
+		buffer.push(10);
+		buffer.push(30);
+		buffer.push(20);
+		buffer.push(30);
+		buffer.push(5);
+		assertArrayEquals(new int[] { 30, 20, 10, 5 }, buffer.page(Integer.MAX_VALUE, 10));
+	}
+
+	@Test
+	void fullBufferEvictsTheOldestAcrossTheWrap() {
+		IntRingBuffer buffer = new IntRingBuffer(4);
+		for (int id = 1; id <= 7; id++) {
+			buffer.push(id);
+		}
+		assertArrayEquals(new int[] { 7, 6, 5, 4 }, buffer.page(Integer.MAX_VALUE, 10));
+		assertTrue(buffer.isTruncated());
+		// Older than everything kept: dropped
+		buffer.push(2);
+		// Late but within the window, after the wrap
+		buffer.push(9);
+		buffer.push(8);
+		assertArrayEquals(new int[] { 9, 8, 7, 6 }, buffer.page(Integer.MAX_VALUE, 10));
+	}
+
+	@Test
+	void seedMergesTheLoadedIdentifiersWithThePushedOnes() {
+		IntRingBuffer buffer = new IntRingBuffer(5);
+		buffer.push(40);
+		buffer.push(42);
+		assertFalse(buffer.isReady());
+
+		buffer.seed(new int[] { 38, 12, 40, 25, 30 }, false);
+		assertTrue(buffer.isReady());
+		assertArrayEquals(new int[] { 42, 40, 38, 30, 25 }, buffer.page(Integer.MAX_VALUE, 10));
+		assertTrue(buffer.isTruncated());
+
+		IntRingBuffer small = new IntRingBuffer(5);
+		small.seed(new int[] { 3, 1, 2 }, false);
+		assertArrayEquals(new int[] { 3, 2, 1 }, small.page(Integer.MAX_VALUE, 10));
+		assertFalse(small.isTruncated());
+		small.seed(new int[0], true);
+		assertTrue(small.isTruncated());
+	}
+}
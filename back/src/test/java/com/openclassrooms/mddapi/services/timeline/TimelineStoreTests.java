@@ -0,0 +1,61 @@
+package com.openclassrooms.mddapi.services.timeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that the timeline store stays within its maximum number of users by
+ * evicting the least recently read timelines, and evicts the idle ones.
+ */
+class TimelineStoreTests {
+
+	@Test
+	void fullStoreEvictsTheLeastRecentlyRead() {
+		TimelineStore store = store(32, 1_800_000);
+		for (int userId = 32; userId >= 1; userId--) {
+			// Read in decreasing order of identifier
+			store.register(userId).markRead(1_000 - userId);
+		}
+		store.get(1);
+
+		assertNotNull(store.register(100));
+		// One sixteenth evicted: the two least recently read
+		assertEquals(31, store.size());
+		assertNull(store.get(32));
+		assertNull(store.get(31));
+		assertNotNull(store.get(30));
+		assertNotNull(store.get(1));
+		assertNotNull(store.get(100));
+		assertNull(store.register(100));
+
+		store.push(7, List.of(1, 32, 100));
+		assertEquals(1, store.get(100).page(Integer.MAX_VALUE, 10).length);
+	}
+
+	@Test
+	void idleTimelinesAreEvicted() {
+		TimelineStore store = store(10, 60_000);
+		store.register(1);
+		store.register(2);
+		long now = System.currentTimeMillis();
+
+		store.evictIdle(now + 30_000);
+		assertEquals(2, store.size());
+		store.get(2).markRead(now + 50_000);
+		store.evictIdle(now + 90_000);
+		assertNull(store.get(1));
+		assertNotNull(store.get(2));
+	}
+
+	private static TimelineStore store(int maxUsers, long idleTimeoutMs) {
+		TimelineProperties properties = new TimelineProperties();
+		properties.setMaxUsers(maxUsers);
+		properties.setIdleTimeoutMs(idleTimeoutMs);
+		return new TimelineStore(properties);
+	}
+}
@@ -0,0 +1,133 @@
+package com.openclassrooms.mddapi.services.trending;
+
+import com.openclassrooms.mddapi.datagen.ZipfSampler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the ingestion throughput of the trending structures on a seeded,
+ * Zipf-distributed event stream: sketch updates, heavy-hitter offers (admitted
+ * and rejected early) and whole events recorded from several threads. Not part
+ * of the default build: it runs when the number of measured events is set,
+ * with {@code mvn test -Dtest=TrendingBenchmarkTests -Dbenchmark.iterations=2000000}.
+ */
+@EnabledIfSystemProperty(named = "benchmark.iterations", matches = "\\d+")
+class TrendingBenchmarkTests {
+
+	private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 2_000_000);
+
+	private static final int KEYS = 50_000;
+	private static final long NOW = 1_700_000_000L;
+
+	@Test
+	void sketchUpdates() {
+		int[] keys = zipfKeys(ITERATIONS, 42);
+		SlidingWindowSketch sketch = new SlidingWindowSketch(2048, 4, 12, 300);
+		addAll(sketch, keys, ITERATIONS / 2);
+
+		long started = System.nanoTime();
+		addAll(sketch, keys, ITERATIONS);
+		report("sketch updates", ITERATIONS, System.nanoTime() - started, 1);
+		assertTrue(sketch.estimate(keys[0], NOW) > 0);
+	}
+
+	@Test
+	void heavyHitterOffers() {
+		int[] keys = zipfKeys(ITERATIONS, 7);
+		long[] counts = new long[KEYS + 1];
+		long[] estimates = new long[ITERATIONS];
+		for (int i = 0; i < ITERATIONS; i++) {
+			estimates[i] = ++counts[keys[i]];
+		}
+		offerAll(new HeavyHitters(100), keys, estimates, ITERATIONS / 2);
+
+		HeavyHitters hitters = new HeavyHitters(100);
+		long started = System.nanoTime();
+		offerAll(hitters, keys, estimates, ITERATIONS);
+		report("heavy hitter offers, growing estimates", ITERATIONS, System.nanoTime() - started, 1);
+		assertEquals(100, hitters.keys().length);
+
+		// Offers at or below the lowest candidate, rejected before the lock
+		long[] low = new long[ITERATIONS];
+		offerAll(hitters, keys, low, ITERATIONS / 2);
+		started = System.nanoTime();
+		offerAll(hitters, keys, low, ITERATIONS);
+		report("heavy hitter offers, rejected", ITERATIONS, System.nanoTime() - started, 1);
+	}
+
+	@Test
+	void concurrentRecords() throws Exception {
+		TrendingEngine engine = new TrendingEngine(new TrendingProperties());
+		int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+		int perThread = ITERATIONS / threads;
+		int[][] keys = new int[threads][];
+		for (int t = 0; t < threads; t++) {
+			keys[t] = zipfKeys(perThread, t);
+		}
+		record(engine, keys, perThread / 2);
+
+		long started = System.nanoTime();
+		record(engine, keys, perThread);
+		report("records on " + threads + " threads", (long) threads * perThread, System.nanoTime() - started,
+				threads);
+		assertFalse(engine.top(TrendingKind.POST, 10, NOW).isEmpty());
+	}
+
+	private static void report(String name, long operations, long elapsedNanos, int threads) {
+		System.out.printf(Locale.ROOT, "trending, %s: %d operations, %.0f operations/s, %.1f ns/operation/thread%n",
+				name, operations, operations * 1e9 / elapsedNanos, (double) elapsedNanos * threads / operations);
+	}
+
+	private static int[] zipfKeys(int count, long seed) {
+		ZipfSampler sampler = new ZipfSampler(KEYS, 1.1);
+		SplittableRandom random = new SplittableRandom(seed);
+		int[] keys = new int[count];
+		for (int i = 0; i < count; i++) {
+			keys[i] = sampler.sample(random);
+		}
+		return keys;
+	}
+
+	private static void addAll(SlidingWindowSketch sketch, int[] keys, int count) {
+		for (int i = 0; i < count; i++) {
+			sketch.add(keys[i], 1, NOW);
+		}
+	}
+
+	private static void offerAll(HeavyHitters hitters, int[] keys, long[] estimates, int count) {
+		for (int i = 0; i < count; i++) {
+			hitters.offer(keys[i], estimates[i]);
+		}
+	}
+
+	private static void record(TrendingEngine engine, int[][] keys, int perThread) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(keys.length);
+		try {
+			Future<?>[] futures = new Future<?>[keys.length];
+			for (int t = 0; t < keys.length; t++) {
+				int[] threadKeys = keys[t];
+				futures[t] = executor.submit(() -> {
+					for (int i = 0; i < perThread; i++) {
+						engine.record(TrendingKind.POST, threadKeys[i], 1, NOW);
+					}
+				});
+			}
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
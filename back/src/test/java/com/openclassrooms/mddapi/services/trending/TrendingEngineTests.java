@@ -0,0 +1,124 @@
+package com.openclassrooms.mddapi.services.trending;
+
+import com.openclassrooms.mddapi.datagen.ZipfSampler;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Accuracy checks of the trending sketches on a seeded, Zipf-distributed
+ * event stream, and of the heavy-hitter set.
+ */
+class TrendingEngineTests {
+
+	private static final int KEYS = 50_000;
+	private static final int EVENTS = 500_000;
+	private static final long NOW = 1_700_000_000L;
+
+	@Test
+	void sketchOvercountStaysWithinBound() {
+		SlidingWindowSketch sketch = new SlidingWindowSketch(2048, 4, 12, 300);
+		long[] exact = new long[KEYS + 1];
+		ZipfSampler sampler = new ZipfSampler(KEYS, 1.1);
+		SplittableRandom random = new SplittableRandom(42);
+		for (int i = 0; i < EVENTS; i++) {
+			int key = sampler.sample(random);
+			// Spread the events over the whole window
+			sketch.add(key, 1, NOW - (i % 3000));
+			exact[key]++;
+		}
+
+		// Per bucket the overcount exceeds e/width of the bucket total with
+		// probability e^-depth (about 1.8%); summed over buckets, the same bound
+		// applies to the window total
+		double bound = Math.E / 2048 * EVENTS;
+		int outside = 0;
+		for (int key = 1; key <= KEYS; key++) {
+			long estimate = sketch.estimate(key, NOW);
+			assertTrue(estimate >= exact[key], "the sketch never undercounts");
+			if (estimate - exact[key] > bound) {
+				outside++;
+			}
+		}
+		assertTrue(outside < KEYS * 0.02, outside + " keys beyond the overcount bound");
+	}
+
+	@Test
+	void eventsLeaveTheWindow() {
+		SlidingWindowSketch sketch = new SlidingWindowSketch(2048, 4, 12, 300);
+		sketch.add(7, 10, NOW - 1800);
+		sketch.add(7, 3, NOW);
+		assertEquals(13, sketch.estimate(7, NOW));
+		assertEquals(3, sketch.estimate(7, NOW + 2400));
+		// A later period reuses the bucket of the oldest one
+		sketch.add(7, 1, NOW + 4200);
+		assertEquals(1, sketch.estimate(7, NOW + 4200));
+	}
+
+	@Test
+	void heavyHittersFindTheTopKeys() {
+		TrendingProperties properties = new TrendingProperties();
+		TrendingEngine engine = new TrendingEngine(properties);
+		ZipfSampler sampler = new ZipfSampler(KEYS, 1.1);
+		SplittableRandom random = new SplittableRandom(7);
+		// Random key order so that rank does not match identifier order
+		int[] permutation = random.ints(KEYS + 1L, 1, Integer.MAX_VALUE).toArray();
+		for (int i = 0; i < EVENTS; i++) {
+			engine.record(TrendingKind.POST, permutation[sampler.sample(random)], 1, NOW);
+		}
+
+		List<TrendingEntry> top = engine.top(TrendingKind.POST, 10, NOW);
+		int found = 0;
+		for (int rank = 1; rank <= 10; rank++) {
+			int key = permutation[rank];
+			if (top.stream().anyMatch(entry -> entry.id() == key)) {
+				found++;
+			}
+		}
+		assertTrue(found >= 9, found + " of the true top 10 found");
+	}
+
+	@Test
+	void heavyHittersKeepTheHighestEstimates() {
+		HeavyHitters hitters = new HeavyHitters(20);
+		Map<Integer, Long> exact = new HashMap<>();
+		SplittableRandom random = new SplittableRandom(3);
+		for (int i = 0; i < 20_000; i++) {
+			int key = random.nextInt(200);
+			long estimate = exact.merge(key, (long) random.nextInt(1, 4), Long::sum);
+			hitters.offer(key, estimate);
+		}
+		Map<Integer, Long> fresh = new HashMap<>();
+		for (int key : hitters.keys()) {
+			// Half of the candidates lose their activity, the others part of it
+			fresh.put(key, key % 2 == 0 ? 0 : exact.get(key) / 2);
+		}
+		hitters.refresh(fresh);
+
+		int[] keys = hitters.keys();
+		assertEquals(10, keys.length);
+		assertTrue(Arrays.stream(keys).allMatch(key -> key % 2 == 1));
+		hitters.offer(1_000, 1);
+		assertEquals(11, hitters.keys().length);
+
+		// Once full again, only a key above the lowest candidate gets in
+		long lowest = Arrays.stream(keys).mapToLong(key -> fresh.get(key)).min().orElseThrow();
+		for (int key = 2_000; key < 2_009; key++) {
+			hitters.offer(key, lowest + key);
+		}
+		hitters.offer(3_000, 0);
+		assertFalse(Arrays.stream(hitters.keys()).anyMatch(key -> key == 3_000));
+		hitters.offer(3_001, lowest + 10_000);
+		assertTrue(Arrays.stream(hitters.keys()).anyMatch(key -> key == 3_001));
+		assertFalse(Arrays.stream(hitters.keys()).anyMatch(key -> key == 1_000));
+		assertEquals(20, hitters.keys().length);
+	}
+}
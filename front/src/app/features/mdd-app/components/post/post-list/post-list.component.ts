@@ -1,7 +1,7 @@
 import { Component, OnInit } from '@angular/core';
 import { Router, ActivatedRoute } from '@angular/router';
 import { AuthService } from '../../../../auth/services/auth.service';
-import { Post } from '../../../interfaces/Post.Interface';
+import { PostSummary } from '../../../interfaces/Post.Interface';
 import { PostService } from '../../../services/post.service';
 
 @Component({
@@ -11,7 +11,7 @@ import { PostService } from '../../../services/post.service';
 })
 export class PostComponent implements OnInit {
   isMenuOpen = false;
-  posts: Post[] = [];
+  posts: PostSummary[] = [];
   isLoading = false;
   errorMessage = '';
 
@@ -1,7 +1,6 @@
 import { Component, OnInit } from '@angular/core';
 import { TopicService } from '../../services/topic.service';
 import { Topic } from '../../interfaces/Topic.interface';
-import { forkJoin } from 'rxjs';
 
 @Component({
   selector: 'app-topic',
@@ -30,16 +29,9 @@ export class TopicComponent implements OnInit {
     this.isLoading = true;
     this.errorMessage = '';
 
-    forkJoin({
-      allTopics: this.topicService.getAllTopics(),
-      subscribedTopics: this.topicService.getSubscribedTopics()
-    }).subscribe({
-      next: (result) => {
-        const subscribedIds = result.subscribedTopics.map(topic => topic.id);
-        this.topics = result.allTopics.map(topic => ({
-          ...topic,
-          isSubscribed: subscribedIds.includes(topic.id)
-        }));
+    this.topicService.getAllTopics().subscribe({
+      next: (topics) => {
+        this.topics = topics;
         this.isLoading = false;
       },
       error: (error) => {
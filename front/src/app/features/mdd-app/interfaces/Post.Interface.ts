@@ -9,6 +9,16 @@ export interface Post {
     content: string;
     publishedAt: string;
   }
+export interface PostSummary {
+    id: number;
+    userId: number;
+    username: string;
+    topicId: number;
+    topicTitle: string;
+    title: string;
+    excerpt: string;
+    publishedAt: string;
+  }
 export interface Comment {
     username: string;
     text: string;
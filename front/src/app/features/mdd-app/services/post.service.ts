@@ -3,7 +3,7 @@ import { HttpClient } from '@angular/common/http';
 import { Observable, map} from 'rxjs';
 import { environment } from '../../../../environments/environment';
 import { HttpHeadersService } from 'src/app/core/services/http-headers.service';
-import { Post } from '../interfaces/Post.Interface';
+import { Post, PostSummary } from '../interfaces/Post.Interface';
 @Injectable({
   providedIn: 'root'
 })
@@ -15,8 +15,8 @@ export class PostService {
     private httpHeadersService: HttpHeadersService,
   ) {}
 
-  getAllPosts(): Observable<Post[]> {
-    return this.http.get<Post[]>(this.apiUrl, {
+  getAllPosts(): Observable<PostSummary[]> {
+    return this.http.get<PostSummary[]>(this.apiUrl, {
       headers: this.httpHeadersService.getAuthHeaders()
     }).pipe(
       map(posts => posts.map(post => ({